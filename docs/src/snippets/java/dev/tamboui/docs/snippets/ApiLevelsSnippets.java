@@ -24,6 +24,7 @@ import dev.tamboui.toolkit.app.ToolkitApp;
 import dev.tamboui.toolkit.app.ToolkitRunner;
 import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.elements.ListElement;
+import dev.tamboui.toolkit.elements.MemoCache;
 import dev.tamboui.toolkit.event.EventResult;
 import dev.tamboui.tui.EventHandler;
 import dev.tamboui.tui.InlineTuiConfig;
@@ -231,6 +232,30 @@ public class ApiLevelsSnippets {
         // end::tui-resize-grace-period[]
     }
 
+    void tuiRenderingOutput() {
+        // tag::tui-rendering-output[]
+        var config = TuiConfig.builder()
+            .synchronizedOutput(true)  // Atomic frames on terminals supporting mode 2026
+            .scrollOptimization(true)  // Scroll shifted rows instead of repainting them
+            .packedBuffers(true)       // Diff frames as interned ids
+            .build();
+        // end::tui-rendering-output[]
+    }
+
+    void tuiEventCoalescing() throws Exception {
+        // tag::tui-event-coalescing[]
+        var config = TuiConfig.builder()
+            .mouseCapture(true)
+            .coalesceEvents(true)  // Merge mouse motion, ticks and resizes waiting in the queue
+            .build();
+
+        try (var tui = TuiRunner.create(config)) {
+            // ...
+            long merged = tui.eventQueue().mergedMouseEvents();
+        }
+        // end::tui-event-coalescing[]
+    }
+
     void errorHandlingDefault() throws Exception {
         EventHandler handler = (event, runner) -> false;
         Renderer renderer = frame -> {};
@@ -688,6 +713,16 @@ public class ApiLevelsSnippets {
         // end::fault-tolerant-rendering[]
     }
 
+    void memoizedSubtrees(List<String> lines, long version) {
+        // tag::memo-subtree[]
+        Element log = memo(version, () -> panel("Log",
+            column(lines.stream().map(line -> text(line)).toArray(Element[]::new))));
+
+        // Hit rate of the memoized subtrees rendered on this thread
+        double hitRate = MemoCache.instance().hitRate();
+        // end::memo-subtree[]
+    }
+
     Element render() { return text(""); }
 
     // tag::todo-app[]
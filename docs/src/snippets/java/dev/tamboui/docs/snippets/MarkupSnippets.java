@@ -1,8 +1,11 @@
 package dev.tamboui.docs.snippets;
 
+import java.util.Map;
+
 import dev.tamboui.style.Color;
 import dev.tamboui.style.Style;
 import dev.tamboui.text.MarkupParser;
+import dev.tamboui.text.MarkupTemplate;
 import dev.tamboui.text.Text;
 import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.widgets.paragraph.Paragraph;
@@ -158,4 +161,15 @@ public class MarkupSnippets {
             """);
         // end::rich-notifications[]
     }
+
+    void templates(int processed, int failed) {
+        // tag::templates[]
+        // Compiled once
+        MarkupTemplate progress = MarkupParser.compile(
+            "[bold]Processed:[/] [green]{done}[/] items, [red]{failed}[/] failures");
+
+        // On every render: only the values change
+        Text text = progress.apply(Map.of("done", processed, "failed", failed));
+        // end::templates[]
+    }
 }
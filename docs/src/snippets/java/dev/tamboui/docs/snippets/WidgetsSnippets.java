@@ -11,6 +11,7 @@ import dev.tamboui.style.Style;
 import dev.tamboui.terminal.Frame;
 import dev.tamboui.text.Text;
 import dev.tamboui.toolkit.element.Element;
+import dev.tamboui.toolkit.elements.ListDataSource;
 import dev.tamboui.tui.event.KeyCode;
 import dev.tamboui.tui.event.KeyEvent;
 import dev.tamboui.widgets.Clear;
@@ -57,6 +58,7 @@ import dev.tamboui.widgets.spinner.SpinnerState;
 import dev.tamboui.widgets.spinner.SpinnerStyle;
 import dev.tamboui.widgets.table.Row;
 import dev.tamboui.widgets.table.Table;
+import dev.tamboui.widgets.table.TableDataSource;
 import dev.tamboui.widgets.table.TableState;
 import dev.tamboui.widgets.tabs.Tabs;
 import dev.tamboui.widgets.tabs.TabsState;
@@ -67,7 +69,10 @@ import dev.tamboui.widgets.wavetext.WaveText;
 import dev.tamboui.widgets.wavetext.WaveTextState;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static dev.tamboui.toolkit.Toolkit.*;
 
@@ -182,6 +187,17 @@ public class WidgetsSnippets {
         // end::list-element[]
     }
 
+    void virtualizedListElement(List<String> logLines) {
+        // tag::list-element-virtualized[]
+        // Only the lines in view are fetched and rendered
+        list()
+            .dataSource(ListDataSource.of(logLines), line -> text(line))
+            .estimatedItemHeight(1)
+            .stickyScroll()
+            .scrollbar();
+        // end::list-element-virtualized[]
+    }
+
     void tableWidget() {
         // tag::table[]
         // Create table
@@ -211,6 +227,38 @@ public class WidgetsSnippets {
         // end::table[]
     }
 
+    void tableDataSource(List<List<String>> results, TableState tableState, Executor executor) {
+        // tag::table-data-source[]
+        TableDataSource source = new TableDataSource() {
+            @Override
+            public int rowCount() {
+                return results.size();
+            }
+
+            @Override
+            public int columnCount() {
+                return 3;
+            }
+
+            @Override
+            public String cellText(int row, int column) {
+                return results.get(row).get(column);
+            }
+        };
+
+        // Only the rows in view are read from the data source
+        Table table = Table.builder()
+            .header(Row.from("Name", "Age", "City"))
+            .dataSource(source)
+            .widths(Constraint.percentage(40), Constraint.length(10), Constraint.fill())
+            .build();
+
+        // Sort by city and keep adults, off the render thread
+        tableState.sort(source, 2, Comparator.naturalOrder(), executor);
+        tableState.filter(source, row -> Integer.parseInt(source.cellText(row, 1)) >= 18, executor);
+        // end::table-data-source[]
+    }
+
     void tabsWidget() {
         // tag::tabs[]
         Tabs tabs = Tabs.builder()
@@ -296,6 +344,15 @@ public class WidgetsSnippets {
         // end::tree-lazy[]
     }
 
+    void treeAsyncLoading(Executor executor) {
+        FileInfo dirInfo = new FileInfo("dir", FileType.DIRECTORY);
+        // tag::tree-async[]
+        TreeNode.of("Network Share", dirInfo)
+            .asyncChildrenLoader(() -> CompletableFuture.supplyAsync(
+                () -> loadChildrenFromDisk(dirInfo.name()), executor));
+        // end::tree-async[]
+    }
+
     void gaugeWidget() {
         // tag::gauge[]
         Gauge gauge = Gauge.builder()
@@ -5,6 +5,7 @@
 package dev.tamboui.benchmarks;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -30,6 +31,7 @@ import dev.tamboui.layout.Size;
 import dev.tamboui.style.Color;
 import dev.tamboui.style.Style;
 import dev.tamboui.terminal.AbstractBackend;
+import dev.tamboui.terminal.ByteSink;
 
 /**
  * Benchmark measuring the backend draw() path: DiffResult → ANSI escape sequences.
@@ -38,6 +40,11 @@ import dev.tamboui.terminal.AbstractBackend;
  * This isolates the cost of cursor positioning, style encoding, and ANSI output
  * generation — the part that follows diff calculation in the rendering pipeline.
  * <p>
+ * The {@code output} parameter selects how the backend receives output: {@code string}
+ * goes through {@code writeRaw(String)}, {@code bytes} exposes a reusable
+ * {@link ByteSink} that the frame is encoded into directly. Run with {@code -prof gc}
+ * to compare allocation rates.
+ * <p>
  * Run with: ./gradlew :tamboui-benchmarks:jmh -Pjmh.includes='.*backendDraw.*'
  */
 @BenchmarkMode(Mode.AverageTime)
@@ -51,6 +58,9 @@ public class BackendDrawBenchmark {
     @Param({"borderedPanel", "fullRedraw", "scattered5pct"})
     private String scenario;
 
+    @Param({"string", "bytes"})
+    private String output;
+
     private DiffResult diffResult;
     private CountingBackend backend;
     private int diffSize;
@@ -100,7 +110,7 @@ public class BackendDrawBenchmark {
 
         prev.diff(curr, diffResult);
         diffSize = diffResult.size();
-        backend = new CountingBackend(width, height);
+        backend = new CountingBackend(width, height, "bytes".equals(output));
 
         System.out.println("\n=== BackendDraw: " + scenario + " (" + diffSize + " diffs) ===\n");
     }
@@ -109,7 +119,7 @@ public class BackendDrawBenchmark {
     public void backendDraw(Blackhole blackhole) throws IOException {
         backend.reset();
         backend.draw(diffResult);
-        blackhole.consume(backend.bytesWritten);
+        blackhole.consume(backend.bytesWritten + backend.sink.length);
         blackhole.consume(backend.writeCount);
     }
 
@@ -149,23 +159,93 @@ public class BackendDrawBenchmark {
         return sb.toString();
     }
 
+    /**
+     * Reusable byte buffer, as a backend owning its output buffer would expose.
+     */
+    static final class ReusableByteSink implements ByteSink {
+        private byte[] buffer = new byte[64 * 1024];
+        int length;
+
+        private void ensureCapacity(int additional) {
+            if (length + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+            }
+        }
+
+        @Override
+        public ByteSink append(byte b) {
+            ensureCapacity(1);
+            buffer[length++] = b;
+            return this;
+        }
+
+        @Override
+        public ByteSink append(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+            return this;
+        }
+
+        @Override
+        public ByteSink appendInt(int value) {
+            int digits = value < 10 ? 1 : value < 100 ? 2 : value < 1000 ? 3 : String.valueOf(value).length();
+            ensureCapacity(digits);
+            for (int i = length + digits - 1; i >= length; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+            return this;
+        }
+
+        @Override
+        public ByteSink appendUtf8(String s) {
+            // Benchmark symbols are ASCII or BMP: encode without allocating
+            ensureCapacity(s.length() * 3);
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    buffer[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[length++] = (byte) (0xC0 | (c >> 6));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                } else {
+                    buffer[length++] = (byte) (0xE0 | (c >> 12));
+                    buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            return this;
+        }
+    }
+
     /**
      * Minimal backend that counts bytes written without real I/O.
      */
     static class CountingBackend extends AbstractBackend {
         int bytesWritten;
         int writeCount;
+        final ReusableByteSink sink = new ReusableByteSink();
         private final int width;
         private final int height;
+        private final boolean useByteSink;
 
-        CountingBackend(int width, int height) {
+        CountingBackend(int width, int height, boolean useByteSink) {
             this.width = width;
             this.height = height;
+            this.useByteSink = useByteSink;
         }
 
         void reset() {
             bytesWritten = 0;
             writeCount = 0;
+            sink.length = 0;
+        }
+
+        @Override
+        public ByteSink byteSink() {
+            return useByteSink ? sink : null;
         }
 
         @Override
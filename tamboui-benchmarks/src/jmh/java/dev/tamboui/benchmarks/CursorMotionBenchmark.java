@@ -0,0 +1,133 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.buffer.DiffResult;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.style.Color;
+import dev.tamboui.style.Style;
+
+/**
+ * Benchmark measuring the bytes emitted per frame for sparse updates, with absolute
+ * cursor moves versus the cursor motion planner.
+ * <p>
+ * The {@code motion} parameter selects the strategy: {@code absolute} positions the cursor
+ * with CUP before every diff run, {@code planned} lets the backend pick the shortest of
+ * CUP, CHA, CUF/CUB, CR/LF or re-printing the unchanged cells in between. The
+ * output size of a frame is printed when the trial starts, as it does not vary between
+ * iterations.
+ * <p>
+ * Run with: ./gradlew :tamboui-benchmarks:jmh -Pjmh.includes='.*CursorMotionBenchmark.*'
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CursorMotionBenchmark {
+
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 50;
+
+    @Param({"scattered1pct", "tableColumn", "progressBars"})
+    private String scenario;
+
+    @Param({"absolute", "planned"})
+    private String motion;
+
+    private DiffResult diffResult;
+    private BackendDrawBenchmark.CountingBackend backend;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Rect area = Rect.of(WIDTH, HEIGHT);
+        Buffer prev = Buffer.empty(area);
+        Buffer curr = Buffer.empty(area);
+        diffResult = new DiffResult(area.area());
+
+        if ("scattered1pct".equals(scenario)) {
+            // Random single-cell changes over a filled screen
+            String line = repeat('.', WIDTH);
+            for (int y = 0; y < HEIGHT; y++) {
+                prev.setString(0, y, line, Style.EMPTY);
+                curr.setString(0, y, line, Style.EMPTY);
+            }
+            Random rand = new Random(42);
+            for (int i = 0; i < WIDTH * HEIGHT / 100; i++) {
+                curr.setString(rand.nextInt(WIDTH), rand.nextInt(HEIGHT), "*", Style.EMPTY);
+            }
+
+        } else if ("tableColumn".equals(scenario)) {
+            // A table where one numeric column changes on every row
+            for (int y = 0; y < HEIGHT; y++) {
+                String name = "process-" + y;
+                prev.setString(2, y, name, Style.EMPTY);
+                curr.setString(2, y, name, Style.EMPTY);
+                prev.setString(60, y, String.format("%5.1f%%", y * 1.3), Style.EMPTY);
+                curr.setString(60, y, String.format("%5.1f%%", y * 1.7), Style.EMPTY);
+            }
+
+        } else if ("progressBars".equals(scenario)) {
+            // Progress bars advancing by a few cells, with a changing label
+            Style bar = Style.EMPTY.fg(Color.GREEN);
+            for (int y = 0; y < HEIGHT; y += 2) {
+                int before = (y * 7) % 100;
+                prev.setString(0, y, repeat('#', before), bar);
+                curr.setString(0, y, repeat('#', before + 3), bar);
+                prev.setString(WIDTH - 5, y, before + "%", Style.EMPTY);
+                curr.setString(WIDTH - 5, y, (before + 3) + "%", Style.EMPTY);
+            }
+        }
+
+        prev.diff(curr, diffResult);
+        if ("absolute".equals(motion)) {
+            diffResult.setTarget(null);
+        }
+        backend = new BackendDrawBenchmark.CountingBackend(WIDTH, HEIGHT, true);
+        int bytesPerFrame;
+        try {
+            bytesPerFrame = draw();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        System.out.println("\n=== CursorMotion: " + scenario + "/" + motion + " (" + diffResult.size()
+            + " diffs, " + bytesPerFrame + " bytes/frame) ===\n");
+    }
+
+    @Benchmark
+    public int draw() throws IOException {
+        backend.reset();
+        backend.draw(diffResult);
+        return backend.sink.length;
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.tamboui.style.Color;
+import dev.tamboui.style.Style;
+import dev.tamboui.text.CharWidth;
+import dev.tamboui.text.Line;
+import dev.tamboui.text.Span;
+
+/**
+ * Benchmark measuring the display width of typical log text.
+ * <p>
+ * Compares {@link CharWidth#of(String)} against summing per code point widths,
+ * and measures repeated {@link Line#width()} calls, as done by layout, wrapping
+ * and alignment on every frame.
+ * <p>
+ * Run with: ./gradlew :tamboui-benchmarks:jmh -Pjmh.includes='.*TextWidth.*'
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TextWidthBenchmark {
+
+    private static final String[] LEVELS = {"INFO ", "DEBUG", "WARN ", "ERROR"};
+    private static final String[] MESSAGES = {
+        "Server started on port 8080",
+        "GET /api/users?page=2 -> 200 (12 ms)",
+        "Connection pool exhausted, waiting for a free connection",
+        "Café order #4521 processed for Zoë",
+        "Retrying request to https://example.com/health (attempt 3/5)",
+        "Cache miss for key user:1042:profile",
+    };
+
+    /** Share of lines containing wide characters, in percent. */
+    @Param({"0", "10"})
+    private int widePercent;
+
+    private String[] texts;
+    private Line[] lines;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random rand = new Random(42);
+        texts = new String[1000];
+        lines = new Line[texts.length];
+        Style levelStyle = Style.EMPTY.fg(Color.CYAN);
+        for (int i = 0; i < texts.length; i++) {
+            String level = LEVELS[rand.nextInt(LEVELS.length)];
+            String message = MESSAGES[rand.nextInt(MESSAGES.length)];
+            if (rand.nextInt(100) < widePercent) {
+                message = message + " 世界 🔥";
+            }
+            String timestamp = String.format("2024-05-01 12:%02d:%02d.%03d", i / 60 % 60, i % 60, i % 1000);
+            texts[i] = timestamp + " " + level + " " + message;
+
+            List<Span> spans = new ArrayList<>();
+            spans.add(Span.raw(timestamp + " "));
+            spans.add(Span.styled(level, levelStyle));
+            spans.add(Span.raw(" " + message));
+            lines[i] = Line.from(spans);
+        }
+    }
+
+    @Benchmark
+    public int stringWidth() {
+        int total = 0;
+        for (String text : texts) {
+            total += CharWidth.of(text);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int codePointWidths() {
+        int total = 0;
+        for (String text : texts) {
+            for (int i = 0; i < text.length(); ) {
+                int codePoint = text.codePointAt(i);
+                total += CharWidth.of(codePoint);
+                i += Character.charCount(codePoint);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int lineWidth() {
+        int total = 0;
+        // Layout, wrapping and alignment each ask for the width
+        for (int pass = 0; pass < 3; pass++) {
+            for (Line line : lines) {
+                total += line.width();
+            }
+        }
+        return total;
+    }
+}
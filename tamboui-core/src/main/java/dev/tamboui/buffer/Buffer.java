@@ -11,6 +11,7 @@ import java.util.function.BiConsumer;
 import dev.tamboui.layout.Position;
 import dev.tamboui.layout.Rect;
 import dev.tamboui.style.Style;
+import dev.tamboui.style.StylePool;
 import dev.tamboui.terminal.AnsiCellWriter;
 import dev.tamboui.text.CharWidth;
 import dev.tamboui.text.Line;
@@ -20,6 +21,19 @@ import dev.tamboui.text.Span;
  * A buffer that stores cells for a rectangular area.
  * Widgets render to a Buffer, and the Terminal calculates diffs between buffers
  * to minimize updates sent to the backend.
+ * <p>
+ * Two storage layouts are available behind the same API:
+ * <ul>
+ *   <li>the default layout ({@link #empty(Rect)}) stores one {@link Cell} reference per position</li>
+ *   <li>the packed layout ({@link #packed(Rect)}) stores two parallel {@code int} arrays
+ *       holding interned symbol and style ids, plus per-row content hashes and blank-row bits.
+ *       Writes do not allocate {@link Cell} objects, and {@link #diff(Buffer, DiffResult)}
+ *       between two packed buffers skips rows that are blank in both and compares ints
+ *       instead of calling {@link Cell#equals(Object)} for the others. Cells are only
+ *       materialized when read through {@link #get(int, int)}.</li>
+ * </ul>
+ * Both layouts are observably equivalent: buffers with the same content are equal
+ * regardless of their layout.
  */
 public final class Buffer {
 
@@ -32,12 +46,41 @@ public final class Buffer {
     }
 
     private final Rect area;
+    // Default layout: one Cell per position (null when packed)
     private final Cell[] content;
+    // Packed layout: interned ids per position (null when not packed)
+    private final int[] symbolIds;
+    private final int[] styleIds;
+    // Packed layout: rows known to hold only empty cells, cleared on any write to the row
+    private final long[] blankRows;
+    // Packed layout: cached row hashes, recomputed lazily for rows flagged in staleRowHashes
+    private final long[] rowHashes;
+    private final long[] staleRowHashes;
+    private final long blankRowHash;
     private BiConsumer<Style, Rect> styledContentListener;
 
     private Buffer(Rect area, Cell[] content) {
         this.area = area;
         this.content = content;
+        this.symbolIds = null;
+        this.styleIds = null;
+        this.blankRows = null;
+        this.rowHashes = null;
+        this.staleRowHashes = null;
+        this.blankRowHash = 0;
+    }
+
+    private Buffer(Rect area, int[] symbolIds, int[] styleIds) {
+        this.area = area;
+        this.content = null;
+        this.symbolIds = symbolIds;
+        this.styleIds = styleIds;
+        this.blankRows = new long[(area.height() + 63) >>> 6];
+        this.rowHashes = new long[area.height()];
+        this.staleRowHashes = new long[blankRows.length];
+        int[] blankSymbols = new int[area.width()];
+        Arrays.fill(blankSymbols, ' ');
+        this.blankRowHash = hashRow(blankSymbols, new int[area.width()], 0, area.width());
     }
 
     /**
@@ -52,6 +95,26 @@ public final class Buffer {
         return new Buffer(area, content);
     }
 
+    /**
+     * Creates an empty buffer using the packed storage layout.
+     * <p>
+     * Packed buffers store interned symbol and style ids in primitive arrays, avoiding
+     * {@link Cell} and {@link Style} allocations on writes. They are best suited for
+     * large, frequently redrawn screens using a bounded set of styles, since every
+     * written style is registered in the {@link StylePool}.
+     *
+     * @param area the area for the buffer
+     * @return a new empty packed buffer
+     */
+    public static Buffer packed(Rect area) {
+        int size = area.area();
+        int[] symbolIds = new int[size];
+        Arrays.fill(symbolIds, ' ');
+        Buffer buffer = new Buffer(area, symbolIds, new int[size]);
+        buffer.markAllBlank();
+        return buffer;
+    }
+
     /**
      * Creates a buffer filled with the given cell.
      *
@@ -115,6 +178,56 @@ public final class Buffer {
         this.styledContentListener = listener;
     }
 
+    /**
+     * Returns the listener notified when styled content is written to this buffer.
+     *
+     * @return the listener, or null if none is set
+     */
+    public BiConsumer<Style, Rect> styledContentListener() {
+        return styledContentListener;
+    }
+
+    /**
+     * Returns whether this buffer uses the packed storage layout.
+     *
+     * @return true if this buffer was created with {@link #packed(Rect)}
+     */
+    public boolean isPacked() {
+        return content == null;
+    }
+
+    /**
+     * Returns a 64-bit hash of the content of the given row.
+     * <p>
+     * Rows with equal content in buffers of the same layout have equal hashes. Packed
+     * buffers cache the hash of each row and only recompute it after the row was written
+     * to, so comparing the hashes of unchanged rows costs a single comparison. Buffers
+     * using the default layout compute the hash on every call.
+     *
+     * @param y the row (absolute y coordinate)
+     * @return the row hash
+     */
+    public long rowHash(int y) {
+        int row = y - area.y();
+        if (row < 0 || row >= area.height()) {
+            throw new IndexOutOfBoundsException("Row " + y + " outside of " + area);
+        }
+        int start = row * area.width();
+        if (content != null) {
+            long hash = 0xCBF29CE484222325L;
+            for (int i = start, end = start + area.width(); i < end; i++) {
+                hash = (hash ^ content[i].hashCode()) * 0x9E3779B97F4A7C15L;
+            }
+            return hash ^ (hash >>> 31);
+        }
+        long bit = 1L << row;
+        if ((staleRowHashes[row >>> 6] & bit) != 0) {
+            rowHashes[row] = hashRow(symbolIds, styleIds, start, start + area.width());
+            staleRowHashes[row >>> 6] &= ~bit;
+        }
+        return rowHashes[row];
+    }
+
     /**
      * Returns the area of this buffer.
      *
@@ -153,7 +266,7 @@ public final class Buffer {
         if (!area.contains(x, y)) {
             return Cell.EMPTY;
         }
-        return content[index(x, y)];
+        return cellAt(index(x, y));
     }
 
     /**
@@ -175,7 +288,14 @@ public final class Buffer {
      */
     public void set(int x, int y, Cell cell) {
         if (area.contains(x, y)) {
-            content[index(x, y)] = cell;
+            int i = index(x, y);
+            if (content != null) {
+                content[i] = cell;
+            } else {
+                symbolIds[i] = CellInterner.symbolId(cell.symbol());
+                styleIds[i] = StylePool.id(cell.style());
+                markDirty(y);
+            }
         }
     }
 
@@ -309,7 +429,9 @@ public final class Buffer {
                 continue;
             }
 
-            if (col >= area.left()) {
+            if (col >= area.left() && content == null) {
+                writePacked(col, y, codePoint < 0x20 || codePoint == 0x7F ? ' ' : codePoint, charWidth, style);
+            } else if (col >= area.left()) {
                 // When overwriting a continuation cell, clear the preceding wide char
                 Cell current = get(col, y);
                 if (current.isContinuation() && col > area.left()) {
@@ -342,6 +464,26 @@ public final class Buffer {
         return col;
     }
 
+    /**
+     * Packed counterpart of the main {@link #setString} write path: writes a
+     * single code point glyph without materializing cells.
+     */
+    private void writePacked(int col, int y, int codePoint, int charWidth, Style style) {
+        int i = index(col, y);
+        // When overwriting a continuation cell, clear the preceding wide char
+        if (symbolIds[i] == CellInterner.CONTINUATION && col > area.left()) {
+            symbolIds[i - 1] = ' ';
+        }
+        symbolIds[i] = CellInterner.symbolId(codePoint);
+        styleIds[i] = patchStyleId(styleIds[i], style);
+        // Place continuation cell for wide characters
+        if (charWidth == 2) {
+            symbolIds[i + 1] = CellInterner.CONTINUATION;
+            styleIds[i + 1] = StylePool.EMPTY_ID;
+        }
+        markDirty(y);
+    }
+
     /**
      * Finds the base cell (non-continuation) for a given column.
      * Looks backward from col-1 to find the first non-continuation cell.
@@ -425,6 +567,15 @@ public final class Buffer {
         }
 
         for (int y = intersection.top(); y < intersection.bottom(); y++) {
+            if (content == null) {
+                int start = index(intersection.left(), y);
+                int end = start + intersection.width();
+                for (int i = start; i < end; i++) {
+                    styleIds[i] = patchStyleId(styleIds[i], style);
+                }
+                markDirty(y);
+                continue;
+            }
             for (int x = intersection.left(); x < intersection.right(); x++) {
                 Cell cell = get(x, y);
                 set(x, y, cell.patchStyle(style));
@@ -444,6 +595,19 @@ public final class Buffer {
             return;
         }
 
+        if (content == null) {
+            int symbolId = CellInterner.symbolId(cell.symbol());
+            int styleId = StylePool.id(cell.style());
+            for (int y = intersection.top(); y < intersection.bottom(); y++) {
+                int start = index(intersection.left(), y);
+                int end = start + intersection.width();
+                Arrays.fill(symbolIds, start, end, symbolId);
+                Arrays.fill(styleIds, start, end, styleId);
+                markDirty(y);
+            }
+            return;
+        }
+
         for (int y = intersection.top(); y < intersection.bottom(); y++) {
             for (int x = intersection.left(); x < intersection.right(); x++) {
                 set(x, y, cell);
@@ -455,7 +619,64 @@ public final class Buffer {
      * Clears the buffer, resetting all cells to empty.
      */
     public void clear() {
-        Arrays.fill(content, Cell.EMPTY);
+        if (content != null) {
+            Arrays.fill(content, Cell.EMPTY);
+        } else {
+            // Rows known to be blank are left untouched, so they stay clean
+            int width = area.width();
+            for (int row = 0, start = 0; row < area.height(); row++, start += width) {
+                long bit = 1L << row;
+                if ((blankRows[row >>> 6] & bit) != 0) {
+                    continue;
+                }
+                Arrays.fill(symbolIds, start, start + width, ' ');
+                Arrays.fill(styleIds, start, start + width, StylePool.EMPTY_ID);
+                blankRows[row >>> 6] |= bit;
+                rowHashes[row] = blankRowHash;
+                staleRowHashes[row >>> 6] &= ~bit;
+            }
+        }
+    }
+
+    /**
+     * Shifts the rows between {@code top} (inclusive) and {@code bottom} (exclusive) by the
+     * given number of lines, filling the vacated rows with empty cells.
+     * <p>
+     * This mirrors a terminal scrolling a scroll region: positive {@code lines} move the
+     * content up, negative {@code lines} move it down. Rows outside the range are unchanged.
+     *
+     * @param top the first row of the range (absolute y coordinate)
+     * @param bottom the row after the last row of the range (absolute y coordinate)
+     * @param lines the number of lines to shift up, or down if negative
+     * @throws IllegalArgumentException if the range is outside of this buffer
+     */
+    public void shiftRows(int top, int bottom, int lines) {
+        if (top < area.top() || bottom > area.bottom() || top > bottom) {
+            throw new IllegalArgumentException("Rows " + top + ".." + bottom + " outside of " + area);
+        }
+        int count = Math.min(Math.abs(lines), bottom - top);
+        if (count == 0) {
+            return;
+        }
+        int width = area.width();
+        int moved = (bottom - top - count) * width;
+        int regionStart = index(area.left(), top);
+        int from = lines > 0 ? regionStart + count * width : regionStart;
+        int to = lines > 0 ? regionStart : regionStart + count * width;
+        int vacated = lines > 0 ? regionStart + moved : regionStart;
+        int vacatedEnd = vacated + count * width;
+        if (content != null) {
+            System.arraycopy(content, from, content, to, moved);
+            Arrays.fill(content, vacated, vacatedEnd, Cell.EMPTY);
+            return;
+        }
+        System.arraycopy(symbolIds, from, symbolIds, to, moved);
+        System.arraycopy(styleIds, from, styleIds, to, moved);
+        Arrays.fill(symbolIds, vacated, vacatedEnd, ' ');
+        Arrays.fill(styleIds, vacated, vacatedEnd, StylePool.EMPTY_ID);
+        for (int y = top; y < bottom; y++) {
+            markDirty(y);
+        }
     }
 
     /**
@@ -492,6 +713,15 @@ public final class Buffer {
      * @return a new buffer with the same content
      */
     public Buffer copy() {
+        if (content == null) {
+            Buffer copy = new Buffer(area,
+                    Arrays.copyOf(symbolIds, symbolIds.length),
+                    Arrays.copyOf(styleIds, styleIds.length));
+            System.arraycopy(blankRows, 0, copy.blankRows, 0, blankRows.length);
+            System.arraycopy(rowHashes, 0, copy.rowHashes, 0, rowHashes.length);
+            System.arraycopy(staleRowHashes, 0, copy.staleRowHashes, 0, staleRowHashes.length);
+            return copy;
+        }
         Cell[] contentCopy = Arrays.copyOf(content, content.length);
         return new Buffer(area, contentCopy);
     }
@@ -502,12 +732,20 @@ public final class Buffer {
      * <p>
      * The output {@link DiffResult} is <b>not cleared</b> before writing - the
      * caller must call {@link DiffResult#clear()} after the result is no longer needed.
+     * Its {@linkplain DiffResult#target() target} is set to {@code other}.
+     * <p>
+     * When both buffers are {@linkplain #packed(Rect) packed}, rows that were left blank
+     * in both are skipped, cells of the other rows are compared by their interned ids, and
+     * only changed cells are materialized. Since {@link #clear()} leaves blank rows
+     * untouched, the cost of diffing sparse screens is proportional to the rows that were
+     * drawn rather than to the screen size.
      *
      * @param other the buffer to compare with
      * @param out the diff result to append updates to (not cleared by this method)
      * @see DiffResult
      */
     public void diff(Buffer other, DiffResult out) {
+        out.setTarget(other);
         if (!this.area.equals(other.area)) {
             for (int y = other.area.top(); y < other.area.bottom(); y++) {
                 for (int x = other.area.left(); x < other.area.right(); x++) {
@@ -517,9 +755,15 @@ public final class Buffer {
             return;
         }
 
-        for (int i = 0; i < content.length; i++) {
-            Cell thisCell = content[i];
-            Cell otherCell = other.content[i];
+        if (content == null && other.content == null) {
+            diffPacked(other, out);
+            return;
+        }
+
+        int size = area.area();
+        for (int i = 0; i < size; i++) {
+            Cell thisCell = cellAt(i);
+            Cell otherCell = other.cellAt(i);
             if (thisCell != otherCell && !thisCell.equals(otherCell)) {
                 int x = area.x() + (i % area.width());
                 int y = area.y() + (i / area.width());
@@ -528,6 +772,29 @@ public final class Buffer {
         }
     }
 
+    private void diffPacked(Buffer other, DiffResult out) {
+        int[] thisSymbols = symbolIds;
+        int[] thisStyles = styleIds;
+        int[] otherSymbols = other.symbolIds;
+        int[] otherStyles = other.styleIds;
+        long[] thisBlank = blankRows;
+        long[] otherBlank = other.blankRows;
+        int width = area.width();
+        int i = 0;
+        for (int row = 0, y = area.top(); y < area.bottom(); row++, y++) {
+            long bit = 1L << row;
+            if ((thisBlank[row >>> 6] & otherBlank[row >>> 6] & bit) != 0) {
+                i += width;
+                continue;
+            }
+            for (int x = area.left(), end = i + width; i < end; i++, x++) {
+                if (thisSymbols[i] != otherSymbols[i] || thisStyles[i] != otherStyles[i]) {
+                    out.add(x, y, CellInterner.cell(otherSymbols[i], otherStyles[i]));
+                }
+            }
+        }
+    }
+
     /**
      * Renders the buffer content as an ANSI-escaped string.
      * Each row becomes a line of output with embedded ANSI escape codes for styling.
@@ -626,7 +893,42 @@ public final class Buffer {
     private int index(int x, int y) {
         return (y - area.y()) * area.width() + (x - area.x());
     }
- 
+
+    private Cell cellAt(int i) {
+        if (content != null) {
+            return content[i];
+        }
+        return CellInterner.cell(symbolIds[i], styleIds[i]);
+    }
+
+    private static int patchStyleId(int baseId, Style patch) {
+        return StylePool.patch(baseId, StylePool.id(patch));
+    }
+
+    private void markDirty(int y) {
+        int row = y - area.y();
+        blankRows[row >>> 6] &= ~(1L << row);
+        staleRowHashes[row >>> 6] |= 1L << row;
+    }
+
+    private void markAllBlank() {
+        int height = area.height();
+        for (int row = 0; row < height; row += 64) {
+            int remaining = height - row;
+            blankRows[row >>> 6] = remaining >= 64 ? -1L : (1L << remaining) - 1;
+        }
+        Arrays.fill(rowHashes, blankRowHash);
+    }
+
+    private static long hashRow(int[] symbols, int[] styles, int start, int end) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ symbols[i]) * 0x9E3779B97F4A7C15L;
+            hash = (hash ^ styles[i]) * 0x9E3779B97F4A7C15L;
+        }
+        return hash ^ (hash >>> 31);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -639,13 +941,31 @@ public final class Buffer {
         if (!area.equals(buffer.area)) {
             return false;
         }
-        return Arrays.equals(content, buffer.content);
+        if (content != null && buffer.content != null) {
+            return Arrays.equals(content, buffer.content);
+        }
+        if (content == null && buffer.content == null) {
+            return Arrays.equals(symbolIds, buffer.symbolIds) && Arrays.equals(styleIds, buffer.styleIds);
+        }
+        int size = area.area();
+        for (int i = 0; i < size; i++) {
+            if (!cellAt(i).equals(buffer.cellAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
         int result = area.hashCode();
-        result = 31 * result + Arrays.hashCode(content);
+        // Matches Arrays.hashCode(Cell[]) so that both layouts hash identically
+        int contentHash = 1;
+        int size = area.area();
+        for (int i = 0; i < size; i++) {
+            contentHash = 31 * contentHash + cellAt(i).hashCode();
+        }
+        result = 31 * result + contentHash;
         return result;
     }
 
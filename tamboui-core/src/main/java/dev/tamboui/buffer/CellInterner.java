@@ -0,0 +1,159 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.buffer;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.tamboui.style.StylePool;
+
+/**
+ * Process-wide interning tables backing packed {@link Buffer} storage.
+ * <p>
+ * A packed buffer stores each cell as two ints: a symbol id and a style id.
+ * Ids are canonical, so two cells are equal if and only if both of their ids are equal:
+ * <ul>
+ *   <li>a symbol made of a single code point is encoded as the code point itself</li>
+ *   <li>the empty continuation symbol is encoded as {@link #CONTINUATION}</li>
+ *   <li>any other grapheme cluster is interned and encoded as a negative id below -1</li>
+ *   <li>styles are encoded by their {@link StylePool} id</li>
+ * </ul>
+ * Tables only grow. Applications typically use a few dozen distinct grapheme
+ * clusters, so the tables stay small.
+ * <p>
+ * This class is thread-safe.
+ */
+final class CellInterner {
+
+    /** Symbol id of the continuation placeholder ({@code ""}). */
+    static final int CONTINUATION = -1;
+
+    /** Code points below this limit have their single-code-point string cached. */
+    private static final int CACHED_CODE_POINTS = 0x3000;
+
+    private static final String[] CODE_POINT_STRINGS = new String[CACHED_CODE_POINTS];
+
+    private static final ConcurrentHashMap<String, Integer> CLUSTER_IDS = new ConcurrentHashMap<>();
+    private static volatile String[] clusters = new String[16];
+    private static int clusterCount;
+
+    private static final int CELL_CACHE_SIZE = 4096;
+    private static final CachedCell[] CELL_CACHE = new CachedCell[CELL_CACHE_SIZE];
+
+    private CellInterner() {
+    }
+
+    /**
+     * Returns the canonical id of the given symbol.
+     *
+     * @param symbol the cell symbol
+     * @return the symbol id
+     */
+    static int symbolId(String symbol) {
+        int length = symbol.length();
+        if (length == 0) {
+            return CONTINUATION;
+        }
+        char first = symbol.charAt(0);
+        if (length == 1 && !Character.isSurrogate(first)) {
+            return first;
+        }
+        if (length == 2 && Character.isHighSurrogate(first) && Character.isLowSurrogate(symbol.charAt(1))) {
+            return Character.toCodePoint(first, symbol.charAt(1));
+        }
+        Integer id = CLUSTER_IDS.get(symbol);
+        return id != null ? id : registerCluster(symbol);
+    }
+
+    /**
+     * Returns the canonical id of a symbol made of a single code point.
+     *
+     * @param codePoint the code point
+     * @return the symbol id
+     */
+    static int symbolId(int codePoint) {
+        return codePoint;
+    }
+
+    /**
+     * Returns the symbol string for the given id.
+     *
+     * @param id the symbol id
+     * @return the symbol
+     */
+    static String symbol(int id) {
+        if (id >= 0) {
+            if (id < CACHED_CODE_POINTS) {
+                String s = CODE_POINT_STRINGS[id];
+                if (s == null) {
+                    s = new String(Character.toChars(id));
+                    CODE_POINT_STRINGS[id] = s;
+                }
+                return s;
+            }
+            return new String(Character.toChars(id));
+        }
+        if (id == CONTINUATION) {
+            return "";
+        }
+        return clusters[-id - 2];
+    }
+
+    /**
+     * Returns a cell for the given ids, reusing a recently materialized instance if possible.
+     *
+     * @param symbolId the symbol id
+     * @param styleId the style id
+     * @return the cell
+     */
+    static Cell cell(int symbolId, int styleId) {
+        if (styleId == StylePool.EMPTY_ID) {
+            if (symbolId == ' ') {
+                return Cell.EMPTY;
+            }
+            if (symbolId == CONTINUATION) {
+                return Cell.CONTINUATION;
+            }
+        }
+        int slot = (symbolId * 0x9E3779B1 + styleId) >>> 20 & (CELL_CACHE_SIZE - 1);
+        CachedCell cached = CELL_CACHE[slot];
+        if (cached != null && cached.symbolId == symbolId && cached.styleId == styleId) {
+            return cached.cell;
+        }
+        Cell cell = new Cell(symbol(symbolId), StylePool.style(styleId));
+        CELL_CACHE[slot] = new CachedCell(symbolId, styleId, cell);
+        return cell;
+    }
+
+    private static synchronized int registerCluster(String symbol) {
+        Integer existing = CLUSTER_IDS.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        int index = clusterCount;
+        String[] table = clusters;
+        if (index == table.length) {
+            table = Arrays.copyOf(table, index * 2);
+        }
+        table[index] = symbol;
+        clusters = table;
+        clusterCount = index + 1;
+        int id = -index - 2;
+        CLUSTER_IDS.put(symbol, id);
+        return id;
+    }
+
+    private static final class CachedCell {
+        private final int symbolId;
+        private final int styleId;
+        private final Cell cell;
+
+        private CachedCell(int symbolId, int styleId, Cell cell) {
+            this.symbolId = symbolId;
+            this.styleId = styleId;
+            this.cell = cell;
+        }
+    }
+}
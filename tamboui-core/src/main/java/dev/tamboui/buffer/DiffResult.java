@@ -34,6 +34,7 @@ public final class DiffResult {
     private int[] ys;
     private Cell[] cells;
     private int count;
+    private Buffer target;
 
     /**
      * Creates a new diff result with the default initial capacity (256 updates).
@@ -64,6 +65,31 @@ public final class DiffResult {
     public void clear() {
         Arrays.fill(cells, 0, count, null);
         this.count = 0;
+        this.target = null;
+    }
+
+    /**
+     * Sets the buffer these updates lead to.
+     * <p>
+     * {@link Buffer#diff(Buffer, DiffResult)} sets it to the buffer being diffed against.
+     * Backends may read cells that are <em>not</em> part of the updates from it, since
+     * those are already displayed: for example, re-printing a few unchanged cells can be
+     * shorter than a cursor movement escape sequence.
+     *
+     * @param target the target buffer, or null if the displayed content is unknown
+     */
+    public void setTarget(Buffer target) {
+        this.target = target;
+    }
+
+    /**
+     * Returns the buffer these updates lead to.
+     *
+     * @return the target buffer, or null if unknown
+     * @see #setTarget(Buffer)
+     */
+    public Buffer target() {
+        return target;
     }
 
     /**
@@ -86,7 +86,7 @@ public final class HtmlExporter {
                 StringBuilder runText = new StringBuilder();
                 while (x < widthCells) {
                     Cell c = buffer.get(baseX + x, baseY + y);
-                    if (!c.style().equals(style)) {
+                    if (c.style() != style && !c.style().equals(style)) {
                         break;
                     }
                     String sym = c.symbol();
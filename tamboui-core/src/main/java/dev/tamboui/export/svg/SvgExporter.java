@@ -119,7 +119,7 @@ public final class SvgExporter {
                 StringBuilder runText = new StringBuilder();
                 while (x < widthCells) {
                     Cell c = buffer.get(baseX + x, baseY + y);
-                    if (!c.style().equals(style)) {
+                    if (c.style() != style && !c.style().equals(style)) {
                         break;
                     }
                     runText.append(c.symbol());
@@ -11,6 +11,7 @@ import dev.tamboui.buffer.Cell;
 import dev.tamboui.layout.Rect;
 import dev.tamboui.style.Style;
 import dev.tamboui.terminal.AnsiStringBuilder;
+import dev.tamboui.terminal.SgrEncoder;
 
 /**
  * Exports a {@link Buffer} to text in the same spirit as Rich's {@code Console.export_text}.
@@ -76,8 +77,8 @@ public final class TextExporter {
                     if (cell.isContinuation()) {
                         continue;
                     }
-                    if (!cell.style().equals(lastStyle)) {
-                        result.append(AnsiStringBuilder.styleToAnsi(cell.style()));
+                    if (cell.style() != lastStyle && !cell.style().equals(lastStyle)) {
+                        result.append(SgrEncoder.sequence(cell.style()));
                         lastStyle = cell.style();
                     }
                     result.append(cell.symbol());
@@ -26,6 +26,8 @@ public final class Style {
     private final EnumSet<Modifier> subModifiers;
     private final Map<Class<?>, Object> extensions;
     private final int cachedHashCode;
+    // Id assigned by StylePool, cached on first lookup (-1 until then)
+    int poolId = -1;
 
     /** An empty style with no colors or modifiers set. */
     public static final Style EMPTY = new Style(
@@ -676,6 +678,10 @@ public final class Style {
         if (cachedHashCode != style.cachedHashCode) {
             return false;
         }
+        // Pooled ids are canonical: equal ids if and only if equal styles
+        if (poolId >= 0 && style.poolId >= 0) {
+            return poolId == style.poolId;
+        }
         return Objects.equals(fg, style.fg)
             && Objects.equals(bg, style.bg)
             && Objects.equals(underlineColor, style.underlineColor)
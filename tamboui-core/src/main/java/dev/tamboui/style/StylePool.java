@@ -0,0 +1,170 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.style;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide intern pool mapping each distinct {@link Style} to a stable, small int id.
+ * <p>
+ * Ids are dense and never reused: {@code 0} is always {@link Style#EMPTY}, and two styles
+ * have the same id if and only if they are {@linkplain Style#equals(Object) equal}. This lets
+ * hot rendering paths (buffer diffing, ANSI output, exporters) compare styles with a single
+ * int comparison instead of a deep equality check.
+ * <p>
+ * The pool also memoizes {@link Style#patch(Style)} results by id pair, so repeatedly
+ * patching the same styles (e.g. writing text over a styled background) neither allocates
+ * nor recomputes the merged style.
+ * <p>
+ * The id of a style is cached on the style instance after the first lookup. Applications
+ * typically use a few hundred distinct styles, so the pool stays small. Styles are never
+ * evicted, though: code generating an unbounded set of styles (e.g. per-frame RGB color
+ * interpolation) should not register them here.
+ * <p>
+ * This class is thread-safe.
+ *
+ * <pre>{@code
+ * int base = StylePool.id(Style.EMPTY.bg(Color.BLUE));
+ * int text = StylePool.id(Style.EMPTY.fg(Color.RED));
+ * Style merged = StylePool.style(StylePool.patch(base, text));
+ * }</pre>
+ */
+public final class StylePool {
+
+    /** The id of {@link Style#EMPTY}. */
+    public static final int EMPTY_ID = 0;
+
+    private static final ConcurrentHashMap<Style, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile Style[] styles = new Style[64];
+    private static int size;
+
+    private static final int PATCH_CACHE_SIZE = 4096;
+    private static final PatchEntry[] PATCH_CACHE = new PatchEntry[PATCH_CACHE_SIZE];
+
+    static {
+        id(Style.EMPTY);
+    }
+
+    private StylePool() {
+    }
+
+    /**
+     * Returns the id of the given style, registering it if needed.
+     *
+     * @param style the style
+     * @return the style id
+     */
+    public static int id(Style style) {
+        int id = style.poolId;
+        if (id >= 0) {
+            return id;
+        }
+        Integer existing = IDS.get(style);
+        id = existing != null ? existing : register(style);
+        style.poolId = id;
+        return id;
+    }
+
+    /**
+     * Returns the canonical style for the given id.
+     *
+     * @param id a style id previously returned by this pool
+     * @return the style
+     * @throws IndexOutOfBoundsException if the id is unknown
+     */
+    public static Style style(int id) {
+        Style[] table = styles;
+        Style style = id >= 0 && id < table.length ? table[id] : null;
+        return style != null ? style : styleLocked(id);
+    }
+
+    /**
+     * Returns the canonical instance equal to the given style.
+     *
+     * @param style the style
+     * @return the pooled instance
+     */
+    public static Style intern(Style style) {
+        return style(id(style));
+    }
+
+    /**
+     * Returns the id of {@code style(baseId).patch(style(patchId))}, memoized by id pair.
+     *
+     * @param baseId the id of the base style
+     * @param patchId the id of the style to overlay
+     * @return the id of the patched style
+     */
+    public static int patch(int baseId, int patchId) {
+        if (patchId == EMPTY_ID) {
+            return baseId;
+        }
+        int slot = (baseId * 0x9E3779B1 + patchId) >>> 20 & (PATCH_CACHE_SIZE - 1);
+        PatchEntry entry = PATCH_CACHE[slot];
+        if (entry != null && entry.baseId == baseId && entry.patchId == patchId) {
+            return entry.resultId;
+        }
+        int resultId = id(style(baseId).patch(style(patchId)));
+        PATCH_CACHE[slot] = new PatchEntry(baseId, patchId, resultId);
+        return resultId;
+    }
+
+    /**
+     * Returns the pooled result of {@code base.patch(patch)}, memoized by id pair.
+     *
+     * @param base the base style
+     * @param patch the style to overlay
+     * @return the pooled patched style
+     */
+    public static Style patch(Style base, Style patch) {
+        return style(patch(id(base), id(patch)));
+    }
+
+    /**
+     * Returns the number of distinct styles registered so far.
+     *
+     * @return the pool size
+     */
+    public static synchronized int size() {
+        return size;
+    }
+
+    private static synchronized Style styleLocked(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown style id: " + id);
+        }
+        return styles[id];
+    }
+
+    private static synchronized int register(Style style) {
+        Integer existing = IDS.get(style);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        Style[] table = styles;
+        if (id == table.length) {
+            table = Arrays.copyOf(table, id * 2);
+        }
+        table[id] = style;
+        styles = table;
+        size = id + 1;
+        IDS.put(style, id);
+        return id;
+    }
+
+    private static final class PatchEntry {
+        private final int baseId;
+        private final int patchId;
+        private final int resultId;
+
+        private PatchEntry(int baseId, int patchId, int resultId) {
+            this.baseId = baseId;
+            this.patchId = patchId;
+            this.resultId = resultId;
+        }
+    }
+}
@@ -6,10 +6,13 @@ package dev.tamboui.terminal;
 
 import java.io.IOException;
 
+import dev.tamboui.buffer.Buffer;
 import dev.tamboui.buffer.Cell;
 import dev.tamboui.buffer.DiffResult;
 import dev.tamboui.error.RuntimeIOException;
 import dev.tamboui.layout.Position;
+import dev.tamboui.style.Style;
+import dev.tamboui.text.CharWidth;
 
 /**
  * Base class for terminal backends that produce ANSI output.
@@ -43,62 +46,135 @@ public abstract class AbstractBackend implements Backend {
      * <p>
      * Optimizations:
      * <ul>
+     *   <li>Style changes emit the shortest SGR transition from the previous cell's style,
+     *       using pre-encoded sequences cached by {@link SgrEncoder}</li>
      *   <li>Cursor adjacency: skips cursor move when the next cell is horizontally
      *       adjacent (cursor auto-advances after writing a character)</li>
+     *   <li>Cursor motion planning: when the diff has a {@linkplain DiffResult#target() target},
+     *       other moves use the shortest of absolute, relative and line-start sequences,
+     *       or re-print the few unchanged cells in between when that is even shorter</li>
      *   <li>Cursor moves use the field-level {@code cursorBuf} StringBuilder and
      *       {@link #writeRaw(CharSequence)} to avoid toString() allocation</li>
+     *   <li>Backends exposing a {@link #byteSink()} get cursor moves, SGR sequences and
+     *       symbols encoded straight into their output buffer, without intermediate
+     *       strings</li>
      * </ul>
      * <p>
-     * Output is sent via {@link #writeRaw(CharSequence)}.
+     * Output is sent to the backend's {@link #byteSink()} when available, and via
+     * {@link #writeRaw(CharSequence)} otherwise.
      *
      * @param diff the diff result containing cell updates in Structure-of-Arrays format
      * @throws IOException if drawing fails
      */
     @Override
     public final void draw(DiffResult diff) throws IOException {
+        ByteSink bytes = byteSink();
+        if (bytes != null) {
+            try (AnsiCellWriter cellWriter = new AnsiCellWriter(bytes, true)) {
+                drawCells(diff, cellWriter, bytes);
+            }
+            return;
+        }
         try (AnsiCellWriter cellWriter = new AnsiCellWriter(s -> {
             try {
                 writeRaw(s);
             } catch (IOException e) {
                 throw new RuntimeIOException("Failed to write cell data", e);
             }
-        })) {
-            // Track cursor position to skip redundant moves
-            int cursorX = -1;
-            int cursorY = -1;
+        }, true)) {
+            drawCells(diff, cellWriter, null);
+        }
+    }
 
-            // Linear scan over parallel arrays - cache-friendly access pattern
-            for (int i = 0; i < diff.size(); i++) {
-                Cell cell = diff.getCell(i);
-                if (cell.isContinuation()) {
-                    // Previous cell was 2-wide; correct cursor from x+1 to x+2
-                    cursorX++;
-                    continue;
-                }
-                int x = diff.getX(i);
-                int y = diff.getY(i);
+    private void drawCells(DiffResult diff, AnsiCellWriter cellWriter, ByteSink bytes) throws IOException {
+        // Without a target, the screen width and the unchanged cells are unknown:
+        // only absolute moves are safe
+        Buffer target = diff.target();
+        int width = target != null ? target.area().right() : 0;
+
+        // Track cursor position to skip redundant moves
+        int cursorX = -1;
+        int cursorY = -1;
 
-                // Only emit cursor move if not already at the right position
-                if (x != cursorX || y != cursorY) {
+        // Linear scan over parallel arrays - cache-friendly access pattern
+        for (int i = 0; i < diff.size(); i++) {
+            Cell cell = diff.getCell(i);
+            if (cell.isContinuation()) {
+                // Already accounted for by the width of the preceding wide cell
+                continue;
+            }
+            int x = diff.getX(i);
+            int y = diff.getY(i);
+
+            // Only emit cursor move if not already at the right position
+            if (x != cursorX || y != cursorY) {
+                cursorBuf.setLength(0);
+                if (target == null || cursorY < 0) {
                     // ANSI CUP: \e[row;colH  (1-based)
-                    cursorBuf.setLength(0);
                     cursorBuf.append("\u001b[");
                     cursorBuf.append(y + 1);
                     cursorBuf.append(';');
                     cursorBuf.append(x + 1);
                     cursorBuf.append('H');
-                    writeRaw(cursorBuf);
+                    writeCursorMove(bytes);
+                } else {
+                    int cost = CursorMotion.append(cursorBuf, cursorX, cursorY, x, y, width);
+                    if (y != cursorY || x < cursorX || x - cursorX >= cost
+                            || !reprint(target, cursorX, x, y, cellWriter)) {
+                        writeCursorMove(bytes);
+                    }
                 }
+            }
 
-                cellWriter.writeCell(cell);
+            cellWriter.writeCell(cell);
 
-                // Assume 1-wide; if next entry is a continuation, it will correct to +2
-                cursorX = x + 1;
+            // Advance by the width of the glyph just written: its continuation
+            // cell is only part of the diff when it changed too
+            int cellWidth = CharWidth.of(cell.symbol());
+            if (cellWidth == 1 || cellWidth == 2) {
+                cursorX = x + cellWidth;
                 cursorY = y;
+            } else {
+                // Terminals disagree on zero-width and overlong clusters: position unknown
+                cursorX = -1;
+                cursorY = -1;
             }
         }
     }
 
+    private void writeCursorMove(ByteSink bytes) throws IOException {
+        if (bytes == null) {
+            writeRaw(cursorBuf);
+            return;
+        }
+        for (int i = 0; i < cursorBuf.length(); i++) {
+            bytes.append((byte) cursorBuf.charAt(i));
+        }
+    }
+
+    /**
+     * Moves the cursor forward by re-printing the unchanged cells in {@code [fromX, toX)},
+     * if they are printable ASCII in the style currently set on the terminal.
+     */
+    private static boolean reprint(Buffer target, int fromX, int toX, int y, AnsiCellWriter cellWriter) {
+        Style current = cellWriter.currentStyle();
+        if (current == null) {
+            return false;
+        }
+        for (int x = fromX; x < toX; x++) {
+            Cell cell = target.get(x, y);
+            String symbol = cell.symbol();
+            if (symbol.length() != 1 || symbol.charAt(0) < 0x20 || symbol.charAt(0) > 0x7E
+                    || (cell.style() != current && !cell.style().equals(current))) {
+                return false;
+            }
+        }
+        for (int x = fromX; x < toX; x++) {
+            cellWriter.writeCell(target.get(x, y));
+        }
+        return true;
+    }
+
     /**
      * Sets the cursor to the given position and flushes.
      *
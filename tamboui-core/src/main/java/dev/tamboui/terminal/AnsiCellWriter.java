@@ -4,6 +4,7 @@
  */
 package dev.tamboui.terminal;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -32,13 +33,28 @@ import dev.tamboui.style.Style;
  * String ansi = sb.toString();
  * }</pre>
  *
+ * <p>By default every style change emits the full SGR sequence (reset followed by every
+ * attribute), so each run of cells is self-contained. In <em>delta</em> mode, style changes
+ * emit the shortest transition from the previously written style instead (see
+ * {@link SgrEncoder#transition(Style, Style)}), which is what terminal backends use to
+ * minimize output.
+ *
+ * <p>A writer created with a {@link ByteSink} encodes its output directly as bytes:
+ * SGR sequences are copied from the pre-encoded arrays of {@link SgrEncoder} and symbols
+ * are appended as UTF-8, so no intermediate string is built per cell.
+ *
  * <p>Instances are not thread-safe. Create a new instance per rendering pass.
  *
  * @see AnsiStringBuilder
+ * @see SgrEncoder
  */
 public final class AnsiCellWriter implements AutoCloseable {
 
+    private static final byte[] RESET_BYTES = AnsiStringBuilder.RESET.getBytes(StandardCharsets.US_ASCII);
+
     private final Consumer<String> sink;
+    private final ByteSink bytes;
+    private final boolean delta;
     private Style lastStyle;
     private Hyperlink lastHyperlink;
 
@@ -48,7 +64,33 @@ public final class AnsiCellWriter implements AutoCloseable {
      * @param sink the output consumer
      */
     public AnsiCellWriter(Consumer<String> sink) {
+        this(sink, false);
+    }
+
+    /**
+     * Creates a new writer that sends ANSI output to the given sink.
+     *
+     * @param sink the output consumer
+     * @param delta true to emit minimal SGR transitions between consecutive styles,
+     *              false to emit the full SGR sequence on every style change
+     */
+    public AnsiCellWriter(Consumer<String> sink, boolean delta) {
         this.sink = Objects.requireNonNull(sink, "sink");
+        this.bytes = null;
+        this.delta = delta;
+    }
+
+    /**
+     * Creates a new writer that encodes ANSI output directly into the given byte sink.
+     *
+     * @param bytes the output byte sink
+     * @param delta true to emit minimal SGR transitions between consecutive styles,
+     *              false to emit the full SGR sequence on every style change
+     */
+    public AnsiCellWriter(ByteSink bytes, boolean delta) {
+        this.sink = null;
+        this.bytes = Objects.requireNonNull(bytes, "bytes");
+        this.delta = delta;
     }
 
     /**
@@ -66,22 +108,43 @@ public final class AnsiCellWriter implements AutoCloseable {
         }
 
         Style style = cell.style();
-        if (!style.equals(lastStyle)) {
+        // Pooled styles (e.g. from packed buffers) are canonical instances, so the
+        // identity check usually decides; equals() compares pool ids when available
+        if (style != lastStyle && !style.equals(lastStyle)) {
             Hyperlink currentHyperlink = style.hyperlink().orElse(null);
             if (!Objects.equals(currentHyperlink, lastHyperlink)) {
                 if (lastHyperlink != null) {
-                    sink.accept(AnsiStringBuilder.hyperlinkEnd());
+                    emit(AnsiStringBuilder.hyperlinkEnd());
                 }
                 if (currentHyperlink != null) {
-                    sink.accept(AnsiStringBuilder.hyperlinkStart(currentHyperlink));
+                    emit(AnsiStringBuilder.hyperlinkStart(currentHyperlink));
                 }
                 lastHyperlink = currentHyperlink;
             }
-            sink.accept(AnsiStringBuilder.styleToAnsi(style));
+            if (bytes != null) {
+                byte[] sgr = delta ? SgrEncoder.transitionBytes(lastStyle, style) : SgrEncoder.sequenceBytes(style);
+                if (sgr.length > 0) {
+                    bytes.append(sgr);
+                }
+            } else {
+                String sgr = delta ? SgrEncoder.transition(lastStyle, style) : SgrEncoder.sequence(style);
+                if (!sgr.isEmpty()) {
+                    sink.accept(sgr);
+                }
+            }
             lastStyle = style;
         }
 
-        sink.accept(cell.symbol());
+        emit(cell.symbol());
+    }
+
+    /**
+     * Returns the style of the last written cell, i.e. the style currently set on the output.
+     *
+     * @return the current style, or null if no cell was written yet
+     */
+    Style currentStyle() {
+        return lastStyle;
     }
 
     /**
@@ -91,8 +154,20 @@ public final class AnsiCellWriter implements AutoCloseable {
     @Override
     public void close() {
         if (lastHyperlink != null) {
-            sink.accept(AnsiStringBuilder.hyperlinkEnd());
+            emit(AnsiStringBuilder.hyperlinkEnd());
+        }
+        if (bytes != null) {
+            bytes.append(RESET_BYTES);
+        } else {
+            sink.accept(AnsiStringBuilder.RESET);
+        }
+    }
+
+    private void emit(String s) {
+        if (bytes != null) {
+            bytes.appendUtf8(s);
+        } else {
+            sink.accept(s);
         }
-        sink.accept(AnsiStringBuilder.RESET);
     }
 }
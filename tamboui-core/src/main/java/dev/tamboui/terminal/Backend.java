@@ -206,6 +206,21 @@ public interface Backend extends AutoCloseable {
         writeRaw(data.toString());
     }
 
+    /**
+     * Returns the reusable output buffer of this backend, if it has one.
+     * <p>
+     * When a buffer is returned, {@link #draw(DiffResult)} implementations may encode
+     * their output directly into it instead of going through {@link #writeRaw(String)}.
+     * Bytes appended to the sink must be sent to the terminal on {@link #flush()}, in
+     * order with any other output of this backend.
+     *
+     * @return the output byte sink, or null if output must go through {@code writeRaw}
+     */
+    default ByteSink byteSink() {
+        // Optional: only backends buffering raw bytes can expose them
+        return null;
+    }
+
     /**
      * Registers a handler to be called when the terminal is resized.
      *
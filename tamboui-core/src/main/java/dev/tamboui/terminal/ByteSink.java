@@ -0,0 +1,51 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+/**
+ * A growable byte buffer that terminal output can be encoded into directly.
+ * <p>
+ * Backends owning a reusable output buffer expose it through {@link Backend#byteSink()}.
+ * {@link AbstractBackend#draw(dev.tamboui.buffer.DiffResult)} then encodes cursor moves,
+ * pre-encoded SGR sequences and cell symbols straight into that buffer, without building
+ * intermediate strings. The backend hands the filled buffer to the terminal on
+ * {@link Backend#flush()}.
+ *
+ * @see AnsiCellWriter
+ */
+public interface ByteSink {
+
+    /**
+     * Appends a single byte.
+     *
+     * @param b the byte to append
+     * @return this sink for chaining
+     */
+    ByteSink append(byte b);
+
+    /**
+     * Appends a byte array.
+     *
+     * @param bytes the bytes to append
+     * @return this sink for chaining
+     */
+    ByteSink append(byte[] bytes);
+
+    /**
+     * Appends a non-negative integer as ASCII digits.
+     *
+     * @param value the non-negative integer to append
+     * @return this sink for chaining
+     */
+    ByteSink appendInt(int value);
+
+    /**
+     * Appends a string encoded as UTF-8.
+     *
+     * @param s the string to append
+     * @return this sink for chaining
+     */
+    ByteSink appendUtf8(String s);
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+/**
+ * Plans the shortest escape sequence moving the cursor between two screen positions.
+ * <p>
+ * Similar to ncurses' {@code mvcur}, the planner compares the byte cost of:
+ * <ul>
+ *   <li>an absolute move (CUP, {@code ESC[row;colH})</li>
+ *   <li>relative vertical moves (CUU/CUD) combined with a horizontal move</li>
+ *   <li>a carriage return, optionally followed by a line feed when moving to the
+ *       next row, combined with a horizontal move from the first column</li>
+ * </ul>
+ * where a horizontal move is the cheapest of a carriage return (to the first column),
+ * an absolute column move (CHA, {@code ESC[colG}) and relative moves (CUF/CUB).
+ * <p>
+ * After writing the last column of a row, terminals keep the cursor on that column with
+ * a pending wrap, so the column is treated as unknown and only absolute horizontal moves
+ * are used from there.
+ */
+final class CursorMotion {
+
+    private CursorMotion() {
+    }
+
+    /**
+     * Appends the cheapest sequence moving the cursor from one position to another.
+     *
+     * @param out the builder to append the sequence to
+     * @param fromX the current cursor column (0-based), {@code width} if a wrap is pending
+     * @param fromY the current cursor row (0-based)
+     * @param toX the target column (0-based)
+     * @param toY the target row (0-based)
+     * @param width the screen width
+     * @return the number of characters appended
+     */
+    static int append(StringBuilder out, int fromX, int fromY, int toX, int toY, int width) {
+        boolean columnKnown = fromX < width;
+        int dy = toY - fromY;
+
+        int absolute = absolute(null, toX, toY);
+        int relative = vertical(null, dy) + horizontal(null, fromX, toX, columnKnown);
+        int fromLineStart = dy == 0 ? Integer.MAX_VALUE : fromLineStart(null, dy, toX);
+
+        if (absolute <= relative && absolute <= fromLineStart) {
+            return absolute(out, toX, toY);
+        }
+        if (relative <= fromLineStart) {
+            vertical(out, dy);
+            horizontal(out, fromX, toX, columnKnown);
+            return relative;
+        }
+        return fromLineStart(out, dy, toX);
+    }
+
+    /** CUP, omitting default parameters. */
+    private static int absolute(StringBuilder out, int toX, int toY) {
+        if (toX == 0) {
+            if (toY == 0) {
+                return csi(out, 0, 'H');
+            }
+            return csi(out, toY + 1, 'H');
+        }
+        if (out != null) {
+            out.append("\u001b[").append(toY + 1).append(';').append(toX + 1).append('H');
+        }
+        return 4 + digits(toY + 1) + digits(toX + 1);
+    }
+
+    /** CR, then LF for the next row or CUU/CUD, then a horizontal move from the first column. */
+    private static int fromLineStart(StringBuilder out, int dy, int toX) {
+        int cost;
+        if (dy == 1) {
+            if (out != null) {
+                out.append("\r\n");
+            }
+            cost = 2;
+        } else {
+            if (out != null) {
+                out.append('\r');
+            }
+            cost = 1 + vertical(out, dy);
+        }
+        return cost + horizontal(out, 0, toX, true);
+    }
+
+    /** CUU/CUD. */
+    private static int vertical(StringBuilder out, int dy) {
+        if (dy == 0) {
+            return 0;
+        }
+        return relative(out, Math.abs(dy), dy > 0 ? 'B' : 'A');
+    }
+
+    /** Cheapest of CR, CHA and CUF/CUB. */
+    private static int horizontal(StringBuilder out, int fromX, int toX, boolean columnKnown) {
+        if (columnKnown && fromX == toX) {
+            return 0;
+        }
+        int best = 3 + digits(toX + 1);
+        char kind = 'G';
+        if (toX == 0) {
+            best = 1;
+            kind = '\r';
+        }
+        if (columnKnown) {
+            int dx = toX - fromX;
+            int cost = relative(null, Math.abs(dx), 'C');
+            if (cost < best) {
+                best = cost;
+                kind = dx > 0 ? 'C' : 'D';
+            }
+        }
+        if (out != null) {
+            if (kind == '\r') {
+                out.append('\r');
+            } else if (kind == 'G') {
+                csi(out, toX + 1, 'G');
+            } else {
+                relative(out, Math.abs(toX - fromX), kind);
+            }
+        }
+        return best;
+    }
+
+    /** Relative move, omitting a count of 1. */
+    private static int relative(StringBuilder out, int n, char command) {
+        return csi(out, n == 1 ? 0 : n, command);
+    }
+
+    /** CSI with an optional single parameter (0 for none). */
+    private static int csi(StringBuilder out, int parameter, char command) {
+        if (out != null) {
+            out.append("\u001b[");
+            if (parameter > 0) {
+                out.append(parameter);
+            }
+            out.append(command);
+        }
+        return parameter > 0 ? 3 + digits(parameter) : 3;
+    }
+
+    private static int digits(int n) {
+        int digits = 1;
+        while (n >= 10) {
+            n /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reader for DECRPM (report mode) responses to DECRQM queries on DEC private modes.
+ * <p>
+ * Shared by the capability checks of {@link Mode2026Support} and {@link Mode2027Support}.
+ */
+final class DecModeReport {
+
+    // Response parsing states
+    private static final int STATE_INITIAL = 0;
+    private static final int STATE_ESC = 1;
+    private static final int STATE_CSI = 2;
+    private static final int STATE_QUESTION = 3;
+    private static final int STATE_MODE_NUM = 4;
+    private static final int STATE_SEMICOLON = 5;
+    private static final int STATE_PS_VALUE = 6;
+    private static final int STATE_DOLLAR = 7;
+
+    private DecModeReport() {
+        // Utility class
+    }
+
+    /**
+     * Reads the DECRPM response for the given mode from the terminal.
+     * <p>
+     * Expected response format: {@code ESC [ ? mode ; Ps $ y}. Input not matching
+     * this format, or reporting another mode, is skipped.
+     *
+     * @param backend the backend to read from
+     * @param mode the DEC private mode number
+     * @param timeoutMs timeout in milliseconds to wait for the response
+     * @return the Ps value of the response, or -1 if no valid response was received
+     * @throws IOException if an I/O error occurs
+     */
+    static int readPs(Backend backend, int mode, int timeoutMs) throws IOException {
+        int state = STATE_INITIAL;
+        int modeNumber = 0;
+        int psValue = 0;
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        while (System.nanoTime() < deadlineNanos) {
+            int remainingTime = (int) TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingTime <= 0) {
+                break;
+            }
+
+            int ch = backend.read(remainingTime);
+            if (ch == -1 || ch == -2) {
+                // EOF or timeout
+                break;
+            }
+
+            switch (state) {
+                case STATE_INITIAL:
+                    if (ch == '\033') {
+                        state = STATE_ESC;
+                    }
+                    break;
+
+                case STATE_ESC:
+                    if (ch == '[') {
+                        state = STATE_CSI;
+                    } else {
+                        state = STATE_INITIAL;
+                    }
+                    break;
+
+                case STATE_CSI:
+                    if (ch == '?') {
+                        state = STATE_QUESTION;
+                        modeNumber = 0;
+                    } else {
+                        state = STATE_INITIAL;
+                    }
+                    break;
+
+                case STATE_QUESTION:
+                    if (ch >= '0' && ch <= '9') {
+                        modeNumber = ch - '0';
+                        state = STATE_MODE_NUM;
+                    } else {
+                        state = STATE_INITIAL;
+                    }
+                    break;
+
+                case STATE_MODE_NUM:
+                    if (ch >= '0' && ch <= '9') {
+                        modeNumber = modeNumber * 10 + (ch - '0');
+                    } else if (ch == ';') {
+                        if (modeNumber == mode) {
+                            state = STATE_SEMICOLON;
+                            psValue = 0;
+                        } else {
+                            state = STATE_INITIAL;
+                        }
+                    } else {
+                        state = STATE_INITIAL;
+                    }
+                    break;
+
+                case STATE_SEMICOLON:
+                    if (ch >= '0' && ch <= '9') {
+                        psValue = ch - '0';
+                        state = STATE_PS_VALUE;
+                    } else {
+                        state = STATE_INITIAL;
+                    }
+                    break;
+
+                case STATE_PS_VALUE:
+                    if (ch >= '0' && ch <= '9') {
+                        psValue = psValue * 10 + (ch - '0');
+                    } else if (ch == '$') {
+                        state = STATE_DOLLAR;
+                    } else {
+                        state = STATE_INITIAL;
+                    }
+                    break;
+
+                case STATE_DOLLAR:
+                    if (ch == 'y') {
+                        // Successfully parsed response
+                        return psValue;
+                    }
+                    state = STATE_INITIAL;
+                    break;
+
+                default:
+                    state = STATE_INITIAL;
+            }
+        }
+
+        // No valid response received
+        return -1;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import java.io.IOException;
+
+/**
+ * Utility class for Mode 2026 (synchronized output) terminal support.
+ * <p>
+ * Mode 2026 lets applications mark the beginning and end of an update. While the mode is
+ * set, the terminal keeps displaying the previous content and only renders once the update
+ * is complete, so frames are never displayed half-written and bursts of updates do not
+ * cause tearing.
+ * <p>
+ * <b>Escape sequences:</b>
+ * <ul>
+ *   <li>Query (DECRQM): {@code CSI ? 2026 $ p}</li>
+ *   <li>Response (DECRPM): {@code CSI ? 2026 ; Ps $ y} where Ps=0 means not recognized
+ *       and Ps=4 means permanently reset</li>
+ *   <li>Begin synchronized update: {@code CSI ? 2026 h}</li>
+ *   <li>End synchronized update: {@code CSI ? 2026 l}</li>
+ * </ul>
+ * <p>
+ * Terminals known to support Mode 2026: Alacritty, Contour, Foot, Ghostty, iTerm2, kitty,
+ * WezTerm, Windows Terminal.
+ *
+ * @see Terminal#setSynchronizedOutput(boolean)
+ * @see <a href="https://gist.github.com/christianparpart/d8a62cc1ab659194337d73e399004036">Synchronized Output</a>
+ */
+public final class Mode2026Support {
+
+    private static final int MODE = 2026;
+    private static final String CSI = "\033[";
+    private static final String QUERY = CSI + "?2026$p";
+    private static final String BEGIN = CSI + "?2026h";
+    private static final String END = CSI + "?2026l";
+
+    private Mode2026Support() {
+        // Utility class
+    }
+
+    /**
+     * Queries the terminal for Mode 2026 support.
+     * <p>
+     * Sends the DECRQM escape sequence and waits for the DECRPM response.
+     * If the terminal doesn't respond within the timeout, it is considered
+     * as not supporting Mode 2026.
+     *
+     * @param backend   the backend to use for terminal I/O
+     * @param timeoutMs timeout in milliseconds to wait for response
+     * @return true if the terminal recognizes Mode 2026
+     * @throws IOException if an I/O error occurs during communication
+     */
+    public static boolean query(Backend backend, int timeoutMs) throws IOException {
+        backend.writeRaw(QUERY);
+        backend.flush();
+
+        int psValue = DecModeReport.readPs(backend, MODE, timeoutMs);
+        // Ps=1..3: set, reset or permanently set; Ps=4 (permanently reset) can never be enabled
+        return psValue >= 1 && psValue <= 3;
+    }
+
+    /**
+     * Constructs the DECRQM query sequence for Mode 2026.
+     *
+     * @return the query escape sequence
+     */
+    public static String querySequence() {
+        return QUERY;
+    }
+
+    /**
+     * Constructs the sequence beginning a synchronized update.
+     *
+     * @return the begin escape sequence
+     */
+    public static String beginSequence() {
+        return BEGIN;
+    }
+
+    /**
+     * Constructs the sequence ending a synchronized update.
+     *
+     * @return the end escape sequence
+     */
+    public static String endSequence() {
+        return END;
+    }
+}
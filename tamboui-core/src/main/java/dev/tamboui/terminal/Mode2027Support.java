@@ -5,7 +5,6 @@
 package dev.tamboui.terminal;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for Mode 2027 (grapheme cluster mode) terminal support.
@@ -29,21 +28,12 @@ import java.util.concurrent.TimeUnit;
  */
 public final class Mode2027Support {
 
+    private static final int MODE = 2027;
     private static final String CSI = "\033[";
     private static final String QUERY = CSI + "?2027$p";
     private static final String ENABLE = CSI + "?2027h";
     private static final String DISABLE = CSI + "?2027l";
 
-    // Response parsing states
-    private static final int STATE_INITIAL = 0;
-    private static final int STATE_ESC = 1;
-    private static final int STATE_CSI = 2;
-    private static final int STATE_QUESTION = 3;
-    private static final int STATE_MODE_NUM = 4;
-    private static final int STATE_SEMICOLON = 5;
-    private static final int STATE_PS_VALUE = 6;
-    private static final int STATE_DOLLAR = 7;
-
     private Mode2027Support() {
         // Utility class
     }
@@ -103,105 +93,8 @@ public final class Mode2027Support {
      * </ul>
      */
     private static Mode2027Status parseResponse(Backend backend, int timeoutMs) throws IOException {
-        int state = STATE_INITIAL;
-        int modeNumber = 0;
-        int psValue = 0;
-        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
-
-        while (System.nanoTime() < deadlineNanos) {
-            int remainingTime = (int) TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
-            if (remainingTime <= 0) {
-                break;
-            }
-
-            int ch = backend.read(remainingTime);
-            if (ch == -1 || ch == -2) {
-                // EOF or timeout
-                break;
-            }
-
-            switch (state) {
-                case STATE_INITIAL:
-                    if (ch == '\033') {
-                        state = STATE_ESC;
-                    }
-                    break;
-
-                case STATE_ESC:
-                    if (ch == '[') {
-                        state = STATE_CSI;
-                    } else {
-                        state = STATE_INITIAL;
-                    }
-                    break;
-
-                case STATE_CSI:
-                    if (ch == '?') {
-                        state = STATE_QUESTION;
-                        modeNumber = 0;
-                    } else {
-                        state = STATE_INITIAL;
-                    }
-                    break;
-
-                case STATE_QUESTION:
-                    if (ch >= '0' && ch <= '9') {
-                        modeNumber = ch - '0';
-                        state = STATE_MODE_NUM;
-                    } else {
-                        state = STATE_INITIAL;
-                    }
-                    break;
-
-                case STATE_MODE_NUM:
-                    if (ch >= '0' && ch <= '9') {
-                        modeNumber = modeNumber * 10 + (ch - '0');
-                    } else if (ch == ';') {
-                        if (modeNumber == 2027) {
-                            state = STATE_SEMICOLON;
-                            psValue = 0;
-                        } else {
-                            state = STATE_INITIAL;
-                        }
-                    } else {
-                        state = STATE_INITIAL;
-                    }
-                    break;
-
-                case STATE_SEMICOLON:
-                    if (ch >= '0' && ch <= '9') {
-                        psValue = ch - '0';
-                        state = STATE_PS_VALUE;
-                    } else {
-                        state = STATE_INITIAL;
-                    }
-                    break;
-
-                case STATE_PS_VALUE:
-                    if (ch >= '0' && ch <= '9') {
-                        psValue = psValue * 10 + (ch - '0');
-                    } else if (ch == '$') {
-                        state = STATE_DOLLAR;
-                    } else {
-                        state = STATE_INITIAL;
-                    }
-                    break;
-
-                case STATE_DOLLAR:
-                    if (ch == 'y') {
-                        // Successfully parsed response
-                        return mapPsValueToStatus(psValue);
-                    }
-                    state = STATE_INITIAL;
-                    break;
-
-                default:
-                    state = STATE_INITIAL;
-            }
-        }
-
-        // No valid response received
-        return Mode2027Status.NOT_SUPPORTED;
+        int psValue = DecModeReport.readPs(backend, MODE, timeoutMs);
+        return psValue < 0 ? Mode2027Status.NOT_SUPPORTED : mapPsValueToStatus(psValue);
     }
 
     /**
@@ -0,0 +1,147 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.layout.Rect;
+
+/**
+ * A vertical shift of a range of rows between two frames, as produced by scrolling
+ * content such as a log view.
+ * <p>
+ * Detection matches {@linkplain Buffer#rowHash(int) row hashes} of the previous frame
+ * against the current one. A shift is only reported when scrolling the range on the
+ * terminal saves repainting enough rows; the subsequent diff still compares cells, so a
+ * hash collision can only cost extra output, never corrupt the screen.
+ */
+final class ScrollShift {
+
+    /** Minimum number of repainted rows a shift must save to be worth scrolling. */
+    static final int MIN_SAVED_ROWS = 2;
+
+    private final int top;
+    private final int bottom;
+    private final int lines;
+
+    ScrollShift(int top, int bottom, int lines) {
+        this.top = top;
+        this.bottom = bottom;
+        this.lines = lines;
+    }
+
+    /**
+     * Returns the first row of the scroll region (absolute y coordinate).
+     *
+     * @return the top row, inclusive
+     */
+    int top() {
+        return top;
+    }
+
+    /**
+     * Returns the row after the last row of the scroll region (absolute y coordinate).
+     *
+     * @return the bottom row, exclusive
+     */
+    int bottom() {
+        return bottom;
+    }
+
+    /**
+     * Returns the number of lines to scroll the region by.
+     *
+     * @return the number of lines to scroll up, or down if negative
+     */
+    int lines() {
+        return lines;
+    }
+
+    /**
+     * Finds the shift saving the most repainted rows when going from {@code previous}
+     * to {@code current}.
+     *
+     * @param previous the frame currently displayed
+     * @param current the frame to display
+     * @return the best shift, or null if scrolling would not pay off
+     */
+    static ScrollShift detect(Buffer previous, Buffer current) {
+        Rect area = current.area();
+        if (!area.equals(previous.area()) || area.height() < MIN_SAVED_ROWS + 1) {
+            return null;
+        }
+        int height = area.height();
+        long[] prev = new long[height];
+        long[] curr = new long[height];
+        boolean changed = false;
+        for (int row = 0; row < height; row++) {
+            prev[row] = previous.rowHash(area.y() + row);
+            curr[row] = current.rowHash(area.y() + row);
+            changed |= prev[row] != curr[row];
+        }
+        if (!changed) {
+            return null;
+        }
+
+        ScrollShift best = null;
+        int bestGain = MIN_SAVED_ROWS - 1;
+        for (int k = 1; k < height - 1; k++) {
+            // Scroll up by k: current row y shows previous row y + k
+            int start = -1;
+            for (int y = 0; y <= height - k; y++) {
+                boolean match = y < height - k && curr[y] == prev[y + k];
+                if (match && start < 0) {
+                    start = y;
+                } else if (!match && start >= 0) {
+                    int gain = gain(prev, curr, start, y, y, y + k);
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        best = new ScrollShift(area.y() + start, area.y() + y + k, k);
+                    }
+                    start = -1;
+                }
+            }
+            // Scroll down by k: current row y shows previous row y - k
+            start = -1;
+            for (int y = k; y <= height; y++) {
+                boolean match = y < height && curr[y] == prev[y - k];
+                if (match && start < 0) {
+                    start = y;
+                } else if (!match && start >= 0) {
+                    int gain = gain(prev, curr, start, y, start - k, start);
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        best = new ScrollShift(area.y() + start - k, area.y() + y, -k);
+                    }
+                    start = -1;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Rows of the matching run that would otherwise be repainted, minus the unchanged
+     * rows that scrolling blanks out and that then need repainting.
+     */
+    private static int gain(long[] prev, long[] curr, int runStart, int runEnd, int vacatedStart, int vacatedEnd) {
+        int gain = 0;
+        for (int y = runStart; y < runEnd; y++) {
+            if (curr[y] != prev[y]) {
+                gain++;
+            }
+        }
+        for (int y = vacatedStart; y < vacatedEnd; y++) {
+            if (curr[y] == prev[y]) {
+                gain--;
+            }
+        }
+        return gain;
+    }
+
+    @Override
+    public String toString() {
+        return "ScrollShift[top=" + top + ", bottom=" + bottom + ", lines=" + lines + "]";
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import dev.tamboui.style.Color;
+import dev.tamboui.style.Modifier;
+import dev.tamboui.style.Style;
+
+/**
+ * Encodes {@link Style} changes as SGR (Select Graphic Rendition) escape sequences,
+ * caching the pre-encoded result.
+ * <p>
+ * Two kinds of sequences are produced:
+ * <ul>
+ *   <li>{@link #sequence(Style)}: the full sequence, identical to
+ *       {@link AnsiStringBuilder#styleToAnsi(Style)} (reset followed by every attribute)</li>
+ *   <li>{@link #transition(Style, Style)}: the shortest sequence moving the terminal from
+ *       one style to another. When only the foreground color changes, only the new
+ *       foreground color is emitted instead of a reset plus a full re-specification.</li>
+ * </ul>
+ * Both are available as {@code String} and as pre-encoded ASCII {@code byte[]}. Results
+ * are kept in small, fixed-size caches, so colorful screens cycling through the same
+ * styles frame after frame neither rebuild nor re-encode sequences. The returned arrays
+ * are shared and must not be modified.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see AnsiCellWriter
+ */
+public final class SgrEncoder {
+
+    private static final int CACHE_SIZE = 1024;
+
+    private static final int BOLD_DIM = bit(Modifier.BOLD) | bit(Modifier.DIM);
+    private static final int BLINK = bit(Modifier.SLOW_BLINK) | bit(Modifier.RAPID_BLINK);
+
+    private static final Codes[] CODES_CACHE = new Codes[CACHE_SIZE];
+    private static final Transition[] TRANSITION_CACHE = new Transition[CACHE_SIZE];
+
+    private SgrEncoder() {
+        // Utility class
+    }
+
+    /**
+     * Returns the full SGR sequence for the given style, including the reset prefix.
+     *
+     * @param style the style
+     * @return the escape sequence, equal to {@link AnsiStringBuilder#styleToAnsi(Style)}
+     */
+    public static String sequence(Style style) {
+        return codes(style).full;
+    }
+
+    /**
+     * Returns the full SGR sequence for the given style as ASCII bytes.
+     *
+     * @param style the style
+     * @return the shared, pre-encoded escape sequence (must not be modified)
+     */
+    public static byte[] sequenceBytes(Style style) {
+        return codes(style).fullBytes;
+    }
+
+    /**
+     * Returns the shortest SGR sequence switching the terminal from {@code from} to {@code to}.
+     * <p>
+     * When {@code from} is null, the terminal state is considered unknown and the full
+     * sequence for {@code to} is returned. When both styles render identically (for example
+     * they only differ by a hyperlink), an empty string is returned.
+     *
+     * @param from the style currently active on the terminal, or null if unknown
+     * @param to the style to switch to
+     * @return the escape sequence, possibly empty
+     */
+    public static String transition(Style from, Style to) {
+        return transitionEntry(from, to).sequence;
+    }
+
+    /**
+     * Returns the shortest SGR sequence switching the terminal from {@code from} to {@code to},
+     * as ASCII bytes.
+     *
+     * @param from the style currently active on the terminal, or null if unknown
+     * @param to the style to switch to
+     * @return the shared, pre-encoded escape sequence (must not be modified), possibly empty
+     * @see #transition(Style, Style)
+     */
+    public static byte[] transitionBytes(Style from, Style to) {
+        return transitionEntry(from, to).bytes;
+    }
+
+    private static Transition transitionEntry(Style from, Style to) {
+        if (from == null) {
+            Codes codes = codes(to);
+            return codes.asTransition;
+        }
+        int slot = mix(31 * from.hashCode() + to.hashCode());
+        Transition cached = TRANSITION_CACHE[slot];
+        if (cached != null && same(cached.from, from) && same(cached.to, to)) {
+            return cached;
+        }
+        Transition transition = new Transition(from, to, delta(codes(from), codes(to)));
+        TRANSITION_CACHE[slot] = transition;
+        return transition;
+    }
+
+    private static Codes codes(Style style) {
+        int slot = mix(style.hashCode());
+        Codes cached = CODES_CACHE[slot];
+        if (cached != null && same(cached.style, style)) {
+            return cached;
+        }
+        Codes codes = new Codes(style);
+        CODES_CACHE[slot] = codes;
+        return codes;
+    }
+
+    private static String delta(Codes from, Codes to) {
+        if (to.hasNormal) {
+            // NORMAL (SGR 0) inside a sequence resets previous parameters: keep full semantics
+            return to.full;
+        }
+        StringBuilder sb = new StringBuilder(24);
+        int removed = from.modifiers & ~to.modifiers;
+        int added = to.modifiers & ~from.modifiers;
+        if ((removed & BOLD_DIM) != 0) {
+            // SGR 22 clears both bold and dim: re-enable the one that is kept
+            param(sb, "22");
+            added |= to.modifiers & BOLD_DIM;
+        }
+        if ((removed & BLINK) != 0) {
+            // SGR 25 clears both blink speeds
+            param(sb, "25");
+            added |= to.modifiers & BLINK;
+        }
+        if ((removed & bit(Modifier.ITALIC)) != 0) {
+            param(sb, "23");
+        }
+        if ((removed & bit(Modifier.UNDERLINED)) != 0) {
+            param(sb, "24");
+        }
+        if ((removed & bit(Modifier.REVERSED)) != 0) {
+            param(sb, "27");
+        }
+        if ((removed & bit(Modifier.HIDDEN)) != 0) {
+            param(sb, "28");
+        }
+        if ((removed & bit(Modifier.CROSSED_OUT)) != 0) {
+            param(sb, "29");
+        }
+        if (!from.fg.equals(to.fg)) {
+            param(sb, to.fg.isEmpty() ? "39" : to.fg);
+        }
+        if (!from.bg.equals(to.bg)) {
+            param(sb, to.bg.isEmpty() ? "49" : to.bg);
+        }
+        for (Modifier modifier : Modifier.values()) {
+            if ((added & bit(modifier)) != 0) {
+                param(sb, String.valueOf(modifier.code()));
+            }
+        }
+        if (!from.underline.equals(to.underline)) {
+            param(sb, to.underline.isEmpty() ? "59" : to.underline);
+        }
+        if (sb.length() == 0) {
+            return "";
+        }
+        sb.append('m');
+        return sb.length() < to.full.length() ? sb.toString() : to.full;
+    }
+
+    private static void param(StringBuilder sb, String code) {
+        sb.append(sb.length() == 0 ? "\u001b[" : ";").append(code);
+    }
+
+    private static boolean same(Style a, Style b) {
+        return a == b || a.equals(b);
+    }
+
+    private static int bit(Modifier modifier) {
+        return 1 << modifier.ordinal();
+    }
+
+    private static int mix(int hash) {
+        return (hash * 0x9E3779B1) >>> 22 & (CACHE_SIZE - 1);
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Pre-computed SGR parameters of a single style.
+     */
+    private static final class Codes {
+        private final Style style;
+        private final String fg;
+        private final String bg;
+        private final String underline;
+        private final int modifiers;
+        private final boolean hasNormal;
+        private final String full;
+        private final byte[] fullBytes;
+        private final Transition asTransition;
+
+        private Codes(Style style) {
+            this.style = style;
+            this.fg = style.fg().map(Color::toAnsiForeground).orElse("");
+            this.bg = style.bg().map(Color::toAnsiBackground).orElse("");
+            this.underline = style.underlineColor().map(Color::toAnsiUnderline).orElse("");
+            EnumSet<Modifier> effective = style.effectiveModifiers();
+            int bits = 0;
+            for (Modifier modifier : effective) {
+                bits |= bit(modifier);
+            }
+            this.modifiers = bits;
+            this.hasNormal = effective.contains(Modifier.NORMAL);
+            this.full = AnsiStringBuilder.styleToAnsi(style);
+            this.fullBytes = ascii(full);
+            this.asTransition = new Transition(null, style, full, fullBytes);
+        }
+    }
+
+    /**
+     * A cached transition between two styles.
+     */
+    private static final class Transition {
+        private final Style from;
+        private final Style to;
+        private final String sequence;
+        private final byte[] bytes;
+
+        private Transition(Style from, Style to, String sequence) {
+            this(from, to, sequence, ascii(sequence));
+        }
+
+        private Transition(Style from, Style to, String sequence, byte[] bytes) {
+            this.from = from;
+            this.to = to;
+            this.sequence = sequence;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import dev.tamboui.buffer.Buffer;
 import dev.tamboui.buffer.DiffResult;
 import dev.tamboui.error.RuntimeIOException;
 import dev.tamboui.jfr.TerminalDrawEvent;
+import dev.tamboui.layout.Position;
 import dev.tamboui.layout.Rect;
 import dev.tamboui.layout.Size;
 
@@ -33,12 +34,18 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
     private static final byte[] KITTY_DELETE_ALL =
             "\033_Ga=d,d=a\033\\".getBytes(StandardCharsets.US_ASCII);
 
+    private static final String SHOW_CURSOR = "\033[?25h";
+    private static final String HIDE_CURSOR = "\033[?25l";
+
     private final B backend;
     private final OutputStream rawOutput;
     private final DiffResult diffResult;
+    private final boolean packedBuffers;
     private Buffer currentBuffer;
     private Buffer previousBuffer;
     private boolean hiddenCursor;
+    private boolean synchronizedOutput;
+    private boolean scrollOptimization;
     private boolean previousFrameHadRawOutput;
     private List<Rect> previousRawOutputAreas = Collections.emptyList();
 
@@ -49,15 +56,31 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
      * @throws RuntimeIOException if initialization fails
      */
     public Terminal(B backend) {
+        this(backend, false);
+    }
+
+    /**
+     * Creates a new terminal instance with the given backend and buffer layout.
+     * <p>
+     * When {@code packedBuffers} is true, the frame buffers use the
+     * {@linkplain Buffer#packed(Rect) packed layout}, which avoids per-cell
+     * allocations when rendering and diffing large screens.
+     *
+     * @param backend the backend to use for terminal operations
+     * @param packedBuffers whether to use packed frame buffers
+     * @throws RuntimeIOException if initialization fails
+     */
+    public Terminal(B backend, boolean packedBuffers) {
         this.backend = backend;
         this.hiddenCursor = false;
         this.rawOutput = createRawOutputStream(backend);
+        this.packedBuffers = packedBuffers;
 
         try {
             Size size = backend.size();
             Rect area = Rect.of(size.width(), size.height());
-            this.currentBuffer = Buffer.empty(area);
-            this.previousBuffer = Buffer.empty(area);
+            this.currentBuffer = newBuffer(area);
+            this.previousBuffer = newBuffer(area);
             // Pre-allocate diff result with capacity for entire terminal
             // (worst case: every cell changes). This ensures zero reallocation.
             this.diffResult = new DiffResult(area.area());
@@ -114,6 +137,60 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
         }
     }
 
+    /**
+     * Enables or disables synchronized output.
+     * <p>
+     * When enabled, each frame is wrapped in Mode 2026 begin/end synchronized update
+     * markers, so that the terminal never displays a half-written frame. The frame,
+     * including cursor updates, is also sent to the backend with a single flush.
+     * Only enable this for terminals supporting Mode 2026 (see
+     * {@link Mode2026Support#query(Backend, int)}); other terminals ignore the markers
+     * but still benefit from the batching.
+     *
+     * @param synchronizedOutput true to enable synchronized output
+     */
+    public void setSynchronizedOutput(boolean synchronizedOutput) {
+        this.synchronizedOutput = synchronizedOutput;
+    }
+
+    /**
+     * Returns whether frames are drawn as synchronized updates.
+     *
+     * @return true if synchronized output is enabled
+     * @see #setSynchronizedOutput(boolean)
+     */
+    public boolean isSynchronizedOutput() {
+        return synchronizedOutput;
+    }
+
+    /**
+     * Enables or disables scroll detection.
+     * <p>
+     * When enabled, each frame is compared row by row with the previous one. If a range of
+     * rows moved vertically, as when a log view follows its tail, the range is scrolled on
+     * the terminal instead of being repainted: a DECSTBM scroll region is set on the range
+     * ({@code ESC[<top>;<bottom>r}), the region is scrolled up ({@code ESC[<n>S}, SU) or down
+     * ({@code ESC[<n>T}, SD), and the scroll region is reset ({@code ESC[r}). Only the rows
+     * that actually changed are then repainted. The sequences are written with
+     * {@link Backend#writeRaw(String)} along with the rest of the frame, without a flush
+     * in between, so they stay within a synchronized update.
+     *
+     * @param scrollOptimization true to enable scroll detection
+     */
+    public void setScrollOptimization(boolean scrollOptimization) {
+        this.scrollOptimization = scrollOptimization;
+    }
+
+    /**
+     * Returns whether vertical shifts between frames are scrolled instead of repainted.
+     *
+     * @return true if scroll detection is enabled
+     * @see #setScrollOptimization(boolean)
+     */
+    public boolean isScrollOptimization() {
+        return scrollOptimization;
+    }
+
     /**
      * Draws a frame using the provided rendering function.
      * This is the main rendering entry point.
@@ -128,8 +205,13 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
             trace = new TerminalDrawEvent();
             trace.begin();
         }
+        boolean synchronizedFrame = synchronizedOutput;
         try {
             try {
+                if (synchronizedFrame) {
+                    backend.writeRaw(Mode2026Support.beginSequence());
+                }
+
                 // Handle resize if needed
                 Size size = backend.size();
                 Rect area = Rect.of(size.width(), size.height());
@@ -147,15 +229,30 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
 
                 cleanupRawOutput(frame.rawOutputAreas());
 
+                // Scrolling would also move images drawn through raw output
+                if (scrollOptimization && !frame.hadRawOutput() && !previousFrameHadRawOutput) {
+                    ScrollShift shift = ScrollShift.detect(previousBuffer, currentBuffer);
+                    if (shift != null) {
+                        scroll(shift);
+                    }
+                }
+
                 // Calculate diff and draw (zero-allocation DoD variant)
                 previousBuffer.diff(currentBuffer, diffResult);
+                if (frame.hadRawOutput() || previousFrameHadRawOutput) {
+                    // Unchanged cells may hide images: only use absolute cursor moves
+                    diffResult.setTarget(null);
+                }
                 if (!diffResult.isEmpty()) {
                     backend.draw(diffResult);
                 }
                 diffResult.clear();  // Clear after use to release Cell refs for GC
 
                 // Handle cursor
-                if (frame.isCursorVisible()) {
+                if (synchronizedFrame) {
+                    // Keep cursor updates in the frame: backend cursor methods may flush
+                    writeCursorState(frame);
+                } else if (frame.isCursorVisible()) {
                     frame.cursorPosition().ifPresent(pos -> {
                         try {
                             backend.setCursorPosition(pos);
@@ -178,6 +275,10 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
                 }
 
                 // Flush output
+                if (synchronizedFrame) {
+                    synchronizedFrame = false;
+                    backend.writeRaw(Mode2026Support.endSequence());
+                }
                 backend.flush();
 
                 // Swap buffers
@@ -193,12 +294,55 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
                 throw new RuntimeIOException("Failed to draw frame: " + e.getMessage(), e);
             }
         } finally {
+            if (synchronizedFrame) {
+                // Rendering failed: don't leave the terminal holding back output
+                endSynchronizedUpdate();
+            }
             if (trace != null) {
                 trace.commit();
             }
         }
     }
 
+    private void scroll(ScrollShift shift) throws IOException {
+        // DECSTBM: restrict scrolling to the shifted rows (1-based, inclusive)
+        backend.writeRaw("\u001b[" + (shift.top() + 1) + ";" + shift.bottom() + "r");
+        // SU/SD written raw: backend scroll methods flush, splitting a synchronized frame
+        if (shift.lines() > 0) {
+            backend.writeRaw("\u001b[" + shift.lines() + "S");
+        } else {
+            backend.writeRaw("\u001b[" + (-shift.lines()) + "T");
+        }
+        // Reset the scroll region to the full screen
+        backend.writeRaw("\u001b[r");
+        // The terminal now shows the shifted rows: diff against that
+        previousBuffer.shiftRows(shift.top(), shift.bottom(), shift.lines());
+    }
+
+    private void writeCursorState(Frame frame) throws IOException {
+        if (frame.isCursorVisible() && frame.cursorPosition().isPresent()) {
+            Position pos = frame.cursorPosition().get();
+            // ANSI CUP uses 1-based coordinates
+            backend.writeRaw("\u001b[" + (pos.y() + 1) + ";" + (pos.x() + 1) + "H");
+            if (hiddenCursor) {
+                backend.writeRaw(SHOW_CURSOR);
+                hiddenCursor = false;
+            }
+        } else if (!frame.isCursorVisible() && !hiddenCursor) {
+            backend.writeRaw(HIDE_CURSOR);
+            hiddenCursor = true;
+        }
+    }
+
+    private void endSynchronizedUpdate() {
+        try {
+            backend.writeRaw(Mode2026Support.endSequence());
+            backend.flush();
+        } catch (IOException | RuntimeException e) {
+            // Best effort: the original failure is being propagated
+        }
+    }
+
     /**
      * Resizes the terminal buffers.
      *
@@ -206,8 +350,8 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
      * @throws RuntimeIOException if resizing fails
      */
     private void resize(Rect area) {
-        currentBuffer = Buffer.empty(area);
-        previousBuffer = Buffer.empty(area);
+        currentBuffer = newBuffer(area);
+        previousBuffer = newBuffer(area);
         try {
             cleanupRawOutput(Collections.emptyList());
             previousFrameHadRawOutput = false;
@@ -218,6 +362,10 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
         }
     }
 
+    private Buffer newBuffer(Rect area) {
+        return packedBuffers ? Buffer.packed(area) : Buffer.empty(area);
+    }
+
     /**
      * Cleans up raw output artifacts from previous frames.
      * <p>
@@ -284,8 +432,8 @@ public final class Terminal<B extends Backend> implements AutoCloseable {
             previousRawOutputAreas = Collections.emptyList();
             backend.clear();
             Rect area = currentBuffer.area();
-            currentBuffer = Buffer.empty(area);
-            previousBuffer = Buffer.empty(area);
+            currentBuffer = newBuffer(area);
+            previousBuffer = newBuffer(area);
         } catch (IOException e) {
             throw new RuntimeIOException("Failed to clear terminal: " + e.getMessage(), e);
         }
@@ -24,6 +24,10 @@ public final class CharWidth {
     private CharWidth() {
     }
 
+    // Every code point below this limit is 1 wide, except the soft hyphen
+    private static final char SIMPLE_LIMIT = 0x0300;
+    private static final char SOFT_HYPHEN = 0x00AD;
+
     // Pre-computed width lookup for BMP characters (0x0000-0xFFFF).
     // Each byte stores the display width (0, 1, or 2) for that code point.
     private static final byte[] BMP_WIDTHS = new byte[0x10000];
@@ -213,6 +217,10 @@ public final class CharWidth {
      *   <li>Skin tone modifiers: zero-width (added to base emoji)</li>
      * </ul>
      *
+     * <p>
+     * Leading characters below U+0300 (ASCII, Latin-1 and Latin Extended), which make up
+     * most terminal text, are measured without code point decoding or cluster checks.
+     *
      * @param s the string to measure
      * @return the total display width in terminal columns
      */
@@ -220,8 +228,30 @@ public final class CharWidth {
         if (s == null || s.isEmpty()) {
             return 0;
         }
-        int width = 0;
+        int length = s.length();
         int i = 0;
+        int zeroWidth = 0;
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c >= SIMPLE_LIMIT) {
+                break;
+            }
+            if (c == SOFT_HYPHEN) {
+                zeroWidth++;
+            }
+            i++;
+        }
+        if (i == length) {
+            return length - zeroWidth;
+        }
+        // Neither ZWJ nor regional indicators are below the limit, so the
+        // remainder can be measured on its own
+        return i - zeroWidth + ofComplex(s, i);
+    }
+
+    private static int ofComplex(String s, int start) {
+        int width = 0;
+        int i = start;
         while (i < s.length()) {
             int codePoint = s.codePointAt(i);
             int charCount = Character.charCount(codePoint);
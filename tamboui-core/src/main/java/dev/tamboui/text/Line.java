@@ -24,6 +24,7 @@ public final class Line {
 
     private final List<Span> spans;
     private final Alignment alignment;
+    private final int width;
 
     /**
      * Creates a new line with the given spans and alignment.
@@ -34,6 +35,11 @@ public final class Line {
     public Line(List<Span> spans, Alignment alignment) {
         this.spans = listCopyOf(spans);
         this.alignment = alignment;
+        int total = 0;
+        for (Span span : this.spans) {
+            total += span.width();
+        }
+        this.width = total;
     }
 
     /**
@@ -102,7 +108,7 @@ public final class Line {
      * @return the display width in columns
      */
     public int width() {
-        return spans.stream().mapToInt(Span::width).sum();
+        return width;
     }
 
     /**
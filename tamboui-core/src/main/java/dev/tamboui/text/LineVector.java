@@ -0,0 +1,217 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.text;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of lines with structural sharing, backing {@link Text}.
+ * <p>
+ * Lines are stored in a 32-way trie of fixed-size chunks, plus a tail chunk holding
+ * the last lines. Appending a line or replacing the last one only copies the tail,
+ * and once every 32 lines the path from the root to the new chunk, so building a text
+ * line by line is linear instead of quadratic. Previous versions remain valid and share
+ * all unchanged chunks with the new one. Reading a line costs at most a few array
+ * lookups.
+ */
+final class LineVector extends AbstractList<Line> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final LineVector EMPTY = new LineVector(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private LineVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns a vector containing the given lines.
+     *
+     * @param lines the lines
+     * @return the vector
+     */
+    static LineVector copyOf(Collection<? extends Line> lines) {
+        if (lines instanceof LineVector) {
+            return (LineVector) lines;
+        }
+        return EMPTY.appendAll(lines);
+    }
+
+    @Override
+    public Line get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (Line) chunkFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Line> iterator() {
+        return new Iterator<Line>() {
+            private int index;
+            private Object[] chunk;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Line next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0 || chunk == null) {
+                    chunk = chunkFor(index);
+                }
+                return (Line) chunk[index++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Returns a vector with the given line appended.
+     *
+     * @param line the line to append
+     * @return the new vector
+     */
+    LineVector append(Line line) {
+        Objects.requireNonNull(line, "line");
+        if (tail.length < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = line;
+            return new LineVector(size + 1, shift, root, newTail);
+        }
+        return withFullTailPushed().appendToEmptyTail(line);
+    }
+
+    /**
+     * Returns a vector with the given lines appended.
+     *
+     * @param lines the lines to append
+     * @return the new vector
+     */
+    LineVector appendAll(Collection<? extends Line> lines) {
+        if (lines.isEmpty()) {
+            return this;
+        }
+        Object[] added = lines.toArray();
+        LineVector result = this;
+        int offset = 0;
+        while (offset < added.length) {
+            if (result.tail.length == WIDTH) {
+                result = result.withFullTailPushed();
+            }
+            int count = Math.min(WIDTH - result.tail.length, added.length - offset);
+            Object[] newTail = Arrays.copyOf(result.tail, result.tail.length + count);
+            for (int i = 0; i < count; i++) {
+                newTail[result.tail.length + i] = Objects.requireNonNull(added[offset + i], "line");
+            }
+            result = new LineVector(result.size + count, result.shift, result.root, newTail);
+            offset += count;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a vector with the last line replaced.
+     *
+     * @param line the new last line
+     * @return the new vector
+     * @throws IllegalStateException if the vector is empty
+     */
+    LineVector withLast(Line line) {
+        Objects.requireNonNull(line, "line");
+        if (size == 0) {
+            throw new IllegalStateException("No last line to replace");
+        }
+        // The tail is never empty in a non-empty vector
+        Object[] newTail = tail.clone();
+        newTail[newTail.length - 1] = line;
+        return new LineVector(size, shift, root, newTail);
+    }
+
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    private Object[] chunkFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private LineVector appendToEmptyTail(Line line) {
+        return new LineVector(size + 1, shift, root, new Object[] {line});
+    }
+
+    /**
+     * Moves the full tail into the trie, leaving an empty tail.
+     */
+    private LineVector withFullTailPushed() {
+        int pushed = size >>> BITS;
+        Object[] newRoot;
+        int newShift = shift;
+        if (pushed > (1 << shift)) {
+            // The trie is full: add a level
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new LineVector(size, newShift, newRoot, new Object[0]);
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] chunk) {
+        int index = ((size - 1) >>> level) & MASK;
+        Object[] node = parent.clone();
+        if (level == BITS) {
+            node[index] = chunk;
+        } else {
+            Object[] child = (Object[]) parent[index];
+            node[index] = child != null
+                    ? pushTail(level - BITS, child, chunk)
+                    : newPath(level - BITS, chunk);
+        }
+        return node;
+    }
+
+    private static Object[] newPath(int level, Object[] chunk) {
+        if (level == 0) {
+            return chunk;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, chunk);
+        return node;
+    }
+}
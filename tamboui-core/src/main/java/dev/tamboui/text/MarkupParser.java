@@ -4,11 +4,10 @@
  */
 package dev.tamboui.text;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -67,6 +66,15 @@ public final class MarkupParser {
 
     private static final Map<String, Style> BUILT_IN_STYLES;
 
+    private static final int TEMPLATE_CACHE_SIZE = 256;
+    private static final Map<TemplateKey, MarkupTemplate> TEMPLATE_CACHE =
+        new LinkedHashMap<TemplateKey, MarkupTemplate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TemplateKey, MarkupTemplate> eldest) {
+                return size() > TEMPLATE_CACHE_SIZE;
+            }
+        };
+
     static {
         Map<String, Style> styles = new HashMap<>();
 
@@ -169,12 +177,7 @@ public final class MarkupParser {
         if (markup == null || markup.isEmpty()) {
             return Text.empty();
         }
-
-        // Replace emoji codes if enabled
-        String processedMarkup = emoji ? replaceEmoji(markup, DEFAULT_EMOJI_RESOLVER) : markup;
-
-        Parser parser = new Parser(processedMarkup, resolver);
-        return parser.parse();
+        return cachedTemplate(markup, emoji, false).toText(resolver);
     }
 
     /**
@@ -190,38 +193,111 @@ public final class MarkupParser {
             return Text.empty();
         }
 
-        // Replace emoji codes if enabled
+        // Custom emoji resolvers may not always return the same result, so this is not cached
         String processedMarkup = replaceEmoji(markup, emojiResolver);
 
-        Parser parser = new Parser(processedMarkup, resolver);
-        return parser.parse();
+        return new Parser(processedMarkup, false).compile().toText(resolver);
+    }
+
+    /**
+     * Compiles markup into a template that can be turned into text many times without
+     * being parsed again.
+     * <p>
+     * In addition to the regular markup syntax, the template may contain {@code {name}}
+     * placeholders, replaced by values in {@link MarkupTemplate#apply(Map)}. Emoji codes
+     * are replaced with Unicode emoji characters. Compiled templates are cached, so
+     * compiling the same markup again is cheap.
+     *
+     * @param template the markup template
+     * @return the compiled template
+     */
+    public static MarkupTemplate compile(String template) {
+        return cachedTemplate(template == null ? "" : template, true, true);
+    }
+
+    /**
+     * Returns the compiled form of markup, from the parse cache if possible.
+     * <p>
+     * Templates do not depend on the style resolver, whose styles are looked up each
+     * time a template is turned into text, so toolkit elements that parse the same
+     * markup on every render with a new resolver still hit the cache.
+     */
+    private static MarkupTemplate cachedTemplate(String markup, boolean emoji, boolean placeholders) {
+        TemplateKey key = new TemplateKey(markup, emoji, placeholders);
+        synchronized (TEMPLATE_CACHE) {
+            MarkupTemplate cached = TEMPLATE_CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String processedMarkup = emoji ? replaceEmoji(markup, DEFAULT_EMOJI_RESOLVER) : markup;
+        MarkupTemplate template = new Parser(processedMarkup, placeholders).compile();
+        synchronized (TEMPLATE_CACHE) {
+            TEMPLATE_CACHE.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Clears the cache of parsed markup.
+     */
+    public static void clearCache() {
+        synchronized (TEMPLATE_CACHE) {
+            TEMPLATE_CACHE.clear();
+        }
+    }
+
+    /**
+     * Cache key of parsed markup.
+     */
+    private static final class TemplateKey {
+        private final String markup;
+        private final boolean emoji;
+        private final boolean placeholders;
+
+        TemplateKey(String markup, boolean emoji, boolean placeholders) {
+            this.markup = markup;
+            this.emoji = emoji;
+            this.placeholders = placeholders;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TemplateKey)) {
+                return false;
+            }
+            TemplateKey that = (TemplateKey) o;
+            return emoji == that.emoji && placeholders == that.placeholders && markup.equals(that.markup);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * markup.hashCode() + Boolean.hashCode(emoji)) + Boolean.hashCode(placeholders);
+        }
     }
 
     /**
-     * Internal parser implementation.
+     * Internal parser implementation, compiling markup into template operations.
      */
     private static class Parser {
         private final String input;
-        private final StyleResolver resolver;
+        private final boolean placeholders;
         private int pos;
-        private final Deque<StyleEntry> styleStack;
-        private final List<Line> lines;
-        private List<Span> currentLineSpans;
-        private StringBuilder currentText;
-        private Style currentStyle;
+        private final List<Object> ops;
+        private final StringBuilder currentText;
 
-        Parser(String input, StyleResolver resolver) {
+        Parser(String input, boolean placeholders) {
             this.input = input;
-            this.resolver = resolver;
+            this.placeholders = placeholders;
             this.pos = 0;
-            this.styleStack = new ArrayDeque<>();
-            this.lines = new ArrayList<>();
-            this.currentLineSpans = new ArrayList<>();
+            this.ops = new ArrayList<>();
             this.currentText = new StringBuilder();
-            this.currentStyle = Style.EMPTY;
         }
 
-        Text parse() {
+        MarkupTemplate compile() {
             while (pos < input.length()) {
                 char c = input.charAt(pos);
 
@@ -260,25 +336,46 @@ public final class MarkupParser {
                 } else if (c == '\n') {
                     // End of line
                     flushCurrentText();
-                    lines.add(Line.from(new ArrayList<>(currentLineSpans)));
-                    currentLineSpans.clear();
+                    ops.add(MarkupTemplate.LineBreak.INSTANCE);
                     pos++;
+                } else if (placeholders && (c == '{' || c == '}')) {
+                    handleBrace(c);
                 } else {
                     currentText.append(c);
                     pos++;
                 }
             }
 
-            // Flush remaining text
             flushCurrentText();
-            if (!currentLineSpans.isEmpty()) {
-                lines.add(Line.from(currentLineSpans));
-            } else if (lines.isEmpty()) {
-                // Empty input results in empty text
-                return Text.empty();
+            return new MarkupTemplate(ops);
+        }
+
+        private void handleBrace(char c) {
+            if (pos + 1 < input.length() && input.charAt(pos + 1) == c) {
+                // Escaped brace
+                currentText.append(c);
+                pos += 2;
+                return;
+            }
+            if (c == '{') {
+                int end = pos + 1;
+                while (end < input.length() && isPlaceholderChar(input.charAt(end))) {
+                    end++;
+                }
+                if (end > pos + 1 && end < input.length() && input.charAt(end) == '}') {
+                    flushCurrentText();
+                    ops.add(new MarkupTemplate.Placeholder(input.substring(pos + 1, end)));
+                    pos = end + 1;
+                    return;
+                }
             }
+            // Not a placeholder, treat as text
+            currentText.append(c);
+            pos++;
+        }
 
-            return Text.from(lines);
+        private static boolean isPlaceholderChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
         }
 
         private void handleTag() {
@@ -329,10 +426,11 @@ public final class MarkupParser {
                 return;
             }
 
+            flushCurrentText();
             if (isClosing) {
-                handleClosingTag(tagName);
+                ops.add(new MarkupTemplate.CloseTag(tagName));
             } else {
-                handleOpeningTag(tagName, attribute, tagStart);
+                ops.add(openingTag(tagName, attribute));
             }
         }
 
@@ -352,10 +450,7 @@ public final class MarkupParser {
             return value.toString();
         }
 
-        private void handleOpeningTag(String tagName, String attribute, int tagStart) {
-            // Flush current text with current style
-            flushCurrentText();
-
+        private static MarkupTemplate.OpenTag openingTag(String tagName, String attribute) {
             // Parse all tokens for CSS class targeting
             String[] tokens = tokenizeStyleSpec(tagName);
             String primaryTag = tokens[0];  // First token used for closing tag matching
@@ -377,104 +472,16 @@ public final class MarkupParser {
 
             // Check for link tag
             if ("link".equals(primaryTag) && attribute != null) {
-                Style linkStyle = currentStyle.hyperlink(attribute).patch(tagStyle);
-                styleStack.push(new StyleEntry(primaryTag, linkStyle));
-                currentStyle = linkStyle;
-                return;
-            }
-
-            // 1. Start with resolver style for primary tag (resolver has priority)
-            Style baseStyle = Style.EMPTY;
-            boolean resolverHandledPrimaryTag = false;
-            if (resolver != null) {
-                Style resolved = resolver.resolve(primaryTag);
-                if (resolved != null) {
-                    baseStyle = resolved;
-                    resolverHandledPrimaryTag = true;
-                }
-            }
-
-            // 2. Parse compound style spec and patch on top (inline overrides base)
-            // Skip primary tag in parsing only if resolver already handled it
-            String skipToken = resolverHandledPrimaryTag ? primaryTag : null;
-            Style parsedStyle = parseStyleSpec(tokens, skipToken);
-            Style combined = baseStyle.patch(parsedStyle);
-
-            Style withTags = combined.patch(tagStyle);
-            Style newStyle = currentStyle.patch(withTags);
-            styleStack.push(new StyleEntry(primaryTag, newStyle));
-            currentStyle = newStyle;
-        }
-
-        private void handleClosingTag(String tagName) {
-            // Flush current text
-            flushCurrentText();
-
-            // Implicit close: pop most recent tag
-            if (tagName.isEmpty()) {
-                if (!styleStack.isEmpty()) {
-                    styleStack.pop();
-                    recalculateCurrentStyle();
-                }
-                return;
-            }
-
-            // Find matching opening tag
-            StyleEntry found = null;
-            Deque<StyleEntry> temp = new ArrayDeque<>();
-
-            while (!styleStack.isEmpty()) {
-                StyleEntry entry = styleStack.pop();
-                if (entry.tagName.equals(tagName)) {
-                    found = entry;
-                    break;
-                }
-                temp.push(entry);
-            }
-
-            // Restore unmatched entries
-            while (!temp.isEmpty()) {
-                styleStack.push(temp.pop());
-            }
-
-            if (found != null) {
-                // Pop entries up to and including the found one
-                Deque<StyleEntry> toPop = new ArrayDeque<>();
-                while (!styleStack.isEmpty()) {
-                    StyleEntry entry = styleStack.peek();
-                    if (entry.tagName.equals(tagName)) {
-                        styleStack.pop();
-                        break;
-                    }
-                    toPop.push(styleStack.pop());
-                }
-
-                // Recalculate current style from remaining stack
-                recalculateCurrentStyle();
-
-                // Re-push inner entries
-                while (!toPop.isEmpty()) {
-                    StyleEntry entry = toPop.pop();
-                    // Preserve the accumulated style the inner tag had before the outer close.
-                    // Recomputing from base style would lose inherited styling from the
-                    // (now closed) outer tag, which is undesirable for mismatched tags.
-                    styleStack.push(entry);
-                    currentStyle = entry.style;
-                }
+                return new MarkupTemplate.OpenTag(primaryTag, attribute, tagStyle, Style.EMPTY, Style.EMPTY);
             }
-            // If no matching tag found, ignore the closing tag
-        }
 
-        private void recalculateCurrentStyle() {
-            List<StyleEntry> entries = new ArrayList<>(styleStack);
-            Collections.reverse(entries);
-            currentStyle = Style.EMPTY;
-            for (StyleEntry entry : entries) {
-                currentStyle = entry.style;
-            }
+            // Whether the resolver handles the primary tag is only known when the
+            // template is turned into text, so parse the spec both with and without it
+            return new MarkupTemplate.OpenTag(primaryTag, null, tagStyle,
+                    parseStyleSpec(tokens, null), parseStyleSpec(tokens, primaryTag));
         }
 
-        private Style parseStyleSpec(String[] tokens, String skipToken) {
+        private static Style parseStyleSpec(String[] tokens, String skipToken) {
             Style result = Style.EMPTY;
 
             boolean expectBg = false;
@@ -564,24 +571,14 @@ public final class MarkupParser {
             return tokens.toArray(new String[0]);
         }
 
-        private Color parseColor(String name) {
+        private static Color parseColor(String name) {
             return ColorConverter.INSTANCE.convert(name).orElse(null);
         }
 
         private void flushCurrentText() {
             if (currentText.length() > 0) {
-                currentLineSpans.add(new Span(currentText.toString(), currentStyle));
-                currentText = new StringBuilder();
-            }
-        }
-
-        private static class StyleEntry {
-            final String tagName;
-            final Style style;
-
-            StyleEntry(String tagName, Style style) {
-                this.tagName = tagName;
-                this.style = style;
+                ops.add(new MarkupTemplate.TextRun(currentText.toString()));
+                currentText.setLength(0);
             }
         }
     }
@@ -0,0 +1,337 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dev.tamboui.style.Style;
+
+/**
+ * Markup that has been parsed once and can be turned into {@link Text} many times.
+ * <p>
+ * Templates are created with {@link MarkupParser#compile(String)}. Besides the regular
+ * markup syntax, they may contain {@code {name}} placeholders in text, which are
+ * replaced by values when the template is applied. Values are inserted as plain text:
+ * they are not parsed as markup, and take the style of the surrounding tags.
+ * Double braces, <code>{{</code> and <code>}}</code>, produce literal braces.
+ * <pre>{@code
+ * MarkupTemplate status = MarkupParser.compile("[bold]Processed:[/bold] [green]{count}[/green] items");
+ *
+ * // On every frame, without parsing the markup again
+ * Text text = status.apply(Collections.singletonMap("count", processed));
+ * }</pre>
+ * <p>
+ * Tag styles provided by a {@link MarkupParser.StyleResolver} are resolved each time the
+ * template is applied, so templates remain valid when the resolver's styles change, for
+ * example when switching themes. Templates are immutable and thread-safe.
+ */
+public final class MarkupTemplate {
+
+    private final List<Object> ops;
+    private final Set<String> placeholders;
+
+    MarkupTemplate(List<Object> ops) {
+        this.ops = ops;
+        Set<String> names = new LinkedHashSet<>();
+        for (Object op : ops) {
+            if (op instanceof Placeholder) {
+                names.add(((Placeholder) op).name);
+            }
+        }
+        this.placeholders = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Returns the names of the placeholders of this template, in order of appearance.
+     *
+     * @return the placeholder names
+     */
+    public Set<String> placeholders() {
+        return placeholders;
+    }
+
+    /**
+     * Creates the text of this template using only built-in styles.
+     *
+     * @param values the placeholder values, converted with {@link String#valueOf(Object)}
+     * @return the styled text
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public Text apply(Map<String, ?> values) {
+        return apply(values, null);
+    }
+
+    /**
+     * Creates the text of this template with custom style resolution.
+     *
+     * @param values   the placeholder values, converted with {@link String#valueOf(Object)}
+     * @param resolver optional resolver for custom tags
+     * @return the styled text
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public Text apply(Map<String, ?> values, MarkupParser.StyleResolver resolver) {
+        return new Renderer(resolver, values).render(ops);
+    }
+
+    /**
+     * Creates the text of a template without placeholders.
+     */
+    Text toText(MarkupParser.StyleResolver resolver) {
+        return new Renderer(resolver, Collections.<String, Object>emptyMap()).render(ops);
+    }
+
+    /**
+     * A run of plain text.
+     */
+    static final class TextRun {
+        final String text;
+
+        TextRun(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * A line break.
+     */
+    static final class LineBreak {
+        static final LineBreak INSTANCE = new LineBreak();
+
+        private LineBreak() {
+        }
+    }
+
+    /**
+     * A {@code {name}} placeholder.
+     */
+    static final class Placeholder {
+        final String name;
+
+        Placeholder(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * An opening tag, with the styles that do not depend on the resolver already parsed.
+     */
+    static final class OpenTag {
+        final String primaryTag;
+        final String link;
+        final Style tagStyle;
+        final Style specStyle;
+        final Style specStyleWithoutPrimary;
+
+        OpenTag(String primaryTag, String link, Style tagStyle, Style specStyle, Style specStyleWithoutPrimary) {
+            this.primaryTag = primaryTag;
+            this.link = link;
+            this.tagStyle = tagStyle;
+            this.specStyle = specStyle;
+            this.specStyleWithoutPrimary = specStyleWithoutPrimary;
+        }
+    }
+
+    /**
+     * A closing tag; an empty name closes the most recent tag.
+     */
+    static final class CloseTag {
+        final String tagName;
+
+        CloseTag(String tagName) {
+            this.tagName = tagName;
+        }
+    }
+
+    /**
+     * Builds the text of a template, keeping track of the open tags.
+     */
+    private static final class Renderer {
+        private final MarkupParser.StyleResolver resolver;
+        private final Map<String, ?> values;
+        private final Map<String, Style> resolved = new HashMap<>();
+        private final Deque<StyleEntry> styleStack = new ArrayDeque<>();
+        private final List<Line> lines = new ArrayList<>();
+        private List<Span> currentLineSpans = new ArrayList<>();
+        private final StringBuilder currentText = new StringBuilder();
+        private Style currentStyle = Style.EMPTY;
+
+        Renderer(MarkupParser.StyleResolver resolver, Map<String, ?> values) {
+            this.resolver = resolver;
+            this.values = values;
+        }
+
+        Text render(List<Object> ops) {
+            for (Object op : ops) {
+                if (op instanceof TextRun) {
+                    currentText.append(((TextRun) op).text);
+                } else if (op instanceof Placeholder) {
+                    appendValue(((Placeholder) op).name);
+                } else if (op instanceof LineBreak) {
+                    breakLine();
+                } else if (op instanceof OpenTag) {
+                    flushCurrentText();
+                    open((OpenTag) op);
+                } else {
+                    flushCurrentText();
+                    close(((CloseTag) op).tagName);
+                }
+            }
+
+            // Flush remaining text
+            flushCurrentText();
+            if (!currentLineSpans.isEmpty()) {
+                lines.add(Line.from(currentLineSpans));
+            } else if (lines.isEmpty()) {
+                // Empty input results in empty text
+                return Text.empty();
+            }
+            return Text.from(lines);
+        }
+
+        private void appendValue(String name) {
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Missing value for placeholder: " + name);
+            }
+            String value = String.valueOf(values.get(name));
+            int start = 0;
+            int newline;
+            while ((newline = value.indexOf('\n', start)) >= 0) {
+                currentText.append(value, start, newline);
+                breakLine();
+                start = newline + 1;
+            }
+            currentText.append(value, start, value.length());
+        }
+
+        private void breakLine() {
+            flushCurrentText();
+            lines.add(Line.from(currentLineSpans));
+            currentLineSpans = new ArrayList<>();
+        }
+
+        private void open(OpenTag tag) {
+            if (tag.link != null) {
+                Style linkStyle = currentStyle.hyperlink(tag.link).patch(tag.tagStyle);
+                styleStack.push(new StyleEntry(tag.primaryTag, linkStyle));
+                currentStyle = linkStyle;
+                return;
+            }
+
+            // 1. Start with resolver style for primary tag (resolver has priority)
+            // 2. Patch the compound style spec on top (inline overrides base), without
+            //    the primary tag if the resolver already handled it
+            Style baseStyle = Style.EMPTY;
+            Style specStyle = tag.specStyle;
+            Style resolvedStyle = resolve(tag.primaryTag);
+            if (resolvedStyle != null) {
+                baseStyle = resolvedStyle;
+                specStyle = tag.specStyleWithoutPrimary;
+            }
+
+            Style newStyle = currentStyle.patch(baseStyle.patch(specStyle).patch(tag.tagStyle));
+            styleStack.push(new StyleEntry(tag.primaryTag, newStyle));
+            currentStyle = newStyle;
+        }
+
+        private Style resolve(String tagName) {
+            if (resolver == null) {
+                return null;
+            }
+            // The same tag is usually used many times in one text
+            if (resolved.containsKey(tagName)) {
+                return resolved.get(tagName);
+            }
+            Style style = resolver.resolve(tagName);
+            resolved.put(tagName, style);
+            return style;
+        }
+
+        private void close(String tagName) {
+            // Implicit close: pop most recent tag
+            if (tagName.isEmpty()) {
+                if (!styleStack.isEmpty()) {
+                    styleStack.pop();
+                    recalculateCurrentStyle();
+                }
+                return;
+            }
+
+            // Find matching opening tag
+            StyleEntry found = null;
+            Deque<StyleEntry> temp = new ArrayDeque<>();
+
+            while (!styleStack.isEmpty()) {
+                StyleEntry entry = styleStack.pop();
+                if (entry.tagName.equals(tagName)) {
+                    found = entry;
+                    break;
+                }
+                temp.push(entry);
+            }
+
+            // Restore unmatched entries
+            while (!temp.isEmpty()) {
+                styleStack.push(temp.pop());
+            }
+
+            if (found != null) {
+                // Pop entries up to and including the found one
+                Deque<StyleEntry> toPop = new ArrayDeque<>();
+                while (!styleStack.isEmpty()) {
+                    StyleEntry entry = styleStack.peek();
+                    if (entry.tagName.equals(tagName)) {
+                        styleStack.pop();
+                        break;
+                    }
+                    toPop.push(styleStack.pop());
+                }
+
+                // Recalculate current style from remaining stack
+                recalculateCurrentStyle();
+
+                // Re-push inner entries
+                while (!toPop.isEmpty()) {
+                    StyleEntry entry = toPop.pop();
+                    // Preserve the accumulated style the inner tag had before the outer close.
+                    // Recomputing from base style would lose inherited styling from the
+                    // (now closed) outer tag, which is undesirable for mismatched tags.
+                    styleStack.push(entry);
+                    currentStyle = entry.style;
+                }
+            }
+            // If no matching tag found, ignore the closing tag
+        }
+
+        private void recalculateCurrentStyle() {
+            StyleEntry top = styleStack.peek();
+            currentStyle = top != null ? top.style : Style.EMPTY;
+        }
+
+        private void flushCurrentText() {
+            if (currentText.length() > 0) {
+                currentLineSpans.add(new Span(currentText.toString(), currentStyle));
+                currentText.setLength(0);
+            }
+        }
+    }
+
+    private static final class StyleEntry {
+        final String tagName;
+        final Style style;
+
+        StyleEntry(String tagName, Style style) {
+            this.tagName = tagName;
+            this.style = style;
+        }
+    }
+}
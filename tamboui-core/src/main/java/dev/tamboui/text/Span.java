@@ -14,6 +14,7 @@ public final class Span {
 
     private final String content;
     private final Style style;
+    private final int width;
     private final int cachedHashCode;
 
     /**
@@ -25,6 +26,7 @@ public final class Span {
     public Span(String content, Style style) {
         this.content = content;
         this.style = style;
+        this.width = CharWidth.of(content);
         this.cachedHashCode = computeHashCode();
     }
 
@@ -81,11 +83,12 @@ public final class Span {
     /**
      * Returns the display width of this span in terminal columns.
      * Wide characters (CJK, emoji) count as 2, combining marks as 0.
+     * The width is computed once, when the span is created.
      *
      * @return the display width in terminal columns
      */
     public int width() {
-        return CharWidth.of(content);
+        return width;
     }
 
     /**
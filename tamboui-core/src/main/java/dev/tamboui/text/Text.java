@@ -6,7 +6,6 @@ package dev.tamboui.text;
 
 import java.io.BufferedReader;
 import java.io.StringReader;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -21,11 +20,18 @@ import static dev.tamboui.util.CollectionUtil.listCopyOf;
 
 /**
  * Multi-line styled text, composed of Lines.
+ * <p>
+ * Texts are immutable and share their lines with the texts derived from them:
+ * {@link #append(Line)} and {@link #push(Span)} take effectively constant time
+ * regardless of the number of lines, so a log or chat view can be built incrementally.
+ * The width and height of a text are computed as it is built.
  */
 public final class Text {
 
-    private final List<Line> lines;
+    private final LineVector lines;
     private final Alignment alignment;
+    private final int width;
+    private final boolean blank;
 
     /**
      * Creates a new text with the given lines and alignment.
@@ -34,8 +40,23 @@ public final class Text {
      * @param alignment the text alignment, or null for default
      */
     public Text(List<Line> lines, Alignment alignment) {
-        this.lines = listCopyOf(lines);
+        this.lines = LineVector.copyOf(Objects.requireNonNull(lines, "lines"));
         this.alignment = alignment;
+        int maxWidth = 0;
+        boolean allEmpty = true;
+        for (Line line : this.lines) {
+            maxWidth = Math.max(maxWidth, line.width());
+            allEmpty &= line.isEmpty();
+        }
+        this.width = maxWidth;
+        this.blank = allEmpty;
+    }
+
+    private Text(LineVector lines, Alignment alignment, int width, boolean blank) {
+        this.lines = lines;
+        this.alignment = alignment;
+        this.width = width;
+        this.blank = blank;
     }
 
     /**
@@ -44,7 +65,7 @@ public final class Text {
      * @return a new empty text
      */
     public static Text empty() {
-        return new Text(listCopyOf(), null);
+        return new Text(LineVector.EMPTY, null, 0, true);
     }
 
     /**
@@ -141,10 +162,7 @@ public final class Text {
      * @return the maximum line width in terminal columns
      */
     public int width() {
-        return lines.stream()
-            .mapToInt(Line::width)
-            .max()
-            .orElse(0);
+        return width;
     }
 
     /**
@@ -153,7 +171,7 @@ public final class Text {
      * @return true if empty
      */
     public boolean isEmpty() {
-        return lines.isEmpty() || lines.stream().allMatch(Line::isEmpty);
+        return blank;
     }
 
     /**
@@ -163,7 +181,7 @@ public final class Text {
      * @return a new text with the specified alignment
      */
     public Text alignment(Alignment alignment) {
-        return new Text(lines, alignment);
+        return new Text(lines, alignment, width, blank);
     }
 
     /**
@@ -297,9 +315,8 @@ public final class Text {
      * @return a new text with the appended lines
      */
     public Text append(Text other) {
-        List<Line> newLines = new ArrayList<>(lines);
-        newLines.addAll(other.lines);
-        return new Text(newLines, alignment);
+        return new Text(lines.appendAll(other.lines), alignment,
+            Math.max(width, other.width), blank && other.blank);
     }
 
     /**
@@ -309,9 +326,8 @@ public final class Text {
      * @return a new text with the appended line
      */
     public Text append(Line line) {
-        List<Line> newLines = new ArrayList<>(lines);
-        newLines.add(line);
-        return new Text(newLines, alignment);
+        return new Text(lines.append(line), alignment,
+            Math.max(width, line.width()), blank && line.isEmpty());
     }
 
     /**
@@ -324,14 +340,18 @@ public final class Text {
         if (lines.isEmpty()) {
             return append(Line.from(span));
         }
-        List<Line> newLines = new ArrayList<>(lines);
-        Line lastLine = newLines.remove(newLines.size() - 1);
-        newLines.add(lastLine.append(span));
-        return new Text(newLines, alignment);
+        Line lastLine = lines.get(lines.size() - 1).append(span);
+        // Appending a span never narrows or empties the last line
+        return new Text(lines.withLast(lastLine), alignment,
+            Math.max(width, lastLine.width()), blank && lastLine.isEmpty());
     }
 
     /**
      * Returns the lines of this text.
+     * <p>
+     * The returned list is immutable and provides fast random access, so widgets
+     * can read only the lines they display, for example through
+     * {@link List#subList(int, int)}.
      *
      * @return the lines
      */
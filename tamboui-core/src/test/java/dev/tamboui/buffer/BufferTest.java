@@ -382,6 +382,22 @@ class BufferTest {
         assertThat(result).contains("click");
     }
 
+    @Test
+    @DisplayName("shiftRows moves rows within the range and blanks vacated rows")
+    void shiftRows() {
+        for (Buffer buffer : new Buffer[] {Buffer.empty(Rect.of(3, 5)), Buffer.packed(Rect.of(3, 5))}) {
+            for (int y = 0; y < 5; y++) {
+                buffer.setString(0, y, "r" + y, Style.EMPTY);
+            }
+
+            buffer.shiftRows(1, 4, 1);
+            assertThat(buffer).isEqualTo(Buffer.withLines("r0 ", "r2 ", "r3 ", "   ", "r4 "));
+
+            buffer.shiftRows(0, 5, -2);
+            assertThat(buffer).isEqualTo(Buffer.withLines("   ", "   ", "r0 ", "r2 ", "r3 "));
+        }
+    }
+
     private int countOccurrences(String str, String sub) {
         int count = 0;
         int idx = 0;
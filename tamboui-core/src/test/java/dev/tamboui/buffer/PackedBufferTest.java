@@ -0,0 +1,176 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.buffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.layout.Rect;
+import dev.tamboui.style.Color;
+import dev.tamboui.style.Style;
+
+import static dev.tamboui.assertj.BufferAssertions.*;
+import static org.assertj.core.api.Assertions.*;
+
+class PackedBufferTest {
+
+    private static final Rect AREA = new Rect(0, 0, 12, 3);
+
+    @Test
+    @DisplayName("Packed buffer starts empty and equals a default buffer")
+    void emptyPackedBuffer() {
+        Buffer packed = Buffer.packed(AREA);
+        assertThat(packed.isPacked()).isTrue();
+        assertThat(Buffer.empty(AREA).isPacked()).isFalse();
+        assertThat(packed.get(0, 0)).isEqualTo(Cell.EMPTY);
+        assertThat(packed).isEqualTo(Buffer.empty(AREA));
+        assertThat(packed.hashCode()).isEqualTo(Buffer.empty(AREA).hashCode());
+    }
+
+    @Test
+    @DisplayName("Packed buffer writes match the default layout")
+    void writesMatchDefaultLayout() {
+        Buffer packed = Buffer.packed(AREA);
+        Buffer reference = Buffer.empty(AREA);
+        for (Buffer buffer : new Buffer[] {packed, reference}) {
+            buffer.setStyle(new Rect(0, 0, 12, 1), Style.EMPTY.bg(Color.BLUE));
+            buffer.setString(0, 0, "Hi 世界 é", Style.EMPTY.fg(Color.RED));
+            buffer.setString(0, 1, "👨‍💻 🇫🇷", Style.EMPTY.bold());
+            buffer.setString(1, 1, "x", Style.EMPTY);
+            buffer.fill(new Rect(8, 2, 3, 1), new Cell("#", Style.EMPTY.fg(Color.GREEN)));
+            buffer.set(11, 2, new Cell("!", Style.EMPTY.italic()));
+        }
+
+        assertThat(packed).isEqualTo(reference);
+        assertThat(packed.hashCode()).isEqualTo(reference.hashCode());
+        assertThat(packed.get(0, 0).style().bg()).contains(Color.BLUE);
+        assertThat(packed.get(0, 0).style().fg()).contains(Color.RED);
+        assertThat(packed.get(4, 0).isContinuation()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Diff between packed buffers reports only changed cells")
+    void diffPacked() {
+        Buffer prev = Buffer.packed(AREA);
+        Buffer curr = Buffer.packed(AREA);
+        prev.setString(0, 1, "same", Style.EMPTY);
+        curr.setString(0, 1, "same", Style.EMPTY);
+        curr.setString(2, 2, "ab", Style.EMPTY.fg(Color.CYAN));
+
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+
+        assertThat(diff.size()).isEqualTo(2);
+        assertThat(diff.getX(0)).isEqualTo(2);
+        assertThat(diff.getY(0)).isEqualTo(2);
+        assertThat(diff.getCell(0)).isEqualTo(new Cell("a", Style.EMPTY.fg(Color.CYAN)));
+        assertThat(diff.getCell(1).symbol()).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("Diff between packed and default buffers falls back to cell comparison")
+    void diffMixedLayouts() {
+        Buffer prev = Buffer.empty(AREA);
+        Buffer curr = Buffer.packed(AREA);
+        curr.setString(0, 0, "x", Style.EMPTY);
+
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+
+        assertThat(diff.size()).isEqualTo(1);
+        assertThat(diff.getCell(0).symbol()).isEqualTo("x");
+    }
+
+    @Test
+    @DisplayName("Row hashes follow row content")
+    void rowHashes() {
+        Buffer a = Buffer.packed(AREA);
+        Buffer b = Buffer.packed(AREA);
+        a.setString(0, 1, "status", Style.EMPTY.fg(Color.RED));
+        b.setString(0, 1, "status", Style.EMPTY.fg(Color.RED));
+
+        assertThat(a.rowHash(0)).isEqualTo(b.rowHash(0)).isEqualTo(a.rowHash(2));
+        assertThat(a.rowHash(1)).isEqualTo(b.rowHash(1)).isNotEqualTo(a.rowHash(0));
+
+        b.setString(3, 1, "x", Style.EMPTY.fg(Color.RED));
+        assertThat(b.rowHash(1)).isNotEqualTo(a.rowHash(1));
+        b.setStyle(new Rect(0, 0, 1, 1), Style.EMPTY.bold());
+        assertThat(b.rowHash(0)).isNotEqualTo(a.rowHash(0));
+        assertThat(b.copy().rowHash(1)).isEqualTo(b.rowHash(1));
+    }
+
+    @Test
+    @DisplayName("Clear resets every row written since the last clear")
+    void clearResetsWrittenRows() {
+        Buffer buffer = Buffer.packed(AREA);
+        buffer.setString(0, 1, "x", Style.EMPTY);
+        buffer.clear();
+        buffer.setString(0, 2, "y", Style.EMPTY);
+        buffer.setStyle(new Rect(0, 0, 1, 1), Style.EMPTY.bold());
+        long blankHash = buffer.rowHash(1);
+
+        buffer.clear();
+
+        assertThat(buffer).isEqualTo(Buffer.empty(AREA));
+        assertThat(buffer.rowHash(0)).isEqualTo(blankHash);
+        assertThat(buffer.rowHash(2)).isEqualTo(blankHash);
+    }
+
+    @Test
+    @DisplayName("Diff only reports changed cells of redrawn rows")
+    void diffSkipsUnchangedRows() {
+        Buffer prev = Buffer.packed(AREA);
+        Buffer curr = Buffer.packed(AREA);
+        for (Buffer buffer : new Buffer[] {prev, curr}) {
+            buffer.setString(0, 0, "header", Style.EMPTY.bold());
+            buffer.setString(0, 2, "12:00", Style.EMPTY);
+        }
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+        assertThat(diff.size()).isZero();
+
+        // Redraw the same frame, only the clock changes
+        curr.clear();
+        curr.setString(0, 0, "header", Style.EMPTY.bold());
+        curr.setString(0, 2, "12:01", Style.EMPTY);
+        prev.diff(curr, diff);
+
+        assertThat(diff.size()).isEqualTo(1);
+        assertThat(diff.getX(0)).isEqualTo(4);
+        assertThat(diff.getY(0)).isEqualTo(2);
+        assertThat(diff.getCell(0).symbol()).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Diff reports rows blanked since the previous frame")
+    void diffReportsBlankedRows() {
+        Buffer prev = Buffer.packed(AREA);
+        Buffer curr = Buffer.packed(AREA);
+        prev.setString(0, 1, "gone", Style.EMPTY);
+        curr.setString(0, 1, "gone", Style.EMPTY);
+        curr.clear();
+
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+
+        assertThat(diff.size()).isEqualTo(4);
+        assertThat(diff.getY(0)).isEqualTo(1);
+        assertThat(diff.getCell(0)).isEqualTo(Cell.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Copy of a packed buffer is packed and independent")
+    void copyPacked() {
+        Buffer buffer = Buffer.packed(AREA);
+        buffer.setString(0, 0, "abc", Style.EMPTY);
+
+        Buffer copy = buffer.copy();
+        copy.setString(0, 0, "z", Style.EMPTY);
+
+        assertThat(copy.isPacked()).isTrue();
+        assertThat(buffer.get(0, 0).symbol()).isEqualTo("a");
+        assertThat(copy.get(0, 0).symbol()).isEqualTo("z");
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.style;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StylePoolTest {
+
+    @Test
+    @DisplayName("EMPTY style has id 0")
+    void emptyStyleId() {
+        assertThat(StylePool.id(Style.EMPTY)).isEqualTo(StylePool.EMPTY_ID);
+        assertThat(StylePool.style(StylePool.EMPTY_ID)).isSameAs(Style.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Equal styles share the same id and canonical instance")
+    void equalStylesShareId() {
+        Style a = Style.EMPTY.fg(Color.indexed(201)).bold();
+        Style b = Style.EMPTY.bold().fg(Color.indexed(201));
+
+        assertThat(a).isNotSameAs(b);
+        assertThat(StylePool.id(a)).isEqualTo(StylePool.id(b));
+        assertThat(StylePool.intern(b)).isSameAs(StylePool.intern(a));
+    }
+
+    @Test
+    @DisplayName("Different styles get different ids")
+    void differentStylesDifferentIds() {
+        int red = StylePool.id(Style.EMPTY.fg(Color.RED));
+        int green = StylePool.id(Style.EMPTY.fg(Color.GREEN));
+
+        assertThat(red).isNotEqualTo(green);
+        assertThat(StylePool.style(red)).isEqualTo(Style.EMPTY.fg(Color.RED));
+        assertThat(Style.EMPTY.fg(Color.RED)).isNotEqualTo(Style.EMPTY.fg(Color.GREEN));
+    }
+
+    @Test
+    @DisplayName("patch by id matches Style.patch")
+    void patchById() {
+        Style base = Style.EMPTY.bg(Color.BLUE).italic();
+        Style overlay = Style.EMPTY.fg(Color.YELLOW).notItalic();
+
+        int patched = StylePool.patch(StylePool.id(base), StylePool.id(overlay));
+
+        assertThat(StylePool.style(patched)).isEqualTo(base.patch(overlay));
+        assertThat(StylePool.patch(StylePool.id(base), StylePool.id(overlay))).isEqualTo(patched);
+        assertThat(StylePool.patch(base, overlay)).isSameAs(StylePool.style(patched));
+        assertThat(StylePool.patch(patched, StylePool.EMPTY_ID)).isEqualTo(patched);
+    }
+
+    @Test
+    @DisplayName("Unknown ids are rejected")
+    void unknownId() {
+        assertThatThrownBy(() -> StylePool.style(Integer.MAX_VALUE))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
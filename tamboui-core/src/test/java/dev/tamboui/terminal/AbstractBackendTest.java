@@ -0,0 +1,235 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.buffer.DiffResult;
+import dev.tamboui.layout.Position;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.layout.Size;
+import dev.tamboui.style.Color;
+import dev.tamboui.style.Style;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AbstractBackendTest {
+
+    private static DiffResult sampleDiff() {
+        Rect area = Rect.of(20, 3);
+        Buffer prev = Buffer.empty(area);
+        Buffer curr = Buffer.empty(area);
+        curr.setString(0, 0, "Hello", Style.EMPTY.fg(Color.RED).bold());
+        curr.setString(6, 0, "世界 é", Style.EMPTY.fg(Color.GREEN));
+        curr.setString(3, 2, "👨‍💻 ok", Style.EMPTY.bg(Color.BLUE));
+        DiffResult diff = new DiffResult(area.area());
+        prev.diff(curr, diff);
+        return diff;
+    }
+
+    @Test
+    @DisplayName("Byte sink draw path produces the same output as the string path")
+    void byteSinkMatchesStringPath() throws IOException {
+        DiffResult diff = sampleDiff();
+        RecordingBackend strings = new RecordingBackend(false);
+        RecordingBackend bytes = new RecordingBackend(true);
+
+        strings.draw(diff);
+        bytes.draw(diff);
+
+        assertThat(bytes.rawWrites).isZero();
+        assertThat(strings.rawWrites).isPositive();
+        assertThat(bytes.sink.toByteArray()).isEqualTo(strings.output.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Byte sink draw path encodes cursor moves and symbols directly")
+    void byteSinkEncodesOutput() throws IOException {
+        RecordingBackend backend = new RecordingBackend(true);
+        Buffer prev = Buffer.empty(Rect.of(10, 2));
+        Buffer curr = Buffer.empty(Rect.of(10, 2));
+        curr.setString(2, 1, "é", Style.EMPTY);
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+
+        backend.draw(diff);
+
+        assertThat(new String(backend.sink.toByteArray(), StandardCharsets.UTF_8))
+            .isEqualTo("\u001b[2;3H\u001b[0mé\u001b[0m");
+    }
+
+    @Test
+    @DisplayName("Cursor moves between diff runs use the shortest sequence")
+    void plansCursorMoves() throws IOException {
+        RecordingBackend backend = new RecordingBackend(false);
+        Buffer prev = Buffer.empty(Rect.of(20, 3));
+        Buffer curr = Buffer.empty(Rect.of(20, 3));
+        prev.setString(0, 0, "ab-cd", Style.EMPTY);
+        curr.setString(0, 0, "AB-CD", Style.EMPTY);
+        curr.setString(0, 1, "x", Style.EMPTY);
+        curr.setString(15, 2, "y", Style.EMPTY);
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+
+        backend.draw(diff);
+
+        // The unchanged "-" is re-printed, then CR+LF and CUP
+        assertThat(backend.output.toString(StandardCharsets.UTF_8.name()))
+            .isEqualTo("\u001b[1;1H\u001b[0mAB-CD\r\nx\u001b[3;16Hy\u001b[0m");
+    }
+
+    @Test
+    @DisplayName("Cursor moves after a wide glyph account for its unchanged continuation cell")
+    void cursorAdvancesPastWideGlyph() throws IOException {
+        RecordingBackend backend = new RecordingBackend(false);
+        Buffer prev = Buffer.empty(Rect.of(20, 1));
+        Buffer curr = Buffer.empty(Rect.of(20, 1));
+        prev.setString(0, 0, "0123456789世abcdefg", Style.EMPTY);
+        curr.setString(0, 0, "0123456789界abcXefg", Style.EMPTY);
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+
+        backend.draw(diff);
+
+        // After 界 the cursor is at column 12; "abc" is re-printed to reach column 15
+        assertThat(backend.output.toString(StandardCharsets.UTF_8.name()))
+            .isEqualTo("\u001b[1;11H\u001b[0m界abcX\u001b[0m");
+    }
+
+    @Test
+    @DisplayName("Cursor moves are absolute when the diff has no target")
+    void absoluteMovesWithoutTarget() throws IOException {
+        RecordingBackend backend = new RecordingBackend(false);
+        Buffer prev = Buffer.empty(Rect.of(20, 3));
+        Buffer curr = Buffer.empty(Rect.of(20, 3));
+        curr.setString(0, 0, "a", Style.EMPTY);
+        curr.setString(2, 0, "b", Style.EMPTY);
+        DiffResult diff = new DiffResult();
+        prev.diff(curr, diff);
+        diff.setTarget(null);
+
+        backend.draw(diff);
+
+        assertThat(backend.output.toString(StandardCharsets.UTF_8.name()))
+            .isEqualTo("\u001b[1;1H\u001b[0ma\u001b[1;3Hb\u001b[0m");
+    }
+
+    private static final class ByteArraySink implements ByteSink {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        @Override
+        public ByteSink append(byte b) {
+            out.write(b);
+            return this;
+        }
+
+        @Override
+        public ByteSink append(byte[] bytes) {
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        @Override
+        public ByteSink appendInt(int value) {
+            return append(Integer.toString(value).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public ByteSink appendUtf8(String s) {
+            return append(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    private static final class RecordingBackend extends AbstractBackend {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final ByteArraySink sink;
+        private int rawWrites;
+
+        RecordingBackend(boolean withSink) {
+            this.sink = withSink ? new ByteArraySink() : null;
+        }
+
+        @Override
+        public ByteSink byteSink() {
+            return sink;
+        }
+
+        @Override
+        public void writeRaw(byte[] data) {
+            rawWrites++;
+            output.write(data, 0, data.length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public Size size() {
+            return new Size(20, 3);
+        }
+
+        @Override
+        public void showCursor() {
+        }
+
+        @Override
+        public void hideCursor() {
+        }
+
+        @Override
+        public Position getCursorPosition() {
+            return Position.ORIGIN;
+        }
+
+        @Override
+        public void enterAlternateScreen() {
+        }
+
+        @Override
+        public void leaveAlternateScreen() {
+        }
+
+        @Override
+        public void enableRawMode() {
+        }
+
+        @Override
+        public void disableRawMode() {
+        }
+
+        @Override
+        public void onResize(Runnable handler) {
+        }
+
+        @Override
+        public int read(int timeoutMs) {
+            return -2;
+        }
+
+        @Override
+        public int peek(int timeoutMs) {
+            return -2;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
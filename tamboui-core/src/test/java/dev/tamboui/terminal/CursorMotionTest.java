@@ -0,0 +1,59 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorMotionTest {
+
+    private static final int WIDTH = 80;
+
+    private static String move(int fromX, int fromY, int toX, int toY) {
+        StringBuilder sb = new StringBuilder();
+        int cost = CursorMotion.append(sb, fromX, fromY, toX, toY, WIDTH);
+        assertThat(cost).isEqualTo(sb.length());
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Short forward moves on the same row use CUF")
+    void forwardOnSameRow() {
+        assertThat(move(10, 5, 11, 5)).isEqualTo("\u001b[C");
+        assertThat(move(10, 5, 14, 5)).isEqualTo("\u001b[4C");
+    }
+
+    @Test
+    @DisplayName("Moves to the first column use a carriage return")
+    void carriageReturn() {
+        assertThat(move(40, 5, 0, 5)).isEqualTo("\r");
+        assertThat(move(40, 5, 0, 6)).isEqualTo("\r\n");
+        assertThat(move(40, 5, 1, 6)).isEqualTo("\r\n\u001b[C");
+    }
+
+    @Test
+    @DisplayName("Long moves fall back to CHA or CUP")
+    void absoluteMoves() {
+        assertThat(move(1, 5, 70, 5)).isEqualTo("\u001b[71G");
+        assertThat(move(1, 5, 70, 20)).isEqualTo("\u001b[21;71H");
+        assertThat(move(30, 20, 0, 0)).isEqualTo("\u001b[H");
+    }
+
+    @Test
+    @DisplayName("Vertical moves keep the column when possible")
+    void verticalMoves() {
+        assertThat(move(30, 5, 30, 4)).isEqualTo("\u001b[A");
+        assertThat(move(30, 5, 30, 8)).isEqualTo("\u001b[3B");
+    }
+
+    @Test
+    @DisplayName("Relative horizontal moves are not used after a pending wrap")
+    void pendingWrap() {
+        assertThat(move(WIDTH, 5, WIDTH - 2, 5)).isEqualTo("\u001b[79G");
+        assertThat(move(WIDTH, 5, 0, 6)).isEqualTo("\r\n");
+    }
+}
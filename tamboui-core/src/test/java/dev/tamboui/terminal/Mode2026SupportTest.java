@@ -0,0 +1,108 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.layout.Position;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Mode2026SupportTest {
+
+    private static final String BEGIN = "\033[?2026h";
+    private static final String END = "\033[?2026l";
+
+    @Test
+    @DisplayName("escape sequences are CSI ? 2026 $ p / h / l")
+    void escapeSequences() {
+        assertThat(Mode2026Support.querySequence()).isEqualTo("\033[?2026$p");
+        assertThat(Mode2026Support.beginSequence()).isEqualTo(BEGIN);
+        assertThat(Mode2026Support.endSequence()).isEqualTo(END);
+    }
+
+    @Test
+    @DisplayName("query recognizes DECRPM responses for mode 2026")
+    void queryParsesResponse() throws IOException {
+        assertThat(Mode2026Support.query(new RespondingBackend("\033[?2026;2$y"), 100)).isTrue();
+        assertThat(Mode2026Support.query(new RespondingBackend("\033[?2026;1$y"), 100)).isTrue();
+        assertThat(Mode2026Support.query(new RespondingBackend("\033[?2026;3$y"), 100)).isTrue();
+        assertThat(Mode2026Support.query(new RespondingBackend("\033[?2026;4$y"), 100)).isFalse();
+        assertThat(Mode2026Support.query(new RespondingBackend("\033[?2026;0$y"), 100)).isFalse();
+        assertThat(Mode2026Support.query(new RespondingBackend("\033[?2027;2$y"), 100)).isFalse();
+        assertThat(Mode2026Support.query(new RespondingBackend(""), 100)).isFalse();
+    }
+
+    @Test
+    @DisplayName("query sends the DECRQM sequence")
+    void querySendsSequence() throws IOException {
+        RespondingBackend backend = new RespondingBackend("");
+        Mode2026Support.query(backend, 10);
+        assertThat(backend.rawOutput()).isEqualTo("\033[?2026$p");
+    }
+
+    @Test
+    @DisplayName("synchronized frames are wrapped in begin/end markers with cursor updates inside")
+    void synchronizedFrame() {
+        TestBackend backend = new TestBackend(10, 3);
+        Terminal<TestBackend> terminal = new Terminal<>(backend);
+        terminal.setSynchronizedOutput(true);
+
+        terminal.draw(frame -> frame.setCursorPosition(new Position(2, 1)));
+
+        assertThat(terminal.isSynchronizedOutput()).isTrue();
+        assertThat(backend.rawOutput()).isEqualTo(BEGIN + "\033[2;3H" + END);
+        assertThat(backend.ops()).isEmpty();
+
+        backend.reset();
+        terminal.draw(frame -> { });
+        assertThat(backend.rawOutput()).isEqualTo(BEGIN + "\033[?25l" + END);
+    }
+
+    @Test
+    @DisplayName("synchronized update is ended when rendering fails")
+    void synchronizedFrameEndedOnFailure() {
+        TestBackend backend = new TestBackend(10, 3);
+        Terminal<TestBackend> terminal = new Terminal<>(backend);
+        terminal.setSynchronizedOutput(true);
+
+        assertThatThrownBy(() -> terminal.draw(frame -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(backend.rawOutput()).isEqualTo(BEGIN + END);
+    }
+
+    @Test
+    @DisplayName("frames are not wrapped by default")
+    void notSynchronizedByDefault() {
+        TestBackend backend = new TestBackend(10, 3);
+        Terminal<TestBackend> terminal = new Terminal<>(backend);
+
+        terminal.draw(frame -> { });
+
+        assertThat(terminal.isSynchronizedOutput()).isFalse();
+        assertThat(backend.rawOutput()).isEmpty();
+    }
+
+    private static final class RespondingBackend extends TestBackend {
+        private final byte[] response;
+        private int position;
+
+        RespondingBackend(String response) {
+            super(10, 3);
+            this.response = response.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public int read(int timeoutMs) {
+            return position < response.length ? response[position++] : -2;
+        }
+    }
+}
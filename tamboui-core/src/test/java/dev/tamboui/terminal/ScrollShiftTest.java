@@ -0,0 +1,138 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.buffer.DiffResult;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.style.Style;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrollShiftTest {
+
+    private static final int WIDTH = 20;
+    private static final int HEIGHT = 10;
+
+    /** Renders a header, log lines starting at {@code first}, and a footer. */
+    private static void renderLog(Buffer buffer, int first) {
+        buffer.setString(0, 0, "header", Style.EMPTY.bold());
+        for (int y = 1; y < HEIGHT - 1; y++) {
+            buffer.setString(0, y, "log line " + (first + y), Style.EMPTY);
+        }
+        buffer.setString(0, HEIGHT - 1, "footer", Style.EMPTY.reversed());
+    }
+
+    private static Buffer log(int first) {
+        Buffer buffer = Buffer.empty(Rect.of(WIDTH, HEIGHT));
+        renderLog(buffer, first);
+        return buffer;
+    }
+
+    @Test
+    @DisplayName("detects content scrolled up within a region")
+    void detectsScrollUp() {
+        ScrollShift shift = ScrollShift.detect(log(0), log(2));
+
+        assertThat(shift).isNotNull();
+        assertThat(shift.top()).isEqualTo(1);
+        assertThat(shift.bottom()).isEqualTo(HEIGHT - 1);
+        assertThat(shift.lines()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("detects content scrolled down within a region")
+    void detectsScrollDown() {
+        ScrollShift shift = ScrollShift.detect(log(5), log(4));
+
+        assertThat(shift).isNotNull();
+        assertThat(shift.top()).isEqualTo(1);
+        assertThat(shift.bottom()).isEqualTo(HEIGHT - 1);
+        assertThat(shift.lines()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("reports nothing for identical or unrelated frames")
+    void noShift() {
+        assertThat(ScrollShift.detect(log(0), log(0))).isNull();
+
+        Buffer other = Buffer.empty(Rect.of(WIDTH, HEIGHT));
+        other.setString(0, 3, "something else", Style.EMPTY);
+        assertThat(ScrollShift.detect(log(0), other)).isNull();
+    }
+
+    @Test
+    @DisplayName("terminal scrolls the region and repaints only the new line")
+    void terminalScrollsRegion() {
+        ScrollingBackend backend = new ScrollingBackend();
+        Terminal<ScrollingBackend> terminal = new Terminal<>(backend);
+        terminal.setScrollOptimization(true);
+
+        terminal.draw(frame -> renderLog(frame.buffer(), 0));
+        backend.reset();
+        terminal.draw(frame -> renderLog(frame.buffer(), 1));
+
+        assertThat(backend.rawOutput()).startsWith("\u001b[2;9r\u001b[1S\u001b[r");
+        // Written raw: the flushing backend scroll methods would split a synchronized frame
+        assertThat(backend.scrolled).isEmpty();
+        // Only the line entering at the bottom of the region is drawn
+        assertThat(backend.drawnRows).containsOnly(HEIGHT - 2);
+    }
+
+    @Test
+    @DisplayName("terminal repaints shifted rows when scroll detection is disabled")
+    void terminalRepaintsWithoutScrollDetection() {
+        ScrollingBackend backend = new ScrollingBackend();
+        Terminal<ScrollingBackend> terminal = new Terminal<>(backend);
+
+        terminal.draw(frame -> renderLog(frame.buffer(), 0));
+        backend.reset();
+        terminal.draw(frame -> renderLog(frame.buffer(), 1));
+
+        assertThat(backend.rawOutput()).doesNotContain("\u001b[2;9r");
+        assertThat(backend.drawnRows).hasSizeGreaterThan(1);
+    }
+
+    private static final class ScrollingBackend extends TestBackend {
+        private final List<Integer> scrolled = new ArrayList<>();
+        private final List<Integer> drawnRows = new ArrayList<>();
+
+        ScrollingBackend() {
+            super(WIDTH, HEIGHT);
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            scrolled.clear();
+            drawnRows.clear();
+        }
+
+        @Override
+        public void scrollUp(int lines) {
+            scrolled.add(lines);
+        }
+
+        @Override
+        public void scrollDown(int lines) {
+            scrolled.add(-lines);
+        }
+
+        @Override
+        public void draw(DiffResult diff) {
+            for (int i = 0; i < diff.size(); i++) {
+                if (!drawnRows.contains(diff.getY(i))) {
+                    drawnRows.add(diff.getY(i));
+                }
+            }
+        }
+    }
+}
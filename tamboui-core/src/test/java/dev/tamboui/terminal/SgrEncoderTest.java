@@ -0,0 +1,97 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.terminal;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.buffer.Cell;
+import dev.tamboui.style.Color;
+import dev.tamboui.style.Style;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SgrEncoderTest {
+
+    @Test
+    @DisplayName("full sequence matches AnsiStringBuilder and is cached")
+    void fullSequence() {
+        Style style = Style.EMPTY.fg(Color.RED).bg(Color.rgb(1, 2, 3)).bold();
+
+        assertThat(SgrEncoder.sequence(style)).isEqualTo(AnsiStringBuilder.styleToAnsi(style));
+        assertThat(SgrEncoder.sequence(style)).isSameAs(SgrEncoder.sequence(style));
+        assertThat(new String(SgrEncoder.sequenceBytes(style), StandardCharsets.US_ASCII))
+                .isEqualTo(SgrEncoder.sequence(style));
+    }
+
+    @Test
+    @DisplayName("transition from unknown state emits the full sequence")
+    void transitionFromUnknown() {
+        Style style = Style.EMPTY.fg(Color.GREEN);
+        assertThat(SgrEncoder.transition(null, style)).isEqualTo(SgrEncoder.sequence(style));
+    }
+
+    @Test
+    @DisplayName("changing only the foreground emits only the foreground")
+    void foregroundOnly() {
+        Style from = Style.EMPTY.fg(Color.rgb(10, 20, 30)).bg(Color.BLUE).bold();
+        Style to = from.fg(Color.rgb(10, 20, 31));
+
+        assertThat(SgrEncoder.transition(from, to)).isEqualTo("\u001b[38;2;10;20;31m");
+        assertThat(new String(SgrEncoder.transitionBytes(from, to), StandardCharsets.US_ASCII))
+                .isEqualTo("\u001b[38;2;10;20;31m");
+    }
+
+    @Test
+    @DisplayName("removed colors and modifiers are reset individually")
+    void removals() {
+        Style from = Style.EMPTY.fg(Color.rgb(200, 100, 50)).bg(Color.rgb(1, 1, 1)).italic().underlined();
+        Style to = Style.EMPTY.bg(Color.rgb(1, 1, 1)).italic();
+
+        assertThat(SgrEncoder.transition(from, to)).isEqualTo("\u001b[24;39m");
+    }
+
+    @Test
+    @DisplayName("turning off bold keeps dim enabled")
+    void boldOffKeepsDim() {
+        Style from = Style.EMPTY.bold().dim().fg(Color.rgb(9, 9, 9));
+        Style to = Style.EMPTY.dim().fg(Color.rgb(9, 9, 9));
+
+        assertThat(SgrEncoder.transition(from, to)).isEqualTo("\u001b[22;2m");
+    }
+
+    @Test
+    @DisplayName("full sequence is used when shorter than the delta")
+    void fullWhenShorter() {
+        Style from = Style.EMPTY.fg(Color.RED).bold().italic().underlined().reversed();
+        Style to = Style.EMPTY;
+
+        assertThat(SgrEncoder.transition(from, to)).isEqualTo("\u001b[0m");
+    }
+
+    @Test
+    @DisplayName("styles rendering identically produce an empty transition")
+    void identicalRendering() {
+        Style from = Style.EMPTY.fg(Color.RED);
+        Style to = from.hyperlink("https://example.com");
+
+        assertThat(SgrEncoder.transition(from, to)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("delta writer emits only the changed attribute")
+    void deltaWriter() {
+        StringBuilder sb = new StringBuilder();
+        try (AnsiCellWriter writer = new AnsiCellWriter(sb::append, true)) {
+            writer.writeCell(new Cell("a", Style.EMPTY.fg(Color.rgb(1, 2, 3)).bg(Color.rgb(4, 5, 6))));
+            writer.writeCell(new Cell("b", Style.EMPTY.fg(Color.rgb(1, 2, 4)).bg(Color.rgb(4, 5, 6))));
+        }
+
+        assertThat(sb.toString()).isEqualTo(
+                "\u001b[0;38;2;1;2;3;48;2;4;5;6ma\u001b[38;2;1;2;4mb" + AnsiStringBuilder.RESET);
+    }
+}
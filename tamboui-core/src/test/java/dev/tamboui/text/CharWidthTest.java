@@ -141,6 +141,47 @@ class CharWidthTest {
         assertThat(CharWidth.of("")).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("Latin-1 and Latin Extended strings are one column per character")
+    void latinStringWidth() {
+        assertThat(CharWidth.of("2024-05-01 12:00:00 INFO  Server started")).isEqualTo(40);
+        assertThat(CharWidth.of("Café crème, Łódź, Ærøskøbing")).isEqualTo(28);
+        // Control characters are not special-cased
+        assertThat(CharWidth.of("a\tb")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Soft hyphens in Latin-1 strings have width 0")
+    void softHyphenInLatinString() {
+        assertThat(CharWidth.of("co\u00ADoperate")).isEqualTo(9);
+        assertThat(CharWidth.of("\u00AD\u00AD")).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Latin prefix followed by complex content is measured correctly")
+    void latinPrefixFollowedByComplexContent() {
+        // Combining acute accent right after the prefix
+        assertThat(CharWidth.of("Cafe\u0301 ok")).isEqualTo(7);
+        // ZWJ family emoji (👨‍👦) after the prefix: width 2
+        assertThat(CharWidth.of("log: \uD83D\uDC68\u200D\uD83D\uDC66")).isEqualTo(7);
+        // Flag (🇫🇷) after the prefix: width 2
+        assertThat(CharWidth.of("\u00E9t\u00E9 \uD83C\uDDEB\uD83C\uDDF7")).isEqualTo(6);
+        // Wide characters after the prefix, then Latin again
+        assertThat(CharWidth.of("id=世界;x\u00AD")).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("String width matches code point widths below U+0300")
+    void latinStringWidthMatchesCodePointWidths() {
+        StringBuilder all = new StringBuilder();
+        int expected = 0;
+        for (char c = 0; c < 0x0300; c++) {
+            all.append(c);
+            expected += CharWidth.of((int) c);
+        }
+        assertThat(CharWidth.of(all.toString())).isEqualTo(expected);
+    }
+
     @Test
     @DisplayName("substringByWidth clips at width boundary")
     void substringByWidth() {
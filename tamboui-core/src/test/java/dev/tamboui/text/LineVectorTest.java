@@ -0,0 +1,102 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LineVectorTest {
+
+    @Test
+    @DisplayName("Appended lines are read back in order across trie levels")
+    void appendAcrossLevels() {
+        // More than 32^3 lines, so the trie grows to three levels
+        int count = 40_000;
+        LineVector vector = LineVector.EMPTY;
+        List<Line> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Line line = Line.from(String.valueOf(i));
+            vector = vector.append(line);
+            expected.add(line);
+        }
+
+        assertThat(vector).hasSize(count);
+        for (int i = 0; i < count; i += 97) {
+            assertThat(vector.get(i)).isSameAs(expected.get(i));
+        }
+        assertThat(vector.get(count - 1)).isSameAs(expected.get(count - 1));
+        assertThat(vector).containsExactlyElementsOf(expected);
+        assertThat(vector).isEqualTo(expected);
+        assertThat(vector.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    @DisplayName("appendAll matches appending lines one by one")
+    void appendAllMatchesAppend() {
+        List<Line> first = lines(0, 45);
+        List<Line> second = lines(45, 1100);
+
+        LineVector bulk = LineVector.EMPTY.append(Line.from("start")).appendAll(first).appendAll(second);
+        LineVector single = LineVector.EMPTY.append(Line.from("start"));
+        for (Line line : first) {
+            single = single.append(line);
+        }
+        for (Line line : second) {
+            single = single.append(line);
+        }
+
+        assertThat(bulk).isEqualTo(single);
+        assertThat(bulk.get(1000)).isSameAs(second.get(1000 - 46));
+    }
+
+    @Test
+    @DisplayName("Previous versions are not affected by appends")
+    void previousVersionsUnchanged() {
+        LineVector base = LineVector.copyOf(lines(0, 64));
+        LineVector appended = base.append(Line.from("x"));
+        LineVector replaced = base.withLast(Line.from("last"));
+
+        assertThat(base).hasSize(64).isEqualTo(lines(0, 64));
+        assertThat(appended).hasSize(65);
+        assertThat(appended.get(64)).isEqualTo(Line.from("x"));
+        assertThat(replaced).hasSize(64);
+        assertThat(replaced.get(63)).isEqualTo(Line.from("last"));
+        assertThat(replaced.get(62)).isEqualTo(Line.from("62"));
+    }
+
+    @Test
+    @DisplayName("withLast on an empty vector throws")
+    void withLastOnEmpty() {
+        assertThatThrownBy(() -> LineVector.EMPTY.withLast(Line.from("x")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Vector is immutable and bounds checked")
+    void immutableAndBoundsChecked() {
+        LineVector vector = LineVector.copyOf(Arrays.asList(Line.from("a"), Line.from("b")));
+
+        assertThatThrownBy(() -> vector.add(Line.from("c")))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> vector.get(2))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(vector.subList(1, 2)).containsExactly(Line.from("b"));
+    }
+
+    private static List<Line> lines(int from, int to) {
+        List<Line> lines = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            lines.add(Line.from(String.valueOf(i)));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.text;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.style.Color;
+import dev.tamboui.style.Modifier;
+import dev.tamboui.style.Style;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MarkupTemplateTest {
+
+    @Test
+    @DisplayName("placeholders are replaced with values in the style of their tags")
+    void replacesPlaceholders() {
+        MarkupTemplate template = MarkupParser.compile("[bold]Count:[/bold] [green]{count}[/green] items");
+
+        Text text = template.apply(Collections.singletonMap("count", 42));
+
+        assertThat(text.lines()).hasSize(1);
+        Line line = text.lines().get(0);
+        assertThat(line.rawContent()).isEqualTo("Count: 42 items");
+        assertThat(line.spans().get(0).style().addModifiers()).contains(Modifier.BOLD);
+        assertThat(line.spans().get(2).content()).isEqualTo("42");
+        assertThat(line.spans().get(2).style().fg()).contains(Color.GREEN);
+    }
+
+    @Test
+    @DisplayName("template text matches parsed markup with the values inlined")
+    void matchesParsedMarkup() {
+        MarkupTemplate template = MarkupParser.compile("[red]Hello[/red] {name}, [link=https://example.com]{what}[/link]!");
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "World");
+        values.put("what", "docs");
+
+        assertThat(template.apply(values))
+            .isEqualTo(MarkupParser.parse("[red]Hello[/red] World, [link=https://example.com]docs[/link]!"));
+    }
+
+    @Test
+    @DisplayName("values are inserted as text, not parsed as markup")
+    void valuesAreNotParsed() {
+        MarkupTemplate template = MarkupParser.compile("[cyan]{value}[/cyan]");
+
+        Text text = template.apply(Collections.singletonMap("value", "[bold]:smile:[/bold]"));
+
+        Span span = text.lines().get(0).spans().get(0);
+        assertThat(span.content()).isEqualTo("[bold]:smile:[/bold]");
+        assertThat(span.style().fg()).contains(Color.CYAN);
+    }
+
+    @Test
+    @DisplayName("newlines in values start new lines")
+    void newlinesInValues() {
+        MarkupTemplate template = MarkupParser.compile("> {message}");
+
+        Text text = template.apply(Collections.singletonMap("message", "first\nsecond"));
+
+        assertThat(text.lines()).hasSize(2);
+        assertThat(text.lines().get(0).rawContent()).isEqualTo("> first");
+        assertThat(text.lines().get(1).rawContent()).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("double braces and braces that are not placeholders are literal")
+    void literalBraces() {
+        MarkupTemplate template = MarkupParser.compile("{{x}} {not closed {} {a b} }}");
+
+        assertThat(template.placeholders()).isEmpty();
+        assertThat(template.apply(Collections.<String, Object>emptyMap()).lines().get(0).rawContent())
+            .isEqualTo("{x} {not closed {} {a b} }");
+    }
+
+    @Test
+    @DisplayName("placeholders are listed in order of appearance")
+    void listsPlaceholders() {
+        MarkupTemplate template = MarkupParser.compile("{b} [bold]{a}[/bold] {b} {c.d}");
+
+        assertThat(template.placeholders()).containsExactly("b", "a", "c.d");
+    }
+
+    @Test
+    @DisplayName("missing placeholder value throws")
+    void missingValue() {
+        MarkupTemplate template = MarkupParser.compile("Hello {name}");
+
+        assertThatThrownBy(() -> template.apply(Collections.<String, Object>emptyMap()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("name");
+    }
+
+    @Test
+    @DisplayName("parse does not treat braces as placeholders")
+    void parseKeepsBraces() {
+        assertThat(MarkupParser.parse("{name}").lines().get(0).rawContent()).isEqualTo("{name}");
+    }
+
+    @Test
+    @DisplayName("compiling the same markup returns the cached template")
+    void compileIsCached() {
+        assertThat(MarkupParser.compile("[bold]{x}[/bold]")).isSameAs(MarkupParser.compile("[bold]{x}[/bold]"));
+    }
+
+    @Test
+    @DisplayName("custom styles are resolved each time, once per tag")
+    void resolvesCustomStylesOnEachApply() {
+        MarkupTemplate template = MarkupParser.compile("[keyword]a[/keyword] [keyword]b[/keyword]");
+        AtomicInteger calls = new AtomicInteger();
+        Style[] current = {Style.EMPTY.fg(Color.RED)};
+        MarkupParser.StyleResolver resolver = tag -> {
+            calls.incrementAndGet();
+            return "keyword".equals(tag) ? current[0] : null;
+        };
+
+        Text red = template.apply(Collections.<String, Object>emptyMap(), resolver);
+        current[0] = Style.EMPTY.fg(Color.BLUE);
+        Text blue = template.apply(Collections.<String, Object>emptyMap(), resolver);
+
+        assertThat(red.lines().get(0).spans().get(2).style().fg()).contains(Color.RED);
+        assertThat(blue.lines().get(0).spans().get(0).style().fg()).contains(Color.BLUE);
+        assertThat(calls).hasValue(2);
+    }
+}
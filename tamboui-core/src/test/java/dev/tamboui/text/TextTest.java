@@ -4,6 +4,9 @@
  */
 package dev.tamboui.text;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -71,4 +74,41 @@ class TextTest {
         assertThat(text.height()).isEqualTo(0);
         assertThat(text.width()).isEqualTo(0);
     }
+
+    @Test
+    @DisplayName("Appending keeps width and emptiness up to date")
+    void appendUpdatesWidthAndEmptiness() {
+        Text text = Text.from(Line.from(""));
+        assertThat(text.isEmpty()).isTrue();
+
+        text = text.append(Line.from("abc"));
+        assertThat(text.isEmpty()).isFalse();
+        assertThat(text.width()).isEqualTo(3);
+
+        text = text.push(Span.raw("defgh"));
+        assertThat(text.width()).isEqualTo(8);
+        assertThat(text.height()).isEqualTo(2);
+
+        text = text.append(Text.from("x\nlonger than eight"));
+        assertThat(text.width()).isEqualTo(17);
+        assertThat(text.height()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Appending does not modify the original text")
+    void appendLeavesOriginalUnchanged() {
+        Text log = Text.empty();
+        List<Text> versions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            log = log.append(Line.from("line " + i));
+            versions.add(log);
+        }
+        Text pushed = log.push(Span.raw("!"));
+
+        assertThat(versions.get(9).height()).isEqualTo(10);
+        assertThat(versions.get(9).lines().get(9).rawContent()).isEqualTo("line 9");
+        assertThat(log.lines().get(99).rawContent()).isEqualTo("line 99");
+        assertThat(pushed.lines().get(99).rawContent()).isEqualTo("line 99!");
+        assertThat(pushed).isEqualTo(Text.from(pushed.lines()));
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.cascade;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import dev.tamboui.css.Styleable;
+
+/**
+ * A counting Bloom filter of the types, ids and classes of the elements on an ancestor
+ * chain, used to quickly reject descendant and child selectors.
+ * <p>
+ * A rule like {@code Dialog .footer Button} can only match a Button if some ancestor
+ * has the {@code Dialog} type and another one the {@code footer} class. When the filter
+ * does not contain one of those keys, the rule is rejected without walking the ancestor
+ * chain. The filter may report false positives, in which case the selector is matched
+ * normally, but never false negatives.
+ * <p>
+ * Elements are pushed when entering a subtree and popped when leaving it, so the filter
+ * always describes the current ancestor chain:
+ * <pre>
+ * filter.push(panel);
+ * try {
+ *     // resolve the styles of the panel's children
+ * } finally {
+ *     filter.pop();
+ * }
+ * </pre>
+ * This class is not thread-safe.
+ *
+ * @see RuleIndex#candidates(Styleable, AncestorFilter)
+ */
+public final class AncestorFilter {
+
+    private static final int BITS = 12;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_COUNT = 0xFF;
+
+    private static final int TYPE_SALT = 0x3C6EF372;
+    private static final int ID_SALT = 0x1B873593;
+    private static final int CLASS_SALT = 0x5BD1E995;
+
+    private final byte[] counters = new byte[1 << BITS];
+    private final Deque<int[]> pushed = new ArrayDeque<>();
+
+    /**
+     * Adds an ancestor's types, id and classes to the filter.
+     *
+     * @param element the ancestor to add
+     */
+    public void push(Styleable element) {
+        int[] hashes = hashesOf(element);
+        for (int hash : hashes) {
+            increment(hash & MASK);
+            increment((hash >>> BITS) & MASK);
+        }
+        pushed.push(hashes);
+    }
+
+    /**
+     * Removes the most recently pushed ancestor from the filter.
+     *
+     * @throws IllegalStateException if the filter is empty
+     */
+    public void pop() {
+        int[] hashes = pushed.poll();
+        if (hashes == null) {
+            throw new IllegalStateException("No ancestor to pop");
+        }
+        for (int hash : hashes) {
+            decrement(hash & MASK);
+            decrement((hash >>> BITS) & MASK);
+        }
+    }
+
+    /**
+     * Returns the number of ancestors in the filter.
+     *
+     * @return the ancestor count
+     */
+    public int depth() {
+        return pushed.size();
+    }
+
+    /**
+     * Returns whether each of the given keys, as computed by {@link #typeHash(String)},
+     * {@link #idHash(String)} and {@link #classHash(String)}, might be on some ancestor.
+     * <p>
+     * A {@code false} result is exact: at least one of the keys is on no ancestor.
+     *
+     * @param hashes the key hashes
+     * @return false if one of the keys is on no ancestor
+     */
+    public boolean mightContainAll(int[] hashes) {
+        for (int hash : hashes) {
+            if (counters[hash & MASK] == 0 || counters[(hash >>> BITS) & MASK] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the key hash of a type name.
+     *
+     * @param typeName the type name
+     * @return the key hash
+     */
+    public static int typeHash(String typeName) {
+        return mix(typeName.hashCode() ^ TYPE_SALT);
+    }
+
+    /**
+     * Returns the key hash of an element id.
+     *
+     * @param id the element id
+     * @return the key hash
+     */
+    public static int idHash(String id) {
+        return mix(id.hashCode() ^ ID_SALT);
+    }
+
+    /**
+     * Returns the key hash of a CSS class.
+     *
+     * @param className the class name
+     * @return the key hash
+     */
+    public static int classHash(String className) {
+        return mix(className.hashCode() ^ CLASS_SALT);
+    }
+
+    private static int[] hashesOf(Styleable element) {
+        List<String> types = Styleable.styleTypesOf(element);
+        Optional<String> id = element.cssId();
+        Set<String> classes = element.cssClasses();
+        int[] hashes = new int[types.size() + (id.isPresent() ? 1 : 0) + classes.size()];
+        int i = 0;
+        for (String type : types) {
+            hashes[i++] = typeHash(type);
+        }
+        if (id.isPresent()) {
+            hashes[i++] = idHash(id.get());
+        }
+        for (String cssClass : classes) {
+            hashes[i++] = classHash(cssClass);
+        }
+        return hashes;
+    }
+
+    private void increment(int slot) {
+        int count = counters[slot] & 0xFF;
+        // Saturated counters are never decremented again, so they never under-count
+        if (count < MAX_COUNT) {
+            counters[slot] = (byte) (count + 1);
+        }
+    }
+
+    private void decrement(int slot) {
+        int count = counters[slot] & 0xFF;
+        if (count > 0 && count < MAX_COUNT) {
+            counters[slot] = (byte) (count - 1);
+        }
+    }
+
+    /**
+     * Spreads the bits of a string hash code, so that both filter slots are
+     * well distributed.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -5,6 +5,7 @@
 package dev.tamboui.css.cascade;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,12 +30,19 @@ import dev.tamboui.style.PropertyRegistry;
  * <p>
  * Unknown properties (those not registered in {@link PropertyRegistry}) are handled
  * according to the configured {@link UnknownPropertyBehavior}.
+ * <p>
+ * Declaration values are compiled once: variables are substituted and the result is
+ * converted to its typed value the first time a declaration is applied, and reused by
+ * later resolutions with the same variables. Passing different variables, such as after
+ * a stylesheet switch, discards the compiled values. Variable maps passed to the resolve
+ * methods must therefore not be modified afterwards.
  */
 public final class CascadeResolver {
 
     private static final Logger LOGGER = Logger.getLogger(CascadeResolver.class.getName());
 
     private final UnknownPropertyBehavior unknownPropertyBehavior;
+    private volatile CompiledValues compiledValues = new CompiledValues(Collections.<String, String>emptyMap());
 
     /**
      * Creates a new cascade resolver with default behavior (IGNORE unknown properties).
@@ -84,12 +92,80 @@ public final class CascadeResolver {
         // 2. Sort by specificity, then source order
         Collections.sort(matches);
 
+        List<Rule> sorted = new ArrayList<>(matches.size());
+        for (MatchedRule match : matches) {
+            sorted.add(match.rule);
+        }
+        return merge(sorted, variables);
+    }
+
+    /**
+     * Resolves the final computed style for an element, using a rule index.
+     * <p>
+     * Only the rules the index returns as candidates for the element are tested,
+     * and since candidates are already in cascade order, matches need no sorting.
+     * The result is the same as resolving against all the indexed rules.
+     *
+     * @param element   the element to style
+     * @param state     the pseudo-class state (focus, hover, etc.)
+     * @param ancestors the ancestor chain from root to parent
+     * @param index     the index of the rules from the stylesheet
+     * @param variables CSS variables for value resolution
+     * @return the resolved style
+     */
+    public CssStyleResolver resolve(Styleable element,
+                                     PseudoClassState state,
+                                     List<Styleable> ancestors,
+                                     RuleIndex index,
+                                     Map<String, String> variables) {
+        return resolve(element, state, ancestors, null, index, variables);
+    }
+
+    /**
+     * Resolves the final computed style for an element, using a rule index and a
+     * filter of the element's ancestors.
+     * <p>
+     * Rules with descendant or child combinators requiring an ancestor that the filter
+     * rules out are skipped without walking the ancestor chain. The filter must contain
+     * every element of {@code ancestors}.
+     *
+     * @param element        the element to style
+     * @param state          the pseudo-class state (focus, hover, etc.)
+     * @param ancestors      the ancestor chain from root to parent
+     * @param ancestorFilter the filter of the ancestor chain, or null
+     * @param index          the index of the rules from the stylesheet
+     * @param variables      CSS variables for value resolution
+     * @return the resolved style
+     */
+    public CssStyleResolver resolve(Styleable element,
+                                     PseudoClassState state,
+                                     List<Styleable> ancestors,
+                                     AncestorFilter ancestorFilter,
+                                     RuleIndex index,
+                                     Map<String, String> variables) {
+        List<Rule> matches = new ArrayList<>();
+        for (Rule rule : index.candidates(element, ancestorFilter)) {
+            if (rule.selector().matches(element, state, ancestors)) {
+                matches.add(rule);
+            }
+        }
+
+        if (matches.isEmpty()) {
+            return CssStyleResolver.empty();
+        }
+        return merge(matches, variables);
+    }
+
+    /**
+     * Merges the declarations of matched rules, sorted by specificity then source order.
+     */
+    private CssStyleResolver merge(List<Rule> matches, Map<String, String> variables) {
         // 3. Merge declarations
         Map<String, PropertyValue> normalProps = new LinkedHashMap<>();
         Map<String, PropertyValue> importantProps = new LinkedHashMap<>();
 
-        for (MatchedRule match : matches) {
-            for (Map.Entry<String, PropertyValue> entry : match.rule.declarations().entrySet()) {
+        for (Rule match : matches) {
+            for (Map.Entry<String, PropertyValue> entry : match.declarations().entrySet()) {
                 String prop = entry.getKey();
                 PropertyValue value = entry.getValue();
 
@@ -112,11 +188,11 @@ public final class CascadeResolver {
     private CssStyleResolver buildCssStyleResolver(Map<String, PropertyValue> props,
                                                     Map<String, String> variables) {
         CssStyleResolver.Builder builder = CssStyleResolver.builder();
+        CompiledValues compiled = compiledValuesFor(variables);
 
         for (Map.Entry<String, PropertyValue> entry : props.entrySet()) {
             String prop = entry.getKey();
             PropertyValue pv = entry.getValue();
-            String value = pv.raw();
 
             // Handle "inherit" keyword (child wants parent's value)
             if (pv.isInherit()) {
@@ -124,17 +200,17 @@ public final class CascadeResolver {
                 continue;
             }
 
-            String resolvedValue = PropertyConverter.resolveVariables(value, variables);
+            CompiledValue value = compiled.get(prop, pv.raw());
 
             // Try to look up the property in the registry
             Optional<PropertyDefinition<?>> propDef = PropertyRegistry.byName(prop);
 
             if (propDef.isPresent()) {
                 // Handle known properties through the registry
-                convertAndSet(builder, propDef.get(), resolvedValue);
+                convertAndSet(builder, propDef.get(), value);
             } else {
                 // Handle unknown properties according to configured behavior
-                handleUnknownProperty(builder, prop, resolvedValue);
+                handleUnknownProperty(builder, prop, value.resolved);
             }
         }
 
@@ -142,14 +218,29 @@ public final class CascadeResolver {
     }
 
     /**
-     * Converts and sets a property value using the PropertyDefinition.
+     * Returns the compiled values for the given variables, discarding the previous
+     * ones if the variables changed.
+     */
+    private CompiledValues compiledValuesFor(Map<String, String> variables) {
+        CompiledValues compiled = compiledValues;
+        if (compiled.source != variables && !compiled.variables.equals(variables)) {
+            compiled = new CompiledValues(variables);
+            compiledValues = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * Sets a property value using the PropertyDefinition, converting it on first use.
      */
     @SuppressWarnings("unchecked")
     private <T> void convertAndSet(CssStyleResolver.Builder builder,
                                    PropertyDefinition<T> property,
-                                   String resolvedValue) {
-        Optional<T> converted = property.convert(resolvedValue);
-        converted.ifPresent(v -> builder.set(property, v));
+                                   CompiledValue value) {
+        T converted = (T) value.convertedFor(property);
+        if (converted != null) {
+            builder.set(property, converted);
+        }
     }
 
     /**
@@ -176,6 +267,69 @@ public final class CascadeResolver {
         }
     }
 
+    /**
+     * Declaration values compiled with a given set of variables.
+     */
+    private static final class CompiledValues {
+        final Map<String, String> source;
+        final Map<String, String> variables;
+        // property name -> raw value -> compiled value
+        private final Map<String, Map<String, CompiledValue>> byProperty = new ConcurrentHashMap<>();
+
+        CompiledValues(Map<String, String> variables) {
+            this.source = variables;
+            this.variables = new HashMap<>(variables);
+        }
+
+        CompiledValue get(String property, String raw) {
+            Map<String, CompiledValue> values = byProperty.get(property);
+            if (values == null) {
+                values = byProperty.computeIfAbsent(property, p -> new ConcurrentHashMap<>());
+            }
+            CompiledValue value = values.get(raw);
+            if (value == null) {
+                value = new CompiledValue(PropertyConverter.resolveVariables(raw, variables));
+                values.put(raw, value);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * A declaration value with variables substituted, and its typed value once converted.
+     */
+    private static final class CompiledValue {
+        final String resolved;
+        // Properties may be registered at any time, so remember which definition converted the value
+        private volatile Conversion conversion;
+
+        CompiledValue(String resolved) {
+            this.resolved = resolved;
+        }
+
+        Object convertedFor(PropertyDefinition<?> property) {
+            Conversion current = conversion;
+            if (current == null || current.definition != property) {
+                current = new Conversion(property, property.convert(resolved).orElse(null));
+                conversion = current;
+            }
+            return current.value;
+        }
+    }
+
+    /**
+     * A converted value and the definition that converted it, published together.
+     */
+    private static final class Conversion {
+        final PropertyDefinition<?> definition;
+        final Object value;
+
+        Conversion(PropertyDefinition<?> definition, Object value) {
+            this.definition = definition;
+            this.value = value;
+        }
+    }
+
     /**
      * Helper class for sorting matched rules.
      */
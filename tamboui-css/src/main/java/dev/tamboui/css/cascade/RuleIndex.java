@@ -0,0 +1,461 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.cascade;
+
+import java.util.*;
+
+import dev.tamboui.css.Styleable;
+import dev.tamboui.css.model.Rule;
+import dev.tamboui.css.selector.AttributeSelector;
+import dev.tamboui.css.selector.ChildSelector;
+import dev.tamboui.css.selector.ClassSelector;
+import dev.tamboui.css.selector.CompoundSelector;
+import dev.tamboui.css.selector.DescendantSelector;
+import dev.tamboui.css.selector.IdSelector;
+import dev.tamboui.css.selector.PseudoClassSelector;
+import dev.tamboui.css.selector.Selector;
+import dev.tamboui.css.selector.TypeSelector;
+
+/**
+ * An index of CSS rules, bucketed by the key of their rightmost compound selector.
+ * <p>
+ * An element can only match a rule if it has the id, class or type required by the
+ * part of the selector that applies to the element itself. Each rule is therefore
+ * stored in a single bucket, chosen from its rightmost compound selector in order of
+ * selectivity:
+ * <ol>
+ *   <li>the id, for selectors like {@code Panel#sidebar} or {@code .list > #item}</li>
+ *   <li>a class, for selectors like {@code .error:focus}</li>
+ *   <li>a type, for selectors like {@code Panel Button}</li>
+ *   <li>the universal bucket otherwise, for selectors like {@code *} or {@code :focus}</li>
+ * </ol>
+ * Looking up the candidates for an element only gathers the buckets of its id, classes
+ * and types, plus the universal bucket, instead of testing every rule. Candidates are
+ * returned sorted by specificity, then source order, which is the order the cascade
+ * applies them in.
+ * <p>
+ * The index also records, per bucket, which pseudo-classes the rules test on the element
+ * itself. These invalidation sets tell which state changes can affect an element's style:
+ * {@link #relevantState(Styleable, PseudoClassState)} drops the rest, so that for instance
+ * moving focus between elements no {@code :focus} rule applies to does not change how
+ * they are styled.
+ * <p>
+ * Indexes are immutable and meant to be built once per stylesheet change.
+ *
+ * @see CascadeResolver
+ */
+public final class RuleIndex {
+
+    private static final RuleIndex EMPTY = new RuleIndex(Collections.<Rule>emptyList());
+
+    private static final int FOCUS = 1;
+    private static final int HOVER = 1 << 1;
+    private static final int DISABLED = 1 << 2;
+    private static final int ACTIVE = 1 << 3;
+    private static final int SELECTED = 1 << 4;
+    private static final int FIRST_CHILD = 1 << 5;
+    private static final int LAST_CHILD = 1 << 6;
+    private static final int NTH_CHILD = 1 << 7;
+
+    private final Rule[] rules;
+    private final Map<String, int[]> byId;
+    private final Map<String, int[]> byClass;
+    private final Map<String, int[]> byType;
+    private final int[] universal;
+    private final int[][] ancestorHashes;
+    private final Set<String> attributeNames;
+    private final Set<String> ids;
+    // Pseudo-classes tested on the element by the rules of each bucket
+    private final Map<String, Integer> idPseudoClasses = new HashMap<>();
+    private final Map<String, Integer> classPseudoClasses = new HashMap<>();
+    private final Map<String, Integer> typePseudoClasses = new HashMap<>();
+    private final int universalPseudoClasses;
+
+    /**
+     * Builds an index of the given rules.
+     *
+     * @param rules the rules to index
+     */
+    public RuleIndex(List<Rule> rules) {
+        Rule[] sorted = rules.toArray(new Rule[0]);
+        Arrays.sort(sorted, CASCADE_ORDER);
+        this.rules = sorted;
+
+        Map<String, List<Integer>> ids = new HashMap<>();
+        Map<String, List<Integer>> classes = new HashMap<>();
+        Map<String, List<Integer>> types = new HashMap<>();
+        List<Integer> others = new ArrayList<>();
+        Set<String> attributes = new HashSet<>();
+        Set<String> referencedIds = new HashSet<>();
+        int universalMask = 0;
+        this.ancestorHashes = new int[sorted.length][];
+        for (int i = 0; i < sorted.length; i++) {
+            Selector selector = sorted[i].selector();
+            collectNames(selector, attributes, referencedIds);
+            ancestorHashes[i] = ancestorHashes(selector);
+            int pseudoClasses = pseudoClassMask(selector);
+            Selector key = keySelector(selector);
+            if (key instanceof IdSelector) {
+                String id = ((IdSelector) key).id();
+                ids.computeIfAbsent(id, k -> new ArrayList<>()).add(i);
+                idPseudoClasses.merge(id, pseudoClasses, (a, b) -> a | b);
+            } else if (key instanceof ClassSelector) {
+                String className = ((ClassSelector) key).className();
+                classes.computeIfAbsent(className, k -> new ArrayList<>()).add(i);
+                classPseudoClasses.merge(className, pseudoClasses, (a, b) -> a | b);
+            } else if (key instanceof TypeSelector) {
+                String typeName = ((TypeSelector) key).typeName();
+                types.computeIfAbsent(typeName, k -> new ArrayList<>()).add(i);
+                typePseudoClasses.merge(typeName, pseudoClasses, (a, b) -> a | b);
+            } else {
+                others.add(i);
+                universalMask |= pseudoClasses;
+            }
+        }
+        this.byId = toArrays(ids);
+        this.byClass = toArrays(classes);
+        this.byType = toArrays(types);
+        this.universal = toArray(others);
+        this.attributeNames = Collections.unmodifiableSet(attributes);
+        this.ids = Collections.unmodifiableSet(referencedIds);
+        this.universalPseudoClasses = universalMask;
+    }
+
+    /**
+     * Returns an empty index.
+     *
+     * @return an index without rules
+     */
+    public static RuleIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of indexed rules.
+     *
+     * @return the rule count
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Returns the names of the attributes tested by attribute selectors of the indexed
+     * rules, in any position of the selector.
+     * <p>
+     * Other style attributes of an element never affect which rules match it.
+     *
+     * @return the attribute names
+     */
+    public Set<String> attributeNames() {
+        return attributeNames;
+    }
+
+    /**
+     * Returns the element ids used by id selectors of the indexed rules, in any position
+     * of the selector.
+     * <p>
+     * Other ids never affect which rules match an element.
+     *
+     * @return the ids
+     */
+    public Set<String> ids() {
+        return ids;
+    }
+
+    /**
+     * Returns the part of a pseudo-class state that can affect which rules match the
+     * given element.
+     * <p>
+     * Flags of pseudo-classes that no candidate rule of the element tests are cleared,
+     * and the child position is reduced to its parity, which is all {@code :nth-child}
+     * can test. Resolving with the returned state gives the same style as resolving with
+     * the original one, and elements whose state only differs by irrelevant flags get
+     * equal relevant states.
+     *
+     * @param element the element to style
+     * @param state   the element's pseudo-class state
+     * @return the relevant state, which is {@code state} itself if nothing was dropped
+     */
+    public PseudoClassState relevantState(Styleable element, PseudoClassState state) {
+        if (state.equals(PseudoClassState.NONE)) {
+            return state;
+        }
+        int mask = universalPseudoClasses;
+        Optional<String> id = element.cssId();
+        if (id.isPresent()) {
+            mask |= idPseudoClasses.getOrDefault(id.get(), 0);
+        }
+        for (String cssClass : element.cssClasses()) {
+            mask |= classPseudoClasses.getOrDefault(cssClass, 0);
+        }
+        if (!typePseudoClasses.isEmpty()) {
+            for (String type : Styleable.styleTypesOf(element)) {
+                mask |= typePseudoClasses.getOrDefault(type, 0);
+            }
+        }
+
+        int nthChild = state.nthChild();
+        int relevantNthChild = (mask & NTH_CHILD) == 0 || nthChild <= 0 ? 0 : 2 - nthChild % 2;
+        PseudoClassState relevant = new PseudoClassState(
+                state.isFocused() && (mask & FOCUS) != 0,
+                state.isHovered() && (mask & HOVER) != 0,
+                state.isDisabled() && (mask & DISABLED) != 0,
+                state.isActive() && (mask & ACTIVE) != 0,
+                state.isSelected() && (mask & SELECTED) != 0,
+                state.isFirstChild() && (mask & FIRST_CHILD) != 0,
+                state.isLastChild() && (mask & LAST_CHILD) != 0,
+                relevantNthChild);
+        return relevant.equals(state) ? state : relevant;
+    }
+
+    /**
+     * Returns the rules that may match the given element, sorted by specificity then
+     * source order.
+     * <p>
+     * Candidates still have to be tested with {@link Selector#matches}: the index only
+     * excludes rules that cannot match.
+     *
+     * @param element the element to find candidate rules for
+     * @return the candidate rules, in cascade order
+     */
+    public List<Rule> candidates(Styleable element) {
+        return candidates(element, null);
+    }
+
+    /**
+     * Returns the rules that may match the given element below the ancestors described
+     * by a filter, sorted by specificity then source order.
+     * <p>
+     * Besides the rules that cannot match the element itself, this excludes the rules
+     * whose descendant or child combinators require an ancestor type, id or class that
+     * the filter does not contain.
+     *
+     * @param element   the element to find candidate rules for
+     * @param ancestors the filter describing the element's ancestors, or null to not
+     *                  filter on ancestors
+     * @return the candidate rules, in cascade order
+     */
+    public List<Rule> candidates(Styleable element, AncestorFilter ancestors) {
+        int[] positions = new int[Math.max(16, universal.length * 2)];
+        int count = append(positions, 0, universal);
+
+        Optional<String> id = element.cssId();
+        if (id.isPresent()) {
+            int[] bucket = byId.get(id.get());
+            positions = ensure(positions, count, bucket);
+            count = append(positions, count, bucket);
+        }
+        for (String cssClass : element.cssClasses()) {
+            int[] bucket = byClass.get(cssClass);
+            positions = ensure(positions, count, bucket);
+            count = append(positions, count, bucket);
+        }
+        if (!byType.isEmpty()) {
+            for (String type : Styleable.styleTypesOf(element)) {
+                int[] bucket = byType.get(type);
+                positions = ensure(positions, count, bucket);
+                count = append(positions, count, bucket);
+            }
+        }
+
+        Arrays.sort(positions, 0, count);
+        List<Rule> candidates = new ArrayList<>(count);
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            int position = positions[i];
+            // A type may be listed twice for an element: skip duplicates
+            if (position == previous) {
+                continue;
+            }
+            previous = position;
+            if (ancestors == null || ancestors.mightContainAll(ancestorHashes[position])) {
+                candidates.add(rules[position]);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the selector the rule is bucketed by: the most selective simple selector
+     * of its rightmost compound selector.
+     */
+    private static Selector keySelector(Selector selector) {
+        if (selector instanceof DescendantSelector) {
+            return keySelector(((DescendantSelector) selector).descendant());
+        }
+        if (selector instanceof ChildSelector) {
+            return keySelector(((ChildSelector) selector).child());
+        }
+        if (selector instanceof CompoundSelector) {
+            Selector best = null;
+            for (Selector part : ((CompoundSelector) selector).parts()) {
+                if (part instanceof IdSelector) {
+                    return part;
+                }
+                if (part instanceof ClassSelector && !(best instanceof ClassSelector)) {
+                    best = part;
+                } else if (part instanceof TypeSelector && best == null) {
+                    best = part;
+                }
+            }
+            return best;
+        }
+        return selector;
+    }
+
+    /**
+     * Returns the key hashes of the ids, classes and types required from ancestors by a
+     * selector: those of every compound selector but the rightmost one.
+     */
+    private static int[] ancestorHashes(Selector selector) {
+        Set<Integer> hashes = new LinkedHashSet<>();
+        collectAncestorHashes(selector, hashes);
+        int[] result = new int[hashes.size()];
+        int i = 0;
+        for (int hash : hashes) {
+            result[i++] = hash;
+        }
+        return result;
+    }
+
+    private static void collectAncestorHashes(Selector selector, Set<Integer> hashes) {
+        if (selector instanceof DescendantSelector) {
+            collectKeyHashes(((DescendantSelector) selector).ancestor(), hashes);
+            collectAncestorHashes(((DescendantSelector) selector).descendant(), hashes);
+        } else if (selector instanceof ChildSelector) {
+            collectKeyHashes(((ChildSelector) selector).parent(), hashes);
+            collectAncestorHashes(((ChildSelector) selector).child(), hashes);
+        }
+    }
+
+    private static void collectKeyHashes(Selector selector, Set<Integer> hashes) {
+        if (selector instanceof IdSelector) {
+            hashes.add(AncestorFilter.idHash(((IdSelector) selector).id()));
+        } else if (selector instanceof ClassSelector) {
+            hashes.add(AncestorFilter.classHash(((ClassSelector) selector).className()));
+        } else if (selector instanceof TypeSelector) {
+            hashes.add(AncestorFilter.typeHash(((TypeSelector) selector).typeName()));
+        } else if (selector instanceof CompoundSelector) {
+            for (Selector part : ((CompoundSelector) selector).parts()) {
+                collectKeyHashes(part, hashes);
+            }
+        } else if (selector instanceof DescendantSelector) {
+            collectKeyHashes(((DescendantSelector) selector).ancestor(), hashes);
+            collectKeyHashes(((DescendantSelector) selector).descendant(), hashes);
+        } else if (selector instanceof ChildSelector) {
+            collectKeyHashes(((ChildSelector) selector).parent(), hashes);
+            collectKeyHashes(((ChildSelector) selector).child(), hashes);
+        }
+    }
+
+    /**
+     * Returns the pseudo-classes a selector tests on the element itself, in its rightmost
+     * compound selector. Ancestors are always matched without pseudo-class state.
+     */
+    private static int pseudoClassMask(Selector selector) {
+        if (selector instanceof DescendantSelector) {
+            return pseudoClassMask(((DescendantSelector) selector).descendant());
+        }
+        if (selector instanceof ChildSelector) {
+            return pseudoClassMask(((ChildSelector) selector).child());
+        }
+        if (selector instanceof CompoundSelector) {
+            int mask = 0;
+            for (Selector part : ((CompoundSelector) selector).parts()) {
+                mask |= pseudoClassMask(part);
+            }
+            return mask;
+        }
+        if (selector instanceof PseudoClassSelector) {
+            return pseudoClassBit(((PseudoClassSelector) selector).pseudoClass());
+        }
+        return 0;
+    }
+
+    private static int pseudoClassBit(String pseudoClass) {
+        switch (pseudoClass) {
+            case "focus":
+                return FOCUS;
+            case "hover":
+                return HOVER;
+            case "disabled":
+                return DISABLED;
+            case "active":
+                return ACTIVE;
+            case "selected":
+                return SELECTED;
+            case "first-child":
+                return FIRST_CHILD;
+            case "last-child":
+                return LAST_CHILD;
+            case "nth-child(even)":
+            case "nth-child(odd)":
+                return NTH_CHILD;
+            default:
+                // Unsupported pseudo-classes never match
+                return 0;
+        }
+    }
+
+    private static void collectNames(Selector selector, Set<String> attributes, Set<String> ids) {
+        if (selector instanceof AttributeSelector) {
+            attributes.add(((AttributeSelector) selector).attribute());
+        } else if (selector instanceof IdSelector) {
+            ids.add(((IdSelector) selector).id());
+        } else if (selector instanceof CompoundSelector) {
+            for (Selector part : ((CompoundSelector) selector).parts()) {
+                collectNames(part, attributes, ids);
+            }
+        } else if (selector instanceof DescendantSelector) {
+            collectNames(((DescendantSelector) selector).ancestor(), attributes, ids);
+            collectNames(((DescendantSelector) selector).descendant(), attributes, ids);
+        } else if (selector instanceof ChildSelector) {
+            collectNames(((ChildSelector) selector).parent(), attributes, ids);
+            collectNames(((ChildSelector) selector).child(), attributes, ids);
+        }
+    }
+
+    private static int append(int[] positions, int count, int[] bucket) {
+        if (bucket == null) {
+            return count;
+        }
+        System.arraycopy(bucket, 0, positions, count, bucket.length);
+        return count + bucket.length;
+    }
+
+    private static int[] ensure(int[] positions, int count, int[] bucket) {
+        if (bucket == null || count + bucket.length <= positions.length) {
+            return positions;
+        }
+        return Arrays.copyOf(positions, Math.max(positions.length * 2, count + bucket.length));
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, List<Integer>> buckets) {
+        Map<String, int[]> result = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : buckets.entrySet()) {
+            result.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        return result;
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        int[] result = new int[positions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+        return result;
+    }
+
+    private static final Comparator<Rule> CASCADE_ORDER = (a, b) -> {
+        // Lower specificity first (so higher specificity wins when iterating)
+        int specCompare = Integer.compare(a.specificity(), b.specificity());
+        if (specCompare != 0) {
+            return specCompare;
+        }
+        // Lower source order first (so later rules win)
+        return Integer.compare(a.sourceOrder(), b.sourceOrder());
+    };
+}
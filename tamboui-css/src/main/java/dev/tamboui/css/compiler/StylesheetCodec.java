@@ -0,0 +1,251 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.compiler;
+
+import java.io.*;
+import java.util.*;
+
+import dev.tamboui.css.model.PropertyValue;
+import dev.tamboui.css.model.Rule;
+import dev.tamboui.css.model.Stylesheet;
+import dev.tamboui.css.selector.AttributeSelector;
+import dev.tamboui.css.selector.ChildSelector;
+import dev.tamboui.css.selector.ClassSelector;
+import dev.tamboui.css.selector.CompoundSelector;
+import dev.tamboui.css.selector.DescendantSelector;
+import dev.tamboui.css.selector.IdSelector;
+import dev.tamboui.css.selector.PseudoClassSelector;
+import dev.tamboui.css.selector.Selector;
+import dev.tamboui.css.selector.TypeSelector;
+import dev.tamboui.css.selector.UniversalSelector;
+
+/**
+ * Binary encoding of parsed stylesheets.
+ * <p>
+ * A compiled stylesheet holds the variables and rules of a stylesheet exactly as
+ * {@link dev.tamboui.css.parser.CssParser} produces them: selectors are stored as
+ * selector trees and nested rules are already flattened, so reading one involves no
+ * lexing or parsing. Compiled stylesheets are produced at build time by
+ * {@link StylesheetCompiler} and stored next to their source with the
+ * {@value #COMPILED_SUFFIX} suffix, where {@link dev.tamboui.css.engine.StyleEngine}
+ * looks for them first.
+ * <p>
+ * The encoding is versioned and records a fingerprint of the source text it was
+ * compiled from: {@link #read(InputStream, String)} rejects stylesheets written by an
+ * incompatible version or compiled from a different source, as well as malformed data,
+ * in which case the text stylesheet should be used.
+ */
+public final class StylesheetCodec {
+
+    /**
+     * The suffix appended to the name of a stylesheet resource to get the name of its
+     * compiled form, for instance {@code /themes/dark.tcss.compiled}.
+     */
+    public static final String COMPILED_SUFFIX = ".compiled";
+
+    private static final int MAGIC = 0x54435353; // "TCSS"
+    private static final int VERSION = 2;
+
+    private static final byte UNIVERSAL = 0;
+    private static final byte TYPE = 1;
+    private static final byte ID = 2;
+    private static final byte CLASS = 3;
+    private static final byte PSEUDO_CLASS = 4;
+    private static final byte ATTRIBUTE = 5;
+    private static final byte COMPOUND = 6;
+    private static final byte DESCENDANT = 7;
+    private static final byte CHILD = 8;
+
+    private StylesheetCodec() {
+    }
+
+    /**
+     * Writes a stylesheet in compiled form.
+     *
+     * @param stylesheet the stylesheet to write
+     * @param source     the source text the stylesheet was parsed from
+     * @param out        the stream to write to
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the stylesheet uses a selector type that
+     *                                  cannot be encoded
+     */
+    public static void write(Stylesheet stylesheet, String source, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(fingerprint(source));
+
+        data.writeInt(stylesheet.variables().size());
+        for (Map.Entry<String, String> variable : stylesheet.variables().entrySet()) {
+            data.writeUTF(variable.getKey());
+            data.writeUTF(variable.getValue());
+        }
+
+        data.writeInt(stylesheet.rules().size());
+        for (Rule rule : stylesheet.rules()) {
+            writeSelector(rule.selector(), data);
+            data.writeInt(rule.sourceOrder());
+            data.writeInt(rule.declarations().size());
+            for (Map.Entry<String, PropertyValue> declaration : rule.declarations().entrySet()) {
+                data.writeUTF(declaration.getKey());
+                data.writeUTF(declaration.getValue().raw());
+                data.writeBoolean(declaration.getValue().important());
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a stylesheet in compiled form.
+     *
+     * @param in     the stream to read from
+     * @param source the current source text of the stylesheet
+     * @return the stylesheet
+     * @throws IOException if reading fails, the data is not a compiled stylesheet or is
+     *                     malformed, it was compiled by an incompatible version, or it
+     *                     was compiled from a different source text
+     */
+    public static Stylesheet read(InputStream in, String source) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a compiled stylesheet");
+        }
+        int version = data.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled stylesheet version: " + version);
+        }
+        if (data.readLong() != fingerprint(source)) {
+            throw new IOException("Compiled stylesheet is out of date with its source");
+        }
+
+        int variableCount = readCount(data);
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (int i = 0; i < variableCount; i++) {
+            variables.put(data.readUTF(), data.readUTF());
+        }
+
+        // Counts are not trusted for presizing: a corrupt one ends in EOFException instead
+        int ruleCount = readCount(data);
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 0; i < ruleCount; i++) {
+            Selector selector = readSelector(data);
+            int sourceOrder = data.readInt();
+            int declarationCount = readCount(data);
+            Map<String, PropertyValue> declarations = new LinkedHashMap<>();
+            for (int j = 0; j < declarationCount; j++) {
+                String property = data.readUTF();
+                String raw = data.readUTF();
+                declarations.put(property, new PropertyValue(raw, data.readBoolean()));
+            }
+            rules.add(new Rule(selector, declarations, sourceOrder));
+        }
+        return new Stylesheet(variables, rules);
+    }
+
+    private static void writeSelector(Selector selector, DataOutputStream data) throws IOException {
+        if (selector instanceof UniversalSelector) {
+            data.writeByte(UNIVERSAL);
+        } else if (selector instanceof TypeSelector) {
+            data.writeByte(TYPE);
+            data.writeUTF(((TypeSelector) selector).typeName());
+        } else if (selector instanceof IdSelector) {
+            data.writeByte(ID);
+            data.writeUTF(((IdSelector) selector).id());
+        } else if (selector instanceof ClassSelector) {
+            data.writeByte(CLASS);
+            data.writeUTF(((ClassSelector) selector).className());
+        } else if (selector instanceof PseudoClassSelector) {
+            data.writeByte(PSEUDO_CLASS);
+            data.writeUTF(((PseudoClassSelector) selector).pseudoClass());
+        } else if (selector instanceof AttributeSelector) {
+            AttributeSelector attribute = (AttributeSelector) selector;
+            data.writeByte(ATTRIBUTE);
+            data.writeUTF(attribute.attribute());
+            data.writeByte(attribute.operator().ordinal());
+            data.writeBoolean(attribute.value() != null);
+            if (attribute.value() != null) {
+                data.writeUTF(attribute.value());
+            }
+        } else if (selector instanceof CompoundSelector) {
+            List<Selector> parts = ((CompoundSelector) selector).parts();
+            data.writeByte(COMPOUND);
+            data.writeInt(parts.size());
+            for (Selector part : parts) {
+                writeSelector(part, data);
+            }
+        } else if (selector instanceof DescendantSelector) {
+            data.writeByte(DESCENDANT);
+            writeSelector(((DescendantSelector) selector).ancestor(), data);
+            writeSelector(((DescendantSelector) selector).descendant(), data);
+        } else if (selector instanceof ChildSelector) {
+            data.writeByte(CHILD);
+            writeSelector(((ChildSelector) selector).parent(), data);
+            writeSelector(((ChildSelector) selector).child(), data);
+        } else {
+            throw new IllegalArgumentException("Cannot compile selector: " + selector);
+        }
+    }
+
+    private static Selector readSelector(DataInputStream data) throws IOException {
+        byte tag = data.readByte();
+        switch (tag) {
+            case UNIVERSAL:
+                return UniversalSelector.INSTANCE;
+            case TYPE:
+                return new TypeSelector(data.readUTF());
+            case ID:
+                return new IdSelector(data.readUTF());
+            case CLASS:
+                return new ClassSelector(data.readUTF());
+            case PSEUDO_CLASS:
+                return new PseudoClassSelector(data.readUTF());
+            case ATTRIBUTE:
+                String attribute = data.readUTF();
+                AttributeSelector.Operator operator = readOperator(data);
+                String value = data.readBoolean() ? data.readUTF() : null;
+                return operator == AttributeSelector.Operator.EXISTS && value == null
+                        ? new AttributeSelector(attribute)
+                        : new AttributeSelector(attribute, operator, value);
+            case COMPOUND:
+                int count = readCount(data);
+                List<Selector> parts = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    parts.add(readSelector(data));
+                }
+                return new CompoundSelector(parts);
+            case DESCENDANT:
+                return new DescendantSelector(readSelector(data), readSelector(data));
+            case CHILD:
+                return new ChildSelector(readSelector(data), readSelector(data));
+            default:
+                throw new IOException("Invalid selector tag: " + tag);
+        }
+    }
+
+    private static int readCount(DataInputStream data) throws IOException {
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid element count: " + count);
+        }
+        return count;
+    }
+
+    private static long fingerprint(String source) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < source.length(); i++) {
+            hash = (hash ^ source.charAt(i)) * 0x100000001B3L;
+        }
+        return hash ^ source.length();
+    }
+
+    private static AttributeSelector.Operator readOperator(DataInputStream data) throws IOException {
+        int ordinal = data.readUnsignedByte();
+        AttributeSelector.Operator[] operators = AttributeSelector.Operator.values();
+        if (ordinal >= operators.length) {
+            throw new IOException("Invalid attribute operator: " + ordinal);
+        }
+        return operators[ordinal];
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.compiler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import dev.tamboui.css.model.Stylesheet;
+import dev.tamboui.css.parser.CssParseException;
+import dev.tamboui.css.parser.CssParser;
+
+/**
+ * Build-time compiler turning {@code .tcss} and {@code .css} resources into compiled
+ * stylesheets.
+ * <p>
+ * Each stylesheet found under the input directory is parsed and written to the output
+ * directory under the same relative path, with the {@link StylesheetCodec#COMPILED_SUFFIX}
+ * suffix. When the output directory is part of the application's resources,
+ * {@link dev.tamboui.css.engine.StyleEngine} loads the compiled form instead of parsing
+ * the text. A stylesheet that fails to parse fails the compilation, so syntax errors
+ * are reported by the build rather than at startup.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp ... dev.tamboui.css.compiler.StylesheetCompiler &lt;input dir&gt; &lt;output dir&gt;
+ * </pre>
+ */
+public final class StylesheetCompiler {
+
+    private StylesheetCompiler() {
+    }
+
+    /**
+     * Compiles the stylesheets of a directory.
+     *
+     * @param args the input directory and the output directory
+     * @throws IOException if a stylesheet cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: StylesheetCompiler <input dir> <output dir>");
+            System.exit(2);
+            return;
+        }
+        List<Path> compiled = compile(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("Compiled " + compiled.size() + " stylesheet(s)");
+    }
+
+    /**
+     * Compiles every {@code .tcss} and {@code .css} file under a directory.
+     *
+     * @param inputDir  the directory to search for stylesheets
+     * @param outputDir the directory to write compiled stylesheets to
+     * @return the written files
+     * @throws IOException if a stylesheet cannot be read or written
+     * @throws CssParseException if a stylesheet is invalid
+     */
+    public static List<Path> compile(Path inputDir, Path outputDir) throws IOException {
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(inputDir)) {
+            sources = files.filter(Files::isRegularFile)
+                    .filter(StylesheetCompiler::isStylesheet)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        List<Path> written = new ArrayList<>(sources.size());
+        for (Path source : sources) {
+            Path relative = inputDir.relativize(source);
+            Path target = outputDir.resolve(relative.toString() + StylesheetCodec.COMPILED_SUFFIX);
+            compile(source, target, relative.toString());
+            written.add(target);
+        }
+        return written;
+    }
+
+    private static void compile(Path source, Path target, String name) throws IOException {
+        // Line endings normalized as when StyleEngine reads the resource, so fingerprints match
+        StringBuilder text = new StringBuilder();
+        for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+            text.append(line).append('\n');
+        }
+        String css = text.toString();
+        Stylesheet stylesheet;
+        try {
+            stylesheet = CssParser.parse(css);
+        } catch (CssParseException e) {
+            throw new CssParseException(name + ": " + e.getMessage(), e);
+        }
+        Path parent = target.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            StylesheetCodec.write(stylesheet, css, out);
+        }
+    }
+
+    private static boolean isStylesheet(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".tcss") || name.endsWith(".css");
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import dev.tamboui.css.Styleable;
+import dev.tamboui.css.cascade.AncestorFilter;
+import dev.tamboui.css.cascade.RuleIndex;
+
+/**
+ * The ancestor chain of the elements being styled, kept up to date by a render context
+ * while it walks an element tree.
+ * <p>
+ * Ancestors are pushed when entering a subtree and popped when leaving it. Along with the
+ * ancestors, the chain keeps an {@link AncestorFilter} of them, and the style cache key of
+ * each ancestor, computed once while the ancestor is on the chain rather than on every
+ * style resolved below it:
+ * <pre>
+ * chain.push(panel);
+ * try {
+ *     // resolve the styles of the panel's children with engine.resolve(child, state, chain)
+ * } finally {
+ *     chain.pop();
+ * }
+ * </pre>
+ * This class is not thread-safe.
+ *
+ * @see StyleEngine#resolve(Styleable, dev.tamboui.css.cascade.PseudoClassState, AncestorChain)
+ */
+public final class AncestorChain {
+
+    private final List<Styleable> elements = new ArrayList<>();
+    private final List<Styleable> view = Collections.unmodifiableList(elements);
+    private final AncestorFilter filter = new AncestorFilter();
+    // Cache keys of the chain up to each of the first ancestors, for the rules of keyIndex
+    private final List<StyleCache.Chain> keys = new ArrayList<>();
+    private RuleIndex keyIndex;
+
+    /**
+     * Adds an ancestor at the end of the chain.
+     *
+     * @param element the ancestor to add
+     */
+    public void push(Styleable element) {
+        elements.add(element);
+        filter.push(element);
+    }
+
+    /**
+     * Removes the most recently pushed ancestor from the chain.
+     *
+     * @throws IllegalStateException if the chain is empty
+     */
+    public void pop() {
+        if (elements.isEmpty()) {
+            throw new IllegalStateException("No ancestor to pop");
+        }
+        filter.pop();
+        elements.remove(elements.size() - 1);
+        if (keys.size() > elements.size()) {
+            keys.remove(keys.size() - 1);
+        }
+    }
+
+    /**
+     * Returns the ancestors, from the root to the innermost one.
+     *
+     * @return an unmodifiable view of the ancestors
+     */
+    public List<Styleable> elements() {
+        return view;
+    }
+
+    /**
+     * Returns the filter of the ancestors.
+     *
+     * @return the ancestor filter
+     */
+    public AncestorFilter filter() {
+        return filter;
+    }
+
+    /**
+     * Returns the cache key of the whole chain for the given rules, computing the keys of
+     * the ancestors pushed since the last call.
+     */
+    StyleCache.Chain cacheKey(RuleIndex index) {
+        if (index != keyIndex) {
+            // Which ids and attributes matter depends on the rules
+            keys.clear();
+            keyIndex = index;
+        }
+        StyleCache.Chain chain = keys.isEmpty() ? null : keys.get(keys.size() - 1);
+        for (int i = keys.size(); i < elements.size(); i++) {
+            chain = new StyleCache.Chain(chain, elements.get(i), index);
+            keys.add(chain);
+        }
+        return chain;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.engine;
+
+import java.util.*;
+
+import dev.tamboui.css.Styleable;
+import dev.tamboui.css.cascade.CssStyleResolver;
+import dev.tamboui.css.cascade.PseudoClassState;
+import dev.tamboui.css.cascade.RuleIndex;
+
+/**
+ * Bounded LRU cache of resolved styles, keyed by everything selectors can match on.
+ * <p>
+ * Elements with the same Java class, type, CSS classes, pseudo-class state, and relevant
+ * id and style attributes, below an identical ancestor chain, always match the same
+ * rules and therefore resolve to the same style. Ancestors only contribute their
+ * selector-relevant fields: selectors are matched against ancestors without
+ * pseudo-class state. Render contexts walking a tree keep the keys of the ancestors on an
+ * {@link AncestorChain}, so that each ancestor is keyed once rather than on every lookup.
+ * <p>
+ * Entries stay valid as long as the rules they were resolved from. The owning
+ * {@link StyleEngine} clears the cache whenever the applied stylesheets change.
+ */
+final class StyleCache {
+
+    private final int maxSize;
+    private final Map<Key, CssStyleResolver> entries;
+    private long hits;
+    private long misses;
+
+    StyleCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, CssStyleResolver>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CssStyleResolver> eldest) {
+                return size() > StyleCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates the cache key for an element.
+     *
+     * @param element   the element to style
+     * @param state     the pseudo-class state of the element
+     * @param ancestors the ancestor chain from root to parent
+     * @param index     the index of the rules the style is resolved from
+     * @return the key
+     */
+    static Key keyOf(Styleable element, PseudoClassState state, List<Styleable> ancestors, RuleIndex index) {
+        Chain chain = null;
+        for (Styleable ancestor : ancestors) {
+            chain = new Chain(chain, ancestor, index);
+        }
+        return keyOf(element, state, chain, index);
+    }
+
+    /**
+     * Creates the cache key for an element below an ancestor chain whose key is known.
+     *
+     * @param element   the element to style
+     * @param state     the pseudo-class state of the element
+     * @param ancestors the key of the ancestor chain, or null if there are no ancestors
+     * @param index     the index of the rules the style is resolved from
+     * @return the key
+     */
+    static Key keyOf(Styleable element, PseudoClassState state, Chain ancestors, RuleIndex index) {
+        return new Key(new ElementKey(element, index), state, ancestors);
+    }
+
+    synchronized CssStyleResolver get(Key key) {
+        CssStyleResolver resolved = entries.get(key);
+        if (resolved != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return resolved;
+    }
+
+    synchronized void put(Key key, CssStyleResolver resolved) {
+        entries.put(key, resolved);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Cache key of a styled element and its ancestor chain.
+     */
+    static final class Key {
+        private final ElementKey element;
+        private final PseudoClassState state;
+        private final Chain ancestors;
+        private final int hash;
+
+        Key(ElementKey element, PseudoClassState state, Chain ancestors) {
+            this.element = element;
+            this.state = state;
+            this.ancestors = ancestors;
+            this.hash = 31 * (31 * element.hashCode() + state.hashCode()) + Objects.hashCode(ancestors);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hash == that.hash
+                    && element.equals(that.element)
+                    && state.equals(that.state)
+                    && Objects.equals(ancestors, that.ancestors);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Key of an ancestor chain: the key of its innermost ancestor, linked to the key of
+     * the chain above it. Chains sharing their first ancestors share their keys.
+     */
+    static final class Chain {
+        private final Chain parent;
+        private final ElementKey element;
+        private final int depth;
+        private final int hash;
+
+        Chain(Chain parent, Styleable element, RuleIndex index) {
+            this.parent = parent;
+            this.element = new ElementKey(element, index);
+            this.depth = parent != null ? parent.depth + 1 : 1;
+            this.hash = 31 * (parent != null ? parent.hash : 1) + this.element.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Chain)) {
+                return false;
+            }
+            Chain a = this;
+            Chain b = (Chain) o;
+            if (a.depth != b.depth) {
+                return false;
+            }
+            // Walk up both chains until they meet at a shared ancestor key
+            while (a != b) {
+                if (a.hash != b.hash || !a.element.equals(b.element)) {
+                    return false;
+                }
+                a = a.parent;
+                b = b.parent;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The fields of a single element that selectors can match on.
+     */
+    private static final class ElementKey {
+        private final Class<?> elementClass;
+        private final String type;
+        private final String id;
+        private final Set<String> classes;
+        private final Map<String, String> attributes;
+        private final int hash;
+
+        ElementKey(Styleable element, RuleIndex index) {
+            // The class determines the inherited style types
+            this.elementClass = element.getClass();
+            this.type = element.styleType();
+            // Ids no selector uses, such as those of generated form fields, do not split the cache
+            String cssId = element.cssId().orElse(null);
+            this.id = cssId != null && index.ids().contains(cssId) ? cssId : null;
+            Set<String> cssClasses = element.cssClasses();
+            this.classes = cssClasses.isEmpty()
+                    ? Collections.<String>emptySet()
+                    : new HashSet<>(cssClasses);
+            this.attributes = relevantAttributes(element, index.attributeNames());
+            this.hash = Objects.hash(elementClass, type, id, classes, attributes);
+        }
+
+        private static Map<String, String> relevantAttributes(Styleable element, Set<String> attributeNames) {
+            if (attributeNames.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> all = element.styleAttributes();
+            if (all.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> relevant = new HashMap<>();
+            for (String name : attributeNames) {
+                String value = all.get(name);
+                if (value != null) {
+                    relevant.put(name, value);
+                }
+            }
+            return relevant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ElementKey)) {
+                return false;
+            }
+            ElementKey that = (ElementKey) o;
+            return hash == that.hash
+                    && elementClass == that.elementClass
+                    && type.equals(that.type)
+                    && Objects.equals(id, that.id)
+                    && classes.equals(that.classes)
+                    && attributes.equals(that.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
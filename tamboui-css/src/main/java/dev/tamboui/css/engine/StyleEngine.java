@@ -13,9 +13,13 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 
 import dev.tamboui.css.Styleable;
+import dev.tamboui.css.cascade.AncestorFilter;
 import dev.tamboui.css.cascade.CascadeResolver;
 import dev.tamboui.css.cascade.CssStyleResolver;
 import dev.tamboui.css.cascade.PseudoClassState;
+import dev.tamboui.css.cascade.RuleIndex;
+import dev.tamboui.css.compiler.StylesheetCodec;
+import dev.tamboui.css.compiler.StylesheetCompiler;
 import dev.tamboui.css.model.Rule;
 import dev.tamboui.css.model.Stylesheet;
 import dev.tamboui.css.parser.CssParser;
@@ -71,18 +75,29 @@ import dev.tamboui.style.ColorConverter;
  */
 public final class StyleEngine {
 
+    /**
+     * Default maximum number of resolved styles kept by the style cache.
+     */
+    public static final int DEFAULT_STYLE_CACHE_SIZE = 1024;
+
     private final Map<String, StylesheetEntry> namedStylesheets;
     private final List<Stylesheet> inlineStylesheets;
     private final CascadeResolver cascadeResolver;
     private final List<StyleChangeListener> listeners;
+    private final StyleCache styleCache;
 
     private String activeStylesheetName;
+    // Rules and variables of the applied stylesheets, rebuilt after any change
+    private volatile CompiledRules compiledRules;
+    // Incremented whenever the applied stylesheets may have changed
+    private volatile long version;
 
-    private StyleEngine() {
+    private StyleEngine(int styleCacheSize) {
         this.namedStylesheets = new LinkedHashMap<>();
         this.inlineStylesheets = new ArrayList<>();
         this.cascadeResolver = new CascadeResolver();
         this.listeners = new CopyOnWriteArrayList<>();
+        this.styleCache = styleCacheSize > 0 ? new StyleCache(styleCacheSize) : null;
         this.activeStylesheetName = null;
     }
 
@@ -92,27 +107,49 @@ public final class StyleEngine {
      * @return a new StyleEngine
      */
     public static StyleEngine create() {
-        return new StyleEngine();
+        return new StyleEngine(DEFAULT_STYLE_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new StyleEngine with a style cache of the given size.
+     * <p>
+     * A size of zero disables the cache, so that every call to
+     * {@link #resolve(Styleable, PseudoClassState, List)} runs the full cascade.
+     *
+     * @param styleCacheSize the maximum number of cached styles, or 0 to disable caching
+     * @return a new StyleEngine
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public static StyleEngine create(int styleCacheSize) {
+        if (styleCacheSize < 0) {
+            throw new IllegalArgumentException("Style cache size must not be negative: " + styleCacheSize);
+        }
+        return new StyleEngine(styleCacheSize);
     }
 
     // --- Stylesheet Loading ---
 
     /**
      * Loads a stylesheet from the classpath.
+     * <p>
+     * If a compiled form of the stylesheet (see {@link StylesheetCompiler}) compiled from
+     * the current text is available next to it, it is loaded instead of parsing the text.
      *
      * @param classpathResource the classpath resource path (e.g., "/styles/app.tcss")
      * @throws IOException if the resource cannot be read
      */
     public void loadStylesheet(String classpathResource) throws IOException {
-        String css = readClasspathResource(classpathResource);
-        Stylesheet stylesheet = CssParser.parse(css);
+        Stylesheet stylesheet = loadClasspathStylesheet(classpathResource);
         inlineStylesheets.add(stylesheet);
+        invalidateRules();
     }
 
     /**
      * Loads a named stylesheet from the classpath.
      * <p>
      * Named stylesheets can be switched at runtime using {@link #setActiveStylesheet(String)}.
+     * As with {@link #loadStylesheet(String)}, a compiled form of the stylesheet is used
+     * if available. Reloading always parses the text stylesheet.
      *
      * @param name              the stylesheet name (e.g., "dark", "light")
      * @param classpathResource the classpath resource path
@@ -126,8 +163,9 @@ public final class StyleEngine {
                 throw new UncheckedIOException(e);
             }
         };
-        Stylesheet stylesheet = CssParser.parse(source.get());
+        Stylesheet stylesheet = loadClasspathStylesheet(classpathResource);
         namedStylesheets.put(name, new StylesheetEntry(stylesheet, source));
+        invalidateRules();
 
         // Auto-activate first loaded stylesheet
         if (activeStylesheetName == null) {
@@ -145,6 +183,7 @@ public final class StyleEngine {
         String css = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
         Stylesheet stylesheet = CssParser.parse(css);
         inlineStylesheets.add(stylesheet);
+        invalidateRules();
     }
 
     /**
@@ -164,6 +203,7 @@ public final class StyleEngine {
         };
         Stylesheet stylesheet = CssParser.parse(source.get());
         namedStylesheets.put(name, new StylesheetEntry(stylesheet, source));
+        invalidateRules();
 
         if (activeStylesheetName == null) {
             activeStylesheetName = name;
@@ -178,6 +218,7 @@ public final class StyleEngine {
     public void addStylesheet(String css) {
         Stylesheet stylesheet = CssParser.parse(css);
         inlineStylesheets.add(stylesheet);
+        invalidateRules();
     }
 
     /**
@@ -189,6 +230,7 @@ public final class StyleEngine {
     public void addStylesheet(String name, String css) {
         Stylesheet stylesheet = CssParser.parse(css);
         namedStylesheets.put(name, new StylesheetEntry(stylesheet, null));
+        invalidateRules();
 
         if (activeStylesheetName == null) {
             activeStylesheetName = name;
@@ -214,6 +256,7 @@ public final class StyleEngine {
         activeStylesheetName = name;
 
         if (!Objects.equals(oldName, name)) {
+            invalidateRules();
             notifyListeners();
         }
     }
@@ -259,6 +302,7 @@ public final class StyleEngine {
         namedStylesheets.put(name, new StylesheetEntry(stylesheet, source));
 
         if (name.equals(activeStylesheetName)) {
+            invalidateRules();
             notifyListeners();
         }
     }
@@ -267,6 +311,17 @@ public final class StyleEngine {
 
     /**
      * Resolves the style for an element.
+     * <p>
+     * Rules of the applied stylesheets are indexed once, after each stylesheet change,
+     * so that only rules that may match the element are tested.
+     * <p>
+     * Resolved styles are cached: elements that only differ by fields no selector can
+     * match on, such as the items of a list, share the same resolved style. The cache is
+     * cleared whenever the applied stylesheets change.
+     * <p>
+     * Pseudo-class flags that none of the element's rules test are ignored, so state
+     * changes like focus moving between elements only re-resolve the styles of the
+     * elements that have rules depending on them.
      *
      * @param element   the element to style
      * @param state     the pseudo-class state
@@ -276,10 +331,71 @@ public final class StyleEngine {
     public CssStyleResolver resolve(Styleable element,
                                      PseudoClassState state,
                                      List<Styleable> ancestors) {
-        List<Rule> allRules = collectRules();
-        Map<String, String> allVariables = collectVariables();
+        return resolve(element, state, ancestors, null);
+    }
 
-        return cascadeResolver.resolve(element, state, ancestors, allRules, allVariables);
+    /**
+     * Resolves the style for an element, using a filter of its ancestors to skip
+     * descendant and child selectors that cannot match.
+     * <p>
+     * The filter must contain every element of {@code ancestors}. Render contexts that
+     * walk a tree can keep a single filter up to date while descending, rather than
+     * having the ancestor chain walked by every such selector.
+     *
+     * @param element        the element to style
+     * @param state          the pseudo-class state
+     * @param ancestors      the ancestor chain
+     * @param ancestorFilter the filter of the ancestor chain, or null
+     * @return the resolved style
+     */
+    public CssStyleResolver resolve(Styleable element,
+                                     PseudoClassState state,
+                                     List<Styleable> ancestors,
+                                     AncestorFilter ancestorFilter) {
+        return resolve(element, state, ancestors, ancestorFilter, null);
+    }
+
+    /**
+     * Resolves the style for an element below the ancestors of a chain.
+     * <p>
+     * Render contexts that walk a tree keep a single chain up to date while descending:
+     * its filter skips the descendant and child selectors that cannot match, and the
+     * cache keys of its ancestors are computed once rather than for every element.
+     *
+     * @param element   the element to style
+     * @param state     the pseudo-class state
+     * @param ancestors the ancestor chain
+     * @return the resolved style
+     */
+    public CssStyleResolver resolve(Styleable element,
+                                     PseudoClassState state,
+                                     AncestorChain ancestors) {
+        return resolve(element, state, ancestors.elements(), ancestors.filter(), ancestors);
+    }
+
+    private CssStyleResolver resolve(Styleable element,
+                                     PseudoClassState state,
+                                     List<Styleable> ancestors,
+                                     AncestorFilter ancestorFilter,
+                                     AncestorChain chain) {
+        CompiledRules rules = compiledRules();
+        // Only keep the pseudo-classes the element's rules depend on
+        state = rules.index.relevantState(element, state);
+        if (styleCache == null) {
+            return cascadeResolver.resolve(element, state, ancestors, ancestorFilter, rules.index, rules.variables);
+        }
+        StyleCache.Key key = chain != null
+                ? StyleCache.keyOf(element, state, chain.cacheKey(rules.index), rules.index)
+                : StyleCache.keyOf(element, state, ancestors, rules.index);
+        CssStyleResolver resolved = styleCache.get(key);
+        if (resolved == null) {
+            resolved = cascadeResolver.resolve(element, state, ancestors, ancestorFilter, rules.index, rules.variables);
+            // Skip caching if the stylesheets changed while resolving
+            if (rules == compiledRules) {
+                styleCache.put(key, resolved);
+            }
+        }
+        return resolved;
     }
 
     /**
@@ -305,11 +421,53 @@ public final class StyleEngine {
         if (colorValue == null || colorValue.isEmpty()) {
             return Optional.empty();
         }
-        Map<String, String> variables = collectVariables();
-        String resolvedValue = PropertyConverter.resolveVariables(colorValue, variables);
+        String resolvedValue = PropertyConverter.resolveVariables(colorValue, compiledRules().variables);
         return ColorConverter.INSTANCE.convert(resolvedValue);
     }
 
+    // --- Style Cache ---
+
+    /**
+     * Returns the number of styles resolved from the style cache.
+     *
+     * @return the number of cache hits, or 0 if caching is disabled
+     */
+    public long styleCacheHits() {
+        return styleCache != null ? styleCache.hits() : 0;
+    }
+
+    /**
+     * Returns the number of styles that were not found in the style cache and had to
+     * be resolved through the cascade.
+     *
+     * @return the number of cache misses, or 0 if caching is disabled
+     */
+    public long styleCacheMisses() {
+        return styleCache != null ? styleCache.misses() : 0;
+    }
+
+    /**
+     * Returns the number of styles currently held by the style cache.
+     *
+     * @return the number of cached styles
+     */
+    public int styleCacheSize() {
+        return styleCache != null ? styleCache.size() : 0;
+    }
+
+    /**
+     * Returns the version of the applied stylesheets.
+     * <p>
+     * The version changes whenever a stylesheet is added, loaded or reloaded, or the
+     * active stylesheet is switched, so output rendered with an equal version was
+     * styled by the same rules.
+     *
+     * @return the stylesheet version
+     */
+    public long stylesheetVersion() {
+        return version;
+    }
+
     // --- Change Listeners ---
 
     /**
@@ -338,6 +496,24 @@ public final class StyleEngine {
 
     // --- Internal Methods ---
 
+    private void invalidateRules() {
+        compiledRules = null;
+        version++;
+        if (styleCache != null) {
+            styleCache.clear();
+        }
+    }
+
+    private CompiledRules compiledRules() {
+        CompiledRules rules = compiledRules;
+        if (rules == null) {
+            rules = new CompiledRules(new RuleIndex(collectRules()),
+                    Collections.unmodifiableMap(collectVariables()));
+            compiledRules = rules;
+        }
+        return rules;
+    }
+
     private List<Rule> collectRules() {
         List<Rule> rules = new ArrayList<>();
 
@@ -386,13 +562,31 @@ public final class StyleEngine {
         return variables;
     }
 
-    private String readClasspathResource(String resource) throws IOException {
+    private Stylesheet loadClasspathStylesheet(String resource) throws IOException {
+        String css = readClasspathResource(resource);
+        InputStream compiled = openClasspathResource(resource + StylesheetCodec.COMPILED_SUFFIX);
+        if (compiled != null) {
+            try (InputStream in = compiled) {
+                return StylesheetCodec.read(in, css);
+            } catch (IOException | RuntimeException e) {
+                // Stale, corrupt or from an incompatible version: fall back to the text stylesheet
+            }
+        }
+        return CssParser.parse(css);
+    }
+
+    private InputStream openClasspathResource(String resource) {
         InputStream is = getClass().getResourceAsStream(resource);
         if (is == null) {
             // Try without leading slash
             is = getClass().getClassLoader().getResourceAsStream(
                     resource.startsWith("/") ? resource.substring(1) : resource);
         }
+        return is;
+    }
+
+    private String readClasspathResource(String resource) throws IOException {
+        InputStream is = openClasspathResource(resource);
         if (is == null) {
             throw new RuntimeIOException("Classpath resource not found: " + resource);
         }
@@ -418,6 +612,19 @@ public final class StyleEngine {
         void onStyleChange();
     }
 
+    /**
+     * Indexed rules and variables of the applied stylesheets.
+     */
+    private static final class CompiledRules {
+        private final RuleIndex index;
+        private final Map<String, String> variables;
+
+        CompiledRules(RuleIndex index, Map<String, String> variables) {
+            this.index = index;
+            this.variables = variables;
+        }
+    }
+
     /**
      * Internal entry for named stylesheets.
      */
@@ -10,6 +10,7 @@ module dev.tamboui.css {
 
     exports dev.tamboui.css;
     exports dev.tamboui.css.cascade;
+    exports dev.tamboui.css.compiler;
     exports dev.tamboui.css.engine;
     exports dev.tamboui.css.model;
     exports dev.tamboui.css.parser;
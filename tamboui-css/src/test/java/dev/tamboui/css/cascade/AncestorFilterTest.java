@@ -0,0 +1,129 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.cascade;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.css.Styleable;
+import dev.tamboui.css.parser.CssParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AncestorFilterTest {
+
+    @Test
+    void containsKeysOfPushedAncestors() {
+        AncestorFilter filter = new AncestorFilter();
+        filter.push(createStyleable("Dialog", "confirm", Collections.singleton("modal")));
+
+        assertThat(filter.depth()).isEqualTo(1);
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.typeHash("Dialog")})).isTrue();
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.idHash("confirm")})).isTrue();
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.classHash("modal")})).isTrue();
+        assertThat(filter.mightContainAll(new int[] {
+                AncestorFilter.typeHash("Dialog"), AncestorFilter.classHash("modal")})).isTrue();
+    }
+
+    @Test
+    void rejectsMissingKeys() {
+        AncestorFilter filter = new AncestorFilter();
+        filter.push(createStyleable("Dialog", null, Collections.singleton("modal")));
+
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.typeHash("Panel")})).isFalse();
+        assertThat(filter.mightContainAll(new int[] {
+                AncestorFilter.typeHash("Dialog"), AncestorFilter.typeHash("Panel")})).isFalse();
+    }
+
+    @Test
+    void keysOfDifferentKindsAreDistinct() {
+        AncestorFilter filter = new AncestorFilter();
+        filter.push(createStyleable("Dialog", null, Collections.emptySet()));
+
+        // A class or id named like the type does not match
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.classHash("Dialog")})).isFalse();
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.idHash("Dialog")})).isFalse();
+    }
+
+    @Test
+    void popRemovesOnlyTheInnermostAncestor() {
+        AncestorFilter filter = new AncestorFilter();
+        filter.push(createStyleable("Panel", null, Collections.emptySet()));
+        filter.push(createStyleable("Panel", null, Collections.singleton("inner")));
+
+        filter.pop();
+
+        assertThat(filter.depth()).isEqualTo(1);
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.typeHash("Panel")})).isTrue();
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.classHash("inner")})).isFalse();
+
+        filter.pop();
+
+        assertThat(filter.mightContainAll(new int[] {AncestorFilter.typeHash("Panel")})).isFalse();
+        assertThatThrownBy(filter::pop).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void emptyKeysAlwaysMatch() {
+        assertThat(new AncestorFilter().mightContainAll(new int[0])).isTrue();
+    }
+
+    @Test
+    void indexSkipsRulesRequiringMissingAncestors() {
+        RuleIndex index = new RuleIndex(CssParser.parse(
+                "Button { color: white; }\n" +
+                "Dialog Button { color: red; }\n" +
+                "Dock > .footer Button { color: blue; }\n").rules());
+        Styleable button = createStyleable("Button", null, Collections.emptySet());
+        AncestorFilter filter = new AncestorFilter();
+
+        assertThat(index.candidates(button, filter)).hasSize(1);
+        assertThat(index.candidates(button)).hasSize(3);
+
+        filter.push(createStyleable("Dialog", null, Collections.singleton("footer")));
+        assertThat(index.candidates(button, filter)).hasSize(2);
+
+        filter.push(createStyleable("Dock", null, Collections.emptySet()));
+        assertThat(index.candidates(button, filter)).hasSize(3);
+    }
+
+    private Styleable createStyleable(String type, String id, Set<String> classes) {
+        return new TestStyleable(type, id, classes);
+    }
+
+    private static class TestStyleable implements Styleable {
+        private final String type;
+        private final String id;
+        private final Set<String> classes;
+
+        TestStyleable(String type, String id, Set<String> classes) {
+            this.type = type;
+            this.id = id;
+            this.classes = classes;
+        }
+
+        @Override
+        public String styleType() {
+            return type;
+        }
+
+        @Override
+        public Optional<String> cssId() {
+            return Optional.ofNullable(id);
+        }
+
+        @Override
+        public Set<String> cssClasses() {
+            return classes;
+        }
+
+        @Override
+        public Optional<Styleable> cssParent() {
+            return Optional.empty();
+        }
+    }
+}
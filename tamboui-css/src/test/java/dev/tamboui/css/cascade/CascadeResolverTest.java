@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Test;
 
 import dev.tamboui.css.Styleable;
 import dev.tamboui.css.engine.StyleEngine;
+import dev.tamboui.css.model.Rule;
+import dev.tamboui.css.parser.CssParser;
 import dev.tamboui.style.Style;
 import dev.tamboui.widgets.block.BorderType;
 
@@ -342,6 +344,40 @@ class CascadeResolverTest {
         assertThat(grandchildResolved.textOverflow()).isEmpty();
     }
 
+    @Test
+    void declarationValuesAreConvertedOnceForTheSameVariables() {
+        List<Rule> rules = CssParser.parse(
+                ".box { padding: $gap 2; border-type: rounded; }").rules();
+        CascadeResolver resolver = new CascadeResolver();
+        Map<String, String> variables = Collections.singletonMap("gap", "1");
+        Styleable first = createStyleable("Panel", null, Collections.singleton("box"));
+        Styleable second = createStyleable("Row", null, Collections.singleton("box"));
+
+        CssStyleResolver firstResolved = resolver.resolve(first, PseudoClassState.NONE,
+                Collections.emptyList(), rules, variables);
+        CssStyleResolver secondResolved = resolver.resolve(second, PseudoClassState.NONE,
+                Collections.emptyList(), rules, new HashMap<>(variables));
+
+        assertThat(secondResolved.padding().get()).isSameAs(firstResolved.padding().get());
+        assertThat(secondResolved.borderType()).contains(BorderType.ROUNDED);
+    }
+
+    @Test
+    void declarationValuesAreRecompiledWhenVariablesChange() {
+        List<Rule> rules = CssParser.parse(
+                ".box { padding: $gap; }").rules();
+        CascadeResolver resolver = new CascadeResolver();
+        Styleable element = createStyleable("Panel", null, Collections.singleton("box"));
+
+        CssStyleResolver narrow = resolver.resolve(element, PseudoClassState.NONE,
+                Collections.emptyList(), rules, Collections.singletonMap("gap", "1"));
+        CssStyleResolver wide = resolver.resolve(element, PseudoClassState.NONE,
+                Collections.emptyList(), rules, Collections.singletonMap("gap", "3"));
+
+        assertThat(narrow.padding().get().top()).isEqualTo(1);
+        assertThat(wide.padding().get().top()).isEqualTo(3);
+    }
+
     private Styleable createStyleable(String type, String id, Set<String> classes) {
         return new TestStyleable(type, id, classes);
     }
@@ -0,0 +1,173 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.cascade;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.css.Styleable;
+import dev.tamboui.css.model.Rule;
+import dev.tamboui.css.parser.CssParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleIndexTest {
+
+    private static final String CSS =
+            "* { color: black; }\n" +
+            ":focus { color: yellow; }\n" +
+            "Panel { color: white; }\n" +
+            "Button { color: gray; }\n" +
+            ".error { color: red; }\n" +
+            ".warning { color: orange; }\n" +
+            "#sidebar { background: blue; }\n" +
+            "Panel.error { color: magenta; }\n" +
+            "Panel > #sidebar { color: cyan; }\n" +
+            "Panel .error:focus { color: green; }\n" +
+            ".error { background: red; }\n";
+
+    @Test
+    void candidatesOnlyIncludeMatchingBuckets() {
+        RuleIndex index = new RuleIndex(CssParser.parse(CSS).rules());
+
+        List<Rule> candidates = index.candidates(createStyleable("Button", null, Collections.emptySet()));
+
+        assertThat(selectors(candidates)).containsExactly("*", "Button", ":focus");
+    }
+
+    @Test
+    void compoundSelectorsAreIndexedByTheirMostSelectivePart() {
+        RuleIndex index = new RuleIndex(CssParser.parse(CSS).rules());
+
+        // Panel.error is only a candidate for elements with the error class
+        assertThat(selectors(index.candidates(createStyleable("Panel", null, Collections.emptySet()))))
+                .containsExactly("*", "Panel", ":focus");
+        // Panel > #sidebar is only a candidate for the sidebar
+        assertThat(selectors(index.candidates(createStyleable("Panel", "sidebar", Collections.emptySet()))))
+                .containsExactly("*", "Panel", ":focus", "#sidebar", "Panel > #sidebar");
+    }
+
+    @Test
+    void candidatesAreSortedBySpecificityThenSourceOrder() {
+        RuleIndex index = new RuleIndex(CssParser.parse(CSS).rules());
+
+        List<Rule> candidates = index.candidates(createStyleable("Panel", null,
+                new HashSet<>(Arrays.asList("error", "warning"))));
+
+        for (int i = 1; i < candidates.size(); i++) {
+            Rule previous = candidates.get(i - 1);
+            Rule current = candidates.get(i);
+            assertThat(previous.specificity() < current.specificity()
+                    || previous.specificity() == current.specificity()
+                    && previous.sourceOrder() < current.sourceOrder()).isTrue();
+        }
+        assertThat(candidates).hasSize(8);
+    }
+
+    @Test
+    void resolvingWithIndexMatchesLinearResolution() {
+        List<Rule> rules = CssParser.parse(CSS).rules();
+        RuleIndex index = new RuleIndex(rules);
+        CascadeResolver resolver = new CascadeResolver();
+        Styleable panel = createStyleable("Panel", null, Collections.emptySet());
+        List<Styleable> elements = Arrays.asList(
+                createStyleable("Button", null, Collections.emptySet()),
+                createStyleable("Text", null, new HashSet<>(Collections.singletonList("error"))),
+                createStyleable("Panel", "sidebar", new HashSet<>(Arrays.asList("error", "warning"))));
+        PseudoClassState focused = PseudoClassState.NONE.withFocused(true);
+
+        for (Styleable element : elements) {
+            for (PseudoClassState state : Arrays.asList(PseudoClassState.NONE, focused)) {
+                CssStyleResolver linear = resolver.resolve(element, state,
+                        Collections.singletonList(panel), rules, Collections.emptyMap());
+                CssStyleResolver indexed = resolver.resolve(element, state,
+                        Collections.singletonList(panel), index, Collections.emptyMap());
+
+                assertThat(indexed.toStyle()).isEqualTo(linear.toStyle());
+            }
+        }
+    }
+
+    @Test
+    void relevantStateKeepsOnlyPseudoClassesTestedByCandidateRules() {
+        RuleIndex index = new RuleIndex(CssParser.parse(
+                "Button:hover { color: white; }\n" +
+                ".error:focus { color: red; }\n" +
+                "Panel:focus Button { color: gray; }\n" +
+                "Row:nth-child(odd) { background: gray; }\n").rules());
+        PseudoClassState state = new PseudoClassState(true, true, false, false, true, true, false, 7);
+
+        // The :focus of the Panel ancestor is not tested on the button itself
+        assertThat(index.relevantState(createStyleable("Button", null, Collections.emptySet()), state))
+                .isEqualTo(PseudoClassState.ofHovered());
+        assertThat(index.relevantState(createStyleable("Button", null, Collections.singleton("error")), state))
+                .isEqualTo(new PseudoClassState(true, true, false, false, false, false, false, 0));
+        assertThat(index.relevantState(createStyleable("Row", null, Collections.emptySet()), state))
+                .isEqualTo(PseudoClassState.NONE.withNthChild(1));
+        assertThat(index.relevantState(createStyleable("Text", null, Collections.emptySet()), state))
+                .isEqualTo(PseudoClassState.NONE);
+    }
+
+    @Test
+    void relevantStateKeepsEverythingUniversalRulesTest() {
+        RuleIndex index = new RuleIndex(CssParser.parse("*:focus { color: yellow; }").rules());
+        PseudoClassState focused = PseudoClassState.ofFocused();
+
+        assertThat(index.relevantState(createStyleable("Text", null, Collections.emptySet()), focused))
+                .isSameAs(focused);
+    }
+
+    @Test
+    void emptyIndexHasNoCandidates() {
+        assertThat(RuleIndex.empty().size()).isZero();
+        assertThat(RuleIndex.empty().candidates(createStyleable("Panel", "main", Collections.emptySet())))
+                .isEmpty();
+    }
+
+    private static List<String> selectors(List<Rule> rules) {
+        List<String> result = new ArrayList<>();
+        for (Rule rule : rules) {
+            result.add(rule.selector().toCss());
+        }
+        return result;
+    }
+
+    private Styleable createStyleable(String type, String id, Set<String> classes) {
+        return new TestStyleable(type, id, classes);
+    }
+
+    private static class TestStyleable implements Styleable {
+        private final String type;
+        private final String id;
+        private final Set<String> classes;
+
+        TestStyleable(String type, String id, Set<String> classes) {
+            this.type = type;
+            this.id = id;
+            this.classes = classes;
+        }
+
+        @Override
+        public String styleType() {
+            return type;
+        }
+
+        @Override
+        public Optional<String> cssId() {
+            return Optional.ofNullable(id);
+        }
+
+        @Override
+        public Set<String> cssClasses() {
+            return classes;
+        }
+
+        @Override
+        public Optional<Styleable> cssParent() {
+            return Optional.empty();
+        }
+    }
+}
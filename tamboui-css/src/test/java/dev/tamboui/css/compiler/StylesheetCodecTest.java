@@ -0,0 +1,111 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.css.model.Rule;
+import dev.tamboui.css.model.Stylesheet;
+import dev.tamboui.css.parser.CssParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StylesheetCodecTest {
+
+    private static final Path THEMES_DIR = Paths.get("demos/css-demo/src/main/resources/themes-css");
+
+    @Test
+    void roundTripsEverySelectorKind() throws IOException {
+        String css = "$accent: #ff8800;\n" +
+                "* { color: white; }\n" +
+                "Panel#main.wide:focus { border-type: rounded !important; }\n" +
+                "Panel > .title, Dialog Button[label] { color: $accent; }\n" +
+                "Input[placeholder^=\"Search\"] { text-style: italic; }\n" +
+                ".list { & .item:nth-child(odd) { background: gray; } }\n";
+        Stylesheet stylesheet = CssParser.parse(css);
+
+        Stylesheet read = roundTrip(stylesheet, css);
+
+        assertThat(read).isEqualTo(stylesheet);
+        assertThat(read.rules()).extracting(Rule::sourceOrder)
+                .containsExactlyElementsOf(stylesheet.rules().stream().map(Rule::sourceOrder)
+                        .collect(Collectors.toList()));
+        assertThat(read.rules()).extracting(rule -> rule.selector().toCss())
+                .containsExactlyElementsOf(stylesheet.rules().stream().map(rule -> rule.selector().toCss())
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void roundTripsTheDemoThemes() throws IOException {
+        for (String theme : new String[] {"dark.tcss", "light.tcss"}) {
+            String css = new String(Files.readAllBytes(THEMES_DIR.resolve(theme)), StandardCharsets.UTF_8);
+            Stylesheet stylesheet = CssParser.parse(css);
+
+            assertThat(roundTrip(stylesheet, css)).isEqualTo(stylesheet);
+        }
+    }
+
+    @Test
+    void rejectsDataThatIsNotACompiledStylesheet() {
+        byte[] css = "Panel { color: red; }".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> StylesheetCodec.read(new ByteArrayInputStream(css), ""))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a compiled stylesheet");
+    }
+
+    @Test
+    void rejectsIncompatibleVersions() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StylesheetCodec.write(Stylesheet.empty(), "", out);
+        byte[] data = out.toByteArray();
+        data[5] = 99;
+
+        assertThatThrownBy(() -> StylesheetCodec.read(new ByteArrayInputStream(data), ""))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void rejectsStylesheetsCompiledFromAnotherSource() throws IOException {
+        String css = "Panel { color: red; }\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StylesheetCodec.write(CssParser.parse(css), css, out);
+
+        assertThatThrownBy(() -> StylesheetCodec.read(
+                new ByteArrayInputStream(out.toByteArray()), "Panel { color: blue; }\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("out of date");
+    }
+
+    @Test
+    void rejectsNegativeCounts() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StylesheetCodec.write(Stylesheet.empty(), "", out);
+        byte[] data = out.toByteArray();
+        // Rule count, after the header and the (empty) variables
+        data[data.length - 4] = (byte) 0x80;
+
+        assertThatThrownBy(() -> StylesheetCodec.read(new ByteArrayInputStream(data), ""))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("count");
+    }
+
+    private static Stylesheet roundTrip(Stylesheet stylesheet, String css) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StylesheetCodec.write(stylesheet, css, out);
+        return StylesheetCodec.read(new ByteArrayInputStream(out.toByteArray()), css);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.tamboui.css.engine.StyleEngine;
+import dev.tamboui.css.model.Stylesheet;
+import dev.tamboui.css.parser.CssParseException;
+import dev.tamboui.css.parser.CssParser;
+import dev.tamboui.style.Color;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StylesheetCompilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compilesStylesheetsKeepingTheirRelativePaths() throws IOException {
+        Path input = tempDir.resolve("resources");
+        Path output = tempDir.resolve("compiled");
+        write(input.resolve("themes/dark.tcss"), "$fg: white;\nPanel { color: $fg; }");
+        write(input.resolve("app.css"), ".error { color: red; }");
+        write(input.resolve("README.md"), "Not a stylesheet");
+
+        List<Path> written = StylesheetCompiler.compile(input, output);
+
+        assertThat(written).containsExactly(
+                output.resolve("app.css.compiled"),
+                output.resolve("themes/dark.tcss.compiled"));
+        try (InputStream in = Files.newInputStream(output.resolve("themes/dark.tcss.compiled"))) {
+            // The compiler reads sources line by line, as StyleEngine does
+            Stylesheet compiled = StylesheetCodec.read(in, "$fg: white;\nPanel { color: $fg; }\n");
+            assertThat(compiled).isEqualTo(CssParser.parse("$fg: white;\nPanel { color: $fg; }"));
+        }
+    }
+
+    @Test
+    void reportsTheStylesheetThatFailsToParse() throws IOException {
+        Path input = tempDir.resolve("resources");
+        write(input.resolve("broken.tcss"), "Panel { color: red;");
+
+        assertThatThrownBy(() -> StylesheetCompiler.compile(input, tempDir.resolve("compiled")))
+                .isInstanceOf(CssParseException.class)
+                .hasMessageContaining("broken.tcss");
+    }
+
+    @Test
+    void styleEnginePrefersCompiledStylesheets() throws IOException {
+        // theme.tcss says red, its compiled form holds a blue variant with theme.tcss's fingerprint
+        StyleEngine engine = StyleEngine.create();
+        engine.loadStylesheet("theme", "/compiled-stylesheets/theme.tcss");
+
+        assertThat(engine.parseColor("$accent")).contains(Color.BLUE);
+    }
+
+    @Test
+    void styleEngineFallsBackToTextWhenCompiledFormIsUnreadable() throws IOException {
+        // corrupt.tcss.compiled is not a compiled stylesheet
+        StyleEngine engine = StyleEngine.create();
+        engine.loadStylesheet("/compiled-stylesheets/corrupt.tcss");
+
+        assertThat(engine.parseColor("$accent")).contains(Color.GREEN);
+    }
+
+    @Test
+    void styleEngineIgnoresCompiledStylesheetsOfAnOlderSource() throws IOException {
+        // stale.tcss says yellow, its compiled form was generated before it was edited
+        StyleEngine engine = StyleEngine.create();
+        engine.loadStylesheet("/compiled-stylesheets/stale.tcss");
+
+        assertThat(engine.parseColor("$accent")).contains(Color.YELLOW);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.css.engine;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.css.Styleable;
+import dev.tamboui.css.cascade.CssStyleResolver;
+import dev.tamboui.css.cascade.PseudoClassState;
+import dev.tamboui.style.Color;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StyleCacheTest {
+
+    private static final String CSS =
+            "ListItem { color: white; }\n" +
+            "Panel ListItem { color: gray; }\n" +
+            "ListItem:focus { color: yellow; }\n" +
+            ".error { color: red; }\n" +
+            "ListItem[kind=\"header\"] { background: blue; }\n";
+
+    @Test
+    void identicalElementsShareTheResolvedStyle() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet(CSS);
+
+        CssStyleResolver first = engine.resolve(createStyleable("ListItem", null, Collections.emptySet()));
+        CssStyleResolver second = engine.resolve(createStyleable("ListItem", null, Collections.emptySet()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(engine.styleCacheMisses()).isEqualTo(1);
+        assertThat(engine.styleCacheHits()).isEqualTo(1);
+        assertThat(engine.styleCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void keyIncludesClassesStateAndAncestors() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet(CSS);
+        Styleable item = createStyleable("ListItem", null, Collections.emptySet());
+        Styleable panel = createStyleable("Panel", null, Collections.emptySet());
+
+        assertThat(engine.resolve(item).foreground()).contains(Color.WHITE);
+        assertThat(engine.resolve(createStyleable("ListItem", null, Collections.singleton("error")))
+                .foreground()).contains(Color.RED);
+        assertThat(engine.resolve(item, PseudoClassState.ofFocused(), Collections.emptyList())
+                .foreground()).contains(Color.YELLOW);
+        assertThat(engine.resolve(item, PseudoClassState.NONE, Collections.singletonList(panel))
+                .foreground()).contains(Color.GRAY);
+
+        assertThat(engine.styleCacheMisses()).isEqualTo(4);
+        assertThat(engine.styleCacheHits()).isZero();
+    }
+
+    @Test
+    void keyIncludesAttributesTestedBySelectors() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet(CSS);
+
+        CssStyleResolver header = engine.resolve(createStyleable("ListItem", null, Collections.emptySet(),
+                attributes("kind", "header", "title", "First")));
+        CssStyleResolver otherTitle = engine.resolve(createStyleable("ListItem", null, Collections.emptySet(),
+                attributes("kind", "header", "title", "Second")));
+        CssStyleResolver row = engine.resolve(createStyleable("ListItem", null, Collections.emptySet(),
+                attributes("kind", "row", "title", "First")));
+
+        assertThat(header.background()).contains(Color.BLUE);
+        // Attributes no selector tests do not split the cache
+        assertThat(otherTitle).isSameAs(header);
+        assertThat(row.background()).isEmpty();
+    }
+
+    @Test
+    void idsNoSelectorUsesDoNotSplitTheCache() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet(CSS + "#special { color: green; }");
+
+        CssStyleResolver first = engine.resolve(createStyleable("ListItem", "item-1", Collections.emptySet()));
+        CssStyleResolver second = engine.resolve(createStyleable("ListItem", "item-2", Collections.emptySet()));
+        CssStyleResolver special = engine.resolve(createStyleable("ListItem", "special", Collections.emptySet()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(special.foreground()).contains(Color.GREEN);
+    }
+
+    @Test
+    void movingFocusOnlyRestylesElementsWithFocusRules() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet("TextInput { color: white; }\n" +
+                             "Button:focus { color: yellow; }");
+        List<Styleable> fields = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            fields.add(createStyleable("TextInput", "field-" + i, Collections.emptySet()));
+        }
+
+        // Focus moves through every field, re-rendering the whole form each time
+        for (int focused = 0; focused < 5; focused++) {
+            for (int i = 0; i < fields.size(); i++) {
+                PseudoClassState state = i == focused ? PseudoClassState.ofFocused() : PseudoClassState.NONE;
+                assertThat(engine.resolve(fields.get(i), state, Collections.emptyList()).foreground())
+                        .contains(Color.WHITE);
+            }
+        }
+
+        // No rule depends on the focus of a TextInput: all fields share one style
+        assertThat(engine.styleCacheMisses()).isEqualTo(1);
+        assertThat(engine.styleCacheHits()).isEqualTo(5 * 500 - 1);
+    }
+
+    @Test
+    void childPositionOnlyMattersThroughItsParity() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet("ListItem:nth-child(odd) { background: gray; }");
+
+        for (int i = 1; i <= 100; i++) {
+            CssStyleResolver resolved = engine.resolve(createStyleable("ListItem", null, Collections.emptySet()),
+                    PseudoClassState.NONE.withNthChild(i), Collections.emptyList());
+            if (i % 2 == 1) {
+                assertThat(resolved.background()).contains(Color.GRAY);
+            } else {
+                assertThat(resolved.background()).isEmpty();
+            }
+        }
+
+        assertThat(engine.styleCacheMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void ancestorChainKeysMatchAncestorListKeys() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet(CSS);
+        Styleable item = createStyleable("ListItem", null, Collections.emptySet());
+        Styleable panel = createStyleable("Panel", "main", Collections.emptySet());
+        AncestorChain chain = new AncestorChain();
+
+        chain.push(panel);
+        CssStyleResolver inPanel = engine.resolve(item, PseudoClassState.NONE, chain);
+        assertThat(inPanel.foreground()).contains(Color.GRAY);
+        assertThat(engine.resolve(item, PseudoClassState.NONE, Collections.singletonList(panel)))
+                .isSameAs(inPanel);
+
+        // Keys are computed again for rules testing other ids
+        engine.addStylesheet("#main ListItem { color: green; }");
+        assertThat(engine.resolve(item, PseudoClassState.NONE, chain).foreground()).contains(Color.GREEN);
+
+        chain.pop();
+        assertThat(engine.resolve(item, PseudoClassState.NONE, chain).foreground()).contains(Color.WHITE);
+        assertThat(engine.styleCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void stylesheetChangesClearTheCache() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet(CSS);
+        engine.addStylesheet("dark", "ListItem { background: black; }");
+        engine.addStylesheet("light", "ListItem { background: white; }");
+        Styleable item = createStyleable("ListItem", null, Collections.emptySet());
+
+        assertThat(engine.resolve(item).background()).contains(Color.BLACK);
+        assertThat(engine.styleCacheSize()).isEqualTo(1);
+
+        engine.setActiveStylesheet("light");
+
+        assertThat(engine.styleCacheSize()).isZero();
+        assertThat(engine.resolve(item).background()).contains(Color.WHITE);
+
+        engine.addStylesheet(".error { color: red; }");
+
+        assertThat(engine.styleCacheSize()).isZero();
+        assertThat(engine.styleCacheMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void stylesheetChangesBumpTheVersion() {
+        StyleEngine engine = StyleEngine.create();
+        engine.addStylesheet("dark", "ListItem { background: black; }");
+        engine.addStylesheet("light", "ListItem { background: white; }");
+        long version = engine.stylesheetVersion();
+
+        engine.resolve(createStyleable("ListItem", null, Collections.emptySet()));
+        assertThat(engine.stylesheetVersion()).isEqualTo(version);
+
+        engine.setActiveStylesheet("light");
+        assertThat(engine.stylesheetVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    void cacheIsBounded() {
+        StyleEngine engine = StyleEngine.create(2);
+        engine.addStylesheet(CSS);
+
+        for (int i = 0; i < 5; i++) {
+            engine.resolve(createStyleable("ListItem", null, Collections.singleton("item-" + i)));
+        }
+
+        assertThat(engine.styleCacheSize()).isEqualTo(2);
+        assertThat(engine.styleCacheMisses()).isEqualTo(5);
+    }
+
+    @Test
+    void zeroSizeDisablesTheCache() {
+        StyleEngine engine = StyleEngine.create(0);
+        engine.addStylesheet(CSS);
+        Styleable item = createStyleable("ListItem", null, Collections.emptySet());
+
+        assertThat(engine.resolve(item).foreground()).contains(Color.WHITE);
+        assertThat(engine.resolve(item).foreground()).contains(Color.WHITE);
+
+        assertThat(engine.styleCacheHits()).isZero();
+        assertThat(engine.styleCacheMisses()).isZero();
+        assertThat(engine.styleCacheSize()).isZero();
+    }
+
+    private static Map<String, String> attributes(String... keyValues) {
+        Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            attributes.put(keyValues[i], keyValues[i + 1]);
+        }
+        return attributes;
+    }
+
+    private Styleable createStyleable(String type, String id, Set<String> classes) {
+        return createStyleable(type, id, classes, Collections.emptyMap());
+    }
+
+    private Styleable createStyleable(String type, String id, Set<String> classes, Map<String, String> attributes) {
+        return new TestStyleable(type, id, classes, attributes);
+    }
+
+    private static class TestStyleable implements Styleable {
+        private final String type;
+        private final String id;
+        private final Set<String> classes;
+        private final Map<String, String> attributes;
+
+        TestStyleable(String type, String id, Set<String> classes, Map<String, String> attributes) {
+            this.type = type;
+            this.id = id;
+            this.classes = classes;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public String styleType() {
+            return type;
+        }
+
+        @Override
+        public Optional<String> cssId() {
+            return Optional.ofNullable(id);
+        }
+
+        @Override
+        public Set<String> cssClasses() {
+            return classes;
+        }
+
+        @Override
+        public Optional<Styleable> cssParent() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, String> styleAttributes() {
+            return attributes;
+        }
+    }
+}
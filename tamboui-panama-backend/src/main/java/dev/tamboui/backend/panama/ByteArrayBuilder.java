@@ -4,9 +4,10 @@
  */
 package dev.tamboui.backend.panama;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
+import dev.tamboui.terminal.ByteSink;
+
 /**
  * Efficient byte array builder optimized for terminal output.
  * <p>
@@ -16,8 +17,11 @@ import java.util.Arrays;
  * <p>
  * ASCII operations (escape sequences, integers) write bytes directly.
  * UTF-8 operations (cell symbols) encode only when necessary.
+ * <p>
+ * As a {@link ByteSink}, the builder receives frames drawn by
+ * {@link dev.tamboui.terminal.AbstractBackend} directly, without intermediate strings.
  */
-public final class ByteArrayBuilder {
+public final class ByteArrayBuilder implements ByteSink {
 
     private static final byte ESC = 0x1B;
     private static final byte[] CSI_BYTES = {ESC, '['};
@@ -68,6 +72,7 @@ public final class ByteArrayBuilder {
      * @param b the byte to append
      * @return this builder for chaining
      */
+    @Override
     public ByteArrayBuilder append(byte b) {
         ensureCapacity(1);
         buffer[position++] = b;
@@ -80,6 +85,7 @@ public final class ByteArrayBuilder {
      * @param bytes the bytes to append
      * @return this builder for chaining
      */
+    @Override
     public ByteArrayBuilder append(byte[] bytes) {
         ensureCapacity(bytes.length);
         System.arraycopy(bytes, 0, buffer, position, bytes.length);
@@ -115,6 +121,7 @@ public final class ByteArrayBuilder {
      * @param value the non-negative integer to append
      * @return this builder for chaining
      */
+    @Override
     public ByteArrayBuilder appendInt(int value) {
         if (value < 0) {
             throw new IllegalArgumentException("Negative values not supported");
@@ -153,12 +160,14 @@ public final class ByteArrayBuilder {
      * Use this method for cell symbols which may contain multi-byte
      * UTF-8 characters (box-drawing, CJK, emoji, etc.).
      * <p>
-     * Optimized for the common case of ASCII-only strings to avoid
-     * the overhead of {@link String#getBytes(java.nio.charset.Charset)}.
+     * Optimized for the common case of ASCII-only strings. Other strings are
+     * encoded in place, avoiding the allocation of
+     * {@link String#getBytes(java.nio.charset.Charset)}.
      *
      * @param s the string to append as UTF-8
      * @return this builder for chaining
      */
+    @Override
     public ByteArrayBuilder appendUtf8(String s) {
         int len = s.length();
         if (len == 0) {
@@ -193,9 +202,31 @@ public final class ByteArrayBuilder {
             return this;
         }
 
-        // Fall back to full UTF-8 encoding for strings with non-ASCII characters
-        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
-        return append(utf8);
+        // Encode in place: at most 3 bytes per UTF-16 char (a surrogate pair takes 4 bytes for 2 chars)
+        ensureCapacity(len * 3);
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: same replacement as String.getBytes(UTF_8)
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
     }
 
     /**
@@ -13,6 +13,7 @@ import dev.tamboui.backend.panama.windows.WindowsTerminal;
 import dev.tamboui.layout.Position;
 import dev.tamboui.layout.Size;
 import dev.tamboui.terminal.AbstractBackend;
+import dev.tamboui.terminal.ByteSink;
 import dev.tamboui.terminal.Mode2027Status;
 import dev.tamboui.terminal.Mode2027Support;
 
@@ -251,6 +252,17 @@ public class PanamaBackend extends AbstractBackend {
         return terminal.peek(timeoutMs);
     }
 
+    /**
+     * Returns the reusable output buffer, so that frames are encoded directly into it
+     * and handed to the terminal on {@link #flush()} without intermediate copies.
+     *
+     * @return the output buffer
+     */
+    @Override
+    public ByteSink byteSink() {
+        return outputBuffer;
+    }
+
     @Override
     public void writeRaw(byte[] data) throws IOException {
         outputBuffer.append(data);
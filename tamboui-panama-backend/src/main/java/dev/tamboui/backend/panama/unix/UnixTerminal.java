@@ -61,6 +61,9 @@ public final class UnixTerminal implements PlatformTerminal {
     // Size of the reusable write buffer
     private static final int WRITE_BUFFER_SIZE = 8192;
 
+    // Size of the input buffer, drained by a single read() call
+    private static final int READ_BUFFER_SIZE = 4096;
+
     private final Arena arena;
     private final MemorySegment savedTermios;
     private final MemorySegment currentTermios;
@@ -73,6 +76,8 @@ public final class UnixTerminal implements PlatformTerminal {
 
     private boolean rawModeEnabled;
     private int peekedChar = -2;
+    private int readPosition;
+    private int readLimit;
     private final ReentrantLock resizeLock = new ReentrantLock();
     private Runnable resizeHandler;
     private boolean resizePending;
@@ -104,7 +109,7 @@ public final class UnixTerminal implements PlatformTerminal {
         this.currentTermios = LibC.allocateTermios(arena);
         this.winsize = LibC.allocateWinsize(arena);
         this.pollfd = LibC.allocatePollfd(arena);
-        this.readBuffer = arena.allocate(1);
+        this.readBuffer = arena.allocate(READ_BUFFER_SIZE);
         this.writeBuffer = arena.allocate(WRITE_BUFFER_SIZE);
         this.rawModeEnabled = false;
 
@@ -534,7 +539,18 @@ public final class UnixTerminal implements PlatformTerminal {
         }
     }
 
+    /**
+     * Reads the next byte, from the input buffer if it still holds unread bytes.
+     * <p>
+     * When the buffer is empty, waits for input and drains everything available in a
+     * single {@code read()} call, so that pastes and bursts of mouse reports cost one
+     * downcall per buffer instead of a {@code poll()} and a {@code read()} per byte.
+     */
     private int readInternal(int timeoutMs) throws IOException {
+        if (readPosition < readLimit) {
+            return Byte.toUnsignedInt(readBuffer.get(ValueLayout.JAVA_BYTE, readPosition++));
+        }
+
         // Set up poll
         POLLFD_FD.set(pollfd, 0L, ttyFd);
         POLLFD_EVENTS.set(pollfd, 0L, LibC.POLLIN);
@@ -566,10 +582,12 @@ public final class UnixTerminal implements PlatformTerminal {
         }
 
         if ((revents & LibC.POLLIN) != 0) {
-            long bytesRead = LibC.read(ttyFd, readBuffer, 1);
+            long bytesRead = LibC.read(ttyFd, readBuffer, READ_BUFFER_SIZE);
             if (bytesRead <= 0) {
                 return -1; // EOF
             }
+            readPosition = 1;
+            readLimit = (int) bytesRead;
             return Byte.toUnsignedInt(readBuffer.get(ValueLayout.JAVA_BYTE, 0));
         }
 
@@ -32,6 +32,7 @@ import dev.tamboui.toolkit.elements.GridElement;
 import dev.tamboui.toolkit.elements.LazyElement;
 import dev.tamboui.toolkit.elements.LineGaugeElement;
 import dev.tamboui.toolkit.elements.ListElement;
+import dev.tamboui.toolkit.elements.MemoElement;
 import dev.tamboui.toolkit.elements.MarkupTextAreaElement;
 import dev.tamboui.toolkit.elements.MarkupTextElement;
 import dev.tamboui.toolkit.elements.Panel;
@@ -691,6 +692,26 @@ public final class Toolkit {
         return new LazyElement(supplier);
     }
 
+    /**
+     * Creates an element that renders its content once and replays it while its key is unchanged.
+     * <p>
+     * The key identifies the content: the supplier is only called for keys that were
+     * not rendered before, and as long as the area, the inherited style, the stylesheets
+     * and the focused element stay the same, the recorded cells, focusables and event
+     * areas are replayed instead of rendering the content:
+     * <pre>{@code
+     * memo(report.version(), () -> reportView(report))
+     * }</pre>
+     *
+     * @param key the key identifying the content
+     * @param supplier the supplier that builds the content
+     * @return a new memo element
+     * @see dev.tamboui.toolkit.elements.MemoCache
+     */
+    public static MemoElement memo(Object key, Supplier<? extends Element> supplier) {
+        return new MemoElement(key, supplier);
+    }
+
     /**
      * Creates a panel with a title and lazy content.
      * The content supplier is evaluated on each render.
@@ -156,8 +156,7 @@ public final class ToolkitRunner implements AutoCloseable {
 
                 // Render the element tree and register root for events
                 if (root != null) {
-                    root.render(frame, frame.area(), renderContext);
-                    renderContext.registerElement(root, frame.area());
+                    renderContext.renderRoot(root, frame, frame.area());
                 }
 
                 // Auto-focus first focusable element if nothing is focused or focus is stale
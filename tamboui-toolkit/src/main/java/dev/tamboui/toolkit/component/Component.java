@@ -98,7 +98,7 @@ public abstract class Component<T extends Component<T>> extends StyledElement<T>
         }
 
         // Register as focusable
-        internalContext.focusManager().registerFocusable(elementId, area);
+        internalContext.registerFocusable(elementId, area);
 
         // Render the component's content
         Element content = render();
@@ -18,6 +18,7 @@ import java.util.logging.Logger;
 import dev.tamboui.css.Styleable;
 import dev.tamboui.css.cascade.CssStyleResolver;
 import dev.tamboui.css.cascade.PseudoClassState;
+import dev.tamboui.css.engine.AncestorChain;
 import dev.tamboui.css.engine.StyleEngine;
 import dev.tamboui.layout.Rect;
 import dev.tamboui.style.Color;
@@ -52,6 +53,11 @@ public final class DefaultRenderContext implements RenderContext {
     private final Deque<Style> styleStack = new ArrayDeque<>();
     private final Deque<Styleable> elementStack = new ArrayDeque<>();
     private final Deque<CssStyleResolver> resolverStack = new ArrayDeque<>();
+    // Elements being rendered, from root to innermost, and a filter of their selector keys
+    private final AncestorChain ancestorChain = new AncestorChain();
+    private final List<Styleable> ancestorView = ancestorChain.elements();
+    private final List<RegistrationListener> registrationListeners = new ArrayList<>();
+    private final ElementReconciler reconciler = new ElementReconciler();
     private StyleEngine styleEngine;
     private Bindings bindings = BindingSets.defaults();
     private boolean faultTolerant;
@@ -170,7 +176,7 @@ public final class DefaultRenderContext implements RenderContext {
         // Build ancestor chain
         List<Styleable> ancestors = buildAncestorChain(element);
 
-        CssStyleResolver resolved = styleEngine.resolve(element, state, ancestors);
+        CssStyleResolver resolved = resolve(element, state, ancestors);
 
         // If we have a parent resolver on the stack, create a merged resolver
         // that inherits properties from the parent (e.g., border-type from Component to Panel)
@@ -239,6 +245,20 @@ public final class DefaultRenderContext implements RenderContext {
 
     @Override
     public void renderChild(Element child, Frame frame, Rect area) {
+        reconciler.enter(child);
+        try {
+            renderReconciledChild(child, frame, area);
+        } finally {
+            reconciler.exit();
+        }
+    }
+
+    @Override
+    public void reconcile(Element element) {
+        reconciler.match(element);
+    }
+
+    private void renderReconciledChild(Element child, Frame frame, Rect area) {
         String childId = child.id();
 
         if (faultTolerant) {
@@ -301,10 +321,16 @@ public final class DefaultRenderContext implements RenderContext {
         Styleable virtual = new VirtualChild(childType, parent);
 
         // Build ancestor chain: parent's ancestors + parent
-        List<Styleable> ancestors = buildAncestorChain(parent);
-        ancestors.add(parent);
+        List<Styleable> ancestors;
+        if (parent.cssParent().isPresent()) {
+            ancestors = new ArrayList<>(buildAncestorChain(parent));
+            ancestors.add(parent);
+        } else {
+            // The parent is the innermost element being rendered
+            ancestors = ancestorView;
+        }
 
-        CssStyleResolver resolved = styleEngine.resolve(virtual, state, ancestors);
+        CssStyleResolver resolved = resolve(virtual, state, ancestors);
         return resolved.hasProperties()
             ? currentStyle().patch(resolved.toStyle())
             : currentStyle();
@@ -355,24 +381,32 @@ public final class DefaultRenderContext implements RenderContext {
     }
 
     private List<Styleable> buildAncestorChain(Styleable element) {
-        List<Styleable> ancestors = new ArrayList<>();
-
         // First, try explicit cssParent chain (takes precedence)
         Optional<Styleable> parent = element.cssParent();
+        if (!parent.isPresent()) {
+            // If no explicit parent, use the elements being rendered (runtime render hierarchy)
+            // This enables descendant selectors for dynamically created elements
+            return ancestorView;
+        }
+
+        List<Styleable> ancestors = new ArrayList<>();
         while (parent.isPresent()) {
             ancestors.add(0, parent.get());
             parent = parent.get().cssParent();
         }
-
-        // If no explicit parent, use the element stack (runtime render hierarchy)
-        // This enables descendant selectors for dynamically created elements
-        if (ancestors.isEmpty() && !elementStack.isEmpty()) {
-            ancestors.addAll(elementStack);
-        }
-
         return ancestors;
     }
 
+    /**
+     * Resolves a style, through the ancestor chain kept while rendering when the
+     * ancestors are the elements being rendered.
+     */
+    private CssStyleResolver resolve(Styleable element, PseudoClassState state, List<Styleable> ancestors) {
+        return ancestors == ancestorView
+                ? styleEngine.resolve(element, state, ancestorChain)
+                : styleEngine.resolve(element, state, ancestors);
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // Internal API (for framework use only)
     // ═══════════════════════════════════════════════════════════════
@@ -399,6 +433,42 @@ public final class DefaultRenderContext implements RenderContext {
         return eventRouter;
     }
 
+    /**
+     * Renders the root element of a frame and registers it.
+     * <p>
+     * The elements rendered are reconciled with the elements of the previous frame
+     * rendered with this method: each element takes over the retained state of the
+     * element rendered at the same place, see {@link Element#reconcile(Element)}.
+     * <p>
+     * Internal use only - called by the toolkit runners.
+     *
+     * @param root the root element
+     * @param frame the frame to render to
+     * @param area the area to render in
+     */
+    public void renderRoot(Element root, Frame frame, Rect area) {
+        reconciler.beginFrame();
+        reconciler.enter(root);
+        try {
+            root.render(frame, area, this);
+            registerElement(root, area);
+        } finally {
+            reconciler.exit();
+            reconciler.endFrame();
+        }
+    }
+
+    /**
+     * Returns the number of elements of the last frame rendered with
+     * {@link #renderRoot(Element, Frame, Rect)} that took over the state of an
+     * element of the frame before.
+     *
+     * @return the number of reconciled elements
+     */
+    public int reconciledElementCount() {
+        return reconciler.lastReconciled();
+    }
+
     /**
      * Registers an element for event routing and focus management.
      * Called by container elements after rendering children.
@@ -413,6 +483,9 @@ public final class DefaultRenderContext implements RenderContext {
     public void registerElement(Element element, Rect area) {
         // EventRouter handles both event routing and ElementRegistry population
         eventRouter.registerElement(element, area);
+        for (int i = 0; i < registrationListeners.size(); i++) {
+            registrationListeners.get(i).elementRegistered(element, area);
+        }
 
         if (element.isFocusable()) {
             String id = element.id();
@@ -427,6 +500,65 @@ public final class DefaultRenderContext implements RenderContext {
         }
     }
 
+    /**
+     * Registers a focusable area that is not backed by a registered element.
+     * <p>
+     * Internal use only - called by components, which register themselves in the
+     * focus chain before rendering their content.
+     *
+     * @param id the focusable ID
+     * @param area the rendered area
+     */
+    public void registerFocusable(String id, Rect area) {
+        focusManager.registerFocusable(id, area);
+        for (int i = 0; i < registrationListeners.size(); i++) {
+            registrationListeners.get(i).focusableRegistered(id, area);
+        }
+    }
+
+    /**
+     * Adds a listener notified of the registrations made while rendering.
+     * <p>
+     * Internal use only - used to record the registrations of a subtree so that
+     * they can be replayed without rendering it again.
+     *
+     * @param listener the listener
+     */
+    public void addRegistrationListener(RegistrationListener listener) {
+        registrationListeners.add(listener);
+    }
+
+    /**
+     * Removes a registration listener.
+     *
+     * @param listener the listener
+     */
+    public void removeRegistrationListener(RegistrationListener listener) {
+        registrationListeners.remove(listener);
+    }
+
+    /**
+     * Listener for the registrations made while rendering.
+     */
+    public interface RegistrationListener {
+
+        /**
+         * Called after an element was registered with {@link #registerElement(Element, Rect)}.
+         *
+         * @param element the registered element
+         * @param area the rendered area
+         */
+        void elementRegistered(Element element, Rect area);
+
+        /**
+         * Called after a focusable area was registered with {@link #registerFocusable(String, Rect)}.
+         *
+         * @param id the focusable ID
+         * @param area the rendered area
+         */
+        void focusableRegistered(String id, Rect area);
+    }
+
     /**
      * Returns the element registry for ID-based area lookups.
      * <p>
@@ -474,12 +606,14 @@ public final class DefaultRenderContext implements RenderContext {
         Style merged = currentStyle().patch(style);
         styleStack.push(merged);
         elementStack.push(element);
+        ancestorChain.push(element);
         if (resolver != null) {
             resolverStack.push(resolver);
         }
         try {
             action.run();
         } finally {
+            ancestorChain.pop();
             elementStack.pop();
             styleStack.pop();
             if (resolver != null) {
@@ -168,4 +168,22 @@ public interface Element {
     default Rect renderedArea() {
         return null;
     }
+
+    /**
+     * Takes over the retained state of the element this element replaces.
+     * <p>
+     * The element tree is built again for every frame. Before an element is measured
+     * or rendered, the toolkit looks for the element rendered at the same place in the
+     * previous frame: an element of the same class, with the same parent and the same
+     * ID, or the same position among its siblings if it has no ID. When there is one, this
+     * method is called so that state the application did not provide, such as an
+     * internal selection or scroll position, carries over to the new element.
+     * <p>
+     * Does nothing by default.
+     *
+     * @param previous the element rendered at the same place in the previous frame,
+     *                 of the same class as this element
+     */
+    default void reconcile(Element previous) {
+    }
 }
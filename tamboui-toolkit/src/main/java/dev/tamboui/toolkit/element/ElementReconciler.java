@@ -0,0 +1,203 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.element;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Matches the elements of a frame with the elements of the previous frame.
+ * <p>
+ * The reconciler keeps the tree of the elements rendered in the previous frame,
+ * following the nesting of {@link RenderContext#renderChild} calls. While a frame
+ * is rendered, each element is looked up among the children of its parent's
+ * counterpart, by class and ID, or by class and position when it has no ID. When
+ * found, the new element takes over the state of the previous one through
+ * {@link Element#reconcile(Element)}.
+ * <p>
+ * Parents usually measure their children before rendering them, so an element can
+ * also be matched ahead of its rendering with {@link #match(Element)}. An element is
+ * placed under the element being rendered when it is first seen, measured or
+ * rendered, and at the position it was first seen at; as the same tree is laid out
+ * the same way every frame, it is found at the same place in the next frame.
+ */
+final class ElementReconciler {
+
+    private Node previousRoot = new Node(null);
+    private Node currentRoot;
+    // Elements being rendered, and their counterparts in the previous frame (or null)
+    private final List<Node> currentPath = new ArrayList<>();
+    private final List<Node> previousPath = new ArrayList<>();
+    // Elements seen in the current frame
+    private final Map<Element, Node> seen = new IdentityHashMap<>();
+    private boolean active;
+    private int reconciled;
+    private int lastReconciled;
+
+    /**
+     * Starts matching the elements of a new frame.
+     */
+    void beginFrame() {
+        currentRoot = new Node(null);
+        currentPath.clear();
+        previousPath.clear();
+        currentPath.add(currentRoot);
+        previousPath.add(previousRoot);
+        reconciled = 0;
+        active = true;
+    }
+
+    /**
+     * Finishes the frame: its elements become the previous elements of the next frame.
+     */
+    void endFrame() {
+        if (!active) {
+            return;
+        }
+        previousRoot = currentRoot;
+        currentRoot = null;
+        currentPath.clear();
+        previousPath.clear();
+        // Do not keep the frame before alive through the new previous frame
+        for (Node node : seen.values()) {
+            node.previous = null;
+        }
+        seen.clear();
+        lastReconciled = reconciled;
+        active = false;
+    }
+
+    /**
+     * Enters an element that is about to be rendered, reconciling it with its
+     * counterpart in the previous frame unless it was already matched in this
+     * frame. Does nothing outside of a frame.
+     *
+     * @param element the element
+     */
+    void enter(Element element) {
+        if (!active) {
+            return;
+        }
+        Node node = matchNode(element);
+        currentPath.add(node);
+        previousPath.add(node.previous);
+    }
+
+    /**
+     * Reconciles an element that is not rendered yet, such as an element about to be
+     * measured, with its counterpart in the previous frame. The element is matched
+     * once per frame: matching it again, or entering it later, does not reconcile it
+     * again. Does nothing outside of a frame.
+     *
+     * @param element the element
+     */
+    void match(Element element) {
+        if (active) {
+            matchNode(element);
+        }
+    }
+
+    private Node matchNode(Element element) {
+        Node node = seen.get(element);
+        if (node != null) {
+            return node;
+        }
+        Node parent = currentPath.get(currentPath.size() - 1);
+        Node previousParent = previousPath.get(previousPath.size() - 1);
+        String id = element.id();
+        Key key = new Key(element.getClass(), id, id != null ? -1 : parent.childCount);
+        parent.childCount++;
+
+        Node previous = previousParent != null ? previousParent.child(key) : null;
+        if (previous != null && previous.element != element) {
+            element.reconcile(previous.element);
+            reconciled++;
+        }
+
+        node = new Node(element);
+        node.previous = previous;
+        parent.add(key, node);
+        seen.put(element, node);
+        return node;
+    }
+
+    /**
+     * Leaves the element entered last.
+     */
+    void exit() {
+        if (!active) {
+            return;
+        }
+        currentPath.remove(currentPath.size() - 1);
+        previousPath.remove(previousPath.size() - 1);
+    }
+
+    /**
+     * Returns the number of elements of the last frame that took over the state of an
+     * element of the frame before.
+     *
+     * @return the number of reconciled elements
+     */
+    int lastReconciled() {
+        return lastReconciled;
+    }
+
+    private static final class Node {
+        private final Element element;
+        private Map<Key, Node> children;
+        private int childCount;
+        // Counterpart in the previous frame, while the frame is rendered
+        private Node previous;
+
+        Node(Element element) {
+            this.element = element;
+        }
+
+        Node child(Key key) {
+            return children != null ? children.get(key) : null;
+        }
+
+        void add(Key key, Node node) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            // With duplicate IDs, only the first element can be matched
+            children.putIfAbsent(key, node);
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final String id;
+        private final int position;
+
+        Key(Class<?> type, String id, int position) {
+            this.type = type;
+            this.id = id;
+            this.position = position;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return type == other.type && position == other.position && Objects.equals(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return (type.hashCode() * 31 + Objects.hashCode(id)) * 31 + position;
+        }
+    }
+}
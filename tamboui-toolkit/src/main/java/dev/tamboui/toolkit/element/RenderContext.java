@@ -199,6 +199,23 @@ public interface RenderContext {
         child.render(frame, area, this);
     }
 
+    /**
+     * Reconciles an element with the element rendered at the same place in the
+     * previous frame before it is rendered, see {@link Element#reconcile(Element)}.
+     * <p>
+     * Parents measure their children before rendering them. Elements whose preferred
+     * size depends on retained state call this method first in
+     * {@link Element#preferredSize(int, int, RenderContext)}, so that they are
+     * measured with the state they are rendered with. An element is reconciled at
+     * most once per frame.
+     * <p>
+     * Does nothing by default.
+     *
+     * @param element the element about to be measured
+     */
+    default void reconcile(Element element) {
+    }
+
     /**
      * Creates an empty context for simple rendering without focus management.
      * Primarily useful for testing.
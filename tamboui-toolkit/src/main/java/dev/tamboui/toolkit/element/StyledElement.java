@@ -959,6 +959,20 @@ public abstract class StyledElement<T extends StyledElement<T>> implements Eleme
         return lastRenderedArea;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An element without an ID keeps the ID generated for the element it replaces,
+     * so that it keeps the focus from one frame to the next. Subclasses that retain
+     * more state must call this method.
+     */
+    @Override
+    public void reconcile(Element previous) {
+        if (elementId == null) {
+            elementId = ((StyledElement<?>) previous).elementId;
+        }
+    }
+
     @Override
     public EventResult handleKeyEvent(KeyEvent event, boolean focused) {
         if (keyHandler != null) {
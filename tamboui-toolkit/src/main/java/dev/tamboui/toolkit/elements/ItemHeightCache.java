@@ -0,0 +1,144 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import java.util.Arrays;
+
+/**
+ * Heights of the items of a virtualized list, in rows.
+ * <p>
+ * Items that have not been rendered yet count for an estimated height; the height
+ * of an item is measured, and replaces the estimate, when the item is rendered.
+ * Heights are kept in a Fenwick tree, so the first row of an item and the item
+ * at a given row are both found in O(log n), without visiting every item.
+ * <p>
+ * Measurements depend on the width items are rendered at, so they are dropped
+ * when the width or the estimate changes.
+ */
+final class ItemHeightCache {
+
+    private int estimate = 1;
+    private int width = -1;
+    private int size;
+    // heights[i] is the measured or estimated height of item i
+    private int[] heights = new int[0];
+    // Fenwick tree over heights, 1-based
+    private int[] tree = new int[1];
+
+    /**
+     * Prepares the cache for rendering a number of items.
+     *
+     * @param size     the number of items
+     * @param estimate the height of items that have not been measured
+     * @param width    the width items are rendered at
+     */
+    void prepare(int size, int estimate, int width) {
+        if (estimate != this.estimate || width != this.width) {
+            this.estimate = estimate;
+            this.width = width;
+            this.heights = new int[0];
+            this.tree = new int[1];
+        }
+        if (size > heights.length) {
+            grow(size);
+        }
+        this.size = size;
+    }
+
+    private void grow(int minCapacity) {
+        int oldCapacity = heights.length;
+        int capacity = Math.max(minCapacity, oldCapacity * 2);
+        heights = Arrays.copyOf(heights, capacity);
+        Arrays.fill(heights, oldCapacity, capacity, estimate);
+        // Linear-time construction; appending items is amortized O(1)
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            tree[i] += heights[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items.
+     *
+     * @return the item count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the height of an item, measured or estimated.
+     *
+     * @param index the item index
+     * @return the height in rows
+     */
+    int height(int index) {
+        return heights[index];
+    }
+
+    /**
+     * Records the measured height of an item.
+     *
+     * @param index  the item index
+     * @param height the height in rows
+     */
+    void measure(int index, int height) {
+        int delta = height - heights[index];
+        if (delta == 0) {
+            return;
+        }
+        heights[index] = height;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the first row of an item.
+     *
+     * @param index the item index, or the item count for the end of the list
+     * @return the sum of the heights of the items before it
+     */
+    int top(int index) {
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the total height of the items.
+     *
+     * @return the height in rows
+     */
+    int totalHeight() {
+        return top(size);
+    }
+
+    /**
+     * Returns the item that contains a row.
+     *
+     * @param row the row, from the top of the list
+     * @return the item index, or the last item if the row is past the end
+     */
+    int indexAt(int row) {
+        // Descend the tree, skipping the items that end at or before the row
+        int index = 0;
+        int remaining = row;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return Math.min(index, size - 1);
+    }
+}
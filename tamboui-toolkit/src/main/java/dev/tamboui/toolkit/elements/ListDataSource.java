@@ -0,0 +1,62 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import java.util.List;
+
+/**
+ * Indexed access to the items of a virtualized {@link ListElement}.
+ * <p>
+ * A virtualized list only asks its data source for the items it is about to
+ * display, so a data source can be backed by a large collection, a database
+ * cursor or items computed on demand, without materializing every item.
+ * <pre>{@code
+ * ListDataSource<LogEntry> source = new ListDataSource<LogEntry>() {
+ *     public int size() { return log.size(); }
+ *     public LogEntry get(int index) { return log.entry(index); }
+ * };
+ *
+ * list().dataSource(source, entry -> text(entry.message()))
+ * }</pre>
+ * <p>
+ * A virtualized list remembers the measured heights of its items while it is
+ * rendered with the same data source, or an {@linkplain Object#equals(Object) equal}
+ * one: data sources that are recreated on every render should implement
+ * {@code equals} accordingly.
+ *
+ * @param <T> the type of the items
+ */
+public interface ListDataSource<T> {
+
+    /**
+     * Returns the number of items.
+     *
+     * @return the item count
+     */
+    int size();
+
+    /**
+     * Returns the item at the given index.
+     *
+     * @param index the item index, between 0 and {@link #size()} exclusive
+     * @return the item
+     */
+    T get(int index);
+
+    /**
+     * Creates a data source backed by a list.
+     * <p>
+     * The data source is a view: changes to the list are visible on the next render.
+     * Data sources created for the same list instance are equal, so a list element
+     * created on every render keeps the item heights it measured.
+     *
+     * @param items the items
+     * @param <T> the type of the items
+     * @return a data source reading from the list
+     */
+    static <T> ListDataSource<T> of(List<T> items) {
+        return new ListViewDataSource<>(items);
+    }
+}
@@ -7,9 +7,11 @@ package dev.tamboui.toolkit.elements;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 
 import dev.tamboui.css.cascade.CssStyleResolver;
@@ -23,6 +25,7 @@ import dev.tamboui.style.StringConverter;
 import dev.tamboui.style.Style;
 import dev.tamboui.terminal.Frame;
 import dev.tamboui.toolkit.element.ChildPosition;
+import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.element.RenderContext;
 import dev.tamboui.toolkit.element.Size;
 import dev.tamboui.toolkit.element.StyledElement;
@@ -42,6 +45,9 @@ import dev.tamboui.widgets.common.SizedWidget;
 import dev.tamboui.widgets.list.ListState;
 import dev.tamboui.widgets.list.ListWidget;
 import dev.tamboui.widgets.list.ScrollMode;
+import dev.tamboui.widgets.scrollbar.Scrollbar;
+import dev.tamboui.widgets.scrollbar.ScrollbarOrientation;
+import dev.tamboui.widgets.scrollbar.ScrollbarState;
 
 /**
  * A scrollable container that displays a list of selectable items.
@@ -65,6 +71,15 @@ import dev.tamboui.widgets.list.ScrollMode;
  * ).state(listState)
  * }</pre>
  * <p>
+ * Large lists can be virtualized by providing a {@link ListDataSource}: items are
+ * then only fetched and rendered when they are scrolled into view, so the cost of a
+ * frame depends on the height of the list rather than on the number of items.
+ * <pre>{@code
+ * list().dataSource(ListDataSource.of(entries), entry -> text(entry.message()))
+ *     .estimatedItemHeight(1)
+ *     .autoScroll()
+ * }</pre>
+ * <p>
  * CSS selectors:
  * <ul>
  *   <li>{@code ListElement} - styles the container (border, background)</li>
@@ -86,6 +101,7 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
 
     private static final Style DEFAULT_HIGHLIGHT_STYLE = Style.EMPTY.reversed();
     private static final String DEFAULT_HIGHLIGHT_SYMBOL = "> ";
+    private static final int DEFAULT_OVERSCAN = 2;
 
     /**
      * CSS property for scrollbar policy. Values: "none", "always", "as-needed".
@@ -116,7 +132,10 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
 
     private final List<StyledElement<?>> items = new ArrayList<>();
     private List<T> data;
+    private ListDataSource<T> dataSource;
     private Function<T, StyledElement<?>> itemRenderer;
+    private int estimatedItemHeight = 1;
+    private int overscan = DEFAULT_OVERSCAN;
     private Style highlightStyle;  // null means "use CSS or default"
     private String highlightSymbol;  // null means "use CSS or default"
     private String title;
@@ -130,12 +149,16 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
     private Color scrollbarTrackColor;
 
     // State delegation
-    private final ListState listState = new ListState();
+    private ListState listState = new ListState();
 
     // Cached values from last render for event handling
     private int lastItemCount;
     private int lastViewportHeight;
 
+    // Virtualized mode: measured item heights, and the widest item rendered so far (-1 before any)
+    private ItemHeightCache itemHeights = new ItemHeightCache();
+    private int measuredWidth = -1;
+
     /** Creates an empty list element. */
     public ListElement() {
     }
@@ -338,11 +361,80 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
         @SuppressWarnings("unchecked")
         ListElement<U> self = (ListElement<U>) this;
         self.data = data;
+        self.dataSource = null;
+        self.itemRenderer = renderer;
+        self.items.clear();
+        return self;
+    }
+
+    /**
+     * Sets a data source and a renderer function, virtualizing the list.
+     * <p>
+     * Unlike {@link #data(List, Function)}, items are only fetched from the data source
+     * and converted to styled elements when they are in view, or within
+     * {@link #overscan(int) overscan} items of the view. Items that have not been
+     * rendered yet are assumed to be {@link #estimatedItemHeight(int)} rows high; the
+     * height of an item is measured once it has been rendered, and remembered while the
+     * list is rendered with an {@linkplain ListDataSource equal} data source.
+     *
+     * @param dataSource the data source
+     * @param renderer function to convert each item to a styled element
+     * @param <U> the data item type
+     * @return this element
+     */
+    public <U> ListElement<U> dataSource(ListDataSource<U> dataSource, Function<U, StyledElement<?>> renderer) {
+        @SuppressWarnings("unchecked")
+        ListElement<U> self = (ListElement<U>) this;
+        if (!Objects.equals(self.dataSource, dataSource)) {
+            self.itemHeights = new ItemHeightCache();
+            self.measuredWidth = -1;
+        }
+        self.dataSource = dataSource;
+        self.data = null;
         self.itemRenderer = renderer;
         self.items.clear();
         return self;
     }
 
+    /**
+     * Sets the height, in rows, assumed for items of a virtualized list that have not been rendered yet.
+     * <p>
+     * The estimate is used to size the scrollbar and to map scroll offsets to items.
+     * It does not need to be exact, but a close estimate keeps the scrollbar steady.
+     * Defaults to 1.
+     *
+     * @param rows the estimated item height
+     * @return this element
+     * @throws IllegalArgumentException if rows is less than 1
+     * @see #dataSource(ListDataSource, Function)
+     */
+    public ListElement<T> estimatedItemHeight(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("estimated item height must be at least 1: " + rows);
+        }
+        this.estimatedItemHeight = rows;
+        return this;
+    }
+
+    /**
+     * Sets the number of items rendered above and below the view of a virtualized list.
+     * <p>
+     * Rendering a few items outside the view measures them before they are scrolled into view.
+     * Defaults to 2.
+     *
+     * @param items the number of extra items on each side of the view
+     * @return this element
+     * @throws IllegalArgumentException if items is negative
+     * @see #dataSource(ListDataSource, Function)
+     */
+    public ListElement<T> overscan(int items) {
+        if (items < 0) {
+            throw new IllegalArgumentException("overscan cannot be negative: " + items);
+        }
+        this.overscan = items;
+        return this;
+    }
+
     /**
      * Sets the renderer function for converting data items to styled elements.
      * <p>
@@ -543,12 +635,47 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
         listState.selectLast(itemCount);
     }
 
+    // ═══════════════════════════════════════════════════════════════
+    // Reconciliation
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The list keeps the scroll position of the list it replaces, and its selection
+     * unless one was set with {@link #selected(int)}. A virtualized list also keeps
+     * the measured item heights when it uses an equal data source.
+     */
+    @Override
+    public void reconcile(Element previous) {
+        super.reconcile(previous);
+        ListElement<?> other = (ListElement<?>) previous;
+        if (listState.selected() == null) {
+            listState = other.listState;
+        } else {
+            listState.setOffset(other.listState.offset());
+            if (other.listState.isUserScrolledAway()) {
+                listState.markUserScrolledAway();
+            }
+        }
+        if (dataSource != null && dataSource.equals(other.dataSource)) {
+            itemHeights = other.itemHeights;
+            measuredWidth = Math.max(measuredWidth, other.measuredWidth);
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // Size calculation
     // ═══════════════════════════════════════════════════════════════
 
     @Override
     public Size preferredSize(int availableWidth, int availableHeight, RenderContext context) {
+        if (context != null) {
+            context.reconcile(this);
+        }
+        if (isVirtualized()) {
+            return virtualizedPreferredSize();
+        }
         int maxWidth = 0;
         List<StyledElement<?>> effectiveItems;
         if (data != null && itemRenderer != null) {
@@ -582,6 +709,25 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
         return Size.of(width, height);
     }
 
+    private Size virtualizedPreferredSize() {
+        // Only items that have been rendered are measured; the others count for their estimate.
+        // Until one is rendered, the width is unknown and the list fills the width it is given.
+        String effectiveSymbol = highlightSymbol != null ? highlightSymbol : DEFAULT_HIGHLIGHT_SYMBOL;
+        int border = (title != null || borderType != null) ? 2 : 0;
+        int itemCount = dataSource.size();
+        int height = itemHeights.size() == itemCount
+                ? itemHeights.totalHeight()
+                : itemCount * estimatedItemHeight;
+        if (measuredWidth < 0) {
+            return Size.heightOnly(height + border);
+        }
+        return Size.of(measuredWidth + effectiveSymbol.length() + border, height + border);
+    }
+
+    private boolean isVirtualized() {
+        return dataSource != null && itemRenderer != null;
+    }
+
     @Override
     public Map<String, String> styleAttributes() {
         Map<String, String> attrs = new LinkedHashMap<>(super.styleAttributes());
@@ -601,6 +747,11 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
             return;
         }
 
+        if (isVirtualized()) {
+            renderVirtualized(frame, area, context);
+            return;
+        }
+
         // Build the effective items list from StyledElements
         List<StyledElement<?>> effectiveItems;
         if (data != null && itemRenderer != null) {
@@ -671,6 +822,165 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
         return builder.build();
     }
 
+    // ═══════════════════════════════════════════════════════════════
+    // Virtualized rendering — only the items in view are materialized
+    // ═══════════════════════════════════════════════════════════════
+
+    private void renderVirtualized(Frame frame, Rect area, RenderContext context) {
+        int totalItems = dataSource.size();
+        this.lastItemCount = totalItems;
+
+        if (totalItems == 0) {
+            if (title != null || borderType != null) {
+                renderBorder(frame, area, context);
+            }
+            return;
+        }
+
+        // Sync selection into ListState
+        Integer selected = listState.selected();
+        if (selected == null) {
+            listState.select(0);
+        } else if (selected >= totalItems) {
+            listState.select(totalItems - 1);
+        }
+
+        // Render border
+        Rect listArea = renderBorder(frame, area, context);
+        if (listArea.isEmpty()) {
+            return;
+        }
+
+        int visibleHeight = listArea.height();
+        this.lastViewportHeight = visibleHeight;
+        itemHeights.prepare(totalItems, estimatedItemHeight, listArea.width());
+        Map<Integer, SizedWidget> window = new HashMap<>();
+
+        // Resolve the scroll offset. Only the selected item and the items at the end
+        // of the list are measured here, other items count for their current height.
+        int offset = listState.offset();
+        int alignBottom = -1;
+        ScrollMode scrollMode = resolveScrollMode();
+        if (scrollMode == ScrollMode.SCROLL_TO_END) {
+            alignBottom = totalItems - 1;
+        } else if (scrollMode == ScrollMode.STICKY_SCROLL) {
+            listState.applyStickyScroll(totalItems, itemHeights.totalHeight(), visibleHeight);
+            offset = listState.offset();
+            if (!listState.isUserScrolledAway()) {
+                alignBottom = totalItems - 1;
+            }
+        } else if (scrollMode == ScrollMode.AUTO_SCROLL) {
+            int sel = listState.selected();
+            materialize(sel, window, frame, listArea, context);
+            int selectedTop = itemHeights.top(sel);
+            if (selectedTop < offset) {
+                offset = selectedTop;
+            } else if (selectedTop + itemHeights.height(sel) > offset + visibleHeight) {
+                alignBottom = sel;
+            }
+        }
+        if (alignBottom >= 0) {
+            int rows = 0;
+            for (int i = alignBottom; i >= 0 && rows < visibleHeight; i--) {
+                materialize(i, window, frame, listArea, context);
+                rows += itemHeights.height(i);
+            }
+            offset = itemHeights.top(alignBottom + 1) - visibleHeight;
+        }
+        offset = Math.max(0, Math.min(offset, itemHeights.totalHeight() - visibleHeight));
+
+        // Materialize the items in view, plus the overscan on both sides
+        int first = itemHeights.indexAt(offset);
+        int firstRow = itemHeights.top(first);
+        int start = Math.max(0, first - overscan);
+        int end = first;
+        int rows = firstRow - offset;
+        while (end < totalItems && rows < visibleHeight) {
+            materialize(end, window, frame, listArea, context);
+            rows += itemHeights.height(end);
+            end++;
+        }
+        for (int i = first - 1; i >= start; i--) {
+            materialize(i, window, frame, listArea, context);
+        }
+        // At the end of the list, fill the view with the items above it
+        while (start > 0 && itemHeights.top(end) - itemHeights.top(start) < visibleHeight) {
+            start--;
+            materialize(start, window, frame, listArea, context);
+        }
+        int overscanEnd = Math.min(totalItems, end + overscan);
+        for (; end < overscanEnd; end++) {
+            materialize(end, window, frame, listArea, context);
+        }
+
+        // Measuring items above the first visible one must not move it
+        int windowTop = itemHeights.top(start);
+        offset += itemHeights.top(first) - firstRow;
+
+        List<SizedWidget> windowItems = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            windowItems.add(window.get(i));
+        }
+
+        // The scrollbar is rendered here, as the ListWidget only sees the items in the window
+        CssStyleResolver cssResolver = context.resolveStyle(this).orElse(CssStyleResolver.empty());
+        int totalHeight = itemHeights.totalHeight();
+        ScrollBarPolicy effectivePolicy = cssResolver.resolve(SCROLLBAR_POLICY, this.scrollBarPolicy);
+        boolean showScrollbar = effectivePolicy == ScrollBarPolicy.ALWAYS
+                || (effectivePolicy == ScrollBarPolicy.AS_NEEDED && totalHeight > visibleHeight);
+        Rect itemsArea = showScrollbar
+                ? new Rect(listArea.left(), listArea.top(), listArea.width() - 1, visibleHeight)
+                : listArea;
+
+        ListWidget.Builder builder = ListWidget.builder().items(windowItems);
+        configureHighlight(builder, context, cssResolver);
+        builder.scrollMode(ScrollMode.NONE);
+        int windowStart = start;
+        builder.itemStyleResolver((index, total) ->
+                context.childStyle("item", ChildPosition.of(windowStart + index, totalItems)));
+
+        // Render the window with a state translated to window coordinates
+        ListState windowState = new ListState();
+        int sel = listState.selected();
+        windowState.select(sel >= start && sel < end ? sel - start : null);
+        windowState.setOffset(offset - windowTop);
+        frame.renderStatefulWidget(builder.build(), itemsArea, windowState);
+        offset = windowTop + windowState.offset();
+        listState.setOffset(offset);
+
+        if (showScrollbar) {
+            Rect scrollbarArea = new Rect(listArea.right() - 1, listArea.top(), 1, visibleHeight);
+            ScrollbarState scrollbarState = new ScrollbarState()
+                    .contentLength(totalHeight)
+                    .viewportContentLength(visibleHeight)
+                    .position(offset);
+            Scrollbar.Builder scrollbarBuilder = Scrollbar.builder()
+                    .orientation(ScrollbarOrientation.VERTICAL_RIGHT);
+            Style thumbStyle = resolveScrollbarThumbStyle(context);
+            if (!thumbStyle.equals(Style.EMPTY)) {
+                scrollbarBuilder.thumbStyle(thumbStyle);
+            }
+            Style trackStyle = resolveScrollbarTrackStyle(context);
+            if (!trackStyle.equals(Style.EMPTY)) {
+                scrollbarBuilder.trackStyle(trackStyle);
+            }
+            frame.renderStatefulWidget(scrollbarBuilder.build(), scrollbarArea, scrollbarState);
+        }
+    }
+
+    private SizedWidget materialize(int index, Map<Integer, SizedWidget> window,
+                                    Frame frame, Rect listArea, RenderContext context) {
+        SizedWidget item = window.get(index);
+        if (item == null) {
+            StyledElement<?> element = itemRenderer.apply(dataSource.get(index));
+            item = adaptItemElement(element, frame, listArea, context);
+            itemHeights.measure(index, item.heightOr(1));
+            measuredWidth = Math.max(measuredWidth, item.widthOr(0));
+            window.put(index, item);
+        }
+        return item;
+    }
+
     private void configureHighlight(ListWidget.Builder builder,
                                     RenderContext context, CssStyleResolver cssResolver) {
         // Resolve highlight symbol: explicit > CSS > default
@@ -703,20 +1013,29 @@ public final class ListElement<T> extends StyledElement<ListElement<T>> {
         ScrollBarPolicy effectivePolicy = cssResolver.resolve(SCROLLBAR_POLICY, this.scrollBarPolicy);
         builder.scrollBarPolicy(effectivePolicy);
 
-        // Resolve scrollbar styles: explicit > CSS > default
-        Style explicitThumbStyle = scrollbarThumbColor != null ? Style.EMPTY.fg(scrollbarThumbColor) : null;
-        Style thumbStyle = resolveEffectiveStyle(context, "scrollbar-thumb", explicitThumbStyle, Style.EMPTY);
+        Style thumbStyle = resolveScrollbarThumbStyle(context);
         if (!thumbStyle.equals(Style.EMPTY)) {
             builder.scrollbarThumbStyle(thumbStyle);
         }
 
-        Style explicitTrackStyle = scrollbarTrackColor != null ? Style.EMPTY.fg(scrollbarTrackColor) : null;
-        Style trackStyle = resolveEffectiveStyle(context, "scrollbar-track", explicitTrackStyle, Style.EMPTY);
+        Style trackStyle = resolveScrollbarTrackStyle(context);
         if (!trackStyle.equals(Style.EMPTY)) {
             builder.scrollbarTrackStyle(trackStyle);
         }
     }
 
+    // Resolve scrollbar styles: explicit > CSS > default
+
+    private Style resolveScrollbarThumbStyle(RenderContext context) {
+        Style explicitThumbStyle = scrollbarThumbColor != null ? Style.EMPTY.fg(scrollbarThumbColor) : null;
+        return resolveEffectiveStyle(context, "scrollbar-thumb", explicitThumbStyle, Style.EMPTY);
+    }
+
+    private Style resolveScrollbarTrackStyle(RenderContext context) {
+        Style explicitTrackStyle = scrollbarTrackColor != null ? Style.EMPTY.fg(scrollbarTrackColor) : null;
+        return resolveEffectiveStyle(context, "scrollbar-track", explicitTrackStyle, Style.EMPTY);
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // StyledElement → SizedWidget adaptation
     // ═══════════════════════════════════════════════════════════════
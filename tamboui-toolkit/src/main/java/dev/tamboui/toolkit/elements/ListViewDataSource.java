@@ -0,0 +1,50 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import java.util.List;
+
+/**
+ * A {@link ListDataSource} reading from a list, see {@link ListDataSource#of(List)}.
+ * <p>
+ * Views of the same list instance are equal, so a virtualized list rebuilt on every
+ * render with a new view keeps the item heights it measured.
+ *
+ * @param <T> the type of the items
+ */
+final class ListViewDataSource<T> implements ListDataSource<T> {
+
+    private final List<T> items;
+
+    ListViewDataSource(List<T> items) {
+        this.items = items;
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ListViewDataSource)) {
+            return false;
+        }
+        return items == ((ListViewDataSource<?>) o).items;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(items);
+    }
+}
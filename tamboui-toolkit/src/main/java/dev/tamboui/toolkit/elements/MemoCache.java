@@ -0,0 +1,116 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-local cache of the subtrees rendered by {@link MemoElement}s.
+ * <p>
+ * Each entry holds the element built for a memo key and a recording of its
+ * last render: the buffer cells it produced, the elements and focusable areas
+ * it registered, and the styled areas it wrote. The cache uses LRU eviction to
+ * bound memory usage.
+ * <p>
+ * The cache is thread-local to avoid synchronization overhead, as TUI
+ * rendering is typically single-threaded.
+ */
+public final class MemoCache {
+    private static final int MAX_SIZE = 128;
+    private static final ThreadLocal<MemoCache> INSTANCE =
+        ThreadLocal.withInitial(() -> new MemoCache(MAX_SIZE));
+
+    private final LinkedHashMap<Object, RenderRecording> cache;
+    private long hits;
+    private long misses;
+
+    private MemoCache(int maxSize) {
+        this.cache = new LinkedHashMap<Object, RenderRecording>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, RenderRecording> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the thread-local memo cache instance.
+     *
+     * @return the memo cache for the current thread
+     */
+    public static MemoCache instance() {
+        return INSTANCE.get();
+    }
+
+    /**
+     * Returns the number of memo renders that replayed a recording.
+     *
+     * @return the number of cache hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of memo renders that had to render their content.
+     *
+     * @return the number of cache misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the fraction of memo renders that replayed a recording.
+     *
+     * @return the hit rate, between 0 and 1, or 0 if nothing was rendered yet
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the number of subtrees currently held by the cache.
+     *
+     * @return the number of cached subtrees
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes the subtree cached for a key, so that it is rebuilt on its next render.
+     *
+     * @param key the memo key
+     */
+    public void invalidate(Object key) {
+        cache.remove(key);
+    }
+
+    /**
+     * Clears the cache for the current thread, including its statistics.
+     */
+    public static void clearAll() {
+        INSTANCE.remove();
+    }
+
+    RenderRecording get(Object key) {
+        return cache.get(key);
+    }
+
+    void put(Object key, RenderRecording recording) {
+        cache.put(key, recording);
+    }
+
+    void recordHit() {
+        hits++;
+    }
+
+    void recordMiss() {
+        misses++;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import java.util.function.Supplier;
+
+import dev.tamboui.layout.Constraint;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.element.DefaultRenderContext;
+import dev.tamboui.toolkit.element.Element;
+import dev.tamboui.toolkit.element.RenderContext;
+import dev.tamboui.toolkit.element.Size;
+
+/**
+ * An element that renders its content once and replays it while it is unchanged.
+ * <p>
+ * The key identifies the content: elements with equal keys are expected to
+ * render the same thing, so the key should capture every value the content
+ * is built from.
+ * <pre>{@code
+ * memo(report, () -> renderReport(report))
+ * }</pre>
+ * When the key was rendered before, the supplier is not called. If the area,
+ * the inherited style, the stylesheets and the focused element are also
+ * unchanged, the recorded output is replayed instead of rendering the content:
+ * its cells are copied to the buffer and its elements are registered again for
+ * event routing and focus, so the content stays interactive.
+ * <p>
+ * Content is expected to draw within its area and not to change on its own, like
+ * animations do. Output written outside the buffer, such as images drawn with
+ * native protocols, is not replayed. Use {@link MemoCache#invalidate(Object)} to
+ * force a key to be rebuilt.
+ *
+ * @see MemoCache
+ */
+public final class MemoElement implements Element {
+
+    private final Object key;
+    private final Supplier<? extends Element> supplier;
+    private Element content;
+    private boolean resolved;
+
+    /**
+     * Creates a new memo element.
+     *
+     * @param key the key identifying the content
+     * @param supplier the supplier that builds the content when the key was not rendered before
+     */
+    public MemoElement(Object key, Supplier<? extends Element> supplier) {
+        this.key = key;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Returns the key identifying the content.
+     *
+     * @return the key
+     */
+    public Object key() {
+        return key;
+    }
+
+    private Element content() {
+        if (!resolved) {
+            RenderRecording recording = MemoCache.instance().get(key);
+            content = recording != null ? recording.element() : supplier.get();
+            resolved = true;
+        }
+        return content;
+    }
+
+    @Override
+    public void render(Frame frame, Rect area, RenderContext context) {
+        Element element = content();
+        if (element == null) {
+            return;
+        }
+        if (!(context instanceof DefaultRenderContext)) {
+            context.renderChild(element, frame, area);
+            return;
+        }
+        DefaultRenderContext internalContext = (DefaultRenderContext) context;
+        MemoCache cache = MemoCache.instance();
+        RenderRecording recording = cache.get(key);
+        if (recording != null && recording.element() == element
+                && recording.matches(frame, area, internalContext)) {
+            cache.recordHit();
+            recording.replay(frame, internalContext);
+            return;
+        }
+        cache.recordMiss();
+        cache.put(key, RenderRecording.record(element, frame, area, internalContext));
+    }
+
+    @Override
+    public Size preferredSize(int availableWidth, int availableHeight, RenderContext context) {
+        Element element = content();
+        return element != null
+            ? element.preferredSize(availableWidth, availableHeight, context)
+            : Size.UNKNOWN;
+    }
+
+    @Override
+    public Constraint constraint() {
+        Element element = content();
+        return element != null ? element.constraint() : null;
+    }
+}
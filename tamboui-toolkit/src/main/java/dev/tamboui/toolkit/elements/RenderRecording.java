@@ -0,0 +1,207 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.buffer.Cell;
+import dev.tamboui.css.engine.StyleEngine;
+import dev.tamboui.layout.Position;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.style.Style;
+import dev.tamboui.style.Tags;
+import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.element.DefaultRenderContext;
+import dev.tamboui.toolkit.element.Element;
+
+/**
+ * The output of rendering an element, recorded so that it can be replayed
+ * without rendering the element again.
+ * <p>
+ * A recording holds the cells written to the rendered area, the elements and
+ * focusable areas registered in render order, the tagged styled areas, and the
+ * cursor position if the element moved the cursor. It also holds what the
+ * output depends on besides the element: the area, the inherited style, the
+ * stylesheets and the focused element.
+ */
+final class RenderRecording implements DefaultRenderContext.RegistrationListener {
+
+    private final Element element;
+    private final Rect area;
+    private final Rect bufferArea;
+    private final Style style;
+    private final StyleEngine styleEngine;
+    private final long stylesheetVersion;
+    private final String focusedId;
+    // Registered elements in render order; null elements stand for focusable areas
+    private final List<Element> elements = new ArrayList<>();
+    private final List<String> focusableIds = new ArrayList<>();
+    private final List<Rect> areas = new ArrayList<>();
+    private final List<StyledArea> styledAreas = new ArrayList<>();
+    private Rect cellArea = Rect.ZERO;
+    private Cell[] cells = new Cell[0];
+    private Position cursor;
+
+    private RenderRecording(Element element, Frame frame, Rect area, DefaultRenderContext context) {
+        this.element = element;
+        this.area = area;
+        this.bufferArea = frame.buffer().area();
+        this.style = context.currentStyle();
+        this.styleEngine = context.styleEngine().orElse(null);
+        this.stylesheetVersion = styleEngine != null ? styleEngine.stylesheetVersion() : 0;
+        this.focusedId = context.focusManager().focusedId();
+    }
+
+    /**
+     * Renders an element and records its output.
+     *
+     * @param element the element to render
+     * @param frame the frame to render into
+     * @param area the area to render in
+     * @param context the render context
+     * @return the recording
+     */
+    static RenderRecording record(Element element, Frame frame, Rect area, DefaultRenderContext context) {
+        RenderRecording recording = new RenderRecording(element, frame, area, context);
+        Buffer buffer = frame.buffer();
+        BiConsumer<Style, Rect> listener = buffer.styledContentListener();
+        Optional<Position> cursorBefore = frame.cursorPosition();
+
+        buffer.setStyledContentListener((spanStyle, spanArea) -> {
+            if (listener != null) {
+                listener.accept(spanStyle, spanArea);
+            }
+            if (!spanStyle.extension(Tags.class, Tags.empty()).isEmpty()) {
+                recording.styledAreas.add(new StyledArea(spanStyle, spanArea, frame.currentContextKey()));
+            }
+        });
+        context.addRegistrationListener(recording);
+        try {
+            context.renderChild(element, frame, area);
+        } finally {
+            context.removeRegistrationListener(recording);
+            buffer.setStyledContentListener(listener);
+        }
+
+        Optional<Position> cursorAfter = frame.cursorPosition();
+        if (cursorAfter.isPresent() && !cursorAfter.equals(cursorBefore)) {
+            recording.cursor = cursorAfter.get();
+        }
+        recording.captureCells(buffer);
+        return recording;
+    }
+
+    private void captureCells(Buffer buffer) {
+        cellArea = area.intersection(buffer.area());
+        cells = new Cell[cellArea.area()];
+        int i = 0;
+        for (int y = cellArea.top(); y < cellArea.bottom(); y++) {
+            for (int x = cellArea.left(); x < cellArea.right(); x++) {
+                cells[i++] = buffer.get(x, y);
+            }
+        }
+    }
+
+    /**
+     * Returns the recorded element.
+     *
+     * @return the element
+     */
+    Element element() {
+        return element;
+    }
+
+    /**
+     * Returns whether rendering the element again would produce the recorded output.
+     *
+     * @param frame the frame to render into
+     * @param area the area to render in
+     * @param context the render context
+     * @return true if the recording can be replayed
+     */
+    boolean matches(Frame frame, Rect area, DefaultRenderContext context) {
+        StyleEngine engine = context.styleEngine().orElse(null);
+        return this.area.equals(area)
+            && bufferArea.equals(frame.buffer().area())
+            && style.equals(context.currentStyle())
+            && styleEngine == engine
+            && (engine == null || stylesheetVersion == engine.stylesheetVersion())
+            && Objects.equals(focusedId, context.focusManager().focusedId());
+    }
+
+    /**
+     * Writes the recorded output to a frame and repeats the recorded registrations.
+     *
+     * @param frame the frame to render into
+     * @param context the render context
+     */
+    void replay(Frame frame, DefaultRenderContext context) {
+        Buffer buffer = frame.buffer();
+        int i = 0;
+        for (int y = cellArea.top(); y < cellArea.bottom(); y++) {
+            for (int x = cellArea.left(); x < cellArea.right(); x++) {
+                buffer.set(x, y, cells[i++]);
+            }
+        }
+
+        BiConsumer<Style, Rect> listener = buffer.styledContentListener();
+        if (listener != null) {
+            for (StyledArea styledArea : styledAreas) {
+                frame.pushContextKey(styledArea.contextKey);
+                try {
+                    listener.accept(styledArea.style, styledArea.area);
+                } finally {
+                    if (styledArea.contextKey != null) {
+                        frame.popContextKey();
+                    }
+                }
+            }
+        }
+
+        for (int j = 0; j < areas.size(); j++) {
+            Element registered = elements.get(j);
+            if (registered != null) {
+                context.registerElement(registered, areas.get(j));
+            } else {
+                context.registerFocusable(focusableIds.get(j), areas.get(j));
+            }
+        }
+
+        if (cursor != null) {
+            frame.setCursorPosition(cursor);
+        }
+    }
+
+    @Override
+    public void elementRegistered(Element registered, Rect registeredArea) {
+        elements.add(registered);
+        focusableIds.add(null);
+        areas.add(registeredArea);
+    }
+
+    @Override
+    public void focusableRegistered(String id, Rect registeredArea) {
+        elements.add(null);
+        focusableIds.add(id);
+        areas.add(registeredArea);
+    }
+
+    private static final class StyledArea {
+        private final Style style;
+        private final Rect area;
+        private final String contextKey;
+
+        StyledArea(Style style, Rect area, String contextKey) {
+            this.style = style;
+            this.area = area;
+            this.contextKey = contextKey;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import dev.tamboui.style.Overflow;
 import dev.tamboui.style.Style;
 import dev.tamboui.style.StylePropertyResolver;
 import dev.tamboui.terminal.Frame;
-import dev.tamboui.text.Line;
 import dev.tamboui.text.Span;
 import dev.tamboui.text.Text;
 import dev.tamboui.toolkit.element.RenderContext;
@@ -207,15 +206,7 @@ public final class RichTextElement extends StyledElement<RichTextElement> {
 
     @Override
     public Size preferredSize(int availableWidth, int availableHeight, RenderContext context) {
-        int maxWidth = 0;
-        for (Line line : text.lines()) {
-            int width = 0;
-            for (Span span : line.spans()) {
-                width += span.width();
-            }
-            maxWidth = Math.max(maxWidth, width);
-        }
-        return Size.of(maxWidth, text.lines().size());
+        return Size.of(text.width(), text.height());
     }
 
     @Override
@@ -8,6 +8,7 @@ import dev.tamboui.layout.Rect;
 import dev.tamboui.style.StylePropertyResolver;
 import dev.tamboui.terminal.Frame;
 import dev.tamboui.text.CharWidth;
+import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.element.RenderContext;
 import dev.tamboui.toolkit.element.Size;
 import dev.tamboui.toolkit.element.StyledElement;
@@ -74,6 +75,8 @@ public final class SpinnerElement extends StyledElement<SpinnerElement> {
     private SpinnerFrameSet customFrameSet;
     private String label;
     private SpinnerState state;
+    // Whether the state was created by this element rather than provided by the application
+    private boolean ownsState = true;
 
     /**
      * Creates a spinner element with the default DOTS style.
@@ -173,9 +176,25 @@ public final class SpinnerElement extends StyledElement<SpinnerElement> {
      */
     public SpinnerElement state(SpinnerState state) {
         this.state = state;
+        this.ownsState = false;
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A spinner created without a state keeps the state of the spinner it replaces,
+     * so that its animation continues instead of restarting on every frame.
+     */
+    @Override
+    public void reconcile(Element previous) {
+        super.reconcile(previous);
+        SpinnerElement other = (SpinnerElement) previous;
+        if (ownsState && other.ownsState) {
+            state = other.state;
+        }
+    }
+
     @Override
     public Size preferredSize(int availableWidth, int availableHeight, RenderContext context) {
         int width = computeMaxFrameWidth();
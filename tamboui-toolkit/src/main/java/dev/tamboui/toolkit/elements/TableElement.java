@@ -26,6 +26,7 @@ import dev.tamboui.widgets.block.Borders;
 import dev.tamboui.widgets.block.Title;
 import dev.tamboui.widgets.table.Row;
 import dev.tamboui.widgets.table.Table;
+import dev.tamboui.widgets.table.TableDataSource;
 import dev.tamboui.widgets.table.TableState;
 
 /**
@@ -42,6 +43,18 @@ import dev.tamboui.widgets.table.TableState;
  *     .title("Users")
  *     .rounded()
  * }</pre>
+ * <p>
+ * Large tables can read their rows from a {@link TableDataSource}, in which case only
+ * the rows in view are built. Sorting and filtering are done through the
+ * {@link TableState}, off the render thread:
+ * <pre>{@code
+ * table()
+ *     .header("Name", "Age", "City")
+ *     .dataSource(source)
+ *     .state(tableState)
+ *
+ * tableState.sort(source, 0, Comparator.naturalOrder(), executor);
+ * }</pre>
  */
 public final class TableElement extends StyledElement<TableElement> {
 
@@ -50,6 +63,7 @@ public final class TableElement extends StyledElement<TableElement> {
     private static final String DEFAULT_HIGHLIGHT_SYMBOL = "> ";
 
     private final List<Row> rows = new ArrayList<>();
+    private TableDataSource dataSource;
     private final List<Constraint> widths = new ArrayList<>();
     private Row header;
     private Row footer;
@@ -156,6 +170,21 @@ public final class TableElement extends StyledElement<TableElement> {
         return this;
     }
 
+    /**
+     * Sets the data source rows are read from, replacing the rows.
+     * <p>
+     * Only the rows in view are read from the data source. If no widths are set,
+     * the column widths of the data source are used.
+     *
+     * @param dataSource the data source
+     * @return this builder
+     */
+    public TableElement dataSource(TableDataSource dataSource) {
+        this.rows.clear();
+        this.dataSource = dataSource;
+        return this;
+    }
+
     /**
      * Sets the column width constraints.
      *
@@ -278,8 +307,14 @@ public final class TableElement extends StyledElement<TableElement> {
             numCols = header.cells().size();
         } else if (!rows.isEmpty()) {
             numCols = rows.get(0).cells().size();
+        } else if (dataSource != null) {
+            numCols = dataSource.columnCount();
         }
 
+        List<Constraint> widths = this.widths;
+        if (widths.isEmpty() && dataSource != null) {
+            widths = dataSource.columnWidths();
+        }
         if (!widths.isEmpty()) {
             // Use constraint widths
             for (Constraint w : widths) {
@@ -319,6 +354,9 @@ public final class TableElement extends StyledElement<TableElement> {
 
         // Header + rows + footer + border
         int height = rows.size();
+        if (dataSource != null) {
+            height = state != null ? state.rowCount(dataSource) : dataSource.rowCount();
+        }
         if (header != null) {
             height++;
         }
@@ -365,6 +403,7 @@ public final class TableElement extends StyledElement<TableElement> {
 
         Table.Builder builder = Table.builder()
             .rows(rows)
+            .dataSource(dataSource)
             .widths(widths)
             .style(context.currentStyle())
             .highlightStyle(effectiveHighlightStyle)
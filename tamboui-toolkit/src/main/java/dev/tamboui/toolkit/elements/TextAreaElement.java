@@ -12,6 +12,7 @@ import dev.tamboui.layout.Rect;
 import dev.tamboui.style.Color;
 import dev.tamboui.style.Style;
 import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.element.RenderContext;
 import dev.tamboui.toolkit.element.Size;
 import dev.tamboui.toolkit.element.StyledElement;
@@ -62,6 +63,8 @@ public final class TextAreaElement extends StyledElement<TextAreaElement> {
     private static final Style DEFAULT_LINE_NUMBER_STYLE = Style.EMPTY.dim();
 
     private TextAreaState state;
+    // Whether the state was created by this element rather than provided by the application
+    private boolean ownsState = true;
     private Style cursorStyle;
     private String placeholder = "";
     private Style placeholderStyle;
@@ -86,6 +89,7 @@ public final class TextAreaElement extends StyledElement<TextAreaElement> {
      */
     public TextAreaElement(TextAreaState state) {
         this.state = state != null ? state : new TextAreaState();
+        this.ownsState = state == null;
     }
 
     /**
@@ -96,6 +100,7 @@ public final class TextAreaElement extends StyledElement<TextAreaElement> {
      */
     public TextAreaElement state(TextAreaState state) {
         this.state = state != null ? state : new TextAreaState();
+        this.ownsState = state == null;
         return this;
     }
 
@@ -253,8 +258,27 @@ public final class TextAreaElement extends StyledElement<TextAreaElement> {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A text area created without a state keeps the state of the text area it
+     * replaces, so that the text typed, the cursor and the scroll position carry
+     * over to the next frame. The initial text then only applies to the first frame.
+     */
+    @Override
+    public void reconcile(Element previous) {
+        super.reconcile(previous);
+        TextAreaElement other = (TextAreaElement) previous;
+        if (ownsState && other.ownsState) {
+            state = other.state;
+        }
+    }
+
     @Override
     public Size preferredSize(int availableWidth, int availableHeight, RenderContext context) {
+        if (context != null) {
+            context.reconcile(this);
+        }
         // Calculate max line width from content
         int maxWidth = 0;
         int lineCount = 1;
@@ -12,6 +12,7 @@ import dev.tamboui.layout.Rect;
 import dev.tamboui.style.Color;
 import dev.tamboui.style.Style;
 import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.element.RenderContext;
 import dev.tamboui.toolkit.element.Size;
 import dev.tamboui.toolkit.element.StyledElement;
@@ -62,6 +63,8 @@ public final class TextInputElement extends StyledElement<TextInputElement> {
     private static final Style DEFAULT_PLACEHOLDER_STYLE = Style.EMPTY.dim();
 
     private TextInputState state;
+    // Whether the state was created by this element rather than provided by the application
+    private boolean ownsState = true;
     private Style cursorStyle;
     private String placeholder = "";
     private Style placeholderStyle;
@@ -86,6 +89,7 @@ public final class TextInputElement extends StyledElement<TextInputElement> {
      */
     public TextInputElement(TextInputState state) {
         this.state = state != null ? state : new TextInputState();
+        this.ownsState = state == null;
     }
 
     /**
@@ -125,6 +129,7 @@ public final class TextInputElement extends StyledElement<TextInputElement> {
      */
     public TextInputElement state(TextInputState state) {
         this.state = state != null ? state : new TextInputState();
+        this.ownsState = state == null;
         return this;
     }
 
@@ -258,8 +263,27 @@ public final class TextInputElement extends StyledElement<TextInputElement> {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An input created without a state keeps the state of the input it replaces,
+     * so that the text typed and the cursor position carry over to the next frame.
+     * The initial {@link #text(String)} then only applies to the first frame.
+     */
+    @Override
+    public void reconcile(Element previous) {
+        super.reconcile(previous);
+        TextInputElement other = (TextInputElement) previous;
+        if (ownsState && other.ownsState) {
+            state = other.state;
+        }
+    }
+
     @Override
     public Size preferredSize(int availableWidth, int availableHeight, RenderContext context) {
+        if (context != null) {
+            context.reconcile(this);
+        }
         // Use max of placeholder width and current value width, plus border
         int valueWidth = state != null ? state.text().length() : 0;
         int placeholderWidth = placeholder != null ? placeholder.length() : 0;
@@ -25,6 +25,7 @@ import dev.tamboui.style.PropertyRegistry;
 import dev.tamboui.style.StringConverter;
 import dev.tamboui.style.Style;
 import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.element.RenderContext;
 import dev.tamboui.toolkit.element.Size;
 import dev.tamboui.toolkit.element.StyledElement;
@@ -49,7 +50,10 @@ import dev.tamboui.widgets.tree.TreeWidget;
  * A scrollable, keyboard-navigable hierarchical tree view.
  * <p>
  * The tree flattens visible nodes (only expanded branches) into a list
- * for rendering, with guide characters showing the hierarchy.
+ * for rendering, with guide characters showing the hierarchy. The list is
+ * kept across renders and updated incrementally as nodes are expanded and
+ * collapsed. Children set with {@link TreeNode#asyncChildrenLoader} are
+ * loaded in the background, with a placeholder row shown in the meantime.
  *
  * <pre>{@code
  * tree(
@@ -168,9 +172,10 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
     private int indentWidth = -1; // -1 means use guide style width
 
     // TreeState for widget delegation
-    private final TreeState treeState = new TreeState();
+    private TreeState treeState = new TreeState();
+    private boolean selectionSet;
 
-    // Cached flat entries from last render (for navigation)
+    // Live view of the flat entries kept in the tree state (for navigation)
     private List<TreeWidget.FlatEntry<TreeNode<T>>> lastFlatEntries = Collections.emptyList();
     private int lastViewportHeight;
 
@@ -382,6 +387,7 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
      */
     public TreeElement<T> selected(int index) {
         this.treeState.select(index);
+        this.selectionSet = true;
         return this;
     }
 
@@ -395,7 +401,8 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
     }
 
     /**
-     * Returns the currently selected tree node, or {@code null} if the tree is empty.
+     * Returns the currently selected tree node, or {@code null} if the tree is empty
+     * or the placeholder of children that are loading is selected.
      *
      * @return the selected node, or null
      */
@@ -407,6 +414,27 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
         return lastFlatEntries.get(idx).node();
     }
 
+    // ═══════════════════════════════════════════════════════════════
+    // Reconciliation
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tree keeps the scroll position of the tree it replaces, and its selection
+     * and flattened rows unless a selection was set with {@link #selected(int)}.
+     */
+    @Override
+    public void reconcile(Element previous) {
+        super.reconcile(previous);
+        TreeElement<?> other = (TreeElement<?>) previous;
+        if (!selectionSet) {
+            treeState = other.treeState;
+        } else {
+            treeState.offset(other.treeState.offset());
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // Navigation methods
     // ═══════════════════════════════════════════════════════════════
@@ -436,7 +464,7 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
         }
         int idx = Math.min(treeState.selected(), lastFlatEntries.size() - 1);
         TreeNode<T> node = lastFlatEntries.get(idx).node();
-        if (node.isLeaf()) {
+        if (node == null || node.isLeaf()) {
             return;
         }
         if (node.isExpanded()) {
@@ -445,7 +473,7 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
                 treeState.select(idx + 1);
             }
         } else {
-            node.expanded(true);
+            treeState.setExpanded(idx, true);
         }
     }
 
@@ -457,21 +485,11 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
             return;
         }
         int idx = Math.min(treeState.selected(), lastFlatEntries.size() - 1);
-        TreeWidget.FlatEntry<TreeNode<T>> entry = lastFlatEntries.get(idx);
-        TreeNode<T> node = entry.node();
-        if (node.isExpanded() && !node.isLeaf()) {
-            node.expanded(false);
+        TreeNode<T> node = lastFlatEntries.get(idx).node();
+        if (node != null && node.isExpanded() && !node.isLeaf()) {
+            treeState.setExpanded(idx, false);
         } else {
-            // Move to parent
-            TreeNode<T> parent = entry.parent();
-            if (parent != null) {
-                for (int i = 0; i < lastFlatEntries.size(); i++) {
-                    if (lastFlatEntries.get(i).node() == parent) {
-                        treeState.select(i);
-                        break;
-                    }
-                }
-            }
+            treeState.selectParent();
         }
     }
 
@@ -484,8 +502,8 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
         }
         int idx = Math.min(treeState.selected(), lastFlatEntries.size() - 1);
         TreeNode<T> node = lastFlatEntries.get(idx).node();
-        if (!node.isLeaf()) {
-            node.toggleExpanded();
+        if (node != null && !node.isLeaf()) {
+            treeState.setExpanded(idx, !node.isExpanded());
         }
     }
 
@@ -609,6 +627,7 @@ public final class TreeElement<T> extends StyledElement<TreeElement<T>> {
         TreeWidget.Builder<TreeNode<T>> builder = TreeWidget.<TreeNode<T>>builder()
                 .roots(roots)
                 .children(TreeNode::children)
+                .asyncChildren(TreeNode::loadChildren)
                 .isLeaf(TreeNode::isLeaf)
                 .expansionState(TreeNode::isExpanded, TreeNode::expanded);
 
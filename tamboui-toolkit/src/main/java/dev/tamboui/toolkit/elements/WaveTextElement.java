@@ -8,6 +8,7 @@ import dev.tamboui.layout.Rect;
 import dev.tamboui.style.Color;
 import dev.tamboui.style.StylePropertyResolver;
 import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.element.Element;
 import dev.tamboui.toolkit.element.RenderContext;
 import dev.tamboui.toolkit.element.Size;
 import dev.tamboui.toolkit.element.StyledElement;
@@ -48,6 +49,8 @@ public final class WaveTextElement extends StyledElement<WaveTextElement> {
     private WaveText.Mode mode = WaveText.Mode.LOOP;
     private boolean inverted = false;
     private WaveTextState state;
+    // Whether the state was created by this element rather than provided by the application
+    private boolean ownsState = true;
 
     /**
      * Creates a wave text element with the given text.
@@ -208,9 +211,25 @@ public final class WaveTextElement extends StyledElement<WaveTextElement> {
      */
     public WaveTextElement state(WaveTextState state) {
         this.state = state;
+        this.ownsState = false;
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A wave text created without a state keeps the state of the wave text it
+     * replaces, so that its animation continues instead of restarting on every frame.
+     */
+    @Override
+    public void reconcile(Element previous) {
+        super.reconcile(previous);
+        WaveTextElement other = (WaveTextElement) previous;
+        if (ownsState && other.ownsState) {
+            state = other.state;
+        }
+    }
+
     @Override
     public Size preferredSize(int availableWidth, int availableHeight, RenderContext context) {
         int width = text != null ? text.length() : 0;
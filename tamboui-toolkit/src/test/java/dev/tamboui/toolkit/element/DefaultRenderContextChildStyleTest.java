@@ -156,6 +156,36 @@ class DefaultRenderContextChildStyleTest {
         });
     }
 
+    @Test
+    @DisplayName("childStyle matches combinators against the elements being rendered, from root to parent")
+    void childStyleMatchesCombinatorsAgainstRenderedAncestors() {
+        // Given CSS with descendant and child combinators
+        String css = "Dialog Panel-title { color: red; }\n" +
+                     "Dock > Panel-title { background: blue; }\n" +
+                     "Dialog > Panel > Panel-title { background: green; }";
+        styleEngine.addStylesheet("test", css);
+        styleEngine.setActiveStylesheet("test");
+
+        // And a panel rendered in a dialog rendered in a dock
+        Styleable dock = createStyleable("Dock");
+        Styleable dialog = createStyleable("Dialog");
+        Styleable panel = createStyleable("Panel");
+        context.withElement(dock, Style.EMPTY, () ->
+            context.withElement(dialog, Style.EMPTY, () ->
+                context.withElement(panel, Style.EMPTY, () -> {
+                    // When resolving the panel's child style
+                    Style style = context.childStyle("title");
+
+                    // Then the dialog is an ancestor, the panel the parent, and the dock neither
+                    assertThat(style.fg()).contains(Color.RED);
+                    assertThat(style.bg()).contains(Color.GREEN);
+                })));
+
+        // And outside of the dialog, the descendant rule no longer applies
+        context.withElement(panel, Style.EMPTY, () ->
+            assertThat(context.childStyle("title").fg()).isEmpty());
+    }
+
     private Styleable createStyleable(String type) {
         return new Styleable() {
             @Override
@@ -0,0 +1,144 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.element;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.AbstractElementTest;
+import dev.tamboui.toolkit.elements.ListElement;
+import dev.tamboui.toolkit.elements.TextInputElement;
+
+import static dev.tamboui.toolkit.Toolkit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the reconciliation of elements between frames.
+ */
+class ElementReconcilerTest extends AbstractElementTest {
+
+    private final Rect area = new Rect(0, 0, 20, 10);
+    private DefaultRenderContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = DefaultRenderContext.createEmpty();
+    }
+
+    private void renderFrame(Element root) {
+        context.focusManager().clearFocusables();
+        context.eventRouter().clear();
+        context.elementRegistry().clear();
+        context.renderRoot(root, Frame.forTesting(Buffer.empty(area)), area);
+    }
+
+    @Test
+    @DisplayName("A list keeps the selection of the list it replaces")
+    void listKeepsSelection() {
+        ListElement<?> first = list("a", "b", "c");
+        renderFrame(column(first));
+        first.selectNext(3);
+
+        ListElement<?> second = list("a", "b", "c");
+        renderFrame(column(second));
+
+        assertThat(second.selected()).isEqualTo(1);
+        // The column, the list and its three items
+        assertThat(context.reconciledElementCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("A selection set by the application wins over the previous one")
+    void explicitSelectionWins() {
+        ListElement<?> first = list("a", "b", "c");
+        renderFrame(column(first));
+        first.selectNext(3);
+
+        ListElement<?> second = list("a", "b", "c").selected(2);
+        renderFrame(column(second));
+
+        assertThat(second.selected()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Elements with an ID are matched by ID when siblings are reordered")
+    void matchesById() {
+        ListElement<?> x = list("a", "b", "c").id("x");
+        ListElement<?> y = list("a", "b", "c").id("y");
+        renderFrame(column(x, y));
+        y.selectLast(3);
+
+        ListElement<?> newX = list("a", "b", "c").id("x");
+        ListElement<?> newY = list("a", "b", "c").id("y");
+        renderFrame(column(newY, newX));
+
+        assertThat(newY.selected()).isEqualTo(2);
+        assertThat(newX.selected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Elements with a different ID or type are not matched")
+    void differentIdOrTypeNotMatched() {
+        ListElement<?> first = list("a", "b", "c").id("first");
+        renderFrame(column(first));
+        first.selectLast(3);
+
+        ListElement<?> second = list("a", "b", "c").id("second");
+        renderFrame(column(second));
+        assertThat(second.selected()).isZero();
+
+        renderFrame(column(text("a")));
+        ListElement<?> third = list("a", "b", "c");
+        renderFrame(column(third));
+        assertThat(third.selected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Focusable elements without an ID keep their generated ID and the focus")
+    void keepsGeneratedId() {
+        TextInputElement first = textInput();
+        renderFrame(column(first));
+        String id = first.id();
+        assertThat(context.focusManager().focusedId()).isEqualTo(id);
+
+        TextInputElement second = textInput();
+        renderFrame(column(second));
+
+        assertThat(second.id()).isEqualTo(id);
+        assertThat(context.isFocused(id)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Elements are reconciled before their parent measures them")
+    void reconciledBeforeMeasured() {
+        TextInputElement first = textInput();
+        renderFrame(row(first, text("end")));
+        first.text("a long value");
+
+        TextInputElement second = textInput();
+        renderFrame(row(second, text("end")));
+
+        assertThat(second.renderedArea().width()).isEqualTo(12);
+        // The row, the input and the text, each reconciled once
+        assertThat(context.reconciledElementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Elements rendered outside of a frame are not reconciled")
+    void noReconciliationOutsideFrames() {
+        ListElement<?> first = list("a", "b", "c");
+        context.renderChild(first, Frame.forTesting(Buffer.empty(area)), area);
+        first.selectNext(3);
+
+        ListElement<?> second = list("a", "b", "c");
+        context.renderChild(second, Frame.forTesting(Buffer.empty(area)), area);
+
+        assertThat(second.selected()).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ItemHeightCache.
+ */
+class ItemHeightCacheTest {
+
+    @Test
+    @DisplayName("Unmeasured items count for the estimate")
+    void usesEstimate() {
+        ItemHeightCache cache = new ItemHeightCache();
+        cache.prepare(100, 2, 40);
+
+        assertThat(cache.totalHeight()).isEqualTo(200);
+        assertThat(cache.top(10)).isEqualTo(20);
+        assertThat(cache.indexAt(21)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Measured heights update positions")
+    void measuredHeights() {
+        ItemHeightCache cache = new ItemHeightCache();
+        cache.prepare(10, 1, 40);
+        cache.measure(2, 5);
+
+        assertThat(cache.height(2)).isEqualTo(5);
+        assertThat(cache.top(3)).isEqualTo(7);
+        assertThat(cache.totalHeight()).isEqualTo(14);
+        assertThat(cache.indexAt(1)).isEqualTo(1);
+        assertThat(cache.indexAt(2)).isEqualTo(2);
+        assertThat(cache.indexAt(6)).isEqualTo(2);
+        assertThat(cache.indexAt(7)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Rows past the end map to the last item")
+    void rowPastEnd() {
+        ItemHeightCache cache = new ItemHeightCache();
+        cache.prepare(5, 1, 40);
+
+        assertThat(cache.indexAt(100)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Growing keeps measurements")
+    void growingKeepsMeasurements() {
+        ItemHeightCache cache = new ItemHeightCache();
+        cache.prepare(3, 1, 40);
+        cache.measure(1, 4);
+        cache.prepare(1000, 1, 40);
+
+        assertThat(cache.height(1)).isEqualTo(4);
+        assertThat(cache.totalHeight()).isEqualTo(1003);
+        assertThat(cache.indexAt(1002)).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("Changing the width drops measurements")
+    void widthChangeDropsMeasurements() {
+        ItemHeightCache cache = new ItemHeightCache();
+        cache.prepare(3, 1, 40);
+        cache.measure(1, 4);
+        cache.prepare(3, 1, 20);
+
+        assertThat(cache.height(1)).isEqualTo(1);
+        assertThat(cache.totalHeight()).isEqualTo(3);
+    }
+}
@@ -4,7 +4,9 @@
  */
 package dev.tamboui.toolkit.elements;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,6 +22,8 @@ import dev.tamboui.toolkit.AbstractElementTest;
 import dev.tamboui.toolkit.element.DefaultRenderContext;
 import dev.tamboui.toolkit.element.RenderContext;
 import dev.tamboui.tui.error.TuiException;
+import dev.tamboui.tui.event.KeyCode;
+import dev.tamboui.tui.event.KeyEvent;
 import dev.tamboui.widgets.common.ScrollBarPolicy;
 
 import static dev.tamboui.toolkit.Toolkit.list;
@@ -466,6 +470,212 @@ class ListElementTest extends AbstractElementTest {
         }
     }
 
+    @Nested
+    @DisplayName("Virtualized data source")
+    class VirtualizedTests {
+
+        private final List<Integer> fetched = new ArrayList<>();
+
+        private ListDataSource<Integer> numbers(int size) {
+            return new ListDataSource<Integer>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Integer get(int index) {
+                    fetched.add(index);
+                    return index;
+                }
+            };
+        }
+
+        private String row(Buffer buffer, int y) {
+            StringBuilder sb = new StringBuilder();
+            for (int x = 0; x < buffer.area().width(); x++) {
+                sb.append(buffer.get(x, y).symbol());
+            }
+            return sb.toString().trim();
+        }
+
+        @Test
+        @DisplayName("Only items in view and overscan are fetched")
+        void fetchesOnlyVisibleItems() {
+            Rect area = new Rect(0, 0, 20, 5);
+            Buffer buffer = Buffer.empty(area);
+            Frame frame = Frame.forTesting(buffer);
+
+            list().dataSource(numbers(200_000), i -> text("Item " + i))
+                .render(frame, area, RenderContext.empty());
+
+            assertThat(row(buffer, 0)).isEqualTo("> Item 0");
+            assertThat(row(buffer, 4)).isEqualTo("Item 4");
+            assertThat(fetched).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        }
+
+        @Test
+        @DisplayName("Auto-scroll shows the last item without fetching the others")
+        void autoScrollToLastItem() {
+            Rect area = new Rect(0, 0, 20, 5);
+            Buffer buffer = Buffer.empty(area);
+            Frame frame = Frame.forTesting(buffer);
+
+            ListElement<Integer> element = list().dataSource(numbers(200_000), i -> text("Item " + i))
+                .autoScroll();
+            element.selectLast(200_000);
+            element.render(frame, area, RenderContext.empty());
+
+            assertThat(row(buffer, 4)).isEqualTo("> Item 199999");
+            assertThat(row(buffer, 0)).isEqualTo("Item 199995");
+            assertThat(fetched).hasSizeLessThanOrEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Key navigation scrolls the view to the selection")
+        void keyNavigation() {
+            Rect area = new Rect(0, 0, 20, 5);
+            Frame frame = Frame.forTesting(Buffer.empty(area));
+
+            ListElement<Integer> element = list().dataSource(numbers(1000), i -> text("Item " + i))
+                .autoScroll();
+            element.render(frame, area, RenderContext.empty());
+            element.handleKeyEvent(KeyEvent.ofKey(KeyCode.END), true);
+            element.handleKeyEvent(KeyEvent.ofKey(KeyCode.UP), true);
+
+            Buffer buffer = Buffer.empty(area);
+            element.render(Frame.forTesting(buffer), area, RenderContext.empty());
+
+            assertThat(element.selected()).isEqualTo(998);
+            assertThat(row(buffer, 0)).isEqualTo("Item 994");
+            assertThat(row(buffer, 4)).isEqualTo("> Item 998");
+        }
+
+        @Test
+        @DisplayName("Measured heights replace the estimate")
+        void measuredHeights() {
+            Rect area = new Rect(0, 0, 20, 6);
+            Buffer buffer = Buffer.empty(area);
+            Frame frame = Frame.forTesting(buffer);
+
+            list().dataSource(numbers(100), i -> text("Item " + i).length(2))
+                .scrollToEnd()
+                .displayOnly()
+                .render(frame, area, RenderContext.empty());
+
+            // Three two-row items fill the view
+            assertThat(row(buffer, 0)).isEqualTo("Item 97");
+            assertThat(row(buffer, 2)).isEqualTo("Item 98");
+            assertThat(row(buffer, 4)).isEqualTo("Item 99");
+        }
+
+        @Test
+        @DisplayName("A list with no item rendered yet fills the width of a row")
+        void unmeasuredListFillsRow() {
+            Rect area = new Rect(0, 0, 20, 6);
+            ListElement<Integer> element = list().dataSource(numbers(100), i -> text("Item " + i))
+                .displayOnly();
+
+            DefaultRenderContext context = DefaultRenderContext.createEmpty();
+            context.renderRoot(new Row(element, text("end")), Frame.forTesting(Buffer.empty(area)), area);
+
+            assertThat(element.renderedArea().width()).isEqualTo(17);
+        }
+
+        @Test
+        @DisplayName("Measured sizes survive a new list view of the same items")
+        void measuredSizesRetainedAcrossViews() {
+            List<Integer> items = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                items.add(i);
+            }
+            Rect area = new Rect(0, 0, 20, 6);
+            DefaultRenderContext context = DefaultRenderContext.createEmpty();
+            ListElement<Integer> first = list().dataSource(ListDataSource.of(items), i -> text("Item " + i).length(2))
+                .scrollToEnd()
+                .displayOnly();
+            context.renderRoot(new Row(first, text("end")), Frame.forTesting(Buffer.empty(area)), area);
+            int measuredHeight = first.preferredSize(-1, -1, RenderContext.empty()).heightOr(0);
+
+            // Rebuilt on the next frame, as in immediate mode: the row measures the new
+            // list with the sizes measured by the previous one
+            ListElement<Integer> next = list().dataSource(ListDataSource.of(items), i -> text("Item " + i).length(2))
+                .scrollToEnd()
+                .displayOnly();
+            context.renderRoot(new Row(next, text("end")), Frame.forTesting(Buffer.empty(area)), area);
+
+            assertThat(ListDataSource.of(items)).isEqualTo(ListDataSource.of(items))
+                .isNotEqualTo(ListDataSource.of(new ArrayList<>(items)));
+            assertThat(measuredHeight).isGreaterThan(100);
+            assertThat(next.preferredSize(-1, -1, RenderContext.empty()).heightOr(0)).isEqualTo(measuredHeight);
+            assertThat(next.renderedArea().width()).isEqualTo("Item 99".length());
+        }
+
+        @Test
+        @DisplayName("Zebra striping uses the position in the whole list")
+        void zebraUsesAbsolutePosition() {
+            StyleEngine styleEngine = StyleEngine.create();
+            styleEngine.addStylesheet("test", "ListElement-item:nth-child(even) { background: blue; }");
+            styleEngine.setActiveStylesheet("test");
+            DefaultRenderContext context = DefaultRenderContext.createEmpty();
+            context.setStyleEngine(styleEngine);
+
+            Rect area = new Rect(0, 0, 20, 4);
+            Buffer buffer = Buffer.empty(area);
+            Frame frame = Frame.forTesting(buffer);
+
+            ListElement<Integer> element = list().dataSource(numbers(1000), i -> text("Item " + i))
+                .displayOnly();
+            element.selected(0);
+            element.render(frame, area, context);
+            Color first = buffer.get(5, 0).style().bg().orElse(null);
+            Color second = buffer.get(5, 1).style().bg().orElse(null);
+
+            // Scroll by an odd number of items: striping must follow the items
+            buffer = Buffer.empty(area);
+            element.selected(7);
+            element.autoScroll().render(Frame.forTesting(buffer), area, context);
+
+            assertThat(row(buffer, 0)).isEqualTo("Item 4");
+            assertThat(buffer.get(5, 0).style().bg().orElse(null)).isEqualTo(first);
+            assertThat(buffer.get(5, 1).style().bg().orElse(null)).isEqualTo(second);
+        }
+
+        @Test
+        @DisplayName("Scrollbar reflects the estimated content height")
+        void scrollbarShown() {
+            Rect area = new Rect(0, 0, 20, 5);
+            Buffer buffer = Buffer.empty(area);
+            Frame frame = Frame.forTesting(buffer);
+
+            list().dataSource(numbers(10_000), i -> text("Item " + i))
+                .scrollbar(ScrollBarPolicy.AS_NEEDED)
+                .render(frame, area, RenderContext.empty());
+
+            assertThat(buffer.get(19, 0).symbol()).isEqualTo("█");
+            assertThat(buffer.get(19, 4).symbol()).isEqualTo("│");
+        }
+
+        @Test
+        @DisplayName("Preferred height uses the estimated item height")
+        void preferredSizeUsesEstimate() {
+            ListElement<Integer> element = list().dataSource(numbers(1000), i -> text("Item " + i))
+                .estimatedItemHeight(3);
+
+            assertThat(element.preferredSize(20, 10, RenderContext.empty()).heightOr(0)).isEqualTo(3000);
+            assertThat(fetched).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Invalid estimates and overscans are rejected")
+        void rejectsInvalidValues() {
+            assertThatThrownBy(() -> list().estimatedItemHeight(0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> list().overscan(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
     @Test
     @DisplayName("styleAttributes exposes title")
     void styleAttributes_exposesTitle() {
@@ -0,0 +1,159 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.toolkit.elements;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.css.engine.StyleEngine;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.style.Color;
+import dev.tamboui.terminal.Frame;
+import dev.tamboui.toolkit.AbstractElementTest;
+import dev.tamboui.toolkit.element.DefaultRenderContext;
+import dev.tamboui.toolkit.element.Element;
+
+import static dev.tamboui.toolkit.Toolkit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for MemoElement and MemoCache.
+ */
+class MemoElementTest extends AbstractElementTest {
+
+    private final Rect area = new Rect(0, 0, 20, 3);
+    private final AtomicInteger builds = new AtomicInteger();
+    private DefaultRenderContext context;
+
+    @BeforeEach
+    void setUp() {
+        MemoCache.clearAll();
+        context = DefaultRenderContext.createEmpty();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MemoCache.clearAll();
+    }
+
+    private Element content(String label) {
+        builds.incrementAndGet();
+        return column(text(label), text("second line"));
+    }
+
+    private Buffer renderFrame(Element element, Rect frameArea) {
+        context.focusManager().clearFocusables();
+        context.eventRouter().clear();
+        context.elementRegistry().clear();
+        Buffer buffer = Buffer.empty(frameArea);
+        element.render(Frame.forTesting(buffer), frameArea, context);
+        return buffer;
+    }
+
+    @Test
+    @DisplayName("Unchanged key replays the recorded cells without building the content")
+    void replaysUnchangedKey() {
+        Buffer first = renderFrame(memo("a", () -> content("Hello")), area);
+        Buffer second = renderFrame(memo("a", () -> content("Hello")), area);
+
+        assertThat(builds.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(MemoCache.instance().hits()).isEqualTo(1);
+        assertThat(MemoCache.instance().misses()).isEqualTo(1);
+        assertThat(MemoCache.instance().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Changed key builds and renders the new content")
+    void rebuildsChangedKey() {
+        renderFrame(memo("a", () -> content("Hello")), area);
+        Buffer buffer = renderFrame(memo("b", () -> content("World")), area);
+
+        assertThat(builds.get()).isEqualTo(2);
+        assertThat(buffer.get(0, 0).symbol()).isEqualTo("W");
+        assertThat(MemoCache.instance().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Changed area renders the cached content again")
+    void rendersAgainOnAreaChange() {
+        renderFrame(memo("a", () -> content("Hello")), area);
+        Rect wider = new Rect(0, 0, 30, 3);
+        Buffer buffer = renderFrame(memo("a", () -> content("Hello")), wider);
+
+        assertThat(builds.get()).isEqualTo(1);
+        assertThat(buffer.get(0, 0).symbol()).isEqualTo("H");
+        assertThat(MemoCache.instance().hits()).isZero();
+        assertThat(MemoCache.instance().misses()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Replay registers focusables and event areas again")
+    void replaysRegistrations() {
+        // The first frame focuses the element, so the second one renders it focused
+        renderFrame(memo("a", () -> column(text("one").id("one").focusable(), text("two"))), area);
+        renderFrame(memo("a", () -> column(text("one").id("one").focusable(), text("two"))), area);
+        int elementCount = context.eventRouter().elementCount();
+
+        renderFrame(memo("a", () -> column(text("one").id("one").focusable(), text("two"))), area);
+
+        assertThat(MemoCache.instance().hits()).isEqualTo(1);
+        assertThat(context.focusManager().focusedId()).isEqualTo("one");
+        assertThat(context.focusManager().focusOrder()).containsExactly("one");
+        assertThat(context.eventRouter().elementCount()).isEqualTo(elementCount);
+        assertThat(context.elementRegistry().getArea("one")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Focus changes render the content again")
+    void rendersAgainOnFocusChange() {
+        renderFrame(memo("a", () -> text("one").id("one").focusable()), area);
+        context.focusManager().setFocus("one");
+        renderFrame(memo("a", () -> text("one").id("one").focusable()), area);
+
+        assertThat(MemoCache.instance().hits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Stylesheet changes render the content again")
+    void rendersAgainOnStylesheetChange() {
+        StyleEngine styleEngine = StyleEngine.create();
+        context.setStyleEngine(styleEngine);
+        renderFrame(memo("a", () -> text("Hello")), area);
+
+        styleEngine.addStylesheet("TextElement { color: red; }");
+        Buffer buffer = renderFrame(memo("a", () -> text("Hello")), area);
+
+        assertThat(MemoCache.instance().hits()).isZero();
+        assertThat(buffer.get(0, 0).style().fg()).contains(Color.RED);
+    }
+
+    @Test
+    @DisplayName("Nested memos are replayed with their parent")
+    void nestedMemos() {
+        Element frame1 = memo("outer", () -> column(memo("inner", () -> content("Inner")), text("Outer")));
+        Buffer first = renderFrame(frame1, area);
+        Element frame2 = memo("outer", () -> column(memo("inner", () -> content("Inner")), text("Outer")));
+        Buffer second = renderFrame(frame2, area);
+
+        assertThat(builds.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Invalidated keys are built again")
+    void invalidate() {
+        renderFrame(memo("a", () -> content("Hello")), area);
+        MemoCache.instance().invalidate("a");
+        renderFrame(memo("a", () -> content("Hello")), area);
+
+        assertThat(builds.get()).isEqualTo(2);
+    }
+}
@@ -16,6 +16,7 @@ import dev.tamboui.terminal.Frame;
 import dev.tamboui.toolkit.AbstractElementTest;
 import dev.tamboui.toolkit.element.DefaultRenderContext;
 import dev.tamboui.toolkit.element.RenderContext;
+import dev.tamboui.widgets.table.TableDataSource;
 import dev.tamboui.widgets.table.TableState;
 
 import static dev.tamboui.toolkit.Toolkit.*;
@@ -194,6 +195,40 @@ class TableElementTest extends AbstractElementTest {
         assertThat(element.preferredSize(80, -1, RenderContext.empty()).heightOr(0)).isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("Table with data source renders the visible rows and sizes to the row count")
+    void dataSource() {
+        TableDataSource source = new TableDataSource() {
+            @Override
+            public int rowCount() {
+                return 10_000;
+            }
+
+            @Override
+            public int columnCount() {
+                return 2;
+            }
+
+            @Override
+            public String cellText(int row, int column) {
+                return column == 0 ? "Name " + row : String.valueOf(row);
+            }
+        };
+        TableElement element = table()
+            .header("Name", "Id")
+            .dataSource(source)
+            .widths(Constraint.length(10), Constraint.length(5));
+
+        assertThat(element.preferredSize(-1, -1, RenderContext.empty()).heightOr(0)).isEqualTo(10_001);
+
+        Rect area = new Rect(0, 0, 20, 3);
+        Buffer buffer = Buffer.empty(area);
+        element.render(Frame.forTesting(buffer), area, RenderContext.empty());
+
+        assertThat(buffer.get(0, 1).symbol()).isEqualTo("N");
+        assertThat(buffer.get(5, 2).symbol()).isEqualTo("1");
+    }
+
     @Test
     @DisplayName("Attribute selector [title] affects Table border color")
     void attributeSelector_title_affectsBorderColor() {
@@ -4,7 +4,9 @@
  */
 package dev.tamboui.toolkit.elements;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -821,4 +823,59 @@ class TreeElementTest extends AbstractElementTest {
         assertThat(entries.get(1).depth()).isEqualTo(1);
         assertThat(entries.get(1).parent()).isSameAs(root);
     }
+
+    @Test
+    @DisplayName("Children loaded in the background replace the placeholder")
+    void asyncChildrenReplacePlaceholder() {
+        CompletableFuture<List<TreeNode<Void>>> load = new CompletableFuture<>();
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .asyncChildrenLoader(() -> load);
+
+        Rect area = new Rect(0, 0, 30, 5);
+        Buffer buffer = Buffer.empty(area);
+        Frame frame = Frame.forTesting(buffer);
+
+        TreeElement<Void> tree = tree(root);
+        tree.render(frame, area, RenderContext.empty());
+        tree.expandSelected();
+        tree.render(frame, area, RenderContext.empty());
+
+        assertThat(tree.lastFlatEntries()).hasSize(2);
+        assertThat(tree.lastFlatEntries().get(1).isPlaceholder()).isTrue();
+        tree.selectNext();
+        assertThat(tree.selectedNode()).isNull();
+
+        load.complete(Collections.singletonList(TreeNode.of("Child")));
+        tree.render(frame, area, RenderContext.empty());
+
+        assertThat(tree.selectedNode().label()).isEqualTo("Child");
+        assertThat(root.children()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Collapse moves from a nested node to its parent")
+    void collapseMovesToNestedParent() {
+        TreeNode<Void> child = TreeNode.<Void>of("Child")
+                .add(TreeNode.of("Grandchild"))
+                .expanded();
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .add(TreeNode.of("Sibling"))
+                .add(child)
+                .expanded();
+
+        Rect area = new Rect(0, 0, 30, 10);
+        Buffer buffer = Buffer.empty(area);
+        Frame frame = Frame.forTesting(buffer);
+
+        TreeElement<Void> tree = tree(root);
+        tree.selected(3);
+        tree.render(frame, area, RenderContext.empty());
+
+        tree.collapseSelected();
+        assertThat(tree.selectedNode()).isSameAs(child);
+
+        tree.collapseSelected();
+        assertThat(child.isExpanded()).isFalse();
+        assertThat(tree.lastFlatEntries()).hasSize(3);
+    }
 }
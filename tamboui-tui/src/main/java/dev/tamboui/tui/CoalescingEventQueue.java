@@ -0,0 +1,313 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.tui;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import dev.tamboui.tui.event.Event;
+import dev.tamboui.tui.event.MouseEvent;
+import dev.tamboui.tui.event.MouseEventKind;
+import dev.tamboui.tui.event.ResizeEvent;
+import dev.tamboui.tui.event.TickEvent;
+
+/**
+ * Unbounded event queue feeding the render thread, with input events taking
+ * priority over ticks.
+ * <p>
+ * Events are kept in two lanes: {@link TickEvent}s in one, every other event (key,
+ * mouse, paste, resize, queued actions) in the other. Consumers always get pending
+ * input events first, in order, so keyboard and mouse handling stays responsive
+ * when ticks pile up during slow renders.
+ * <p>
+ * When coalescing is enabled, events are also merged while they wait:
+ * <ul>
+ *   <li>a mouse move or drag directly following the same kind of mouse event (same
+ *       button and modifiers) replaces it, so only the latest position is handled</li>
+ *   <li>a tick arriving while another one is pending merges with it into a single tick
+ *       carrying the latest frame count and the total elapsed time</li>
+ *   <li>a resize replaces any pending resize in place, as only the latest size matters</li>
+ * </ul>
+ * The number of merged events is available through {@link #mergedMouseEvents()},
+ * {@link #mergedTicks()} and {@link #mergedResizes()}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class CoalescingEventQueue extends AbstractQueue<Event> implements BlockingQueue<Event> {
+
+    private final boolean coalesce;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Event> input = new ArrayDeque<>();
+    private final ArrayDeque<TickEvent> ticks = new ArrayDeque<>();
+    private long mergedMouseEvents;
+    private long mergedTicks;
+    private long mergedResizes;
+
+    /**
+     * Creates a new event queue.
+     *
+     * @param coalesce whether redundant mouse motion, tick and resize events are merged
+     */
+    public CoalescingEventQueue(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    /**
+     * Returns whether this queue merges redundant events.
+     *
+     * @return true if coalescing is enabled
+     */
+    public boolean isCoalescing() {
+        return coalesce;
+    }
+
+    @Override
+    public boolean offer(Event event) {
+        if (event == null) {
+            throw new NullPointerException("event");
+        }
+        lock.lock();
+        try {
+            if (event instanceof TickEvent) {
+                enqueueTick((TickEvent) event);
+            } else if (event instanceof MouseEvent) {
+                enqueueMouse((MouseEvent) event);
+            } else if (event instanceof ResizeEvent) {
+                enqueueResize(event);
+            } else {
+                input.addLast(event);
+            }
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueueTick(TickEvent tick) {
+        TickEvent pending = coalesce ? ticks.pollLast() : null;
+        if (pending != null) {
+            mergedTicks++;
+            tick = TickEvent.of(tick.frameCount(), pending.elapsed().plus(tick.elapsed()));
+        }
+        ticks.addLast(tick);
+    }
+
+    private void enqueueMouse(MouseEvent mouse) {
+        if (coalesce && isMotion(mouse) && input.peekLast() instanceof MouseEvent) {
+            MouseEvent last = (MouseEvent) input.peekLast();
+            if (last.kind() == mouse.kind()
+                    && last.button() == mouse.button()
+                    && last.modifiers().equals(mouse.modifiers())) {
+                input.pollLast();
+                mergedMouseEvents++;
+            }
+        }
+        input.addLast(mouse);
+    }
+
+    private void enqueueResize(Event resize) {
+        if (coalesce) {
+            // Replace the pending resize in place, keeping its position among the input
+            // events; coalescing guarantees there is at most one
+            boolean replaced = false;
+            for (int i = input.size(); i > 0; i--) {
+                Event event = input.pollFirst();
+                if (!replaced && event instanceof ResizeEvent) {
+                    event = resize;
+                    replaced = true;
+                }
+                input.addLast(event);
+            }
+            if (replaced) {
+                mergedResizes++;
+                return;
+            }
+        }
+        input.addLast(resize);
+    }
+
+    private static boolean isMotion(MouseEvent mouse) {
+        return mouse.kind() == MouseEventKind.MOVE || mouse.kind() == MouseEventKind.DRAG;
+    }
+
+    @Override
+    public void put(Event event) {
+        offer(event);
+    }
+
+    @Override
+    public boolean offer(Event event, long timeout, TimeUnit unit) {
+        return offer(event);
+    }
+
+    @Override
+    public Event poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Event take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Event event;
+            while ((event = dequeue()) == null) {
+                notEmpty.await();
+            }
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Event poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Event event;
+            while ((event = dequeue()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Event dequeue() {
+        Event event = input.pollFirst();
+        return event != null ? event : ticks.pollFirst();
+    }
+
+    @Override
+    public Event peek() {
+        lock.lock();
+        try {
+            Event event = input.peekFirst();
+            return event != null ? event : ticks.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return input.size() + ticks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Event> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Event> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        lock.lock();
+        try {
+            int count = 0;
+            Event event;
+            while (count < maxElements && (event = dequeue()) != null) {
+                c.add(event);
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the pending events, in the order they
+     * would be returned by {@link #poll()}. The iterator does not support removal.
+     *
+     * @return an iterator over the pending events
+     */
+    @Override
+    public Iterator<Event> iterator() {
+        lock.lock();
+        try {
+            List<Event> snapshot = new ArrayList<>(input.size() + ticks.size());
+            snapshot.addAll(input);
+            snapshot.addAll(ticks);
+            return Collections.unmodifiableList(snapshot).iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of mouse move or drag events replaced by a later one.
+     *
+     * @return the number of merged mouse events
+     */
+    public long mergedMouseEvents() {
+        lock.lock();
+        try {
+            return mergedMouseEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tick events merged into a later tick.
+     *
+     * @return the number of merged ticks
+     */
+    public long mergedTicks() {
+        lock.lock();
+        try {
+            return mergedTicks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of resize events replaced by a later resize.
+     *
+     * @return the number of merged resizes
+     */
+    public long mergedResizes() {
+        lock.lock();
+        try {
+            return mergedResizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
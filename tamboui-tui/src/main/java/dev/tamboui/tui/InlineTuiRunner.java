@@ -7,10 +7,6 @@ package dev.tamboui.tui;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -70,7 +66,7 @@ public final class InlineTuiRunner implements AutoCloseable {
     private final Backend backend;
     private final InlineViewport viewport;
     private final InlineTuiConfig config;
-    private final BlockingQueue<Event> eventQueue;
+    private final CoalescingEventQueue eventQueue;
     private final AtomicBoolean running;
     private final AtomicBoolean cleanedUp;
     private final ScheduledExecutorService scheduler;
@@ -86,7 +82,7 @@ public final class InlineTuiRunner implements AutoCloseable {
         this.backend = backend;
         this.viewport = viewport;
         this.config = config;
-        this.eventQueue = new LinkedBlockingQueue<>();
+        this.eventQueue = new CoalescingEventQueue(false);
         this.running = new AtomicBoolean(true);
         this.cleanedUp = new AtomicBoolean(false);
         this.frameCount = new AtomicLong(0);
@@ -231,12 +227,7 @@ public final class InlineTuiRunner implements AutoCloseable {
      */
     public Event pollEvent(Duration timeout) {
         try {
-            // Prioritize input events over tick events
-            Event event = findInputEvent();
-            if (event != null) {
-                return event;
-            }
-
+            // The queue returns input events before tick events
             return eventQueue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -244,30 +235,6 @@ public final class InlineTuiRunner implements AutoCloseable {
         }
     }
 
-    /**
-     * Searches the queue for an input event (non-tick), removing and returning it.
-     */
-    private Event findInputEvent() {
-        List<Event> ticks = new ArrayList<>();
-        Event inputEvent = null;
-
-        Event e;
-        while ((e = eventQueue.poll()) != null) {
-            if (e instanceof TickEvent) {
-                ticks.add(e);
-            } else {
-                inputEvent = e;
-                break;
-            }
-        }
-
-        for (Event tick : ticks) {
-            eventQueue.offer(tick);
-        }
-
-        return inputEvent;
-    }
-
     /**
      * Prints a plain text message above the viewport.
      *
@@ -21,13 +21,15 @@ import dev.tamboui.tui.event.EventParser;
  * ensuring that keyboard input remains responsive even when tick events
  * are being processed. It reads from the terminal using a blocking call
  * with the configured poll timeout, parses input into events, and queues
- * them for the main loop to consume.
+ * them for the main loop to consume. All events parsed from already
+ * available input are queued together.
  *
  * @see TuiRunner
  */
 public final class TerminalInputReader implements Runnable {
 
     private static final int MAX_CONSECUTIVE_ERRORS = 10;
+    private static final int MAX_EVENTS_PER_READ = 256;
 
     private final Backend backend;
     private final BlockingQueue<Event> eventQueue;
@@ -98,9 +100,8 @@ public final class TerminalInputReader implements Runnable {
 
         while (running.get()) {
             try {
-                Event event = EventParser.readEvent(backend, pollTimeoutMs, bindings);
-                if (event != null) {
-                    eventQueue.offer(event);
+                int count = EventParser.readEvents(backend, pollTimeoutMs, bindings, eventQueue, MAX_EVENTS_PER_READ);
+                if (count > 0) {
                     consecutiveErrors = 0;
                 }
             } catch (IOException e) {
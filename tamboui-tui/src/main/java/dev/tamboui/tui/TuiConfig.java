@@ -49,11 +49,17 @@ public final class TuiConfig {
     private final List<PostRenderProcessor> postRenderProcessors;
     private final Backend backend;
     private final ScheduledExecutorService scheduler;
+    private final boolean packedBuffers;
+    private final boolean synchronizedOutput;
+    private final boolean scrollOptimization;
+    private final boolean coalesceEvents;
 
     /**
      * Creates a new TUI configuration with the specified options.
      * <p>
      * Prefer using {@link #builder()} or {@link #defaults()} instead of this constructor.
+     * Options added after this constructor, such as {@linkplain Builder#packedBuffers(boolean)
+     * packed buffers}, are disabled and can only be enabled through the builder.
      *
      * @param rawMode whether to enable raw terminal mode
      * @param alternateScreen whether to use the alternate screen buffer
@@ -89,6 +95,34 @@ public final class TuiConfig {
             List<PostRenderProcessor> postRenderProcessors, 
             Backend backend,
             ScheduledExecutorService scheduler
+    ) {
+        this(rawMode, alternateScreen, hideCursor, mouseCapture, bracketedPaste,
+                pollTimeout, tickRate, resizeGracePeriod, shutdownHook, bindings,
+                errorHandler, errorOutput, fpsOverlayEnabled, postRenderProcessors,
+                backend, scheduler, false, false, false, false);
+    }
+
+    private TuiConfig(
+            boolean rawMode,
+            boolean alternateScreen,
+            boolean hideCursor,
+            boolean mouseCapture,
+            boolean bracketedPaste,
+            Duration pollTimeout,
+            Duration tickRate,
+            Duration resizeGracePeriod,
+            boolean shutdownHook,
+            Bindings bindings,
+            RenderErrorHandler errorHandler,
+            PrintStream errorOutput,
+            boolean fpsOverlayEnabled,
+            List<PostRenderProcessor> postRenderProcessors,
+            Backend backend,
+            ScheduledExecutorService scheduler,
+            boolean packedBuffers,
+            boolean synchronizedOutput,
+            boolean scrollOptimization,
+            boolean coalesceEvents
     ) {
         this.rawMode = rawMode;
         this.alternateScreen = alternateScreen;
@@ -108,6 +142,10 @@ public final class TuiConfig {
                 : Collections.emptyList();
         this.backend = backend;
         this.scheduler = scheduler;
+        this.packedBuffers = packedBuffers;
+        this.synchronizedOutput = synchronizedOutput;
+        this.scrollOptimization = scrollOptimization;
+        this.coalesceEvents = coalesceEvents;
     }
 
     /**
@@ -135,7 +173,11 @@ public final class TuiConfig {
                 false,                       // fpsOverlayEnabled
                 Collections.emptyList(),     // postRenderProcessors
                 null,                          // backend (allows for lazy backend creation)
-                null                         // scheduler
+                null,                        // scheduler
+                false,                       // packedBuffers
+                false,                       // synchronizedOutput
+                false,                       // scrollOptimization
+                false                        // coalesceEvents
             );
     }
 
@@ -332,6 +374,53 @@ public final class TuiConfig {
         return scheduler;
     }
 
+    /**
+     * Returns whether the terminal uses {@linkplain dev.tamboui.buffer.Buffer#packed(dev.tamboui.layout.Rect) packed}
+     * frame buffers.
+     * <p>
+     * Packed buffers store cells as interned ids, so that diffing a frame compares ints
+     * instead of cells and skips the rows left blank in both frames. Rows holding content
+     * are compared cell by cell.
+     *
+     * @return true if packed frame buffers are used
+     */
+    public boolean packedBuffers() {
+        return packedBuffers;
+    }
+
+    /**
+     * Returns whether frames are drawn as synchronized updates (Mode 2026) when the
+     * terminal supports it.
+     *
+     * @return true if synchronized output is requested
+     * @see dev.tamboui.terminal.Mode2026Support
+     */
+    public boolean synchronizedOutput() {
+        return synchronizedOutput;
+    }
+
+    /**
+     * Returns whether rows shifted between frames are scrolled on the terminal instead
+     * of being repainted.
+     *
+     * @return true if scroll detection is enabled
+     * @see dev.tamboui.terminal.Terminal#setScrollOptimization(boolean)
+     */
+    public boolean scrollOptimization() {
+        return scrollOptimization;
+    }
+
+    /**
+     * Returns whether redundant mouse motion, tick and resize events are merged while
+     * they wait in the event queue.
+     *
+     * @return true if event coalescing is enabled
+     * @see CoalescingEventQueue
+     */
+    public boolean coalesceEvents() {
+        return coalesceEvents;
+    }
+
     /**
      * Returns a builder pre-populated with this config's values.
      * <p>
@@ -357,6 +446,10 @@ public final class TuiConfig {
         b.postRenderProcessors.addAll(postRenderProcessors);
         b.backend = backend;
         b.scheduler = scheduler;
+        b.packedBuffers = packedBuffers;
+        b.synchronizedOutput = synchronizedOutput;
+        b.scrollOptimization = scrollOptimization;
+        b.coalesceEvents = coalesceEvents;
         return b;
     }
 
@@ -379,6 +472,10 @@ public final class TuiConfig {
                 && (resizeGracePeriod != null ? resizeGracePeriod.equals(that.resizeGracePeriod) : that.resizeGracePeriod == null)
                 && bindings.equals(that.bindings)
                 && fpsOverlayEnabled == that.fpsOverlayEnabled
+                && packedBuffers == that.packedBuffers
+                && synchronizedOutput == that.synchronizedOutput
+                && scrollOptimization == that.scrollOptimization
+                && coalesceEvents == that.coalesceEvents
                 && Objects.equals(backend, that.backend);
     }
 
@@ -394,6 +491,10 @@ public final class TuiConfig {
         result = 31 * result + (resizeGracePeriod != null ? resizeGracePeriod.hashCode() : 0);
         result = 31 * result + bindings.hashCode();
         result = 31 * result + Boolean.hashCode(fpsOverlayEnabled);
+        result = 31 * result + Boolean.hashCode(packedBuffers);
+        result = 31 * result + Boolean.hashCode(synchronizedOutput);
+        result = 31 * result + Boolean.hashCode(scrollOptimization);
+        result = 31 * result + Boolean.hashCode(coalesceEvents);
         result = 31 * result + Objects.hashCode(backend);
         return result;
     }
@@ -401,7 +502,7 @@ public final class TuiConfig {
     @Override
     public String toString() {
         return String.format(
-                "TuiConfig[rawMode=%s, alternateScreen=%s, hideCursor=%s, mouseCapture=%s, pollTimeout=%s, tickRate=%s, resizeGracePeriod=%s, shutdownHook=%s, bindings=%s, fpsOverlayEnabled=%s]",
+                "TuiConfig[rawMode=%s, alternateScreen=%s, hideCursor=%s, mouseCapture=%s, pollTimeout=%s, tickRate=%s, resizeGracePeriod=%s, shutdownHook=%s, bindings=%s, fpsOverlayEnabled=%s, packedBuffers=%s, synchronizedOutput=%s, scrollOptimization=%s, coalesceEvents=%s]",
                 rawMode,
                 alternateScreen,
                 hideCursor,
@@ -411,7 +512,11 @@ public final class TuiConfig {
                 resizeGracePeriod,
                 shutdownHook,
                 bindings,
-                fpsOverlayEnabled
+                fpsOverlayEnabled,
+                packedBuffers,
+                synchronizedOutput,
+                scrollOptimization,
+                coalesceEvents
         );
     }
 
@@ -435,6 +540,10 @@ public final class TuiConfig {
         private final List<PostRenderProcessor> postRenderProcessors = new ArrayList<>();
         private Backend backend;
         private ScheduledExecutorService scheduler;
+        private boolean packedBuffers = false;
+        private boolean synchronizedOutput = false;
+        private boolean scrollOptimization = false;
+        private boolean coalesceEvents = false;
 
         private Builder() {
         }
@@ -668,6 +777,78 @@ public final class TuiConfig {
             return this;
         }
 
+        /**
+         * Enables or disables packed frame buffers.
+         * <p>
+         * Packed buffers store cells as interned ids: computing the difference between
+         * frames compares ints instead of cells, and skips the rows left blank in both
+         * frames, which reduces the cost of redrawing large, sparse screens. Rows holding
+         * content are still compared cell by cell. Every style written to a packed buffer
+         * is kept in the global {@link dev.tamboui.style.StylePool}, so applications
+         * generating an unbounded number of styles (e.g. continuous RGB color animations)
+         * should keep the default.
+         *
+         * @param packedBuffers true to use packed frame buffers
+         * @return this builder
+         */
+        public Builder packedBuffers(boolean packedBuffers) {
+            this.packedBuffers = packedBuffers;
+            return this;
+        }
+
+        /**
+         * Enables or disables synchronized output.
+         * <p>
+         * When enabled and raw mode is on, the terminal is queried for Mode 2026
+         * (synchronized output) support at startup. If supported, each frame is wrapped
+         * in begin/end synchronized update markers and sent with a single flush, so the
+         * terminal never displays half-written frames. Terminals that don't answer the
+         * query delay startup by up to 500ms.
+         *
+         * @param synchronizedOutput true to enable synchronized output
+         * @return this builder
+         * @see dev.tamboui.terminal.Mode2026Support
+         */
+        public Builder synchronizedOutput(boolean synchronizedOutput) {
+            this.synchronizedOutput = synchronizedOutput;
+            return this;
+        }
+
+        /**
+         * Enables or disables scroll detection.
+         * <p>
+         * When enabled, ranges of rows that moved vertically between two frames (for
+         * example a log view following its tail) are scrolled on the terminal using a
+         * scroll region, and only the rows entering the view are repainted. This greatly
+         * reduces output for scrolling content, especially over slow connections.
+         *
+         * @param scrollOptimization true to enable scroll detection
+         * @return this builder
+         * @see dev.tamboui.terminal.Terminal#setScrollOptimization(boolean)
+         */
+        public Builder scrollOptimization(boolean scrollOptimization) {
+            this.scrollOptimization = scrollOptimization;
+            return this;
+        }
+
+        /**
+         * Enables or disables event coalescing.
+         * <p>
+         * When enabled, events waiting in the queue are merged: consecutive mouse moves
+         * or drags keep only the latest position, pending ticks merge into one tick
+         * covering their total elapsed time, and only the latest resize is kept. With
+         * mouse capture enabled, this avoids handling and redrawing for every motion
+         * report when the application falls behind.
+         *
+         * @param coalesceEvents true to enable event coalescing
+         * @return this builder
+         * @see CoalescingEventQueue
+         */
+        public Builder coalesceEvents(boolean coalesceEvents) {
+            this.coalesceEvents = coalesceEvents;
+            return this;
+        }
+
         /**
          * Builds the configuration.
          *
@@ -690,7 +871,11 @@ public final class TuiConfig {
                     fpsOverlayEnabled,
                     postRenderProcessors,
                     backend,
-                    scheduler
+                    scheduler,
+                    packedBuffers,
+                    synchronizedOutput,
+                    scrollOptimization,
+                    coalesceEvents
             );
         }
     }
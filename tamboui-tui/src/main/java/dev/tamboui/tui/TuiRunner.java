@@ -10,8 +10,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -28,6 +26,7 @@ import dev.tamboui.style.Style;
 import dev.tamboui.terminal.Backend;
 import dev.tamboui.terminal.BackendFactory;
 import dev.tamboui.terminal.Frame;
+import dev.tamboui.terminal.Mode2026Support;
 import dev.tamboui.terminal.Terminal;
 import dev.tamboui.text.Line;
 import dev.tamboui.text.Span;
@@ -72,10 +71,13 @@ import dev.tamboui.widgets.block.Borders;
  */
 public final class TuiRunner implements AutoCloseable {
 
+    // Same timeout as the Mode 2027 query done by backends when entering raw mode
+    private static final int SYNCHRONIZED_OUTPUT_QUERY_TIMEOUT_MS = 500;
+
     private final Backend backend;
     private final Terminal<Backend> terminal;
     private final TuiConfig config;
-    private final BlockingQueue<Event> eventQueue;
+    private final CoalescingEventQueue eventQueue;
     private final AtomicBoolean running;
     private final AtomicBoolean cleanedUp;
     private final ScheduledExecutorService scheduler;
@@ -100,7 +102,7 @@ public final class TuiRunner implements AutoCloseable {
         this.backend = backend;
         this.terminal = terminal;
         this.config = config;
-        this.eventQueue = new LinkedBlockingQueue<>();
+        this.eventQueue = new CoalescingEventQueue(config.coalesceEvents());
         this.running = new AtomicBoolean(true);
         this.cleanedUp = new AtomicBoolean(false);
         this.resizePending = new AtomicBoolean(false);
@@ -202,7 +204,13 @@ public final class TuiRunner implements AutoCloseable {
                 backend.enableBracketedPaste();
             }
 
-            Terminal<Backend> terminal = new Terminal<>(backend);
+            Terminal<Backend> terminal = new Terminal<>(backend, config.packedBuffers());
+            // The query response can only be read in raw mode
+            if (config.synchronizedOutput() && config.rawMode()
+                    && Mode2026Support.query(backend, SYNCHRONIZED_OUTPUT_QUERY_TIMEOUT_MS)) {
+                terminal.setSynchronizedOutput(true);
+            }
+            terminal.setScrollOptimization(config.scrollOptimization());
             return new TuiRunner(backend, terminal, config);
         } catch (Exception e) {
             backend.close();
@@ -447,21 +455,17 @@ public final class TuiRunner implements AutoCloseable {
      * the scheduler thread (ticks/resize).
      * <p>
      * Input events (key/mouse) are prioritized over tick events to ensure
-     * UI responsiveness even when rendering is slow.
+     * UI responsiveness even when rendering is slow. When
+     * {@link TuiConfig#coalesceEvents()} is enabled, redundant mouse motion,
+     * tick and resize events are merged while waiting in the queue.
      *
      * @param timeout the maximum time to wait
      * @return the next event, or null if timeout expires
+     * @see CoalescingEventQueue
      */
     public Event pollEvent(Duration timeout) {
         try {
-            // First, check if there are any input events (non-tick) waiting
-            // This ensures keyboard/mouse responsiveness even with slow renders
-            Event event = findInputEvent();
-            if (event != null) {
-                return event;
-            }
-
-            // No input events, wait for any event
+            // The queue returns input events (non-tick) first
             return eventQueue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -469,33 +473,6 @@ public final class TuiRunner implements AutoCloseable {
         }
     }
 
-    /**
-     * Searches the queue for an input event (non-tick), removing and returning it.
-     * This allows input events to jump ahead of queued tick events.
-     */
-    private Event findInputEvent() {
-        // Drain queue to find input events, re-queue ticks
-        List<Event> ticks = new ArrayList<>();
-        Event inputEvent = null;
-
-        Event e;
-        while ((e = eventQueue.poll()) != null) {
-            if (e instanceof TickEvent) {
-                ticks.add(e);
-            } else {
-                inputEvent = e;
-                break;
-            }
-        }
-
-        // Re-queue tick events (they'll be processed later)
-        for (Event tick : ticks) {
-            eventQueue.offer(tick);
-        }
-
-        return inputEvent;
-    }
-
     /**
      * Polls for the next event without blocking.
      *
@@ -595,6 +572,15 @@ public final class TuiRunner implements AutoCloseable {
         return RenderThread.isRenderThread();
     }
 
+    /**
+     * Returns the event queue, e.g. to read its coalescing counters.
+     *
+     * @return the event queue
+     */
+    public CoalescingEventQueue eventQueue() {
+        return eventQueue;
+    }
+
     /**
      * Returns the underlying terminal.
      *
@@ -5,6 +5,7 @@
 package dev.tamboui.tui.event;
 
 import java.io.IOException;
+import java.util.Collection;
 
 import dev.tamboui.terminal.Backend;
 import dev.tamboui.tui.bindings.BindingSets;
@@ -20,6 +21,7 @@ public final class EventParser {
 
     private static final int ESC = 27;
     private static final int PEEK_TIMEOUT = 50;
+    private static final int BATCH_PEEK_TIMEOUT = 1;
 
     private EventParser() {
     }
@@ -61,6 +63,40 @@ public final class EventParser {
         return parseInput(c, backend, bindings);
     }
 
+    /**
+     * Reads and parses as many events as are immediately available from the backend.
+     * <p>
+     * Waits up to {@code timeout} for the first event, then keeps parsing while more
+     * input is already buffered, up to {@code maxEvents}. This lets callers hand over
+     * a whole paste or burst of mouse reports at once instead of one event per call.
+     *
+     * @param backend   the terminal backend
+     * @param timeout   timeout in milliseconds for the first read
+     * @param bindings  the bindings for event semantic action matching
+     * @param events    the collection parsed events are added to
+     * @param maxEvents the maximum number of events to parse
+     * @return the number of events added
+     * @throws IOException if an I/O error occurs
+     */
+    public static int readEvents(Backend backend, int timeout, Bindings bindings,
+                                 Collection<? super Event> events, int maxEvents) throws IOException {
+        int count = 0;
+        int wait = timeout;
+        while (count < maxEvents) {
+            if (count > 0 && backend.peek(BATCH_PEEK_TIMEOUT) < 0) {
+                break;
+            }
+            Event event = readEvent(backend, wait, bindings);
+            if (event == null) {
+                break;
+            }
+            events.add(event);
+            count++;
+            wait = BATCH_PEEK_TIMEOUT;
+        }
+        return count;
+    }
+
     private static Event parseInput(int c, Backend backend, Bindings bindings) throws IOException {
         if (c == ESC) {
             return parseEscapeSequence(backend, bindings);
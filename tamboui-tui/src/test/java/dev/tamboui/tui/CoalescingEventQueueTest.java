@@ -0,0 +1,121 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.tui;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.tui.event.Event;
+import dev.tamboui.tui.event.KeyEvent;
+import dev.tamboui.tui.event.MouseButton;
+import dev.tamboui.tui.event.MouseEvent;
+import dev.tamboui.tui.event.ResizeEvent;
+import dev.tamboui.tui.event.TickEvent;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CoalescingEventQueueTest {
+
+    private static List<Event> drain(CoalescingEventQueue queue) {
+        List<Event> events = new ArrayList<>();
+        queue.drainTo(events);
+        return events;
+    }
+
+    @Test
+    @DisplayName("Input events are returned before ticks, in order")
+    void inputBeforeTicks() {
+        CoalescingEventQueue queue = new CoalescingEventQueue(false);
+        TickEvent tick1 = TickEvent.of(1, Duration.ofMillis(10));
+        TickEvent tick2 = TickEvent.of(2, Duration.ofMillis(10));
+        KeyEvent a = KeyEvent.ofChar('a');
+        KeyEvent b = KeyEvent.ofChar('b');
+        queue.offer(tick1);
+        queue.offer(a);
+        queue.offer(tick2);
+        queue.offer(b);
+
+        assertThat(queue.size()).isEqualTo(4);
+        assertThat(drain(queue)).containsExactly(a, b, tick1, tick2);
+        assertThat(queue.mergedTicks()).isZero();
+    }
+
+    @Test
+    @DisplayName("Consecutive mouse moves and drags keep only the latest position")
+    void mergesMouseMotion() {
+        CoalescingEventQueue queue = new CoalescingEventQueue(true);
+        queue.offer(MouseEvent.move(1, 1));
+        queue.offer(MouseEvent.move(2, 1));
+        queue.offer(MouseEvent.move(3, 1));
+        MouseEvent press = MouseEvent.press(MouseButton.LEFT, 3, 1);
+        queue.offer(press);
+        queue.offer(MouseEvent.drag(MouseButton.LEFT, 4, 1));
+        queue.offer(MouseEvent.drag(MouseButton.LEFT, 5, 2));
+
+        List<Event> events = drain(queue);
+
+        assertThat(events).hasSize(3);
+        assertThat(((MouseEvent) events.get(0)).x()).isEqualTo(3);
+        assertThat(events.get(1)).isSameAs(press);
+        assertThat(((MouseEvent) events.get(2)).x()).isEqualTo(5);
+        assertThat(queue.mergedMouseEvents()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Mouse motion separated by another event is not merged")
+    void keepsMotionAroundOtherEvents() {
+        CoalescingEventQueue queue = new CoalescingEventQueue(true);
+        queue.offer(MouseEvent.move(1, 1));
+        queue.offer(KeyEvent.ofChar('x'));
+        queue.offer(MouseEvent.move(2, 1));
+
+        assertThat(drain(queue)).hasSize(3);
+        assertThat(queue.mergedMouseEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("Pending ticks merge into one tick with the total elapsed time")
+    void mergesTicks() {
+        CoalescingEventQueue queue = new CoalescingEventQueue(true);
+        queue.offer(TickEvent.of(1, Duration.ofMillis(16)));
+        queue.offer(TickEvent.of(2, Duration.ofMillis(17)));
+        queue.offer(TickEvent.of(3, Duration.ofMillis(15)));
+
+        assertThat(drain(queue)).containsExactly(TickEvent.of(3, Duration.ofMillis(48)));
+        assertThat(queue.mergedTicks()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Only the latest pending resize is kept, at the position of the first")
+    void mergesResizes() {
+        CoalescingEventQueue queue = new CoalescingEventQueue(true);
+        queue.offer(ResizeEvent.of(80, 24));
+        KeyEvent key = KeyEvent.ofChar('k');
+        queue.offer(key);
+        queue.offer(ResizeEvent.of(100, 30));
+
+        assertThat(drain(queue)).containsExactly(ResizeEvent.of(100, 30), key);
+        assertThat(queue.mergedResizes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Timed poll waits for an event offered by another thread")
+    void pollWaitsForEvent() throws InterruptedException {
+        CoalescingEventQueue queue = new CoalescingEventQueue(true);
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+
+        KeyEvent key = KeyEvent.ofChar('q');
+        Thread producer = new Thread(() -> queue.offer(key));
+        producer.start();
+
+        assertThat(queue.poll(5, TimeUnit.SECONDS)).isSameAs(key);
+        producer.join();
+    }
+}
@@ -172,6 +172,49 @@ class TuiConfigTest {
         assertThat(config.errorOutput()).isSameAs(customOutput);
     }
 
+    @Test
+    @DisplayName("packed buffers are disabled by default and preserved by toBuilder")
+    void packedBuffersOption() {
+        assertThat(TuiConfig.defaults().packedBuffers()).isFalse();
+        assertThat(TuiConfig.builder().build().packedBuffers()).isFalse();
+
+        TuiConfig config = TuiConfig.builder().packedBuffers(true).build();
+        assertThat(config.packedBuffers()).isTrue();
+        assertThat(config.toBuilder().build().packedBuffers()).isTrue();
+        assertThat(config).isNotEqualTo(TuiConfig.builder().build());
+    }
+
+    @Test
+    @DisplayName("synchronized output is disabled by default and preserved by toBuilder")
+    void synchronizedOutputOption() {
+        assertThat(TuiConfig.defaults().synchronizedOutput()).isFalse();
+
+        TuiConfig config = TuiConfig.builder().synchronizedOutput(true).build();
+        assertThat(config.synchronizedOutput()).isTrue();
+        assertThat(config.toBuilder().build()).isEqualTo(config);
+        assertThat(config).isNotEqualTo(TuiConfig.builder().build());
+    }
+
+    @Test
+    @DisplayName("scroll optimization is disabled by default and preserved by toBuilder")
+    void scrollOptimizationOption() {
+        assertThat(TuiConfig.defaults().scrollOptimization()).isFalse();
+
+        TuiConfig config = TuiConfig.builder().scrollOptimization(true).build();
+        assertThat(config.scrollOptimization()).isTrue();
+        assertThat(config.toBuilder().build()).isEqualTo(config);
+    }
+
+    @Test
+    @DisplayName("event coalescing is disabled by default and preserved by toBuilder")
+    void coalesceEventsOption() {
+        assertThat(TuiConfig.defaults().coalesceEvents()).isFalse();
+
+        TuiConfig config = TuiConfig.builder().coalesceEvents(true).build();
+        assertThat(config.coalesceEvents()).isTrue();
+        assertThat(config.toBuilder().build()).isEqualTo(config);
+    }
+
     @Test
     @DisplayName("builder defaults errorHandler when null is passed")
     void builderDefaultsErrorHandlerWhenNull() {
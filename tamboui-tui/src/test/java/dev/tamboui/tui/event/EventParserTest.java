@@ -5,11 +5,14 @@
 package dev.tamboui.tui.event;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import dev.tamboui.terminal.TestBackend;
+import dev.tamboui.tui.bindings.BindingSets;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -255,6 +258,39 @@ class EventParserTest {
         assertThat(((KeyEvent) event).code()).isEqualTo(KeyCode.UP);
     }
 
+    @Test
+    @DisplayName("readEvents parses all buffered input in one call")
+    void readEventsParsesBufferedInput() throws IOException {
+        QueueBackend backend = new QueueBackend(
+            'a',
+            27, '[', 'A',                                   // UP
+            27, '[', '<', '0', ';', '5', ';', '2', 'M',      // mouse press
+            'b'
+        );
+        List<Event> events = new ArrayList<>();
+
+        int count = EventParser.readEvents(backend, 0, BindingSets.defaults(), events, 16);
+
+        assertThat(count).isEqualTo(4);
+        assertThat(events).hasSize(4);
+        assertThat(((KeyEvent) events.get(0)).codePoint()).isEqualTo('a');
+        assertThat(((KeyEvent) events.get(1)).code()).isEqualTo(KeyCode.UP);
+        assertThat(((MouseEvent) events.get(2)).kind()).isEqualTo(MouseEventKind.PRESS);
+        assertThat(((KeyEvent) events.get(3)).codePoint()).isEqualTo('b');
+    }
+
+    @Test
+    @DisplayName("readEvents stops at maxEvents and leaves the rest buffered")
+    void readEventsStopsAtMaxEvents() throws IOException {
+        QueueBackend backend = new QueueBackend('a', 'b', 'c');
+        List<Event> events = new ArrayList<>();
+
+        assertThat(EventParser.readEvents(backend, 0, BindingSets.defaults(), events, 2)).isEqualTo(2);
+        assertThat(EventParser.readEvents(backend, 0, BindingSets.defaults(), events, 2)).isEqualTo(1);
+        assertThat(EventParser.readEvents(backend, 0, BindingSets.defaults(), events, 2)).isZero();
+        assertThat(events).hasSize(3);
+    }
+
     private static final class QueueBackend extends TestBackend {
 
         private final int[] input;
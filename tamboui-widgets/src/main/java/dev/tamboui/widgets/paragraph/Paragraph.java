@@ -136,10 +136,33 @@ public final class Paragraph implements Widget {
         buffer.setStyle(textArea, style);
 
         // Get lines to render based on overflow mode
-        List<Line> lines = processLines(text.lines(), textArea.width());
+        List<Line> lines;
+        int startLine;
+        if (overflow == Overflow.WRAP_CHARACTER || overflow == Overflow.WRAP_WORD) {
+            // Scroll is in wrapped rows: find the source line of the first visible row,
+            // and only wrap from there
+            int maxWidth = textArea.width();
+            List<Line> source = text.lines();
+            WrapIndex index = WrapCache.instance().indexFor(source, maxWidth, overflow,
+                line -> wrapLine(line, maxWidth).size());
+            int firstRow = Math.min(scroll, index.rowCount());
+            int sourceLine = index.sourceLineAt(firstRow);
+            startLine = firstRow - index.rowStart(sourceLine);
+            lines = new ArrayList<>();
+            for (int i = sourceLine; i < source.size() && lines.size() - startLine < textArea.height(); i++) {
+                lines.addAll(wrapLine(source.get(i), maxWidth));
+            }
+        } else {
+            // Clipping and truncation keep one line per source line,
+            // so only the visible window needs processing
+            List<Line> source = text.lines();
+            int from = Math.min(scroll, source.size());
+            int to = Math.min(source.size(), from + textArea.height());
+            lines = processLines(source.subList(from, to), textArea.width());
+            startLine = 0;
+        }
 
         // Apply scroll
-        int startLine = Math.min(scroll, lines.size());
         int visibleLines = Math.min(lines.size() - startLine, textArea.height());
 
         for (int i = 0; i < visibleLines; i++) {
@@ -172,9 +195,6 @@ public final class Paragraph implements Widget {
         }
 
         switch (overflow) {
-            case WRAP_CHARACTER:
-            case WRAP_WORD:
-                return wrapLines(lines, maxWidth);
             case ELLIPSIS:
                 return truncateWithEllipsis(lines, maxWidth, EllipsisPosition.END);
             case ELLIPSIS_START:
@@ -308,23 +328,14 @@ public final class Paragraph implements Widget {
         return spans.isEmpty() ? Style.EMPTY : spans.get(0).style();
     }
 
-    private List<Line> wrapLines(List<Line> lines, int maxWidth) {
-        List<Line> wrapped = new ArrayList<>();
-
-        for (Line line : lines) {
-            if (line.width() <= maxWidth) {
-                wrapped.add(line);
-                continue;
-            }
-
-            if (overflow == Overflow.WRAP_WORD) {
-                wrapped.addAll(wrapLineByWord(line, maxWidth));
-            } else {
-                wrapped.addAll(wrapLineByCharacter(line, maxWidth));
-            }
+    private List<Line> wrapLine(Line line, int maxWidth) {
+        if (line.width() <= maxWidth) {
+            return Collections.singletonList(line);
         }
-
-        return wrapped;
+        if (overflow == Overflow.WRAP_WORD) {
+            return wrapLineByWord(line, maxWidth);
+        }
+        return wrapLineByCharacter(line, maxWidth);
     }
 
     private List<Line> wrapLineByCharacter(Line line, int maxWidth) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.widgets.paragraph;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import dev.tamboui.style.Overflow;
+import dev.tamboui.text.Line;
+
+/**
+ * Thread-local cache of the wrap indexes of recently rendered paragraphs.
+ *
+ * <p>Paragraphs are usually rebuilt every frame from the same {@link dev.tamboui.text.Text},
+ * so the rows of wrapped text are indexed once per text, width and wrap mode rather than
+ * wrapped in full on every frame. When a text grows, as logs and chat views do, the index
+ * of its previous version is extended rather than rebuilt: only the lines that were added
+ * or replaced are wrapped again.
+ *
+ * <p>The cache is thread-local to avoid synchronization overhead, as TUI
+ * rendering is typically single-threaded.
+ */
+final class WrapCache {
+    private static final int MAX_SIZE = 8;
+    private static final ThreadLocal<WrapCache> INSTANCE = ThreadLocal.withInitial(WrapCache::new);
+
+    // Most recently used first
+    private final LinkedList<WrapIndex> entries = new LinkedList<>();
+
+    private WrapCache() {
+    }
+
+    /**
+     * Returns the thread-local wrap cache instance.
+     *
+     * @return the wrap cache for the current thread
+     */
+    static WrapCache instance() {
+        return INSTANCE.get();
+    }
+
+    /**
+     * Gets the wrap index of a line list, building or extending it if absent.
+     *
+     * @param lines      the source lines
+     * @param maxWidth   the width the lines are wrapped to
+     * @param overflow   the wrap mode
+     * @param rowCounter returns the number of rows a source line wraps to
+     * @return the wrap index
+     */
+    WrapIndex indexFor(List<Line> lines, int maxWidth, Overflow overflow, ToIntFunction<Line> rowCounter) {
+        WrapIndex base = null;
+        int reused = 0;
+        for (Iterator<WrapIndex> it = entries.iterator(); it.hasNext(); ) {
+            WrapIndex entry = it.next();
+            if (!entry.matches(maxWidth, overflow)) {
+                continue;
+            }
+            if (entry.lines() == lines) {
+                it.remove();
+                entries.addFirst(entry);
+                return entry;
+            }
+            int common = entry.commonPrefix(lines);
+            if (common > reused) {
+                base = entry;
+                reused = common;
+            }
+        }
+
+        WrapIndex index = WrapIndex.extend(base, reused, lines, maxWidth, overflow, rowCounter);
+        if (base != null) {
+            // Most likely a previous version of the same text
+            entries.remove(base);
+        }
+        entries.addFirst(index);
+        if (entries.size() > MAX_SIZE) {
+            entries.removeLast();
+        }
+        return index;
+    }
+
+    /**
+     * Clears the cache for the current thread.
+     */
+    static void clearAll() {
+        INSTANCE.remove();
+    }
+}
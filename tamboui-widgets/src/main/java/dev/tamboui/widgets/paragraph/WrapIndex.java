@@ -0,0 +1,143 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.widgets.paragraph;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.ToIntFunction;
+
+import dev.tamboui.style.Overflow;
+import dev.tamboui.text.Line;
+
+/**
+ * Index of the wrapped rows of a list of lines, for a given width and wrap mode.
+ * <p>
+ * Stores the prefix sums of the number of rows each source line wraps to, so that a
+ * scroll offset, in rows, maps to the source line containing it by binary search, and
+ * only the lines in the visible window need to be wrapped when rendering.
+ * <p>
+ * Indexes are immutable. Since lines are immutable too, an index stays valid for as long
+ * as the same lines are rendered at the same width.
+ */
+final class WrapIndex {
+
+    private final List<Line> lines;
+    private final int maxWidth;
+    private final Overflow overflow;
+    // rowStarts[i] is the first row of source line i; rowStarts[lines.size()] is the row count
+    private final int[] rowStarts;
+
+    private WrapIndex(List<Line> lines, int maxWidth, Overflow overflow, int[] rowStarts) {
+        this.lines = lines;
+        this.maxWidth = maxWidth;
+        this.overflow = overflow;
+        this.rowStarts = rowStarts;
+    }
+
+    /**
+     * Builds the index of a list of lines.
+     *
+     * @param lines     the source lines
+     * @param maxWidth  the width the lines are wrapped to
+     * @param overflow  the wrap mode
+     * @param rowCounter returns the number of rows a source line wraps to
+     * @return the index
+     */
+    static WrapIndex build(List<Line> lines, int maxWidth, Overflow overflow, ToIntFunction<Line> rowCounter) {
+        return extend(null, 0, lines, maxWidth, overflow, rowCounter);
+    }
+
+    /**
+     * Builds the index of a list of lines, reusing the row counts of the first lines of
+     * a previous index.
+     *
+     * @param base       the previous index, or null
+     * @param reused     the number of leading source lines both lists have in common
+     * @param lines      the source lines
+     * @param maxWidth   the width the lines are wrapped to
+     * @param overflow   the wrap mode
+     * @param rowCounter returns the number of rows a source line wraps to
+     * @return the index
+     */
+    static WrapIndex extend(WrapIndex base, int reused, List<Line> lines, int maxWidth, Overflow overflow,
+                            ToIntFunction<Line> rowCounter) {
+        int[] rowStarts = new int[lines.size() + 1];
+        if (base != null) {
+            System.arraycopy(base.rowStarts, 0, rowStarts, 0, reused + 1);
+        }
+        ListIterator<Line> it = lines.listIterator(reused);
+        for (int i = reused; it.hasNext(); i++) {
+            rowStarts[i + 1] = rowStarts[i] + rowCounter.applyAsInt(it.next());
+        }
+        return new WrapIndex(lines, maxWidth, overflow, rowStarts);
+    }
+
+    List<Line> lines() {
+        return lines;
+    }
+
+    boolean matches(int maxWidth, Overflow overflow) {
+        return this.maxWidth == maxWidth && this.overflow == overflow;
+    }
+
+    /**
+     * Returns the number of leading source lines this index shares with a line list.
+     *
+     * @param other the other line list
+     * @return the number of equal leading lines
+     */
+    int commonPrefix(List<Line> other) {
+        Iterator<Line> mine = lines.iterator();
+        Iterator<Line> theirs = other.iterator();
+        int count = 0;
+        // Comparing lines is much cheaper than wrapping them, and lines shared
+        // between versions of a text are compared by reference
+        while (mine.hasNext() && theirs.hasNext() && mine.next().equals(theirs.next())) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total number of wrapped rows.
+     *
+     * @return the row count
+     */
+    int rowCount() {
+        return rowStarts[rowStarts.length - 1];
+    }
+
+    /**
+     * Returns the first wrapped row of a source line.
+     *
+     * @param sourceLine the source line index, or the line count for the end
+     * @return the row index
+     */
+    int rowStart(int sourceLine) {
+        return rowStarts[sourceLine];
+    }
+
+    /**
+     * Returns the source line that contains a wrapped row.
+     *
+     * @param row the row index
+     * @return the source line index, or the line count if the row is past the end
+     */
+    int sourceLineAt(int row) {
+        // Find the first line whose rows end after the given row
+        int low = 0;
+        int high = rowStarts.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowStarts[mid + 1] > row) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -55,6 +55,10 @@ import static dev.tamboui.util.CollectionUtil.listCopyOf;
  *
  * frame.renderStatefulWidget(table, area, tableState);
  * }</pre>
+ * <p>
+ * Instead of rows, a table can be given a {@link TableDataSource}: rows are then
+ * only built for the part of the table that is displayed, in the order held by the
+ * {@link TableState}.
  */
 public final class Table implements StatefulWidget<TableState> {
 
@@ -71,6 +75,8 @@ public final class Table implements StatefulWidget<TableState> {
     }
 
     private final List<Row> rows;
+    private final TableDataSource dataSource;
+    private final BiFunction<Integer, Integer, Style> rowStyleResolver;
     private final List<Constraint> widths;
     private final Row header;
     private final Row footer;
@@ -82,7 +88,13 @@ public final class Table implements StatefulWidget<TableState> {
     private final HighlightSpacing highlightSpacing;
 
     private Table(Builder builder) {
-        this.widths = listCopyOf(builder.widths);
+        this.dataSource = builder.dataSource;
+        this.rowStyleResolver = builder.rowStyleResolver;
+        if (builder.widths.isEmpty() && dataSource != null) {
+            this.widths = listCopyOf(dataSource.columnWidths());
+        } else {
+            this.widths = listCopyOf(builder.widths);
+        }
         this.header = builder.header;
         this.footer = builder.footer;
         this.block = builder.block;
@@ -136,6 +148,8 @@ public final class Table implements StatefulWidget<TableState> {
 
     /**
      * Returns the rows in this table.
+     * <p>
+     * Tables backed by a {@link TableDataSource} have no rows of their own.
      *
      * @return the rows
      */
@@ -176,16 +190,36 @@ public final class Table implements StatefulWidget<TableState> {
 
         List<Integer> columnWidths = calculateColumnWidths(availableWidth);
 
-        // Ensure selected row is visible
-        if (state.selected() != null) {
-            int visibleHeight = tableArea.height();
-            if (header != null) {
-                visibleHeight -= header.totalHeight();
-            }
-            if (footer != null) {
-                visibleHeight -= footer.totalHeight();
+        int visibleHeight = tableArea.height();
+        if (header != null) {
+            visibleHeight -= header.totalHeight();
+        }
+        if (footer != null) {
+            visibleHeight -= footer.totalHeight();
+        }
+
+        // Rows to render; data source rows are built for the visible window only
+        List<Row> visibleRows = rows;
+        int firstRow = 0;
+        int offset = state.offset();
+        if (dataSource != null) {
+            state.applyPendingOrder();
+            int rowCount = state.rowCount(dataSource);
+            if (state.selected() != null && state.selected() >= rowCount) {
+                if (rowCount > 0) {
+                    state.select(rowCount - 1);
+                } else {
+                    state.clearSelection();
+                }
             }
+            state.scrollToSelected(Math.max(0, visibleHeight), rowCount);
+            firstRow = Math.min(state.offset(), rowCount);
+            visibleRows = dataSourceRows(state, firstRow, Math.min(rowCount, firstRow + Math.max(0, visibleHeight)), rowCount);
+            offset = 0;
+        } else if (state.selected() != null) {
+            // Ensure selected row is visible
             state.scrollToSelected(visibleHeight, rows);
+            offset = state.offset();
         }
 
         int y = tableArea.top();
@@ -202,11 +236,10 @@ public final class Table implements StatefulWidget<TableState> {
         }
 
         // Render data rows
-        int offset = state.offset();
         int currentOffset = 0;
 
-        for (int i = 0; i < rows.size() && y < tableArea.top() + tableArea.height() - (footer != null ? footer.totalHeight() : 0); i++) {
-            Row row = rows.get(i);
+        for (int i = 0; i < visibleRows.size() && y < tableArea.top() + tableArea.height() - (footer != null ? footer.totalHeight() : 0); i++) {
+            Row row = visibleRows.get(i);
             int rowHeight = row.totalHeight();
 
             // Skip rows before visible area
@@ -215,7 +248,7 @@ public final class Table implements StatefulWidget<TableState> {
                 continue;
             }
 
-            boolean isSelected = state.selected() != null && state.selected() == i;
+            boolean isSelected = state.selected() != null && state.selected() == firstRow + i;
             Style highlightStyle = isSelected ? rowHighlightStyle : Style.EMPTY;
 
             // Render highlight symbol
@@ -234,6 +267,34 @@ public final class Table implements StatefulWidget<TableState> {
         }
     }
 
+    private List<Row> dataSourceRows(TableState state, int from, int to, int rowCount) {
+        int columnCount = dataSource.columnCount();
+        int sourceRowCount = dataSource.rowCount();
+        List<Row> window = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int sourceRow = state.sourceRow(i);
+            Row row;
+            if (sourceRow < sourceRowCount) {
+                String[] texts = new String[columnCount];
+                for (int col = 0; col < columnCount; col++) {
+                    texts[col] = dataSource.cellText(sourceRow, col);
+                }
+                row = Row.from(texts).height(1);
+            } else {
+                // The source shrank since the row order was computed
+                row = Row.empty().height(1);
+            }
+            if (rowStyleResolver != null) {
+                Style rowStyle = rowStyleResolver.apply(i, rowCount);
+                if (rowStyle != null && !rowStyle.equals(Style.EMPTY)) {
+                    row = row.style(row.style().patch(rowStyle));
+                }
+            }
+            window.add(row);
+        }
+        return window;
+    }
+
     private int calculateHighlightWidth(TableState state) {
         switch (highlightSpacing) {
             case ALWAYS:
@@ -333,6 +394,7 @@ public final class Table implements StatefulWidget<TableState> {
      */
     public static final class Builder {
         private List<Row> rows = new ArrayList<>();
+        private TableDataSource dataSource;
         private List<Constraint> widths = new ArrayList<>();
         private Row header;
         private Row footer;
@@ -384,6 +446,20 @@ public final class Table implements StatefulWidget<TableState> {
             return this;
         }
 
+        /**
+         * Sets the data source the rows are read from, instead of rows.
+         * <p>
+         * Only the rows in view are read from the data source, each on a single line.
+         * If no widths are set, the widths of the data source are used.
+         *
+         * @param dataSource the data source, or null to use rows
+         * @return this builder
+         */
+        public Builder dataSource(TableDataSource dataSource) {
+            this.dataSource = dataSource;
+            return this;
+        }
+
         /**
          * Sets the column width constraints.
          * <p>
@@ -0,0 +1,72 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.widgets.table;
+
+import java.util.Collections;
+import java.util.List;
+
+import dev.tamboui.layout.Constraint;
+
+/**
+ * Column-oriented access to the data of a {@link Table}.
+ * <p>
+ * A table backed by a data source does not need its rows up front: it only builds
+ * {@link Row}s for the rows it displays, so the cost of rendering a table does not
+ * depend on the number of rows. Each data row is rendered on a single line.
+ * <pre>{@code
+ * TableDataSource source = new TableDataSource() {
+ *     public int rowCount() { return results.size(); }
+ *     public int columnCount() { return 3; }
+ *     public String cellText(int row, int column) { return results.get(row).get(column); }
+ * };
+ *
+ * Table table = Table.builder()
+ *     .header(Row.from("Name", "Age", "City"))
+ *     .dataSource(source)
+ *     .widths(Constraint.percentage(40), Constraint.length(10), Constraint.fill())
+ *     .build();
+ * }</pre>
+ * <p>
+ * Sorting and filtering with {@link TableState#sort(TableDataSource, int, java.util.Comparator, java.util.concurrent.Executor)}
+ * and {@link TableState#filter(TableDataSource, java.util.function.IntPredicate, java.util.concurrent.Executor)}
+ * read cells from a background thread: data sources used that way must support
+ * concurrent reads.
+ */
+public interface TableDataSource {
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the row count
+     */
+    int rowCount();
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return the column count
+     */
+    int columnCount();
+
+    /**
+     * Returns the text of a cell.
+     *
+     * @param row    the row index, between 0 and {@link #rowCount()} exclusive
+     * @param column the column index, between 0 and {@link #columnCount()} exclusive
+     * @return the cell text
+     */
+    String cellText(int row, int column);
+
+    /**
+     * Returns the width constraints of the columns.
+     * <p>
+     * These are used when the table has no widths of its own. Returns an empty list by default.
+     *
+     * @return the column width constraints, or an empty list
+     */
+    default List<Constraint> columnWidths() {
+        return Collections.emptyList();
+    }
+}
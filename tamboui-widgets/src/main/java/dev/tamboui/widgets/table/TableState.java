@@ -4,7 +4,13 @@
  */
 package dev.tamboui.widgets.table;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntPredicate;
 
 /**
  * State for a {@link Table} widget.
@@ -20,12 +26,37 @@ import java.util.List;
  * state.selectNext(table.rows().size());
  * state.selectPrevious();
  * }</pre>
+ * <p>
+ * For tables backed by a {@link TableDataSource}, the state also holds the order in
+ * which rows are displayed. Sorting and filtering run on an executor, off the render
+ * thread, and produce a permutation of the source rows. The permutation replaces the
+ * current one when the table is next rendered, and the selection follows the
+ * selected source row.
+ * <pre>{@code
+ * state.sort(source, 1, Comparator.naturalOrder(), executor);
+ * state.filter(source, row -> source.cellText(row, 2).contains(query), executor);
+ *
+ * // The source row of the selection, as currently displayed
+ * int selectedRow = state.sourceRow(state.selected());
+ * }</pre>
  */
 public final class TableState {
 
     private Integer selected;
     private int offset;
 
+    // Display order of data source rows: view row -> source row, or null for the source order
+    private int[] rowOrder;
+    private int sortColumn = -1;
+    private Comparator<String> sortComparator;
+    private IntPredicate rowFilter;
+
+    // Row orders computed in the background, published under the lock
+    private final Object orderLock = new Object();
+    private int orderGeneration;
+    private PendingOrder pendingOrder;
+    private volatile boolean orderPending;
+
     /**
      * Creates a new table state with no selection.
      */
@@ -153,4 +184,254 @@ public final class TableState {
     public void setOffset(int offset) {
         this.offset = Math.max(0, offset);
     }
+
+    /**
+     * Scrolls to make the selected row visible, for tables whose rows are a single line high.
+     *
+     * @param visibleRows the number of rows visible in the display area
+     * @param rowCount the number of rows
+     */
+    void scrollToSelected(int visibleRows, int rowCount) {
+        if (selected == null || rowCount == 0) {
+            return;
+        }
+        if (selected < offset) {
+            offset = selected;
+        } else if (selected + 1 > offset + visibleRows) {
+            offset = selected + 1 - visibleRows;
+        }
+        offset = Math.max(0, Math.min(offset, rowCount - visibleRows));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Row order of data source tables
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Sorts the rows of a data source by the text of a column.
+     * <p>
+     * The rows are sorted on the given executor; the new order is displayed when the
+     * table is next rendered after the returned future completes. The sort is stable
+     * and applies to the rows kept by the current {@link #filter filter}.
+     *
+     * @param source     the table data source
+     * @param column     the column to sort by
+     * @param comparator the order of the cell texts, for example {@code Comparator.naturalOrder()}
+     * @param executor   the executor to sort on
+     * @return a future completed when the new order is ready
+     */
+    public CompletableFuture<Void> sort(TableDataSource source, int column, Comparator<String> comparator,
+                                        Executor executor) {
+        this.sortColumn = column;
+        this.sortComparator = comparator;
+        return refreshOrder(source, executor);
+    }
+
+    /**
+     * Filters the rows of a data source.
+     * <p>
+     * The rows are filtered on the given executor; the new order is displayed when the
+     * table is next rendered after the returned future completes. The current
+     * {@link #sort sort} order is kept.
+     *
+     * @param source   the table data source
+     * @param filter   tests the index of a source row, or null to keep all rows
+     * @param executor the executor to filter on
+     * @return a future completed when the new order is ready
+     */
+    public CompletableFuture<Void> filter(TableDataSource source, IntPredicate filter, Executor executor) {
+        this.rowFilter = filter;
+        return refreshOrder(source, executor);
+    }
+
+    /**
+     * Computes the order of the rows of a data source again, for example after its data changed.
+     *
+     * @param source   the table data source
+     * @param executor the executor to sort and filter on
+     * @return a future completed when the new order is ready, or completed exceptionally
+     *         if it could not be computed, for example because the executor rejected the task
+     */
+    public CompletableFuture<Void> refreshOrder(TableDataSource source, Executor executor) {
+        int generation;
+        synchronized (orderLock) {
+            generation = ++orderGeneration;
+            orderPending = true;
+        }
+        if (sortColumn < 0 && rowFilter == null) {
+            publishOrder(generation, new PendingOrder(null));
+            return CompletableFuture.completedFuture(null);
+        }
+        IntPredicate filter = this.rowFilter;
+        int column = this.sortColumn;
+        Comparator<String> comparator = this.sortComparator;
+        CompletableFuture<Void> future;
+        try {
+            future = CompletableFuture.runAsync(
+                    () -> publishOrder(generation, new PendingOrder(computeOrder(source, filter, column, comparator))),
+                    executor);
+        } catch (RejectedExecutionException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        return future.whenComplete((ignored, error) -> {
+            if (error != null) {
+                synchronized (orderLock) {
+                    if (generation == orderGeneration) {
+                        orderPending = false;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Clears the sort and the filter, displaying the rows in source order.
+     */
+    public void clearOrder() {
+        this.sortColumn = -1;
+        this.sortComparator = null;
+        this.rowFilter = null;
+        int generation;
+        synchronized (orderLock) {
+            generation = ++orderGeneration;
+        }
+        publishOrder(generation, new PendingOrder(null));
+    }
+
+    /**
+     * Returns the column the rows are sorted by.
+     *
+     * @return the sort column, or -1 if the rows are not sorted
+     */
+    public int sortColumn() {
+        return sortColumn;
+    }
+
+    /**
+     * Returns whether a sort or filter is still being computed.
+     *
+     * @return true if a new row order is being computed
+     */
+    public boolean isOrderPending() {
+        return orderPending;
+    }
+
+    /**
+     * Returns the number of rows displayed for a data source, after filtering.
+     *
+     * @param source the table data source
+     * @return the number of displayed rows
+     */
+    public int rowCount(TableDataSource source) {
+        return rowOrder != null ? rowOrder.length : source.rowCount();
+    }
+
+    /**
+     * Returns the source row displayed at a position.
+     *
+     * @param row the displayed row index
+     * @return the index of the row in the data source
+     */
+    public int sourceRow(int row) {
+        return rowOrder != null ? rowOrder[row] : row;
+    }
+
+    /**
+     * Replaces the row order with the most recently computed one, if any.
+     * <p>
+     * Called by the table when rendering, so that the order only changes between frames.
+     */
+    void applyPendingOrder() {
+        PendingOrder pending;
+        synchronized (orderLock) {
+            pending = pendingOrder;
+            pendingOrder = null;
+        }
+        if (pending == null) {
+            return;
+        }
+        int selectedSourceRow = -1;
+        if (selected != null && (rowOrder == null || selected < rowOrder.length)) {
+            selectedSourceRow = sourceRow(selected);
+        }
+        rowOrder = pending.order;
+        if (selectedSourceRow >= 0) {
+            // Keep the same source row selected; select the first row if it was filtered out
+            selected = Math.max(0, pending.displayedRow(selectedSourceRow));
+        }
+    }
+
+    private void publishOrder(int generation, PendingOrder order) {
+        synchronized (orderLock) {
+            // Results of superseded requests are dropped
+            if (generation == orderGeneration) {
+                pendingOrder = order;
+                orderPending = false;
+            }
+        }
+    }
+
+    private static int[] computeOrder(TableDataSource source, IntPredicate filter, int column,
+                                      Comparator<String> comparator) {
+        int rowCount = source.rowCount();
+        int[] rows = new int[rowCount];
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (filter == null || filter.test(row)) {
+                rows[count++] = row;
+            }
+        }
+        if (column < 0) {
+            return Arrays.copyOf(rows, count);
+        }
+
+        // Read each cell once rather than on every comparison
+        String[] keys = new String[count];
+        Integer[] positions = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = source.cellText(rows[i], column);
+            positions[i] = i;
+        }
+        Arrays.sort(positions, (a, b) -> comparator.compare(keys[a], keys[b]));
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = rows[positions[i]];
+        }
+        return order;
+    }
+
+    /**
+     * A computed row order, with the displayed position of each source row so that the
+     * selection can follow its row without scanning the order on the render thread.
+     */
+    private static final class PendingOrder {
+        final int[] order;
+        // Displayed position of each source row, -1 if filtered out; null with the source order
+        private final int[] positions;
+
+        PendingOrder(int[] order) {
+            this.order = order;
+            if (order == null) {
+                this.positions = null;
+                return;
+            }
+            int rowCount = 0;
+            for (int row : order) {
+                rowCount = Math.max(rowCount, row + 1);
+            }
+            this.positions = new int[rowCount];
+            Arrays.fill(positions, -1);
+            for (int i = 0; i < order.length; i++) {
+                positions[order[i]] = i;
+            }
+        }
+
+        int displayedRow(int sourceRow) {
+            if (positions == null) {
+                return sourceRow;
+            }
+            return sourceRow < positions.length ? positions[sourceRow] : -1;
+        }
+    }
 }
@@ -0,0 +1,505 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.widgets.tree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ToIntFunction;
+
+import dev.tamboui.widgets.tree.TreeWidget.FlatEntry;
+
+/**
+ * The visible rows of a tree, flattened in display order.
+ * <p>
+ * The index is kept in the {@link TreeState} across renders and updated incrementally:
+ * expanding a node splices the rows of its visible descendants in after it, and
+ * collapsing it removes them, so the cost of a change depends on the number of rows
+ * it adds or removes rather than on the size of the tree. Rows are stored in chunks,
+ * with prefix sums of the row counts and heights of the chunks, so the row at an index,
+ * the first line of a row and the row at a line are all found in O(log n).
+ * <p>
+ * Children are requested with {@link TreeModel#loadChildren(Object)}. While a load is
+ * in progress, a placeholder row is shown below the node. Loads may complete on any
+ * thread: completed loads are queued, and spliced in by {@link #applyLoads()} on the
+ * render thread.
+ *
+ * @param <T> the node data type
+ */
+final class TreeIndex<T> {
+
+    // Chunks are split when they grow past twice this size
+    private static final int CHUNK_SIZE = 256;
+
+    private final List<T> roots;
+    private final List<Chunk<T>> chunks = new ArrayList<>();
+    private final List<FlatEntry<T>> unmeasured = new ArrayList<>();
+    private final Queue<CompletedLoad<T>> completedLoads = new ConcurrentLinkedQueue<>();
+    private final List<FlatEntry<T>> view = new EntriesView();
+    private TreeModel<T> model;
+    // starts[i] is the index of the first row of chunk i, tops[i] its first line
+    private int[] starts = new int[1];
+    private int[] tops = new int[1];
+    private boolean prefixDirty;
+    private int measuredWidth = -1;
+
+    TreeIndex(TreeModel<T> model, List<T> roots) {
+        this.model = model;
+        this.roots = new ArrayList<>(roots);
+        List<FlatEntry<T>> entries = new ArrayList<>();
+        for (int i = 0; i < roots.size(); i++) {
+            collect(new FlatEntry<>(roots.get(i), null, 0, i == roots.size() - 1), entries);
+        }
+        insert(0, entries);
+    }
+
+    /**
+     * Returns whether this index was built for the given roots.
+     */
+    boolean hasRoots(List<?> roots) {
+        return this.roots.equals(roots);
+    }
+
+    /**
+     * Sets the model used to read the tree; trees may create a new model on every render.
+     */
+    void model(TreeModel<T> model) {
+        this.model = model;
+    }
+
+    /**
+     * Returns an unmodifiable, live view of the rows.
+     */
+    List<FlatEntry<T>> entries() {
+        return view;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Row access
+    // ═══════════════════════════════════════════════════════════════
+
+    int size() {
+        ensurePrefix();
+        return starts[chunks.size()];
+    }
+
+    int totalHeight() {
+        ensurePrefix();
+        return tops[chunks.size()];
+    }
+
+    FlatEntry<T> get(int row) {
+        ensurePrefix();
+        int c = chunkAt(starts, row);
+        return chunks.get(c).entries.get(row - starts[c]);
+    }
+
+    /**
+     * Returns the first line of a row, from the top of the tree.
+     */
+    int top(int row) {
+        ensurePrefix();
+        int c = chunkAt(starts, row);
+        int top = tops[c];
+        List<FlatEntry<T>> entries = chunks.get(c).entries;
+        for (int i = 0, end = row - starts[c]; i < end; i++) {
+            top += entries.get(i).height;
+        }
+        return top;
+    }
+
+    /**
+     * Returns the row that contains a line, or the last row if the line is past the end.
+     */
+    int rowAt(int line) {
+        ensurePrefix();
+        int c = chunkAt(tops, line);
+        int top = tops[c];
+        int row = starts[c];
+        for (FlatEntry<T> entry : chunks.get(c).entries) {
+            if (top + entry.height > line) {
+                return row;
+            }
+            top += entry.height;
+            row++;
+        }
+        return Math.min(row, size() - 1);
+    }
+
+    /**
+     * Returns the row of an entry, or -1 if the entry is not a row of this index.
+     */
+    int indexOf(FlatEntry<?> entry) {
+        ensurePrefix();
+        Chunk<?> chunk = entry.chunk;
+        if (chunk == null || chunk.position >= chunks.size() || chunks.get(chunk.position) != chunk) {
+            return -1;
+        }
+        return starts[chunk.position] + chunk.entries.indexOf(entry);
+    }
+
+    /**
+     * Returns the row of an entry, or of its closest ancestor that is still displayed
+     * if it was removed; -1 if none is. The first loaded child takes the place of a
+     * placeholder.
+     */
+    int rowOf(FlatEntry<?> entry) {
+        if (entry != null && entry.isPlaceholder() && indexOf(entry) < 0) {
+            int parentRow = indexOf(entry.parentEntry());
+            if (parentRow >= 0 && parentRow + 1 < size() && get(parentRow + 1).depth() == entry.depth()) {
+                return parentRow + 1;
+            }
+        }
+        FlatEntry<?> current = entry;
+        while (current != null) {
+            int row = indexOf(current);
+            if (row >= 0) {
+                return row;
+            }
+            current = current.parentEntry();
+        }
+        return -1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Updates
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Sets the expanded state of the node of a row through the model, and updates the rows.
+     */
+    void setExpanded(int row, boolean expanded) {
+        FlatEntry<T> entry = get(row);
+        if (entry.isPlaceholder()) {
+            return;
+        }
+        model.setExpanded(entry.node(), expanded);
+        sync(entry);
+    }
+
+    /**
+     * Brings the descendants of a row up to date with the model.
+     * <p>
+     * The expansion state of the node is compared with the rows; for expanded nodes whose
+     * children were loaded synchronously, the children are compared too, with
+     * {@code equals}, so that nodes added to, removed from or replaced in a displayed
+     * node show up.
+     *
+     * @return true if rows were added or removed
+     */
+    boolean sync(FlatEntry<T> entry) {
+        if (entry.isPlaceholder()) {
+            return false;
+        }
+        boolean expanded = isOpen(entry.node());
+        if (expanded != entry.expanded) {
+            if (expanded) {
+                expand(entry);
+            } else {
+                collapse(entry);
+            }
+            return true;
+        }
+        if (expanded && entry.pendingLoad == null && !entry.loadedAsync
+                && !model.children(entry.node()).equals(entry.children)) {
+            collapse(entry);
+            expand(entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the placeholders of the loads that completed since the last call.
+     *
+     * @return true if rows were added or removed
+     */
+    boolean applyLoads() {
+        boolean changed = false;
+        CompletedLoad<T> load;
+        while ((load = completedLoads.poll()) != null) {
+            FlatEntry<T> parent = load.parent;
+            // Ignore loads of nodes that were collapsed or removed in the meantime
+            if (parent.pendingLoad != load.stage || indexOf(parent) < 0) {
+                continue;
+            }
+            parent.pendingLoad = null;
+            parent.loadedAsync = true;
+            int row = indexOf(parent);
+            remove(row + 1, 1);
+            List<FlatEntry<T>> added = new ArrayList<>();
+            if (load.children != null) {
+                collectChildren(parent, load.children, added);
+            }
+            insert(row + 1, added);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Measures the rows that were added since the last call, or every row if the width changed.
+     */
+    void measure(int width, ToIntFunction<FlatEntry<T>> heightOf) {
+        if (width != measuredWidth) {
+            measuredWidth = width;
+            unmeasured.clear();
+            for (Chunk<T> chunk : chunks) {
+                for (FlatEntry<T> entry : chunk.entries) {
+                    setHeight(entry, heightOf.applyAsInt(entry));
+                }
+            }
+            return;
+        }
+        for (FlatEntry<T> entry : unmeasured) {
+            if (entry.chunk != null) {
+                setHeight(entry, heightOf.applyAsInt(entry));
+            }
+        }
+        unmeasured.clear();
+    }
+
+    /**
+     * Records the height of a row.
+     */
+    void setHeight(FlatEntry<T> entry, int height) {
+        if (entry.height == height) {
+            return;
+        }
+        if (entry.chunk != null) {
+            entry.chunk.height += height - entry.height;
+            prefixDirty = true;
+        }
+        entry.height = height;
+    }
+
+    private boolean isOpen(T node) {
+        return !model.isLeaf(node) && model.isExpanded(node);
+    }
+
+    private void expand(FlatEntry<T> entry) {
+        List<FlatEntry<T>> added = new ArrayList<>();
+        expandInto(entry, added);
+        insert(indexOf(entry) + 1, added);
+    }
+
+    private void collapse(FlatEntry<T> entry) {
+        int row = indexOf(entry);
+        remove(row + 1, descendantCount(row, entry.depth()));
+        entry.expanded = false;
+        entry.pendingLoad = null;
+        entry.loadedAsync = false;
+        entry.children = Collections.emptyList();
+    }
+
+    /**
+     * Adds an entry and the rows of its visible descendants, in display order.
+     */
+    private void collect(FlatEntry<T> entry, List<FlatEntry<T>> out) {
+        out.add(entry);
+        if (isOpen(entry.node())) {
+            expandInto(entry, out);
+        }
+    }
+
+    private void expandInto(FlatEntry<T> entry, List<FlatEntry<T>> out) {
+        entry.expanded = true;
+        CompletionStage<List<T>> stage = model.loadChildren(entry.node());
+        CompletableFuture<List<T>> future = stage.toCompletableFuture();
+        if (future.isDone()) {
+            if (!future.isCompletedExceptionally()) {
+                collectChildren(entry, future.join(), out);
+            }
+            return;
+        }
+        entry.pendingLoad = stage;
+        out.add(FlatEntry.placeholder(entry));
+        stage.whenComplete((children, error) -> completedLoads.add(new CompletedLoad<>(entry, stage, children)));
+    }
+
+    private void collectChildren(FlatEntry<T> parent, List<T> children, List<FlatEntry<T>> out) {
+        if (children == null) {
+            return;
+        }
+        // Copied, as models may update the list of a node in place
+        parent.children = new ArrayList<>(children);
+        for (int i = 0; i < children.size(); i++) {
+            collect(new FlatEntry<>(children.get(i), parent, parent.depth() + 1, i == children.size() - 1), out);
+        }
+    }
+
+    private int descendantCount(int row, int depth) {
+        if (row + 1 >= size()) {
+            return 0;
+        }
+        int count = 0;
+        int c = chunkAt(starts, row + 1);
+        for (int offset = row + 1 - starts[c]; c < chunks.size(); c++, offset = 0) {
+            List<FlatEntry<T>> entries = chunks.get(c).entries;
+            for (int i = offset; i < entries.size(); i++) {
+                if (entries.get(i).depth() <= depth) {
+                    return count;
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Chunk storage
+    // ═══════════════════════════════════════════════════════════════
+
+    private void insert(int position, List<FlatEntry<T>> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        if (chunks.isEmpty()) {
+            chunks.add(new Chunk<>());
+            prefixDirty = true;
+        }
+        ensurePrefix();
+        int c = chunkAt(starts, position);
+        Chunk<T> chunk = chunks.get(c);
+        chunk.entries.addAll(position - starts[c], added);
+        for (FlatEntry<T> entry : added) {
+            entry.chunk = chunk;
+            chunk.height += entry.height;
+        }
+        unmeasured.addAll(added);
+        if (chunk.entries.size() > 2 * CHUNK_SIZE) {
+            split(c);
+        }
+        prefixDirty = true;
+    }
+
+    private void split(int c) {
+        List<FlatEntry<T>> entries = chunks.get(c).entries;
+        List<Chunk<T>> pieces = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            Chunk<T> piece = new Chunk<>();
+            piece.entries.addAll(entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size())));
+            for (FlatEntry<T> entry : piece.entries) {
+                entry.chunk = piece;
+                piece.height += entry.height;
+            }
+            pieces.add(piece);
+        }
+        chunks.remove(c);
+        chunks.addAll(c, pieces);
+    }
+
+    private void remove(int from, int count) {
+        if (count <= 0) {
+            return;
+        }
+        ensurePrefix();
+        int c = chunkAt(starts, from);
+        int offset = from - starts[c];
+        int remaining = count;
+        while (remaining > 0) {
+            Chunk<T> chunk = chunks.get(c);
+            List<FlatEntry<T>> range = chunk.entries.subList(offset, Math.min(chunk.entries.size(), offset + remaining));
+            for (FlatEntry<T> entry : range) {
+                chunk.height -= entry.height;
+                entry.chunk = null;
+            }
+            remaining -= range.size();
+            range.clear();
+            c++;
+            offset = 0;
+        }
+        chunks.removeIf(chunk -> chunk.entries.isEmpty());
+        prefixDirty = true;
+    }
+
+    private void ensurePrefix() {
+        if (!prefixDirty) {
+            return;
+        }
+        int n = chunks.size();
+        if (starts.length != n + 1) {
+            starts = new int[n + 1];
+            tops = new int[n + 1];
+        }
+        for (int i = 0; i < n; i++) {
+            Chunk<T> chunk = chunks.get(i);
+            chunk.position = i;
+            starts[i + 1] = starts[i] + chunk.entries.size();
+            tops[i + 1] = tops[i] + chunk.height;
+        }
+        prefixDirty = false;
+    }
+
+    /**
+     * Returns the last chunk whose prefix is at most the given value.
+     */
+    private int chunkAt(int[] prefix, int value) {
+        int low = 0;
+        int high = Math.max(0, chunks.size() - 1);
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (prefix[mid] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A run of consecutive rows.
+     */
+    static final class Chunk<T> {
+        final List<FlatEntry<T>> entries = new ArrayList<>();
+        int height;
+        int position;
+    }
+
+    private static final class CompletedLoad<T> {
+        final FlatEntry<T> parent;
+        final CompletionStage<List<T>> stage;
+        final List<T> children;
+
+        CompletedLoad(FlatEntry<T> parent, CompletionStage<List<T>> stage, List<T> children) {
+            this.parent = parent;
+            this.stage = stage;
+            this.children = children;
+        }
+    }
+
+    private final class EntriesView extends AbstractList<FlatEntry<T>> implements RandomAccess {
+
+        @Override
+        public FlatEntry<T> get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return TreeIndex.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return TreeIndex.this.size();
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof FlatEntry ? TreeIndex.this.indexOf((FlatEntry<?>) o) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+    }
+}
@@ -5,6 +5,8 @@
 package dev.tamboui.widgets.tree;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Interface for accessing tree data in a decoupled manner.
@@ -44,12 +46,36 @@ public interface TreeModel<T> {
 
     /**
      * Returns the children of the given parent node.
+     * <p>
+     * Trees call this on every render for the expanded nodes in view, and refresh their
+     * rows when the result is no longer {@linkplain List#equals(Object) equal} to the
+     * children they display.
      *
      * @param parent the parent node
      * @return the list of child nodes, may be empty but not null
      */
     List<T> children(T parent);
 
+    /**
+     * Loads the children of the given parent node, possibly in the background.
+     * <p>
+     * Trees call this method when a node is expanded. While the returned stage is not
+     * complete, a placeholder row is shown below the node; the children replace it on
+     * the first render after the stage completes, which may happen on any thread.
+     * Override this method when children are slow to compute, such as directory
+     * listings or remote queries. Once loaded, {@link #children(Object)} should return
+     * the loaded children: trees use it to detect children added to or removed from
+     * displayed nodes.
+     * <p>
+     * The default implementation returns the result of {@link #children(Object)}.
+     *
+     * @param parent the parent node
+     * @return a stage completed with the list of child nodes
+     */
+    default CompletionStage<List<T>> loadChildren(T parent) {
+        return CompletableFuture.completedFuture(children(parent));
+    }
+
     /**
      * Returns whether the given node is a leaf (has no children).
      *
@@ -8,6 +8,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 /**
@@ -31,6 +33,10 @@ import java.util.function.Supplier;
  * TreeNode<File> fileNode = TreeNode.of("src", srcDir)
  *     .childrenLoader(() -> loadChildren(srcDir));
  *
+ * // Loaded in the background
+ * TreeNode<File> remoteNode = TreeNode.of("remote", remoteDir)
+ *     .asyncChildrenLoader(() -> CompletableFuture.supplyAsync(() -> loadChildren(remoteDir), executor));
+ *
  * // Varargs children
  * TreeNode<Void> tree = TreeNode.of("Project",
  *     TreeNode.of("src").expanded(),
@@ -46,6 +52,8 @@ public final class TreeNode<T> implements TreeModel<TreeNode<T>> {
     private final T data;
     private final List<TreeNode<T>> children;
     private Supplier<List<TreeNode<T>>> childrenLoader;
+    private Supplier<? extends CompletionStage<List<TreeNode<T>>>> asyncChildrenLoader;
+    private CompletableFuture<List<TreeNode<T>>> pendingLoad;
     private boolean expanded;
     private boolean leaf;
     private boolean childrenLoaded;
@@ -151,6 +159,22 @@ public final class TreeNode<T> implements TreeModel<TreeNode<T>> {
         return this;
     }
 
+    /**
+     * Sets a children loader that runs in the background.
+     * <p>
+     * The loader is called when the children are first loaded with {@link #loadChildren()},
+     * which trees do when the node is expanded, on a node that has no statically-added
+     * children. Trees show a placeholder row until the returned stage completes. If it
+     * completes exceptionally, the loader is called again on the next load.
+     *
+     * @param loader the supplier that starts loading the child nodes
+     * @return this node for chaining
+     */
+    public TreeNode<T> asyncChildrenLoader(Supplier<? extends CompletionStage<List<TreeNode<T>>>> loader) {
+        this.asyncChildrenLoader = loader;
+        return this;
+    }
+
     /**
      * Returns the display label.
      *
@@ -178,6 +202,7 @@ public final class TreeNode<T> implements TreeModel<TreeNode<T>> {
      * @return the list of child nodes
      */
     public List<TreeNode<T>> children() {
+        adoptLoadedChildren();
         if (!childrenLoaded && childrenLoader != null && children.isEmpty()) {
             List<TreeNode<T>> loaded = childrenLoader.get();
             if (loaded != null) {
@@ -188,6 +213,43 @@ public final class TreeNode<T> implements TreeModel<TreeNode<T>> {
         return Collections.unmodifiableList(children);
     }
 
+    /**
+     * Loads the children of this node.
+     * <p>
+     * If a background loader is set with {@link #asyncChildrenLoader(Supplier)} and the
+     * children have not been loaded yet, starts the loader, or returns the load in
+     * progress. Otherwise, returns the result of {@link #children()}. Loaded children
+     * are added to this node on the first call to {@link #children()} after the load
+     * completes.
+     *
+     * @return a stage completed with the child nodes
+     */
+    public CompletionStage<List<TreeNode<T>>> loadChildren() {
+        adoptLoadedChildren();
+        if (asyncChildrenLoader == null || childrenLoaded || !children.isEmpty()) {
+            return CompletableFuture.completedFuture(children());
+        }
+        if (pendingLoad == null) {
+            pendingLoad = asyncChildrenLoader.get().toCompletableFuture();
+        }
+        return pendingLoad;
+    }
+
+    private void adoptLoadedChildren() {
+        if (pendingLoad == null || !pendingLoad.isDone()) {
+            return;
+        }
+        CompletableFuture<List<TreeNode<T>>> load = pendingLoad;
+        pendingLoad = null;
+        if (!load.isCompletedExceptionally()) {
+            List<TreeNode<T>> loaded = load.join();
+            if (loaded != null) {
+                children.addAll(loaded);
+            }
+            childrenLoaded = true;
+        }
+    }
+
     /**
      * Returns whether this node is expanded.
      *
@@ -209,7 +271,7 @@ public final class TreeNode<T> implements TreeModel<TreeNode<T>> {
         if (leaf) {
             return true;
         }
-        return children.isEmpty() && childrenLoader == null;
+        return children.isEmpty() && childrenLoader == null && asyncChildrenLoader == null;
     }
 
     /**
@@ -233,6 +295,11 @@ public final class TreeNode<T> implements TreeModel<TreeNode<T>> {
         return parent.children();
     }
 
+    @Override
+    public CompletionStage<List<TreeNode<T>>> loadChildren(TreeNode<T> parent) {
+        return parent.loadChildren();
+    }
+
     @Override
     public boolean isLeaf(TreeNode<T> node) {
         return node.isLeaf();
@@ -4,6 +4,8 @@
  */
 package dev.tamboui.widgets.tree;
 
+import java.util.List;
+
 /**
  * State for a tree widget, tracking selection and scroll position.
  * <p>
@@ -11,12 +13,15 @@ package dev.tamboui.widgets.tree;
  * <ul>
  *   <li>Selected index in the flattened visible node list</li>
  *   <li>Scroll offset for viewport scrolling</li>
+ *   <li>The flattened list of visible nodes, kept across renders and updated
+ *       incrementally when nodes are expanded or collapsed</li>
  * </ul>
  */
 public final class TreeState {
 
     private int selected;
     private int scrollOffset;
+    private TreeIndex<?> index;
 
     /**
      * Creates a new tree state with default values.
@@ -86,6 +91,66 @@ public final class TreeState {
         scrollOffset = Math.max(0, Math.min(scrollOffset, Math.max(0, totalHeight - viewportHeight)));
     }
 
+    /**
+     * Expands or collapses the node at the given index in the flattened visible list.
+     * <p>
+     * The expanded state is set through the tree model of the last render, and the
+     * rows of the node's descendants are added or removed immediately, without
+     * flattening the tree again. Does nothing before the first render.
+     *
+     * @param index the index of the node
+     * @param expanded true to expand, false to collapse
+     */
+    public void setExpanded(int index, boolean expanded) {
+        if (this.index == null || index < 0 || index >= this.index.size()) {
+            return;
+        }
+        TreeWidget.FlatEntry<?> selectedEntry = selectedEntry();
+        this.index.setExpanded(index, expanded);
+        // Keep the selected node selected, or select its closest remaining ancestor
+        selected = Math.max(0, this.index.rowOf(selectedEntry));
+    }
+
+    /**
+     * Selects the parent of the selected node, if it has one.
+     */
+    public void selectParent() {
+        TreeWidget.FlatEntry<?> selectedEntry = selectedEntry();
+        if (selectedEntry != null && selectedEntry.parentEntry() != null) {
+            selected = Math.max(0, index.rowOf(selectedEntry.parentEntry()));
+        }
+    }
+
+    /**
+     * Discards the flattened list of visible nodes, so that it is rebuilt on the next render.
+     * <p>
+     * Renders only check the displayed nodes for changes: call this method after changing
+     * the children or the expanded state of nodes that are not displayed.
+     */
+    public void invalidate() {
+        this.index = null;
+    }
+
+    /**
+     * Returns the flattened tree for the given roots, building it if the roots changed.
+     */
+    @SuppressWarnings("unchecked")
+    <T> TreeIndex<T> index(TreeModel<T> model, List<T> roots) {
+        if (index == null || !index.hasRoots(roots)) {
+            index = new TreeIndex<>(model, roots);
+        }
+        TreeIndex<T> typed = (TreeIndex<T>) index;
+        typed.model(model);
+        return typed;
+    }
+
+    private TreeWidget.FlatEntry<?> selectedEntry() {
+        if (index == null || index.size() == 0) {
+            return null;
+        }
+        return index.get(Math.min(selected, index.size() - 1));
+    }
+
     /**
      * Selects the previous item if possible.
      */
@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -40,6 +41,15 @@ import dev.tamboui.widgets.scrollbar.ScrollbarState;
  *   <li>Scrolling with optional scrollbar</li>
  *   <li>Selection highlighting</li>
  * </ul>
+ * <p>
+ * The flattened list of visible nodes is kept in the {@link TreeState} and updated
+ * incrementally rather than rebuilt on every render: expanding or collapsing a node
+ * only adds or removes the rows of its descendants. On each render, the rows on screen
+ * are checked against the model, so expansion changes made directly on the model are
+ * picked up when the node is displayed; use {@link TreeState#setExpanded(int, boolean)}
+ * to update the rows immediately, and {@link TreeState#invalidate()} after changing
+ * the tree outside of the displayed rows. Children can be loaded in the background with
+ * {@link TreeModel#loadChildren(Object)}, with a placeholder row shown in the meantime.
  *
  * <h2>Usage Examples</h2>
  *
@@ -71,6 +81,8 @@ import dev.tamboui.widgets.scrollbar.ScrollbarState;
  */
 public final class TreeWidget<T> implements StatefulWidget<TreeState> {
 
+    private static final Style LOADING_STYLE = Style.EMPTY.dim();
+
     private final TreeModel<T> model;
     private final List<T> roots;
     private final Function<T, SizedWidget> nodeRenderer;
@@ -84,8 +96,9 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
     private final Style scrollbarThumbStyle;
     private final Style scrollbarTrackStyle;
     private final int indentWidth;
+    private final String loadingText;
 
-    // Cached flat entries from last render (for state access)
+    // Live view of the flattened tree kept in the state (for state access)
     private List<FlatEntry<T>> lastFlatEntries = Collections.emptyList();
 
     private TreeWidget(Builder<T> builder) {
@@ -102,6 +115,7 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
         this.scrollbarThumbStyle = builder.scrollbarThumbStyle;
         this.scrollbarTrackStyle = builder.scrollbarTrackStyle;
         this.indentWidth = builder.indentWidth;
+        this.loadingText = builder.loadingText;
     }
 
     /**
@@ -143,71 +157,65 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
             return;
         }
 
-        // Flatten the visible tree
-        List<FlatEntry<T>> flatEntries = flattenTree();
-        this.lastFlatEntries = flatEntries;
+        // The flattened tree is kept in the state and updated incrementally
+        TreeIndex<T> index = state.index(model, getEffectiveRoots());
+        this.lastFlatEntries = index.entries();
 
-        int totalItems = flatEntries.size();
-        if (totalItems == 0) {
+        if (index.size() == 0) {
             return;
         }
 
-        // Clamp selection
-        int selectedIndex = Math.max(0, Math.min(state.selected(), totalItems - 1));
-        state.select(selectedIndex);
-
         int visibleHeight = treeArea.height();
         int symbolWidth = highlightSymbol.width();
         int contentWidth = treeArea.width() - symbolWidth;
 
-        // Compute heights and cumulative positions
-        int totalContentHeight = 0;
-        for (FlatEntry<T> entry : flatEntries) {
-            entry.cumulativeTop = totalContentHeight;
-            entry.height = computeEntryHeight(entry, contentWidth);
-            totalContentHeight += entry.height;
+        // Apply completed loads and expansion changes of the displayed rows,
+        // keeping the selected node selected when rows are added above it
+        FlatEntry<T> selectedEntry = index.get(Math.min(state.selected(), index.size() - 1));
+        index.applyLoads();
+        index.sync(selectedEntry);
+        syncRows(index, state.offset(), visibleHeight);
+        state.select(Math.max(0, index.rowOf(selectedEntry)));
+
+        // Measure new rows, with room for the scrollbar if it was needed last time
+        boolean needsScrollbar = showScrollbar && index.totalHeight() > visibleHeight;
+        measure(index, needsScrollbar ? contentWidth - 1 : contentWidth);
+        if (showScrollbar && (index.totalHeight() > visibleHeight) != needsScrollbar) {
+            needsScrollbar = !needsScrollbar;
+            measure(index, needsScrollbar ? contentWidth - 1 : contentWidth);
         }
-
-        // Adjust for scrollbar if needed
-        boolean needsScrollbar = showScrollbar && totalContentHeight > visibleHeight;
         if (needsScrollbar) {
             contentWidth -= 1;
-            // Recompute heights
-            totalContentHeight = 0;
-            for (FlatEntry<T> entry : flatEntries) {
-                entry.cumulativeTop = totalContentHeight;
-                entry.height = computeEntryHeight(entry, contentWidth);
-                totalContentHeight += entry.height;
-            }
         }
 
         if (contentWidth <= 0) {
             return;
         }
 
+        // Clamp selection
+        int selectedIndex = Math.max(0, Math.min(state.selected(), index.size() - 1));
+        state.select(selectedIndex);
+        selectedEntry = index.get(selectedIndex);
+
         // Auto-scroll to keep selected item visible
-        FlatEntry<T> selectedEntry = flatEntries.get(selectedIndex);
-        state.scrollToSelected(selectedEntry.cumulativeTop, selectedEntry.height, visibleHeight, totalContentHeight);
+        state.scrollToSelected(index.top(selectedIndex), selectedEntry.height, visibleHeight, index.totalHeight());
         int scrollOffset = state.offset();
 
         // Render visible entries
         int contentX = treeArea.left() + symbolWidth;
+        int entryIndex = index.rowAt(scrollOffset);
+        int entryTop = index.top(entryIndex);
 
-        for (int entryIndex = 0; entryIndex < totalItems; entryIndex++) {
-            FlatEntry<T> entry = flatEntries.get(entryIndex);
-
-            // Skip entries completely above viewport
-            if (entry.cumulativeTop + entry.height <= scrollOffset) {
-                continue;
-            }
+        while (entryIndex < index.size() && entryTop < scrollOffset + visibleHeight) {
+            FlatEntry<T> entry = index.get(entryIndex);
 
-            // Stop if past viewport
-            if (entry.cumulativeTop >= scrollOffset + visibleHeight) {
-                break;
+            // Rows that scrolled into view may not be up to date yet
+            if (index.sync(entry)) {
+                measure(index, contentWidth);
             }
 
-            int entryY = treeArea.top() + (entry.cumulativeTop - scrollOffset);
-            boolean isSelected = (entryIndex == selectedIndex);
+            int entryY = treeArea.top() + (entryTop - scrollOffset);
+            boolean isSelected = entry == selectedEntry;
 
             // Draw highlight symbol (on first visible line only)
             if (isSelected && symbolWidth > 0 && entryY >= treeArea.top() && entryY < treeArea.top() + visibleHeight) {
@@ -220,7 +228,9 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
 
             // Draw expand indicator
             String indicator;
-            if (!model.isLeaf(entry.node)) {
+            if (entry.isPlaceholder()) {
+                indicator = "";
+            } else if (!model.isLeaf(entry.node)) {
                 indicator = model.isExpanded(entry.node) ? "\u25bc " : "\u25b6 "; // ▼ / ▶
             } else {
                 indicator = leafIndicator;
@@ -245,13 +255,17 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
             int nodeX = contentX + prefixWidth + indicatorWidth;
             int nodeWidth = contentWidth - prefixWidth - indicatorWidth;
             if (nodeWidth > 0) {
-                SizedWidget sized = nodeRenderer.apply(entry.node);
                 int nodeY = Math.max(entryY, treeArea.top());
                 int nodeHeight = Math.min(entry.height, treeArea.top() + visibleHeight - nodeY);
 
                 if (nodeHeight > 0) {
                     Rect nodeArea = new Rect(nodeX, nodeY, nodeWidth, nodeHeight);
-                    sized.widget().render(nodeArea, buffer);
+                    if (entry.isPlaceholder()) {
+                        buffer.setString(nodeX, nodeY, CharWidth.substringByWidth(loadingText, nodeWidth),
+                                style.patch(LOADING_STYLE));
+                    } else {
+                        nodeRenderer.apply(entry.node).widget().render(nodeArea, buffer);
+                    }
 
                     // Apply highlight style over node area if selected
                     if (isSelected) {
@@ -259,9 +273,14 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
                     }
                 }
             }
+
+            entryTop += entry.height;
+            entryIndex++;
         }
+        state.select(Math.max(0, index.rowOf(selectedEntry)));
 
         // Render scrollbar
+        int totalContentHeight = index.totalHeight();
         if (needsScrollbar && totalContentHeight > 0) {
             Rect scrollbarArea = new Rect(
                     treeArea.right() - 1,
@@ -287,7 +306,28 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
         }
     }
 
+    /**
+     * Brings the rows displayed from the given line up to date with the model.
+     */
+    private void syncRows(TreeIndex<T> index, int fromLine, int lines) {
+        int row = index.rowAt(fromLine);
+        int line = index.top(row);
+        while (row < index.size() && line < fromLine + lines) {
+            FlatEntry<T> entry = index.get(row);
+            index.sync(entry);
+            line += entry.height;
+            row++;
+        }
+    }
+
+    private void measure(TreeIndex<T> index, int contentWidth) {
+        index.measure(contentWidth, entry -> computeEntryHeight(entry, contentWidth));
+    }
+
     private int computeEntryHeight(FlatEntry<T> entry, int contentWidth) {
+        if (entry.isPlaceholder()) {
+            return 1;
+        }
         String prefix = buildPrefix(entry);
         int prefixWidth = CharWidth.of(prefix);
         int indicatorWidth = 2;
@@ -301,18 +341,6 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
         return sized.heightOr(1);
     }
 
-    private List<FlatEntry<T>> flattenTree() {
-        List<FlatEntry<T>> entries = new ArrayList<>();
-        List<T> effectiveRoots = getEffectiveRoots();
-
-        for (int i = 0; i < effectiveRoots.size(); i++) {
-            boolean isLastRoot = (i == effectiveRoots.size() - 1);
-            flattenNode(effectiveRoots.get(i), null, 0, new ArrayList<>(), isLastRoot, entries);
-        }
-
-        return entries;
-    }
-
     private List<T> getEffectiveRoots() {
         if (!roots.isEmpty()) {
             return roots;
@@ -323,37 +351,24 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
         return Collections.emptyList();
     }
 
-    private void flattenNode(T node, T parent, int depth,
-                             List<Boolean> parentIsLast, boolean isLast,
-                             List<FlatEntry<T>> entries) {
-        List<Boolean> guides = new ArrayList<>(parentIsLast);
-        entries.add(new FlatEntry<>(node, parent, depth, guides, isLast));
-
-        if (model.isExpanded(node) && !model.isLeaf(node)) {
-            List<T> children = model.children(node);
-            List<Boolean> childParentIsLast = new ArrayList<>(parentIsLast);
-            // Only add isLast for depth > 0 (don't track root's isLast)
-            if (depth > 0) {
-                childParentIsLast.add(isLast);
-            }
-            for (int i = 0; i < children.size(); i++) {
-                boolean childIsLast = (i == children.size() - 1);
-                flattenNode(children.get(i), node, depth + 1, childParentIsLast, childIsLast, entries);
-            }
-        }
-    }
-
     private String buildPrefix(FlatEntry<T> entry) {
         if (entry.depth == 0 || guideStyle == GuideStyle.NONE) {
             return "";
         }
 
+        // Whether each ancestor below the roots is the last of its siblings, from the top
+        boolean[] parentIsLast = new boolean[entry.depth - 1];
+        for (FlatEntry<T> ancestor = entry.parentEntry; ancestor != null && ancestor.depth > 0;
+             ancestor = ancestor.parentEntry) {
+            parentIsLast[ancestor.depth - 1] = ancestor.isLast;
+        }
+
         StringBuilder sb = new StringBuilder();
         int effectiveIndent = indentWidth > 0 ? indentWidth : CharWidth.of(guideStyle.branch());
 
         // Add vertical/space guides for ancestor levels
-        for (int i = 0; i < entry.parentIsLast.size(); i++) {
-            String guide = entry.parentIsLast.get(i)
+        for (boolean ancestorIsLast : parentIsLast) {
+            String guide = ancestorIsLast
                     ? guideStyle.space()
                     : guideStyle.vertical();
             sb.append(padToWidth(guide, effectiveIndent));
@@ -383,30 +398,49 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
 
     /**
      * A flattened entry representing a visible tree node.
+     * <p>
+     * While the children of a node are loading in the background, a placeholder entry,
+     * without node, is shown below it.
      *
      * @param <T> the node data type
      */
     public static final class FlatEntry<T> {
         private final T node;
-        private final T parent;
+        private final FlatEntry<T> parentEntry;
         private final int depth;
-        private final List<Boolean> parentIsLast;
         private final boolean isLast;
-        private int height = 1;
-        private int cumulativeTop = 0;
+        private final boolean placeholder;
+        int height = 1;
+        // Bookkeeping of the incremental index
+        TreeIndex.Chunk<T> chunk;
+        boolean expanded;
+        List<T> children = Collections.emptyList();
+        boolean loadedAsync;
+        CompletionStage<List<T>> pendingLoad;
+
+        FlatEntry(T node, FlatEntry<T> parentEntry, int depth, boolean isLast) {
+            this(node, parentEntry, depth, isLast, false);
+        }
 
-        FlatEntry(T node, T parent, int depth, List<Boolean> parentIsLast, boolean isLast) {
+        private FlatEntry(T node, FlatEntry<T> parentEntry, int depth, boolean isLast, boolean placeholder) {
             this.node = node;
-            this.parent = parent;
+            this.parentEntry = parentEntry;
             this.depth = depth;
-            this.parentIsLast = parentIsLast;
             this.isLast = isLast;
+            this.placeholder = placeholder;
+        }
+
+        /**
+         * Creates the placeholder shown while the children of an entry are loading.
+         */
+        static <T> FlatEntry<T> placeholder(FlatEntry<T> parentEntry) {
+            return new FlatEntry<>(null, parentEntry, parentEntry.depth + 1, true, true);
         }
 
         /**
          * Returns the node data.
          *
-         * @return the node
+         * @return the node, or null for a placeholder
          */
         public T node() {
             return node;
@@ -418,7 +452,7 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
          * @return the parent
          */
         public T parent() {
-            return parent;
+            return parentEntry != null ? parentEntry.node : null;
         }
 
         /**
@@ -429,6 +463,19 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
         public int depth() {
             return depth;
         }
+
+        /**
+         * Returns whether this entry stands for children that are still loading.
+         *
+         * @return true for a placeholder entry
+         */
+        public boolean isPlaceholder() {
+            return placeholder;
+        }
+
+        FlatEntry<T> parentEntry() {
+            return parentEntry;
+        }
     }
 
     /**
@@ -441,6 +488,7 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
         private TreeModel<T> model;
         private List<T> roots;
         private Function<T, List<T>> childrenFn;
+        private Function<T, CompletionStage<List<T>>> asyncChildrenFn;
         private Predicate<T> isLeafFn;
         private Function<T, SizedWidget> nodeRenderer;
         private GuideStyle guideStyle = GuideStyle.UNICODE;
@@ -453,6 +501,7 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
         private Style scrollbarThumbStyle;
         private Style scrollbarTrackStyle;
         private int indentWidth = -1;
+        private String loadingText = "Loading\u2026";
         private StylePropertyResolver styleResolver = StylePropertyResolver.empty();
 
         // Expansion state customization
@@ -508,6 +557,22 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
             return this;
         }
 
+        /**
+         * Sets the function that loads children in the background (functional shortcut).
+         * <p>
+         * It is called when a node is expanded; a placeholder row is shown below the node
+         * until the returned stage completes. The function set with {@link #children(Function)}
+         * should return the children loaded so far.
+         *
+         * @param loader function that starts loading the children of a node
+         * @return this builder
+         * @see TreeModel#loadChildren(Object)
+         */
+        public Builder<T> asyncChildren(Function<T, CompletionStage<List<T>>> loader) {
+            this.asyncChildrenFn = loader;
+            return this;
+        }
+
         /**
          * Sets the predicate to check if a node is a leaf (functional shortcut).
          *
@@ -661,6 +726,17 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
             return this;
         }
 
+        /**
+         * Sets the text of the placeholder row shown while children are loading.
+         *
+         * @param text the placeholder text (default: "Loading…")
+         * @return this builder
+         */
+        public Builder<T> loadingText(String text) {
+            this.loadingText = text != null ? text : "";
+            return this;
+        }
+
         /**
          * Sets the style property resolver.
          *
@@ -703,7 +779,7 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
             }
 
             // Build functional model
-            return new FunctionalTreeModel<>(childrenFn, isLeafFn, isExpandedFn, setExpandedFn);
+            return new FunctionalTreeModel<>(childrenFn, asyncChildrenFn, isLeafFn, isExpandedFn, setExpandedFn);
         }
     }
 
@@ -712,14 +788,16 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
      */
     private static final class FunctionalTreeModel<T> implements TreeModel<T> {
         private final Function<T, List<T>> childrenFn;
+        private final Function<T, CompletionStage<List<T>>> asyncChildrenFn;
         private final Predicate<T> isLeafFn;
         private final Predicate<T> isExpandedFn;
         private final BiConsumer<T, Boolean> setExpandedFn;
         private final Set<T> expandedNodes = new HashSet<>();
 
-        FunctionalTreeModel(Function<T, List<T>> childrenFn, Predicate<T> isLeafFn,
-                           Predicate<T> isExpandedFn, BiConsumer<T, Boolean> setExpandedFn) {
+        FunctionalTreeModel(Function<T, List<T>> childrenFn, Function<T, CompletionStage<List<T>>> asyncChildrenFn,
+                           Predicate<T> isLeafFn, Predicate<T> isExpandedFn, BiConsumer<T, Boolean> setExpandedFn) {
             this.childrenFn = childrenFn;
+            this.asyncChildrenFn = asyncChildrenFn;
             this.isLeafFn = isLeafFn;
             this.isExpandedFn = isExpandedFn;
             this.setExpandedFn = setExpandedFn;
@@ -739,6 +817,14 @@ public final class TreeWidget<T> implements StatefulWidget<TreeState> {
             return children != null ? children : Collections.emptyList();
         }
 
+        @Override
+        public CompletionStage<List<T>> loadChildren(T parent) {
+            if (asyncChildrenFn == null) {
+                return TreeModel.super.loadChildren(parent);
+            }
+            return asyncChildrenFn.apply(parent);
+        }
+
         @Override
         public boolean isLeaf(T node) {
             if (isLeafFn != null) {
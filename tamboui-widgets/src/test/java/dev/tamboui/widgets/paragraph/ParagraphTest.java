@@ -153,6 +153,78 @@ class ParagraphTest {
         BufferAssertions.assertThat(buffer).isEqualTo(expected);
     }
 
+    @Test
+    @DisplayName("ELLIPSIS overflow with scroll truncates only the visible lines")
+    void ellipsisOverflowWithScroll() {
+        Text text = Text.empty();
+        for (int i = 0; i < 1000; i++) {
+            text = text.append(Line.from("entry number " + i));
+        }
+        Paragraph paragraph = Paragraph.builder()
+            .text(text)
+            .overflow(Overflow.ELLIPSIS)
+            .scroll(998)
+            .build();
+        Rect area = new Rect(0, 0, 10, 3);
+        Buffer buffer = Buffer.empty(area);
+
+        paragraph.render(area, buffer);
+
+        // Lines 998 and 999, then nothing
+        Buffer expected = Buffer.empty(area);
+        expected.setString(0, 0, "entry n...", Style.EMPTY);
+        expected.setString(0, 1, "entry n...", Style.EMPTY);
+        BufferAssertions.assertThat(buffer).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("WRAP_WORD overflow with scroll starts inside a wrapped line")
+    void wrapWordOverflowWithScroll() {
+        Text text = Text.from(
+            Line.from("first"),
+            Line.from("alpha beta gamma delta"),
+            Line.from("last"));
+        Paragraph paragraph = Paragraph.builder()
+            .text(text)
+            .overflow(Overflow.WRAP_WORD)
+            .scroll(2)
+            .build();
+        Rect area = new Rect(0, 0, 11, 3);
+        Buffer buffer = Buffer.empty(area);
+
+        paragraph.render(area, buffer);
+
+        // Rows: "first", "alpha beta ", "gamma delta", "last"
+        Buffer expected = Buffer.empty(area);
+        expected.setString(0, 0, "gamma delta", Style.EMPTY);
+        expected.setString(0, 1, "last", Style.EMPTY);
+        BufferAssertions.assertThat(buffer).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("WRAP_CHARACTER overflow follows text that grows between renders")
+    void wrapCharacterOverflowWithGrowingText() {
+        Text log = Text.from("0123456789abc");
+        Rect area = new Rect(0, 0, 5, 2);
+        for (int frame = 0; frame < 3; frame++) {
+            Buffer buffer = Buffer.empty(area);
+            Paragraph.builder().text(log).overflow(Overflow.WRAP_CHARACTER).scroll(1).build()
+                .render(area, buffer);
+            assertThat(buffer.get(0, 0).symbol()).isEqualTo("5");
+            log = log.append(Line.from("line " + frame));
+        }
+
+        Buffer buffer = Buffer.empty(area);
+        Paragraph.builder().text(log).overflow(Overflow.WRAP_CHARACTER).scroll(5).build()
+            .render(area, buffer);
+
+        // Rows: "01234", "56789", "abc", "line ", "0", "line ", "1", ...
+        Buffer expected = Buffer.empty(area);
+        expected.setString(0, 0, "line ", Style.EMPTY);
+        expected.setString(0, 1, "1", Style.EMPTY);
+        BufferAssertions.assertThat(buffer).isEqualTo(expected);
+    }
+
     @Test
     @DisplayName("CLIP overflow preserves multiple span styles")
     void clipOverflowPreservesSpanStyles() {
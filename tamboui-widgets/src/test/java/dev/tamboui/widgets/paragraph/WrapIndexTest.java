@@ -0,0 +1,109 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.widgets.paragraph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.style.Overflow;
+import dev.tamboui.text.Line;
+import dev.tamboui.text.Text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WrapIndexTest {
+
+    // One row per started block of 10 columns, at least one row
+    private static final ToIntFunction<Line> ROWS = line -> Math.max(1, (line.width() + 9) / 10);
+
+    @AfterEach
+    void clearCache() {
+        WrapCache.clearAll();
+    }
+
+    @Test
+    @DisplayName("Rows map to the source lines containing them")
+    void mapsRowsToSourceLines() {
+        List<Line> lines = Arrays.asList(
+            Line.from("short"),                      // row 0
+            Line.from("a line of 25 characters.."),  // rows 1-3
+            Line.from(""),                           // row 4
+            Line.from("twelve chars"));              // rows 5-6
+
+        WrapIndex index = WrapIndex.build(lines, 10, Overflow.WRAP_WORD, ROWS);
+
+        assertThat(index.rowCount()).isEqualTo(7);
+        assertThat(index.sourceLineAt(0)).isEqualTo(0);
+        assertThat(index.sourceLineAt(1)).isEqualTo(1);
+        assertThat(index.sourceLineAt(3)).isEqualTo(1);
+        assertThat(index.sourceLineAt(4)).isEqualTo(2);
+        assertThat(index.sourceLineAt(6)).isEqualTo(3);
+        assertThat(index.rowStart(3)).isEqualTo(5);
+        assertThat(index.sourceLineAt(7)).isEqualTo(4);
+        assertThat(index.rowStart(4)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Lines without rows are skipped")
+    void skipsLinesWithoutRows() {
+        List<Line> lines = Arrays.asList(Line.from("a"), Line.from("b"), Line.from("c"));
+
+        WrapIndex index = WrapIndex.build(lines, 10, Overflow.WRAP_WORD,
+            line -> line.rawContent().equals("b") ? 0 : 1);
+
+        assertThat(index.rowCount()).isEqualTo(2);
+        assertThat(index.sourceLineAt(0)).isEqualTo(0);
+        assertThat(index.sourceLineAt(1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Cache returns the same index for the same lines, width and mode")
+    void cachesIndexes() {
+        Text text = Text.from("one\ntwo\nthree");
+        AtomicInteger counted = new AtomicInteger();
+        ToIntFunction<Line> counter = line -> {
+            counted.incrementAndGet();
+            return 1;
+        };
+
+        WrapIndex first = WrapCache.instance().indexFor(text.lines(), 10, Overflow.WRAP_WORD, counter);
+        WrapIndex second = WrapCache.instance().indexFor(text.lines(), 10, Overflow.WRAP_WORD, counter);
+        WrapIndex narrower = WrapCache.instance().indexFor(text.lines(), 5, Overflow.WRAP_WORD, counter);
+
+        assertThat(second).isSameAs(first);
+        assertThat(narrower).isNotSameAs(first);
+        assertThat(counted).hasValue(6);
+    }
+
+    @Test
+    @DisplayName("Cache only counts the rows of lines added to a text")
+    void extendsIndexOfPreviousVersion() {
+        Text log = Text.empty();
+        for (int i = 0; i < 100; i++) {
+            log = log.append(Line.from("entry " + i));
+        }
+        AtomicInteger counted = new AtomicInteger();
+        ToIntFunction<Line> counter = line -> {
+            counted.incrementAndGet();
+            return ROWS.applyAsInt(line);
+        };
+        WrapCache.instance().indexFor(log.lines(), 10, Overflow.WRAP_CHARACTER, counter);
+        counted.set(0);
+
+        Text grown = log.append(Line.from("a much longer entry")).append(Line.from("x"));
+        WrapIndex index = WrapCache.instance().indexFor(grown.lines(), 10, Overflow.WRAP_CHARACTER, counter);
+
+        assertThat(counted).hasValue(2);
+        assertThat(index.rowCount()).isEqualTo(100 + 2 + 1);
+        assertThat(index.sourceLineAt(101)).isEqualTo(100);
+        assertThat(index.sourceLineAt(102)).isEqualTo(101);
+    }
+}
@@ -4,8 +4,12 @@
  */
 package dev.tamboui.widgets.table;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -159,4 +163,147 @@ class TableStateTest {
         // Offset should be adjusted to show row 3 (each row is height 1)
         assertThat(state.offset()).isGreaterThanOrEqualTo(2);
     }
+
+    private static TableDataSource names(String... names) {
+        return new TableDataSource() {
+            @Override
+            public int rowCount() {
+                return names.length;
+            }
+
+            @Override
+            public int columnCount() {
+                return 1;
+            }
+
+            @Override
+            public String cellText(int row, int column) {
+                return names[row];
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Rows are displayed in source order by default")
+    void sourceOrderByDefault() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob");
+
+        assertThat(state.rowCount(source)).isEqualTo(3);
+        assertThat(state.sourceRow(2)).isEqualTo(2);
+        assertThat(state.sortColumn()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("sort produces a permutation applied on the next render")
+    void sortIsAppliedOnRender() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob");
+
+        state.sort(source, 0, Comparator.naturalOrder(), Runnable::run).join();
+
+        // Not swapped in until the table renders
+        assertThat(state.sourceRow(0)).isEqualTo(0);
+        state.applyPendingOrder();
+        assertThat(state.sourceRow(0)).isEqualTo(1);
+        assertThat(state.sourceRow(1)).isEqualTo(2);
+        assertThat(state.sourceRow(2)).isEqualTo(0);
+        assertThat(state.sortColumn()).isEqualTo(0);
+        assertThat(state.isOrderPending()).isFalse();
+    }
+
+    @Test
+    @DisplayName("filter keeps the sort order")
+    void filterKeepsSortOrder() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob", "Anna");
+
+        state.sort(source, 0, Comparator.<String>naturalOrder().reversed(), Runnable::run);
+        state.filter(source, row -> source.cellText(row, 0).startsWith("A"), Runnable::run);
+        state.applyPendingOrder();
+
+        assertThat(state.rowCount(source)).isEqualTo(2);
+        assertThat(state.sourceRow(0)).isEqualTo(3);
+        assertThat(state.sourceRow(1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Selection follows the selected source row")
+    void selectionFollowsSourceRow() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob");
+        state.select(0);
+
+        state.sort(source, 0, Comparator.naturalOrder(), Runnable::run);
+        state.applyPendingOrder();
+
+        // Carol is now last
+        assertThat(state.selected()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Results of superseded requests are dropped")
+    void supersededResultsAreDropped() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob");
+        List<Runnable> tasks = new ArrayList<>();
+
+        state.sort(source, 0, Comparator.naturalOrder(), tasks::add);
+        state.clearOrder();
+        assertThat(state.isOrderPending()).isFalse();
+
+        // The sort completes after it was cleared
+        tasks.forEach(Runnable::run);
+        state.applyPendingOrder();
+
+        assertThat(state.sourceRow(0)).isEqualTo(0);
+        assertThat(state.sortColumn()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("isOrderPending is true while sorting")
+    void orderPendingWhileSorting() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob");
+        List<Runnable> tasks = new ArrayList<>();
+
+        CompletableFuture<Void> sorted = state.sort(source, 0, Comparator.naturalOrder(), tasks::add);
+        assertThat(state.isOrderPending()).isTrue();
+        assertThat(sorted).isNotDone();
+
+        tasks.forEach(Runnable::run);
+        assertThat(state.isOrderPending()).isFalse();
+        assertThat(sorted).isDone();
+    }
+
+    @Test
+    @DisplayName("Selection follows its source row when it is filtered")
+    void selectionFollowsFilteredSourceRow() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob", "Anna");
+        state.select(3);
+
+        state.filter(source, row -> source.cellText(row, 0).startsWith("A"), Runnable::run);
+        state.applyPendingOrder();
+        assertThat(state.selected()).isEqualTo(1);
+
+        state.filter(source, row -> source.cellText(row, 0).equals("Alice"), Runnable::run);
+        state.applyPendingOrder();
+        // Anna was filtered out: the first row is selected
+        assertThat(state.selected()).isZero();
+    }
+
+    @Test
+    @DisplayName("A rejected sort does not leave the order pending")
+    void rejectedSortIsNotPending() {
+        TableState state = new TableState();
+        TableDataSource source = names("Carol", "Alice", "Bob");
+
+        CompletableFuture<Void> sorted = state.sort(source, 0, Comparator.naturalOrder(), task -> {
+            throw new RejectedExecutionException("shut down");
+        });
+
+        assertThat(sorted).isCompletedExceptionally();
+        assertThat(state.isOrderPending()).isFalse();
+    }
 }
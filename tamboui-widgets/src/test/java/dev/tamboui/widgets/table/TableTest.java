@@ -4,7 +4,9 @@
  */
 package dev.tamboui.widgets.table;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
@@ -299,4 +301,80 @@ class TableTest {
         // Second row "Bob" starts at y=1 and should have blue background
         BufferAssertions.assertThat(buffer).at(0, 1).hasBackground(Color.BLUE);
     }
+
+    private static TableDataSource numbers(int rowCount, List<Integer> readRows) {
+        return new TableDataSource() {
+            @Override
+            public int rowCount() {
+                return rowCount;
+            }
+
+            @Override
+            public int columnCount() {
+                return 2;
+            }
+
+            @Override
+            public String cellText(int row, int column) {
+                readRows.add(row);
+                return column == 0 ? "Row " + row : String.valueOf(rowCount - row);
+            }
+
+            @Override
+            public List<Constraint> columnWidths() {
+                return Arrays.asList(Constraint.length(12), Constraint.length(8));
+            }
+        };
+    }
+
+    private static String row(Buffer buffer, int y) {
+        StringBuilder sb = new StringBuilder();
+        for (int x = 0; x < buffer.area().width(); x++) {
+            sb.append(buffer.get(x, y).symbol());
+        }
+        return sb.toString().trim();
+    }
+
+    @Test
+    @DisplayName("Table with data source only reads the visible rows")
+    void dataSourceReadsVisibleRows() {
+        List<Integer> readRows = new ArrayList<>();
+        Table table = Table.builder()
+            .header(Row.from("Name", "Value"))
+            .dataSource(numbers(1_000_000, readRows))
+            .highlightSymbol("")
+            .build();
+
+        Rect area = new Rect(0, 0, 21, 4);
+        Buffer buffer = Buffer.empty(area);
+        TableState state = new TableState();
+        state.select(500_000);
+
+        table.render(area, buffer, state);
+
+        assertThat(row(buffer, 0)).startsWith("Name");
+        assertThat(row(buffer, 3)).isEqualTo("Row 500000   500000");
+        assertThat(readRows).containsOnly(499_998, 499_999, 500_000);
+        assertThat(table.rows()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Table with data source renders rows in the state order")
+    void dataSourceUsesStateOrder() {
+        TableDataSource source = numbers(5, new ArrayList<>());
+        Table table = Table.builder()
+            .dataSource(source)
+            .highlightSymbol("")
+            .build();
+
+        TableState state = new TableState();
+        state.sort(source, 1, Comparator.comparing(Integer::valueOf), Runnable::run);
+
+        Rect area = new Rect(0, 0, 21, 5);
+        Buffer buffer = Buffer.empty(area);
+        table.render(area, buffer, state);
+
+        assertThat(row(buffer, 0)).isEqualTo("Row 4        1");
+        assertThat(row(buffer, 4)).isEqualTo("Row 0        5");
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright TamboUI Contributors
+ * SPDX-License-Identifier: MIT
+ */
+package dev.tamboui.widgets.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.tamboui.widgets.tree.TreeWidget.FlatEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TreeIndex}.
+ */
+class TreeIndexTest {
+
+    @Test
+    @DisplayName("Rows list visible nodes in display order")
+    void rowsInDisplayOrder() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .add(TreeNode.<Void>of("A")
+                        .add(TreeNode.of("A1"))
+                        .expanded())
+                .add(TreeNode.<Void>of("B")
+                        .add(TreeNode.of("B1")))
+                .expanded();
+
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+
+        assertThat(labels(index)).containsExactly("Root", "A", "A1", "B");
+        assertThat(index.get(2).depth()).isEqualTo(2);
+        assertThat(index.get(2).parent().label()).isEqualTo("A");
+    }
+
+    @Test
+    @DisplayName("Expanding a node splices its children in without replacing other rows")
+    void expandSplicesChildren() {
+        TreeNode<Void> b = TreeNode.<Void>of("B").add(TreeNode.of("B1")).add(TreeNode.of("B2"));
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .add(TreeNode.of("A"))
+                .add(b)
+                .add(TreeNode.of("C"))
+                .expanded();
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+        FlatEntry<TreeNode<Void>> c = index.get(3);
+
+        index.setExpanded(2, true);
+
+        assertThat(b.isExpanded()).isTrue();
+        assertThat(labels(index)).containsExactly("Root", "A", "B", "B1", "B2", "C");
+        assertThat(index.get(5)).isSameAs(c);
+    }
+
+    @Test
+    @DisplayName("Collapsing a node removes its visible descendants")
+    void collapseRemovesDescendants() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .add(TreeNode.<Void>of("A")
+                        .add(TreeNode.of("A1"))
+                        .expanded())
+                .add(TreeNode.of("B"))
+                .expanded();
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+        FlatEntry<TreeNode<Void>> a1 = index.get(2);
+
+        index.setExpanded(1, false);
+
+        assertThat(labels(index)).containsExactly("Root", "A", "B");
+        assertThat(index.indexOf(a1)).isEqualTo(-1);
+        assertThat(index.rowOf(a1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rows and lines are found across chunks")
+    void lookupAcrossChunks() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root").expanded();
+        for (int i = 0; i < 2000; i++) {
+            root.add(TreeNode.<Void>of("Item " + i).leaf());
+        }
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+        // Every other item is two lines high
+        index.measure(40, entry -> entry.node().label().endsWith("1") ? 2 : 1);
+
+        int line = 0;
+        for (int row = 0; row < index.size(); row++) {
+            assertThat(index.top(row)).isEqualTo(line);
+            assertThat(index.rowAt(line)).isEqualTo(row);
+            assertThat(index.indexOf(index.get(row))).isEqualTo(row);
+            line += index.get(row).height;
+        }
+        assertThat(index.totalHeight()).isEqualTo(line);
+        assertThat(index.rowAt(line + 10)).isEqualTo(index.size() - 1);
+    }
+
+    @Test
+    @DisplayName("Collapsing a large subtree keeps the following rows")
+    void collapseLargeSubtree() {
+        TreeNode<Void> big = TreeNode.<Void>of("Big").expanded();
+        for (int i = 0; i < 3000; i++) {
+            big.add(TreeNode.<Void>of("Item " + i).leaf());
+        }
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .add(big)
+                .add(TreeNode.of("After"))
+                .expanded();
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+        assertThat(index.size()).isEqualTo(3003);
+
+        index.setExpanded(1, false);
+
+        assertThat(labels(index)).containsExactly("Root", "Big", "After");
+        assertThat(index.totalHeight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Children added to a displayed node are picked up by sync")
+    void syncPicksUpAddedChildren() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root").add(TreeNode.of("A")).expanded();
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+
+        root.add(TreeNode.of("B"));
+
+        assertThat(index.sync(index.get(0))).isTrue();
+        assertThat(labels(index)).containsExactly("Root", "A", "B");
+        assertThat(index.sync(index.get(0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Children replaced in a displayed node are picked up by sync")
+    void syncPicksUpReplacedChildren() {
+        // A directory listing where one file was removed and another one added
+        List<String> listing = new ArrayList<>(Arrays.asList("a.txt", "b.txt"));
+        TreeModel<String> model = new TreeModel<String>() {
+            @Override
+            public String root() {
+                return "dir";
+            }
+
+            @Override
+            public List<String> children(String parent) {
+                return parent.equals("dir") ? listing : Collections.emptyList();
+            }
+
+            @Override
+            public boolean isLeaf(String node) {
+                return !node.equals("dir");
+            }
+
+            @Override
+            public boolean isExpanded(String node) {
+                return true;
+            }
+
+            @Override
+            public void setExpanded(String node, boolean expanded) {
+            }
+        };
+        TreeIndex<String> index = new TreeIndex<>(model, Collections.singletonList("dir"));
+
+        listing.set(1, "c.txt");
+
+        assertThat(index.sync(index.get(0))).isTrue();
+        assertThat(index.entries()).extracting(FlatEntry::node).containsExactly("dir", "a.txt", "c.txt");
+        assertThat(index.sync(index.get(0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("A placeholder is shown until children load in the background")
+    void placeholderWhileLoading() {
+        CompletableFuture<List<TreeNode<Void>>> load = new CompletableFuture<>();
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .asyncChildrenLoader(() -> load)
+                .expanded();
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.get(1).isPlaceholder()).isTrue();
+        assertThat(index.get(1).node()).isNull();
+        assertThat(index.applyLoads()).isFalse();
+
+        load.complete(Arrays.asList(TreeNode.of("A"), TreeNode.of("B")));
+
+        assertThat(index.applyLoads()).isTrue();
+        assertThat(labels(index)).containsExactly("Root", "A", "B");
+        assertThat(root.children()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Loads that complete after the node was collapsed are ignored")
+    void loadAfterCollapseIgnored() {
+        CompletableFuture<List<TreeNode<Void>>> load = new CompletableFuture<>();
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .asyncChildrenLoader(() -> load)
+                .expanded();
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+
+        index.setExpanded(0, false);
+        load.complete(Collections.singletonList(TreeNode.of("A")));
+
+        assertThat(index.applyLoads()).isFalse();
+        assertThat(labels(index)).containsExactly("Root");
+    }
+
+    @Test
+    @DisplayName("Entries view supports indexOf")
+    void entriesViewIndexOf() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root").add(TreeNode.of("A")).expanded();
+        TreeIndex<TreeNode<Void>> index = new TreeIndex<>(root, Collections.singletonList(root));
+        List<FlatEntry<TreeNode<Void>>> entries = index.entries();
+
+        assertThat(entries.indexOf(index.get(1))).isEqualTo(1);
+        assertThat(entries.indexOf("A")).isEqualTo(-1);
+        assertThat(entries).hasSize(2);
+    }
+
+    private static List<String> labels(TreeIndex<TreeNode<Void>> index) {
+        List<String> labels = new ArrayList<>();
+        for (FlatEntry<TreeNode<Void>> entry : index.entries()) {
+            labels.add(entry.isPlaceholder() ? "..." : entry.node().label());
+        }
+        return labels;
+    }
+}
@@ -6,6 +6,8 @@ package dev.tamboui.widgets.tree;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -140,6 +142,48 @@ class TreeNodeTest {
         assertThat(callCount[0]).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("asyncChildrenLoader is started once and adopted when complete")
+    void asyncLoaderStartedOnce() {
+        int[] callCount = {0};
+        CompletableFuture<List<TreeNode<Void>>> load = new CompletableFuture<>();
+        TreeNode<Void> node = TreeNode.<Void>of("Remote")
+                .asyncChildrenLoader(() -> {
+                    callCount[0]++;
+                    return load;
+                });
+
+        assertThat(node.isLeaf()).isFalse();
+        CompletionStage<List<TreeNode<Void>>> first = node.loadChildren();
+        assertThat(node.loadChildren()).isSameAs(first);
+        assertThat(node.children()).isEmpty();
+
+        load.complete(Arrays.asList(TreeNode.of("A"), TreeNode.of("B")));
+
+        assertThat(node.children()).hasSize(2);
+        assertThat(node.loadChildren().toCompletableFuture().join()).hasSize(2);
+        assertThat(callCount[0]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("asyncChildrenLoader is retried after a failure")
+    void asyncLoaderRetriedAfterFailure() {
+        int[] callCount = {0};
+        TreeNode<Void> node = TreeNode.<Void>of("Remote")
+                .asyncChildrenLoader(() -> {
+                    callCount[0]++;
+                    CompletableFuture<List<TreeNode<Void>>> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException("offline"));
+                    return failed;
+                });
+
+        node.loadChildren();
+        assertThat(node.children()).isEmpty();
+        node.loadChildren();
+
+        assertThat(callCount[0]).isEqualTo(2);
+    }
+
     @Test
     @DisplayName("childrenLoader not called if children already added")
     void loaderNotCalledIfChildrenExist() {
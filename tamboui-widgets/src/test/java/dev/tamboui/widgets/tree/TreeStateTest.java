@@ -7,6 +7,10 @@ package dev.tamboui.widgets.tree;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import dev.tamboui.buffer.Buffer;
+import dev.tamboui.layout.Rect;
+import dev.tamboui.widgets.paragraph.Paragraph;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -193,4 +197,94 @@ class TreeStateTest {
 
         assertThat(state.offset()).isLessThanOrEqualTo(10);
     }
+
+    @Test
+    @DisplayName("setExpanded does nothing before the first render")
+    void setExpandedBeforeRender() {
+        TreeState state = new TreeState();
+
+        state.setExpanded(0, true);
+        state.selectParent();
+
+        assertThat(state.selected()).isZero();
+    }
+
+    @Test
+    @DisplayName("setExpanded updates the flattened rows immediately")
+    void setExpandedUpdatesRows() {
+        TreeNode<Void> child = TreeNode.of("Child");
+        TreeNode<Void> root = TreeNode.<Void>of("Root").add(child);
+        TreeState state = new TreeState();
+        TreeWidget<TreeNode<Void>> widget = render(root, state);
+
+        state.setExpanded(0, true);
+
+        assertThat(root.isExpanded()).isTrue();
+        assertThat(widget.lastFlatEntries()).hasSize(2);
+        assertThat(widget.lastFlatEntries().get(1).node()).isSameAs(child);
+    }
+
+    @Test
+    @DisplayName("Collapsing an ancestor of the selected node selects the ancestor")
+    void collapseSelectsAncestor() {
+        TreeNode<Void> a = TreeNode.<Void>of("A").add(TreeNode.of("A1")).expanded();
+        TreeNode<Void> root = TreeNode.<Void>of("Root").add(a).add(TreeNode.of("B")).expanded();
+        TreeState state = new TreeState();
+        render(root, state);
+
+        state.select(2);
+        state.setExpanded(1, false);
+
+        assertThat(state.selected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("selectParent selects the parent of the selected node")
+    void selectParent() {
+        TreeNode<Void> a = TreeNode.<Void>of("A").add(TreeNode.of("A1")).expanded();
+        TreeNode<Void> root = TreeNode.<Void>of("Root").add(TreeNode.of("Z")).add(a).expanded();
+        TreeState state = new TreeState();
+        render(root, state);
+
+        state.select(3);
+        state.selectParent();
+        assertThat(state.selected()).isEqualTo(2);
+
+        state.selectParent();
+        assertThat(state.selected()).isZero();
+
+        state.selectParent();
+        assertThat(state.selected()).isZero();
+    }
+
+    @Test
+    @DisplayName("invalidate rebuilds the rows on the next render")
+    void invalidateRebuilds() {
+        TreeNode<Void> hidden = TreeNode.<Void>of("Hidden").add(TreeNode.of("Deep"));
+        TreeNode<Void> root = TreeNode.<Void>of("Root").add(hidden).expanded();
+        TreeState state = new TreeState();
+        // Only the root row is displayed
+        TreeWidget<TreeNode<Void>> widget = TreeWidget.<TreeNode<Void>>builder()
+                .model(root)
+                .simpleNodeRenderer(node -> Paragraph.from(node.label()))
+                .build();
+        Rect area = new Rect(0, 0, 20, 1);
+        widget.render(area, Buffer.empty(area), state);
+
+        hidden.expanded(true);
+        state.invalidate();
+        widget.render(area, Buffer.empty(area), state);
+
+        assertThat(widget.lastFlatEntries()).hasSize(3);
+    }
+
+    private static TreeWidget<TreeNode<Void>> render(TreeNode<Void> root, TreeState state) {
+        TreeWidget<TreeNode<Void>> widget = TreeWidget.<TreeNode<Void>>builder()
+                .model(root)
+                .simpleNodeRenderer(node -> Paragraph.from(node.label()))
+                .build();
+        Rect area = new Rect(0, 0, 20, 10);
+        widget.render(area, Buffer.empty(area), state);
+        return widget;
+    }
 }
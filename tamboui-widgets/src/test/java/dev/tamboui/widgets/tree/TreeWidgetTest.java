@@ -7,6 +7,7 @@ package dev.tamboui.widgets.tree;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -535,4 +536,115 @@ class TreeWidgetTest {
         // Default height is 1, content starts at position 0
         assertThat(buffer.get(0, 0).symbol()).isEqualTo("R");
     }
+
+    @Test
+    @DisplayName("TreeWidget keeps flattened entries across renders")
+    void keepsEntriesAcrossRenders() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .add(TreeNode.<Void>of("Child").leaf())
+                .expanded();
+        TreeState state = new TreeState();
+        Rect area = new Rect(0, 0, 20, 3);
+
+        TreeWidget<TreeNode<Void>> first = TreeWidget.<TreeNode<Void>>builder()
+                .model(root)
+                .simpleNodeRenderer(node -> Paragraph.from(node.label()))
+                .build();
+        first.render(area, Buffer.empty(area), state);
+        TreeWidget.FlatEntry<TreeNode<Void>> child = first.lastFlatEntries().get(1);
+
+        TreeWidget<TreeNode<Void>> second = TreeWidget.<TreeNode<Void>>builder()
+                .model(root)
+                .simpleNodeRenderer(node -> Paragraph.from(node.label()))
+                .build();
+        second.render(area, Buffer.empty(area), state);
+
+        assertThat(second.lastFlatEntries().get(1)).isSameAs(child);
+    }
+
+    @Test
+    @DisplayName("TreeWidget picks up expansion changes of displayed nodes")
+    void picksUpExpansionOfDisplayedNodes() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .add(TreeNode.<Void>of("Child").leaf());
+
+        TreeWidget<TreeNode<Void>> widget = TreeWidget.<TreeNode<Void>>builder()
+                .model(root)
+                .simpleNodeRenderer(node -> Paragraph.from(node.label()))
+                .highlightSymbol("")
+                .build();
+
+        Rect area = new Rect(0, 0, 20, 3);
+        Buffer buffer = Buffer.empty(area);
+        TreeState state = new TreeState();
+
+        widget.render(area, buffer, state);
+        assertThat(widget.lastFlatEntries()).hasSize(1);
+
+        root.expanded(true);
+        widget.render(area, buffer, state);
+
+        assertThat(widget.lastFlatEntries()).hasSize(2);
+        assertThat(buffer.get(4, 1).symbol()).isEqualTo("C");
+    }
+
+    @Test
+    @DisplayName("TreeWidget shows a placeholder while children load")
+    void placeholderWhileChildrenLoad() {
+        CompletableFuture<List<TreeNode<Void>>> load = new CompletableFuture<>();
+        TreeNode<Void> root = TreeNode.<Void>of("Root")
+                .asyncChildrenLoader(() -> load)
+                .expanded();
+
+        TreeWidget<TreeNode<Void>> widget = TreeWidget.<TreeNode<Void>>builder()
+                .model(root)
+                .simpleNodeRenderer(node -> Paragraph.from(node.label()))
+                .highlightSymbol("")
+                .loadingText("Wait")
+                .build();
+
+        Rect area = new Rect(0, 0, 20, 3);
+        Buffer buffer = Buffer.empty(area);
+        TreeState state = new TreeState();
+
+        widget.render(area, buffer, state);
+        assertThat(buffer.get(0, 1).symbol()).isEqualTo("\u2514"); // └
+        assertThat(buffer.get(4, 1).symbol()).isEqualTo("W");
+        assertThat(buffer.get(4, 1).style().addModifiers()).contains(Modifier.DIM);
+
+        load.complete(Collections.singletonList(TreeNode.<Void>of("Loaded").leaf()));
+        buffer = Buffer.empty(area);
+        widget.render(area, buffer, state);
+
+        assertThat(buffer.get(4, 1).symbol()).isEqualTo("L");
+        assertThat(widget.lastFlatEntries()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("TreeWidget scrolls to the selected row of a large tree")
+    void scrollsLargeTree() {
+        TreeNode<Void> root = TreeNode.<Void>of("Root").expanded();
+        for (int i = 0; i < 100_000; i++) {
+            root.add(TreeNode.<Void>of("Item " + i).leaf());
+        }
+
+        TreeWidget<TreeNode<Void>> widget = TreeWidget.<TreeNode<Void>>builder()
+                .model(root)
+                .simpleNodeRenderer(node -> Paragraph.from(node.label()))
+                .highlightSymbol("")
+                .guideStyle(GuideStyle.NONE)
+                .build();
+
+        Rect area = new Rect(0, 0, 20, 3);
+        Buffer buffer = Buffer.empty(area);
+        TreeState state = new TreeState();
+
+        widget.render(area, buffer, state);
+        state.selectLast(widget.lastFlatEntries().size() - 1);
+        widget.render(area, buffer, state);
+
+        assertThat(state.selected()).isEqualTo(100_000);
+        assertThat(state.offset()).isEqualTo(100_001 - 3);
+        assertThat(buffer.get(5, 2).symbol()).isEqualTo("9");
+    }
 }